@@ -0,0 +1,429 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CONCEPTO 1: El método main() - Punto de entrada
+ *
+ * Ejemplo: Ejecutar muchos main() en una sola JVM
+ * Demuestra que main() es un método static más: se puede invocar por
+ * reflexión. Cada ejemplo se carga con su propio ClassLoader (así sus
+ * variables static, como VariablesEstaticas.totalEstudiantes, empiezan de
+ * cero), su salida se captura por separado y varios ejemplos pueden correr
+ * en paralelo sin pagar el arranque de una JVM nueva por cada uno
+ */
+public final class EjecutorEjemplos {
+
+    private final Path directorioClases;
+    private final URL[] rutaClases;
+
+    public EjecutorEjemplos(Path directorioClases) throws IOException {
+        if (!Files.isDirectory(directorioClases)) {
+            throw new IOException("No es un directorio de clases compiladas: " + directorioClases);
+        }
+        this.directorioClases = directorioClases;
+        this.rutaClases = new URL[] {directorioClases.toUri().toURL()};
+    }
+
+    // ===== RESULTADO DE UN EJEMPLO =====
+
+    public static final class Resultado {
+        private final String clase;
+        private final long nanos;
+        private final byte[] salida;
+        private final byte[] errores;
+        private final Throwable fallo;
+
+        Resultado(String clase, long nanos, byte[] salida, byte[] errores, Throwable fallo) {
+            this.clase = clase;
+            this.nanos = nanos;
+            this.salida = salida;
+            this.errores = errores;
+            this.fallo = fallo;
+        }
+
+        public String getClase() {
+            return clase;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /** Bytes escritos en System.out, tal como los vería la terminal. */
+        public byte[] getSalida() {
+            return salida;
+        }
+
+        public byte[] getErrores() {
+            return errores;
+        }
+
+        /** La excepción que lanzó main(), o null si terminó bien. */
+        public Throwable getFallo() {
+            return fallo;
+        }
+
+        public int lineas() {
+            int n = 0;
+            for (byte b : salida) {
+                if (b == '\n') {
+                    n++;
+                }
+            }
+            return n;
+        }
+    }
+
+    // ===== AISLAMIENTO: UN CLASSLOADER Y UNA CAPTURA POR EJEMPLO =====
+
+    /** Dónde escribe un ejemplo mientras corre. */
+    static final class Captura {
+        final ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errores = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Carga las clases del ejemplo desde el directorio, sin delegar en el
+     * cargador de la aplicación: cada ejemplo tiene sus propias copias de
+     * todas las clases del curso y, por lo tanto, sus propios static.
+     */
+    static final class CargadorAislado extends URLClassLoader {
+        final Captura captura;
+
+        CargadorAislado(URL[] ruta, Captura captura) {
+            super(ruta, ClassLoader.getPlatformClassLoader());
+            this.captura = captura;
+        }
+    }
+
+    /**
+     * Reemplaza a System.out / System.err y reparte lo que se escribe según
+     * quién lo escribe: el hilo principal del ejemplo se reconoce por un
+     * ThreadLocal; los hilos que el ejemplo crea (o los del ForkJoinPool
+     * común) recorriendo la pila hasta una clase de un CargadorAislado.
+     */
+    static final class Desvio extends OutputStream {
+        private static final StackWalker PILA = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+        private final PrintStream original;
+        private final boolean esError;
+
+        Desvio(PrintStream original, boolean esError) {
+            this.original = original;
+            this.esError = esError;
+        }
+
+        private OutputStream destino() {
+            Captura c = ACTUAL.get();
+            if (c == null) {
+                c = PILA.walk(marcos -> marcos
+                    .map(m -> m.getDeclaringClass().getClassLoader())
+                    .filter(l -> l instanceof CargadorAislado)
+                    .map(l -> ((CargadorAislado) l).captura)
+                    .findFirst()
+                    .orElse(null));
+            }
+            if (c == null) {
+                return original;   // Salida del propio ejecutor
+            }
+            return esError ? c.errores : c.salida;
+        }
+
+        @Override
+        public void write(int b) {
+            OutputStream d = destino();
+            try {
+                d.write(b);
+            } catch (IOException e) {
+                original.println("Error al escribir: " + e);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int desde, int largo) {
+            OutputStream d = destino();
+            try {
+                d.write(b, desde, largo);
+            } catch (IOException e) {
+                original.println("Error al escribir: " + e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            original.flush();
+        }
+    }
+
+    private static final ThreadLocal<Captura> ACTUAL = new ThreadLocal<>();
+
+    // ===== DESCUBRIR Y EJECUTAR =====
+
+    /** Todas las clases del directorio con un {@code public static void main(String[])}. */
+    public List<String> descubrir() throws IOException {
+        List<String> nombres = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorioClases, "*.class")) {
+            for (Path p : archivos) {
+                String nombre = p.getFileName().toString();
+                if (nombre.indexOf('$') < 0) {
+                    nombres.add(nombre.substring(0, nombre.length() - ".class".length()));
+                }
+            }
+        }
+        nombres.sort(null);
+        List<String> conMain = new ArrayList<>();
+        try (URLClassLoader cargador = new URLClassLoader(rutaClases, ClassLoader.getPlatformClassLoader())) {
+            for (String nombre : nombres) {
+                try {
+                    // false: solo se inspecciona, sin ejecutar sus bloques static
+                    Method main = Class.forName(nombre, false, cargador).getMethod("main", String[].class);
+                    if (Modifier.isStatic(main.getModifiers()) && main.getReturnType() == void.class
+                        && !nombre.equals(EjecutorEjemplos.class.getSimpleName())) {
+                        conMain.add(nombre);
+                    }
+                } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+                    // Clase auxiliar sin main (o que no se puede cargar): no es un ejemplo
+                }
+            }
+        }
+        return conMain;
+    }
+
+    /**
+     * Ejecuta los ejemplos con {@code hilos} a la vez. Los que cambian
+     * System.out con System.setOut (como FacturacionMasiva) se ejecutan solos
+     * antes que el resto, para no llevarse la salida de los demás.
+     */
+    public List<Resultado> ejecutar(List<String> clases, int hilos) throws IOException, InterruptedException {
+        PrintStream salidaOriginal = System.out;
+        PrintStream erroresOriginal = System.err;
+        System.setOut(new PrintStream(new Desvio(salidaOriginal, false), true));
+        System.setErr(new PrintStream(new Desvio(erroresOriginal, true), true));
+        Resultado[] resultados = new Resultado[clases.size()];
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Integer> paralelos = new ArrayList<>();
+            for (int i = 0; i < clases.size(); i++) {
+                if (cambiaSalidaEstandar(clases.get(i))) {
+                    resultados[i] = ejecutarUno(clases.get(i));
+                } else {
+                    paralelos.add(i);
+                }
+            }
+            List<Future<Resultado>> pendientes = new ArrayList<>();
+            for (int i : paralelos) {
+                String clase = clases.get(i);
+                pendientes.add(pool.submit(() -> ejecutarUno(clase)));
+            }
+            for (int k = 0; k < paralelos.size(); k++) {
+                try {
+                    resultados[paralelos.get(k)] = pendientes.get(k).get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Fallo inesperado del ejecutor", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+            System.out.flush();
+            System.setOut(salidaOriginal);
+            System.setErr(erroresOriginal);
+        }
+        return Arrays.asList(resultados);
+    }
+
+    private Resultado ejecutarUno(String clase) {
+        Captura captura = new Captura();
+        CargadorAislado cargador = new CargadorAislado(rutaClases, captura);
+        Thread hilo = Thread.currentThread();
+        ClassLoader contextoAnterior = hilo.getContextClassLoader();
+        ACTUAL.set(captura);
+        hilo.setContextClassLoader(cargador);
+        Throwable fallo = null;
+        long inicio = System.nanoTime();
+        try {
+            Method main = Class.forName(clase, true, cargador).getMethod("main", String[].class);
+            main.invoke(null, (Object) new String[0]);
+        } catch (InvocationTargetException e) {
+            fallo = e.getCause();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            fallo = e;
+        } finally {
+            hilo.setContextClassLoader(contextoAnterior);
+            ACTUAL.remove();
+        }
+        long nanos = System.nanoTime() - inicio;
+        // El cargador no se cierra: hilos que el ejemplo dejó corriendo pueden necesitar clases;
+        // se libera cuando el GC ya no lo alcanza
+        return new Resultado(clase, nanos, captura.salida.toByteArray(), captura.errores.toByteArray(), fallo);
+    }
+
+    /** Busca llamadas a System.setOut/setErr/setIn en el .class del ejemplo y sus clases anidadas. */
+    private boolean cambiaSalidaEstandar(String clase) throws IOException {
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorioClases, clase + "{,$*}.class")) {
+            for (Path p : archivos) {
+                String contenido = new String(Files.readAllBytes(p), StandardCharsets.ISO_8859_1);
+                if (contenido.contains("setOut") || contenido.contains("setErr") || contenido.contains("setIn")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Lo mismo que hace launch.json: una JVM nueva por ejemplo. */
+    public Resultado ejecutarEnJvmSeparada(String clase) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder pb = new ProcessBuilder(java, "-Dfile.encoding=" + System.getProperty("file.encoding"),
+                                               "-cp", directorioClases.toString(), clase);
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        long inicio = System.nanoTime();
+        Process proceso = pb.start();
+        byte[] salida;
+        try (InputStream in = proceso.getInputStream()) {
+            salida = in.readAllBytes();
+        }
+        int codigo = proceso.waitFor();
+        long nanos = System.nanoTime() - inicio;
+        Throwable fallo = codigo == 0 ? null : new IllegalStateException("Código de salida " + codigo);
+        return new Resultado(clase, nanos, salida, new byte[0], fallo);
+    }
+
+    // ===== DEMOSTRACIÓN / LÍNEA DE COMANDOS =====
+
+    /**
+     * Uso: java EjecutorEjemplos [--hilos n] [--comparar] [--mostrar] [--cp dir] [Clase ...]
+     * Sin clases ejecuta todos los main() del directorio de clases (por
+     * defecto, donde está compilado este ejecutor). Un ejemplo que llame a
+     * System.exit() termina también el ejecutor.
+     */
+    public static void main(String[] args) throws Exception {
+        int hilos = Runtime.getRuntime().availableProcessors();
+        boolean comparar = false;
+        boolean mostrar = false;
+        Path directorio = Path.of(EjecutorEjemplos.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> clases = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--hilos": hilos = Integer.parseInt(args[++i]); break;
+                case "--comparar": comparar = true; break;
+                case "--mostrar": mostrar = true; break;
+                case "--cp": directorio = Path.of(args[++i]); break;
+                default: clases.add(args[i]);
+            }
+        }
+        EjecutorEjemplos ejecutor = new EjecutorEjemplos(directorio);
+        if (clases.isEmpty()) {
+            clases = ejecutor.descubrir();
+        }
+        System.out.println("=== EJECUTOR DE EJEMPLOS EN UNA SOLA JVM ===");
+        System.out.println(clases.size() + " ejemplos, " + hilos + " hilo(s)");
+
+        // 1. Aislamiento: dos ejecuciones seguidas deben imprimir lo mismo
+        System.out.println("\n1. AISLAMIENTO DE VARIABLES STATIC:");
+        List<String> dosVeces = Arrays.asList("VariablesEstaticas", "VariablesEstaticas");
+        if (ejecutor.descubrir().contains("VariablesEstaticas")) {
+            List<Resultado> r = ejecutor.ejecutar(dosVeces, 1);
+            boolean iguales = Arrays.equals(r.get(0).getSalida(), r.get(1).getSalida());
+            System.out.println(iguales ? "✅ VariablesEstaticas dos veces: totalEstudiantes empieza en 0 en ambas"
+                                       : "❌ La segunda ejecución vio el estado de la primera");
+        } else {
+            System.out.println("(VariablesEstaticas no está compilada en " + directorio + ")");
+        }
+
+        // 2. Todos los ejemplos en la misma JVM
+        System.out.println("\n2. EJECUCIÓN:");
+        long inicio = System.nanoTime();
+        List<Resultado> enProceso = ejecutor.ejecutar(clases, hilos);
+        long totalEnProceso = System.nanoTime() - inicio;
+
+        List<Resultado> separados = new ArrayList<>();
+        long totalSeparados = 0;
+        if (comparar) {
+            inicio = System.nanoTime();
+            for (String clase : clases) {
+                separados.add(ejecutor.ejecutarEnJvmSeparada(clase));
+            }
+            totalSeparados = System.nanoTime() - inicio;
+        }
+
+        System.out.printf("%-30s | %12s | %13s | %7s | %s%n", "EJEMPLO", "EN JVM (ms)",
+                          comparar ? "SEPARADA (ms)" : "", "LÍNEAS", "RESULTADO");
+        long sumaEnProceso = 0;
+        for (int i = 0; i < enProceso.size(); i++) {
+            Resultado r = enProceso.get(i);
+            sumaEnProceso += r.getNanos();
+            String estado;
+            if (r.getFallo() != null) {
+                estado = "❌ " + r.getFallo();
+            } else if (!comparar) {
+                estado = "✅";
+            } else if (Arrays.equals(r.getSalida(), separados.get(i).getSalida())) {
+                estado = "✅ misma salida";
+            } else {
+                estado = "≈ salida distinta (tiempos o datos aleatorios)";
+            }
+            System.out.printf("%-30s | %12.1f | %13s | %7d | %s%n", r.getClase(), r.getNanos() / 1e6,
+                              comparar ? String.format("%.1f", separados.get(i).getNanos() / 1e6) : "",
+                              r.lineas(), estado);
+        }
+
+        System.out.println("\n3. TIEMPO TOTAL:");
+        System.out.printf("Una JVM, %d hilo(s):  %8.1f ms (suma de ejemplos %.1f ms)%n", hilos,
+                          totalEnProceso / 1e6, sumaEnProceso / 1e6);
+        if (comparar) {
+            System.out.printf("Una JVM por ejemplo:  %8.1f ms%n", totalSeparados / 1e6);
+            System.out.printf("→ %.1f veces más rápido%n", totalSeparados / (double) totalEnProceso);
+        } else {
+            System.out.println("(--comparar para medir también una JVM por ejemplo)");
+        }
+
+        if (mostrar) {
+            for (Resultado r : enProceso) {
+                System.out.println("\n===== " + r.getClase() + " =====");
+                System.out.write(r.getSalida());
+                System.out.write(r.getErrores());
+            }
+            System.out.flush();
+        }
+    }
+}
+
+/*
+EJECUTAR MUCHOS main() EN UNA SOLA JVM:
+
+1. POR QUÉ:
+   - Cada "java Clase" arranca una JVM: carga cientos de clases del JDK,
+     interpreta en frío y termina justo cuando el JIT empezaba a ayudar
+   - Con decenas de ejemplos, el arranque pesa más que los propios ejemplos
+
+2. CÓMO:
+   - main() es public static: Method.invoke(null, (Object) args)
+   - Un URLClassLoader por ejemplo, con padre = cargador de plataforma:
+     las clases del curso se cargan de nuevo y sus static empiezan de cero
+   - System.out se reemplaza por un desvío que decide, por hilo y por pila,
+     a qué ejemplo pertenece cada línea
+
+3. LIMITACIONES:
+   - System.exit() termina todo (el ejecutor incluido)
+   - Los ejemplos que llaman a System.setOut se ejecutan solos, no en paralelo
+   - Las clases del JDK sí se comparten (por eso arrancan calientes)
+*/
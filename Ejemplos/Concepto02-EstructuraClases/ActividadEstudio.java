@@ -0,0 +1,788 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * CONCEPTO 2: Estructura de clases
+ *
+ * Ejemplo: Actividad de estudio en vivo a partir de Estudiante.estudiar()
+ * Demuestra cómo convertir cada llamada en un evento (estudiante, materia,
+ * carrera, tiempo) que varios hilos publican sin bloquearse en un anillo
+ * preasignado, y cómo un solo consumidor mantiene contadores por materia y
+ * por carrera en ventanas deslizantes de 1 minuto y 1 hora, más un
+ * Count-Min sketch para encontrar las materias más estudiadas. Ningún paso
+ * crea objetos por evento
+ * (rendimiento medido con JMH en benchmarks/: ActividadBenchmark)
+ */
+public final class ActividadEstudio implements AutoCloseable {
+
+    /** Ventanas deslizantes: 60 baldes de 1 segundo o 60 baldes de 1 minuto. */
+    public enum Ventana {
+        MINUTO(1_000L), HORA(60_000L);
+
+        final long anchoBaldeMs;
+
+        Ventana(long anchoBaldeMs) {
+            this.anchoBaldeMs = anchoBaldeMs;
+        }
+    }
+
+    private static final int BALDES = 60;
+    /** Eventos que el consumidor procesa antes de soltar el candado de consulta. */
+    private static final int LOTE = 4096;
+    /** Materias frecuentes que se siguen con el Count-Min sketch. */
+    private static final int FRECUENTES = 10;
+    /** Carrera con la que se agrupan los estudiantes creados sin carrera. */
+    static final String SIN_CARRERA = "(sin carrera)";
+
+    // ===== ANILLO MPSC (una columna por campo del evento, preasignadas) =====
+
+    private final int[] anilloEstudiante;
+    private final int[] anilloMateria;
+    private final int[] anilloCarrera;
+    private final long[] anilloTiempo;
+    private final AtomicLongArray publicada;                 // Secuencia que contiene cada casilla
+    private final int mascara;
+    private final AtomicLong reservada = new AtomicLong();   // Próxima secuencia a entregar
+    private volatile long consumida;                         // Casillas anteriores ya se pueden reutilizar
+    private final LongAdder descartados = new LongAdder();
+
+    // ===== DICCIONARIOS texto -> código (lectura sin candados) =====
+
+    private final Map<String, Integer> codigoPorMateria = new ConcurrentHashMap<>();
+    private final Map<String, Integer> codigoPorCarrera = new ConcurrentHashMap<>();
+    private final String[] materiaPorCodigo;
+    private final String[] carreraPorCodigo;
+    private final int maxMaterias;
+    private final int maxCarreras;
+
+    // ===== ESTADO DEL CONSUMIDOR (solo se toca con el candado 'ocupado') =====
+
+    private final AtomicBoolean ocupado = new AtomicBoolean();
+    private final Contadores porSegundo;     // Ventana MINUTO: materias y luego carreras
+    private final Contadores porMinuto;      // Ventana HORA
+    private final CountMin sketch;           // Materias en la ventana HORA
+    private final LongSupplier reloj;
+    private long procesados;
+    private long tardios;
+    private long fueraDeRango;
+
+    private Thread consumidor;
+    private volatile boolean cerrando;
+
+    public ActividadEstudio() {
+        this(1 << 16, 4096, 256, System::currentTimeMillis);
+    }
+
+    /**
+     * @param capacidad   eventos que caben en el anillo (se redondea a potencia de 2)
+     * @param maxMaterias materias distintas que se cuentan exactamente
+     * @param maxCarreras carreras distintas
+     * @param reloj       hora actual en milisegundos (para los eventos de estudiar() y
+     *                    para vaciar las ventanas aunque no lleguen eventos)
+     */
+    public ActividadEstudio(int capacidad, int maxMaterias, int maxCarreras, LongSupplier reloj) {
+        if (capacidad < 2 || maxMaterias < 1 || maxCarreras < 1) {
+            throw new IllegalArgumentException("Capacidades inválidas");
+        }
+        int tamano = Integer.highestOneBit(capacidad - 1) << 1;
+        this.anilloEstudiante = new int[tamano];
+        this.anilloMateria = new int[tamano];
+        this.anilloCarrera = new int[tamano];
+        this.anilloTiempo = new long[tamano];
+        this.publicada = new AtomicLongArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            publicada.set(i, -1);
+        }
+        this.mascara = tamano - 1;
+        this.maxMaterias = maxMaterias;
+        this.maxCarreras = maxCarreras;
+        this.materiaPorCodigo = new String[maxMaterias];
+        this.carreraPorCodigo = new String[maxCarreras];
+        this.porSegundo = new Contadores(maxMaterias + maxCarreras);
+        this.porMinuto = new Contadores(maxMaterias + maxCarreras);
+        this.sketch = new CountMin();
+        this.reloj = reloj;
+    }
+
+    // ===== PRODUCTORES (cualquier hilo, sin candados) =====
+
+    /**
+     * Publica un evento. Nunca bloquea: si el anillo está lleno el evento se
+     * descarta, se cuenta y se devuelve false (un tablero prefiere perder
+     * una muestra a frenar a quien estudia).
+     */
+    public boolean publicar(int estudiante, int materia, int carrera, long tiempoMs) {
+        long secuencia;
+        do {
+            secuencia = reservada.get();
+            if (secuencia - consumida >= publicada.length()) {
+                descartados.increment();
+                return false;
+            }
+        } while (!reservada.compareAndSet(secuencia, secuencia + 1));
+        int i = (int) secuencia & mascara;
+        anilloEstudiante[i] = estudiante;
+        anilloMateria[i] = materia;
+        anilloCarrera[i] = carrera;
+        anilloTiempo[i] = tiempoMs;
+        publicada.lazySet(i, secuencia);    // Escritura con release: publica las columnas anteriores
+        return true;
+    }
+
+    /** El evento de Estudiante.estudiar(): traduce los textos a códigos y usa el reloj. */
+    public boolean registrar(Estudiante estudiante, String materia) {
+        int m = codigoMateria(materia);
+        int c = codigoCarrera(estudiante.getCarrera());
+        if (m < 0 || c < 0) {
+            descartados.increment();
+            return false;
+        }
+        return publicar(estudiante.getId(), m, c, reloj.getAsLong());
+    }
+
+    /** Código de la materia (se asigna la primera vez), o -1 si ya no caben más. */
+    public int codigoMateria(String materia) {
+        return codificar(materia, codigoPorMateria, materiaPorCodigo);
+    }
+
+    /** Código de la carrera; un estudiante sin carrera (null) cuenta como SIN_CARRERA. */
+    public int codigoCarrera(String carrera) {
+        return codificar(carrera == null ? SIN_CARRERA : carrera, codigoPorCarrera, carreraPorCodigo);
+    }
+
+    private static int codificar(String texto, Map<String, Integer> codigos, String[] textos) {
+        Integer codigo = codigos.get(texto);       // Camino común: lectura sin candado ni objetos nuevos
+        if (codigo != null) {
+            return codigo;
+        }
+        synchronized (codigos) {
+            codigo = codigos.get(texto);
+            if (codigo == null) {
+                if (codigos.size() == textos.length) {
+                    return -1;
+                }
+                codigo = codigos.size();
+                textos[codigo] = texto;
+                codigos.put(texto, codigo);
+            }
+            return codigo;
+        }
+    }
+
+    // ===== CONSUMIDOR (un hilo a la vez) =====
+
+    /** Arranca un hilo que consume el anillo hasta close(). */
+    public synchronized void iniciar() {
+        if (consumidor != null) {
+            throw new IllegalStateException("El consumidor ya está en marcha");
+        }
+        consumidor = new Thread(() -> {
+            while (!cerrando) {
+                if (drenar() == 0) {
+                    LockSupport.parkNanos(200_000);
+                }
+            }
+            drenar();
+        }, "actividad-estudio");
+        consumidor.setDaemon(true);
+        consumidor.start();
+    }
+
+    /**
+     * Procesa todo lo publicado hasta ahora y avanza las ventanas a la hora
+     * del reloj. Lo usa el hilo de iniciar(); sin ese hilo se puede llamar
+     * directamente (por ejemplo desde el tablero, antes de consultar).
+     *
+     * @return eventos procesados
+     */
+    public int drenar() {
+        int total = 0;
+        while (true) {
+            bloquear();
+            int n;
+            try {
+                n = procesarLote();
+                if (n < LOTE) {
+                    avanzar(reloj.getAsLong());
+                }
+            } finally {
+                ocupado.set(false);
+            }
+            total += n;
+            if (n < LOTE) {
+                return total;
+            }
+        }
+    }
+
+    private int procesarLote() {
+        long siguiente = consumida;
+        int n = 0;
+        while (n < LOTE) {
+            int i = (int) siguiente & mascara;
+            if (publicada.get(i) != siguiente) {
+                break;
+            }
+            procesar(anilloMateria[i], anilloCarrera[i], anilloTiempo[i]);
+            siguiente++;
+            n++;
+        }
+        consumida = siguiente;     // Libera las casillas de todo el lote con una sola escritura volatile
+        return n;
+    }
+
+    private void procesar(int materia, int carrera, long tiempoMs) {
+        procesados++;
+        if (materia < 0 || materia >= maxMaterias || carrera < 0 || carrera >= maxCarreras) {
+            fueraDeRango++;
+            return;
+        }
+        int baldeSegundo = porSegundo.balde(tiempoMs, Ventana.MINUTO.anchoBaldeMs);
+        int baldeMinuto = porMinuto.balde(tiempoMs, Ventana.HORA.anchoBaldeMs);
+        if (baldeSegundo >= 0) {
+            porSegundo.sumar(baldeSegundo, materia);
+            porSegundo.sumar(baldeSegundo, maxMaterias + carrera);
+        }
+        if (baldeMinuto >= 0) {
+            porMinuto.sumar(baldeMinuto, materia);
+            porMinuto.sumar(baldeMinuto, maxMaterias + carrera);
+            sketch.sumar(baldeMinuto, materia);
+        } else {
+            tardios++;      // Más viejo que la ventana de 1 hora
+        }
+    }
+
+    private void avanzar(long ahoraMs) {
+        porSegundo.avanzar(Math.floorDiv(ahoraMs, Ventana.MINUTO.anchoBaldeMs));
+        porMinuto.avanzar(Math.floorDiv(ahoraMs, Ventana.HORA.anchoBaldeMs));
+    }
+
+    private void bloquear() {
+        while (!ocupado.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Detiene el hilo consumidor después de procesar lo pendiente. */
+    @Override
+    public void close() {
+        cerrando = true;
+        Thread hilo;
+        synchronized (this) {
+            hilo = consumidor;
+        }
+        if (hilo != null) {
+            LockSupport.unpark(hilo);
+            try {
+                hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ===== CONSULTAS (esperan a que el consumidor termine su lote) =====
+
+    /** Veces que se estudió la materia dentro de la ventana. */
+    public long estudiosDeMateria(String materia, Ventana ventana) {
+        Integer codigo = codigoPorMateria.get(materia);
+        return codigo == null ? 0 : total(ventana, codigo);
+    }
+
+    public long estudiosDeCarrera(String carrera, Ventana ventana) {
+        Integer codigo = codigoPorCarrera.get(carrera);
+        return codigo == null ? 0 : total(ventana, maxMaterias + codigo);
+    }
+
+    private long total(Ventana ventana, int clave) {
+        bloquear();
+        try {
+            return (ventana == Ventana.MINUTO ? porSegundo : porMinuto).totales[clave];
+        } finally {
+            ocupado.set(false);
+        }
+    }
+
+    /** Estimación del Count-Min para la última hora (nunca menor que el valor real). */
+    public long estimacionMateria(String materia) {
+        Integer codigo = codigoPorMateria.get(materia);
+        if (codigo == null) {
+            return 0;
+        }
+        bloquear();
+        try {
+            return sketch.estimar(codigo);
+        } finally {
+            ocupado.set(false);
+        }
+    }
+
+    /** Hasta FRECUENTES materias más estudiadas en la última hora, de más a menos. */
+    public List<Frecuente> materiasMasEstudiadas() {
+        bloquear();
+        try {
+            return sketch.frecuentes(materiaPorCodigo);
+        } finally {
+            ocupado.set(false);
+        }
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    public String resumen() {
+        bloquear();
+        try {
+            return String.format("procesados=%,d descartados=%,d tardíos=%,d fueraDeRango=%,d",
+                                 procesados, descartados.sum(), tardios, fueraDeRango);
+        } finally {
+            ocupado.set(false);
+        }
+    }
+
+    public static final class Frecuente {
+        private final String materia;
+        private final long estimacion;
+
+        Frecuente(String materia, long estimacion) {
+            this.materia = materia;
+            this.estimacion = estimacion;
+        }
+
+        public String getMateria() { return materia; }
+        public long getEstimacion() { return estimacion; }
+
+        @Override
+        public String toString() {
+            return materia + " ≈ " + estimacion;
+        }
+    }
+
+    // ===== VENTANA DESLIZANTE CON BALDES EN ANILLO =====
+
+    /**
+     * 60 baldes de conteos por clave más el total de la ventana por clave.
+     * Al entrar en un periodo nuevo se vacía el balde más viejo y se resta
+     * de los totales, así consultar la ventana es leer un número.
+     */
+    private static final class Contadores {
+        private final int claves;
+        private final int[] conteos;         // [balde * claves + clave]
+        private final long[] totales;
+        private final long[] periodoDelBalde = new long[BALDES];
+        private long periodoActual = Long.MIN_VALUE;
+
+        // Caché del periodo actual: las divisiones solo se hacen al cambiar de periodo
+        private long inicioMs = Long.MAX_VALUE;
+        private long finMs = Long.MIN_VALUE;
+        private int baldeActual;
+
+        Contadores(int claves) {
+            this.claves = claves;
+            this.conteos = new int[claves * BALDES];
+            this.totales = new long[claves];
+            Arrays.fill(periodoDelBalde, Long.MIN_VALUE);
+        }
+
+        /** Balde del instante, avanzando la ventana si hace falta; -1 si ya salió de la ventana. */
+        int balde(long tiempoMs, long anchoMs) {
+            if (tiempoMs >= inicioMs && tiempoMs < finMs) {
+                return baldeActual;
+            }
+            long periodo = Math.floorDiv(tiempoMs, anchoMs);
+            if (periodo > periodoActual) {
+                avanzar(periodo);
+            }
+            int b = (int) Math.floorMod(periodo, (long) BALDES);
+            if (periodoDelBalde[b] != periodo) {
+                return -1;
+            }
+            if (periodo == periodoActual) {
+                inicioMs = periodo * anchoMs;
+                finMs = inicioMs + anchoMs;
+                baldeActual = b;
+            }
+            return b;
+        }
+
+        void sumar(int balde, int clave) {
+            conteos[balde * claves + clave]++;
+            totales[clave]++;
+        }
+
+        void avanzar(long periodo) {
+            if (periodo <= periodoActual) {
+                return;
+            }
+            long desde = periodoActual == Long.MIN_VALUE ? periodo - BALDES + 1
+                         : Math.max(periodoActual + 1, periodo - BALDES + 1);
+            for (long p = desde; p <= periodo; p++) {
+                int b = (int) Math.floorMod(p, (long) BALDES);
+                int base = b * claves;
+                for (int clave = 0; clave < claves; clave++) {
+                    totales[clave] -= conteos[base + clave];
+                }
+                Arrays.fill(conteos, base, base + claves, 0);
+                periodoDelBalde[b] = p;
+            }
+            periodoActual = periodo;
+            inicioMs = Long.MAX_VALUE;      // El caché apuntaba al periodo anterior
+            finMs = Long.MIN_VALUE;
+        }
+    }
+
+    // ===== COUNT-MIN SKETCH POR MINUTO (ventana de 1 hora) =====
+
+    /**
+     * Tabla de FILAS x ANCHO contadores: cada materia suma 1 en una casilla
+     * por fila y la estimación es el mínimo de esas casillas. Sobreestima a
+     * lo sumo en e/ANCHO del total con probabilidad 1 - e^-FILAS, sin
+     * importar cuántas materias distintas haya. Se guarda una tabla por
+     * minuto para poder restar el minuto que sale de la ventana.
+     */
+    private final class CountMin {
+        private static final int FILAS = 4;
+        private static final int BITS_ANCHO = 11;
+        private static final int ANCHO = 1 << BITS_ANCHO;
+        private final long[] semillas = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL,
+                                         0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+        private final int[] total = new int[FILAS * ANCHO];
+        private final int[] porBalde = new int[BALDES * FILAS * ANCHO];
+        private final long[] periodoDelBalde = new long[BALDES];   // Minuto que guarda cada tabla
+        private long periodoVisto = Long.MIN_VALUE;
+
+        // Candidatas a más estudiadas y la menor de sus estimaciones
+        private final int[] candidatas = new int[FRECUENTES];
+        private int totalCandidatas;
+        private long umbral;
+
+        CountMin() {
+            Arrays.fill(periodoDelBalde, Long.MIN_VALUE);
+        }
+
+        private int casilla(int fila, int materia) {
+            long h = (materia + 1L) * semillas[fila];
+            return fila * ANCHO + (int) (h >>> (64 - BITS_ANCHO));
+        }
+
+        void sumar(int balde, int materia) {
+            if (periodoVisto != porMinuto.periodoActual) {
+                sincronizar();
+            }
+            int base = balde * FILAS * ANCHO;
+            long estimacion = Long.MAX_VALUE;
+            for (int fila = 0; fila < FILAS; fila++) {
+                int c = casilla(fila, materia);
+                porBalde[base + c]++;
+                estimacion = Math.min(estimacion, ++total[c]);
+            }
+            if (estimacion > umbral || totalCandidatas < FRECUENTES) {
+                considerar(materia, estimacion);
+            }
+        }
+
+        /** Resta los minutos que salieron de la ventana desde la última vez. */
+        void sincronizar() {
+            for (int b = 0; b < BALDES; b++) {
+                if (periodoDelBalde[b] != porMinuto.periodoDelBalde[b]) {
+                    vaciar(b);
+                    periodoDelBalde[b] = porMinuto.periodoDelBalde[b];
+                }
+            }
+            periodoVisto = porMinuto.periodoActual;
+        }
+
+        long estimar(int materia) {
+            if (periodoVisto != porMinuto.periodoActual) {
+                sincronizar();
+            }
+            long estimacion = Long.MAX_VALUE;
+            for (int fila = 0; fila < FILAS; fila++) {
+                estimacion = Math.min(estimacion, total[casilla(fila, materia)]);
+            }
+            return estimacion;
+        }
+
+        private void vaciar(int balde) {
+            int base = balde * FILAS * ANCHO;
+            for (int c = 0; c < FILAS * ANCHO; c++) {
+                total[c] -= porBalde[base + c];
+                porBalde[base + c] = 0;
+            }
+            umbral = 0;     // Las estimaciones bajaron: se recalcula al reemplazar
+        }
+
+        /** Mantiene las FRECUENTES materias con mayor estimación. */
+        private void considerar(int materia, long estimacion) {
+            int peor = -1;
+            long peorEstimacion = Long.MAX_VALUE;
+            for (int i = 0; i < totalCandidatas; i++) {
+                if (candidatas[i] == materia) {
+                    return;
+                }
+            }
+            if (totalCandidatas < FRECUENTES) {
+                candidatas[totalCandidatas++] = materia;
+                return;
+            }
+            long segundaPeor = Long.MAX_VALUE;
+            for (int i = 0; i < FRECUENTES; i++) {
+                long e = estimar(candidatas[i]);
+                if (e < peorEstimacion) {
+                    segundaPeor = peorEstimacion;
+                    peorEstimacion = e;
+                    peor = i;
+                } else if (e < segundaPeor) {
+                    segundaPeor = e;
+                }
+            }
+            if (estimacion > peorEstimacion) {
+                candidatas[peor] = materia;
+                umbral = Math.min(estimacion, segundaPeor);
+            } else {
+                umbral = peorEstimacion;
+            }
+        }
+
+        List<Frecuente> frecuentes(String[] nombres) {
+            List<Frecuente> lista = new ArrayList<>();
+            for (int i = 0; i < totalCandidatas; i++) {
+                long e = estimar(candidatas[i]);
+                if (e > 0) {
+                    lista.add(new Frecuente(nombres[candidatas[i]], e));
+                }
+            }
+            lista.sort((a, b) -> Long.compare(b.estimacion, a.estimacion));
+            return lista;
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== ACTIVIDAD DE ESTUDIO EN VIVO ===\n");
+
+        // Reloj manual para que la demostración sea reproducible
+        long[] ahora = {1_700_000_000_000L};
+        ActividadEstudio actividad = new ActividadEstudio(1 << 12, 64, 16, () -> ahora[0]);
+
+        // 1. Estudiante.estudiar() publica eventos
+        System.out.println("1. EVENTOS DESDE Estudiante.estudiar():");
+        Estudiante ana = new Estudiante("Ana García", 20, "Ingeniería en Sistemas");
+        Estudiante carlos = new Estudiante("Carlos López", 19, "Medicina");
+        Estudiante.setActividad(actividad);
+        try {
+            ana.estudiar("Algoritmos");
+            carlos.estudiar("Anatomía");
+            ahora[0] += 30_000;
+            ana.estudiar("Algoritmos");
+            ana.estudiar("Cálculo");
+        } finally {
+            Estudiante.setActividad(null);
+        }
+        actividad.drenar();
+        mostrar(actividad, "justo después");
+
+        ahora[0] += 45_000;       // 75 s después del primer evento: sale de la ventana de 1 minuto
+        actividad.drenar();
+        mostrar(actividad, "75 s después");
+
+        ahora[0] += 3_600_000;
+        actividad.drenar();
+        mostrar(actividad, "1 hora después");
+
+        System.out.println("\n2. VERIFICACIÓN (contra recontar los eventos, con 4 productores):");
+        System.out.println(verificar() ? "✅ Ventanas exactas y Count-Min dentro de su cota"
+                                       : "❌ Diferencias con el recuento directo");
+
+        System.out.println("\n3. MEMORIA (publicar y consumir en el mismo hilo):");
+        comprobarMemoria();
+    }
+
+    private static void mostrar(ActividadEstudio a, String momento) {
+        System.out.printf("   %-14s | Algoritmos: %d (1 min) / %d (1 h) | Medicina: %d (1 min) | Frecuentes: %s%n",
+                          momento, a.estudiosDeMateria("Algoritmos", Ventana.MINUTO),
+                          a.estudiosDeMateria("Algoritmos", Ventana.HORA),
+                          a.estudiosDeCarrera("Medicina", Ventana.MINUTO), a.materiasMasEstudiadas());
+    }
+
+    /**
+     * Cuatro hilos publican eventos con tiempos crecientes por hilo mientras
+     * el hilo consumidor los procesa (las ventanas se deslizan durante la
+     * prueba); al final se comparan con un recuento directo de los eventos
+     * que caen en los últimos 60 baldes de cada ventana.
+     */
+    private static boolean verificar() throws InterruptedException {
+        int productores = 4;
+        int porProductor = 250_000;
+        int materias = 200;
+        int carreras = 12;
+        long inicio = 1_700_000_000_000L;
+        long fin = inicio + 2 * 3_600_000L;              // Dos horas de eventos
+        AtomicLong reloj = new AtomicLong(inicio);
+        ActividadEstudio actividad = new ActividadEstudio(1 << 14, materias, carreras, reloj::get);
+        for (int m = 0; m < materias; m++) {
+            actividad.codigoMateria("m" + m);            // Códigos 0..199 en este orden
+        }
+        for (int c = 0; c < carreras; c++) {
+            actividad.codigoCarrera("c" + c);
+        }
+        actividad.iniciar();
+
+        long ultimoSegundo = Math.floorDiv(fin, Ventana.MINUTO.anchoBaldeMs);
+        long ultimoMinuto = Math.floorDiv(fin, Ventana.HORA.anchoBaldeMs);
+        long[][] aceptadosPorMateria = new long[productores][materias * 2];   // [minuto, hora]
+        long[][] aceptadosPorCarrera = new long[productores][carreras * 2];
+        Thread[] hilos = new Thread[productores];
+        for (int p = 0; p < productores; p++) {
+            int id = p;
+            hilos[p] = new Thread(() -> {
+                SplittableRandom azar = new SplittableRandom(id);
+                for (int i = 0; i < porProductor; i++) {
+                    // Distribución exponencial: cada materia se estudia ~12% menos que la anterior
+                    int materia = (int) Math.min(materias - 1, -Math.log(1 - azar.nextDouble()) * 8);
+                    int carrera = azar.nextInt(carreras);
+                    long tiempo = inicio + (fin - inicio - 1) * i / porProductor;
+                    while (!actividad.publicar(i, materia, carrera, tiempo)) {
+                        Thread.yield();      // Anillo lleno: en la verificación no se pierde nada
+                    }
+                    if (Math.floorDiv(tiempo, Ventana.MINUTO.anchoBaldeMs) > ultimoSegundo - BALDES) {
+                        aceptadosPorMateria[id][materia]++;
+                        aceptadosPorCarrera[id][carrera]++;
+                    }
+                    if (Math.floorDiv(tiempo, Ventana.HORA.anchoBaldeMs) > ultimoMinuto - BALDES) {
+                        aceptadosPorMateria[id][materias + materia]++;
+                        aceptadosPorCarrera[id][carreras + carrera]++;
+                    }
+                }
+            });
+            hilos[p].start();
+        }
+        for (Thread h : hilos) {
+            h.join();
+        }
+        reloj.set(fin);
+        actividad.close();      // Procesa lo pendiente y avanza las ventanas hasta 'fin'
+
+        boolean ok = true;
+        long totalHora = 0;
+        long[] exactoHora = new long[materias];
+        for (int m = 0; m < materias; m++) {
+            long minuto = 0;
+            for (long[] porHilo : aceptadosPorMateria) {
+                minuto += porHilo[m];
+                exactoHora[m] += porHilo[materias + m];
+            }
+            totalHora += exactoHora[m];
+            ok &= actividad.estudiosDeMateria("m" + m, Ventana.MINUTO) == minuto
+                  && actividad.estudiosDeMateria("m" + m, Ventana.HORA) == exactoHora[m];
+        }
+        for (int c = 0; c < carreras; c++) {
+            long minuto = 0;
+            long hora = 0;
+            for (long[] porHilo : aceptadosPorCarrera) {
+                minuto += porHilo[c];
+                hora += porHilo[carreras + c];
+            }
+            ok &= actividad.estudiosDeCarrera("c" + c, Ventana.MINUTO) == minuto
+                  && actividad.estudiosDeCarrera("c" + c, Ventana.HORA) == hora;
+        }
+        System.out.println("   Ventanas exactas por materia y carrera: " + (ok ? "✅" : "❌"));
+
+        // Count-Min: nunca subestima y el error queda bajo e/ANCHO del total
+        double cota = Math.E / CountMin.ANCHO * totalHora;
+        boolean sketchOk = true;
+        double peorError = 0;
+        for (int m = 0; m < materias; m++) {
+            long estimado = actividad.estimacionMateria("m" + m);
+            sketchOk &= estimado >= exactoHora[m];
+            peorError = Math.max(peorError, estimado - exactoHora[m]);
+        }
+        sketchOk &= peorError <= cota;
+        System.out.printf("   Count-Min: peor sobreestimación %.0f de %,d eventos (cota %.0f) %s%n",
+                          peorError, totalHora, cota, sketchOk ? "✅" : "❌");
+
+        List<Frecuente> frecuentes = actividad.materiasMasEstudiadas();
+        boolean topOk = frecuentes.size() == FRECUENTES;
+        for (int i = 0; topOk && i < FRECUENTES; i++) {
+            topOk = frecuentes.get(i).getMateria().equals("m" + i);
+        }
+        System.out.println("   Más estudiadas: " + frecuentes.subList(0, 5) + "... " + (topOk ? "✅" : "❌"));
+        System.out.println("   " + actividad.resumen());
+        return ok && sketchOk && topOk;
+    }
+
+    /** Materias con distribución de cola larga: unas pocas concentran la mayoría de los eventos. */
+    static int[] materiasDePrueba(int maxMaterias) {
+        int[] materias = new int[1024];
+        SplittableRandom azar = new SplittableRandom(3);
+        for (int i = 0; i < materias.length; i++) {
+            materias[i] = (int) Math.min(maxMaterias - 1, Math.abs(azar.nextGaussian()) * 300);
+        }
+        return materias;
+    }
+
+    private static void comprobarMemoria() {
+        long[] ahora = {1_700_000_000_000L};
+        ActividadEstudio actividad = new ActividadEstudio(1 << 16, 4096, 256, () -> ahora[0]);
+        int eventos = 20_000_000;
+        int[] materias = materiasDePrueba(4096);
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int ronda = 0; ronda < 3; ronda++) {        // Las primeras rondas calientan el JIT
+            long bytes0 = mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+            long tiempo = ahora[0];
+            for (int i = 0; i < eventos; i++) {
+                actividad.publicar(i, materias[i & 1023], i & 255, tiempo + i / 20_000);   // 20.000 eventos por ms
+                if ((i & 1023) == 1023) {
+                    actividad.drenar();
+                }
+            }
+            actividad.drenar();
+            long bytes = mx.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytes0;
+            ahora[0] = tiempo + eventos / 20_000;
+            if (ronda == 2) {
+                System.out.printf("   %,d eventos | %.4f bytes/evento %s%n",
+                                  eventos, bytes / (double) eventos, bytes < eventos / 100 ? "✅" : "❌");
+            }
+        }
+        System.out.println("   " + actividad.resumen());
+    }
+}
+
+/*
+EVENTOS DE ESTUDIO EN VENTANAS DESLIZANTES:
+
+1. ANILLO MPSC (varios productores, un consumidor):
+   - Columnas int[]/long[] preasignadas: publicar no crea objetos
+   - Cada productor reserva una secuencia con CAS y publica con una escritura release
+   - Si el anillo está lleno, el evento se descarta y se cuenta (nunca se bloquea)
+
+2. VENTANAS CON BALDES:
+   - 1 minuto = 60 baldes de 1 s; 1 hora = 60 baldes de 1 min
+   - Al entrar en un periodo nuevo se resta el balde más viejo de los totales
+   - Consultar una ventana es leer un número; las divisiones solo al cambiar de periodo
+
+3. COUNT-MIN SKETCH:
+   - 4 x 2048 contadores, sin importar cuántas materias existan
+   - Estimación = mínimo de 4 casillas: nunca subestima
+   - Una tabla por minuto para restar lo que sale de la ventana de 1 hora
+   - Las 10 materias con mayor estimación se siguen como candidatas
+
+4. CONSULTAS:
+   - El consumidor procesa en lotes de 4096 y suelta un candado entre lotes
+   - El tablero consulta entre lotes: ve un estado consistente sin frenar a los productores
+*/
@@ -0,0 +1,687 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * CONCEPTO 2: Estructura de clases
+ *
+ * Ejemplo: Cargar miles de promedios sin un println por cada error
+ * Demuestra cómo separar la validación de la presentación: setPromedio()
+ * imprime cada valor inválido, lo que en una carga masiva domina el tiempo
+ * y mezcla líneas de varios hilos. Aquí un lote (ids + promedios) se valida
+ * y aplica en una sola pasada y los rechazos se devuelven como un mapa de
+ * bits, que el llamador puede mostrar, guardar o ignorar. Hay versión en
+ * paralelo para lotes grandes y lectura en streaming desde CSV o binario
+ * (rendimiento medido con JMH en benchmarks/: CargaPromediosBenchmark)
+ */
+public final class CargaPromedios {
+
+    /** Entradas por tarea; múltiplo de 64 para que cada tarea escriba sus propias palabras del mapa. */
+    private static final int UMBRAL = 1 << 15;
+    /** Registros que se leen del archivo antes de aplicarlos. */
+    private static final int LOTE = 8192;
+    private static final int BUFER = 64 * 1024;
+    /** Bytes por registro binario: int id + double promedio (big-endian, como DataOutputStream). */
+    public static final int BYTES_REGISTRO = 12;
+
+    private CargaPromedios() {
+        // Solo métodos static
+    }
+
+    // ===== LOTES EN MEMORIA =====
+
+    /**
+     * Asigna promedios[i] al estudiante destino[ids[i]]. Se rechazan los ids
+     * fuera del arreglo o sin estudiante y los promedios fuera de 0.0-10.0.
+     * Si un id se repite, gana la última entrada válida.
+     */
+    public static Rechazos aplicar(Estudiante[] destino, int[] ids, double[] promedios) {
+        return ejecutar(aplicador(destino), destino.length, ids, promedios, false);
+    }
+
+    /**
+     * Igual que aplicar(), repartiendo el lote entre los hilos del pool
+     * común. El resultado es el mismo que con aplicar(): antes de repartir
+     * se buscan ids repetidos y, si hay alguno, el lote se aplica en un
+     * solo hilo para que siga ganando la última entrada válida.
+     */
+    public static Rechazos aplicarEnParalelo(Estudiante[] destino, int[] ids, double[] promedios) {
+        return ejecutar(aplicador(destino), destino.length, ids, promedios, true);
+    }
+
+    /** Lo mismo sobre las filas de un Roster (el id es el número de fila). */
+    public static Rechazos aplicar(Roster destino, int[] filas, double[] promedios) {
+        return ejecutar(aplicador(destino), destino.size(), filas, promedios, false);
+    }
+
+    public static Rechazos aplicarEnParalelo(Roster destino, int[] filas, double[] promedios) {
+        return ejecutar(aplicador(destino), destino.size(), filas, promedios, true);
+    }
+
+    // ===== ARCHIVOS (streaming: memoria constante) =====
+
+    /**
+     * Lee líneas "id,promedio" (UTF-8 o ASCII, fin de línea \n o \r\n). Una
+     * primera línea que no empieza con un número se toma como encabezado y
+     * las líneas vacías se ignoran; cualquier otra línea es un registro y
+     * las que no se pueden interpretar se rechazan como mal formadas.
+     */
+    public static Rechazos cargarCsv(Path archivo, Estudiante[] destino) throws IOException {
+        return leerCsv(archivo, aplicador(destino));
+    }
+
+    public static Rechazos cargarCsv(Path archivo, Roster destino) throws IOException {
+        return leerCsv(archivo, aplicador(destino));
+    }
+
+    /**
+     * Lee registros de BYTES_REGISTRO bytes (int id, double promedio), el
+     * formato que produce DataOutputStream. Un resto incompleto al final
+     * cuenta como un registro mal formado.
+     */
+    public static Rechazos cargarBinario(Path archivo, Estudiante[] destino) throws IOException {
+        return leerBinario(archivo, aplicador(destino));
+    }
+
+    public static Rechazos cargarBinario(Path archivo, Roster destino) throws IOException {
+        return leerBinario(archivo, aplicador(destino));
+    }
+
+    // ===== RESULTADO =====
+
+    /**
+     * Entradas rechazadas de un lote como mapa de bits: el bit i indica la
+     * entrada (o el registro del archivo) número i. Ocupa un bit por
+     * entrada, sin importar cuántas se rechacen.
+     */
+    public static final class Rechazos {
+        private long[] bits;
+        private int procesadas;
+        private int malFormadas;
+
+        Rechazos(int capacidad) {
+            this.bits = new long[(capacidad + 63) >>> 6];
+        }
+
+        /** Entradas leídas o recibidas, aceptadas y rechazadas. */
+        public int getProcesadas() {
+            return procesadas;
+        }
+
+        /** Líneas o registros que no se pudieron interpretar (solo archivos). */
+        public int getMalFormadas() {
+            return malFormadas;
+        }
+
+        public int cantidad() {
+            int total = 0;
+            for (long palabra : bits) {
+                total += Long.bitCount(palabra);
+            }
+            return total;
+        }
+
+        public boolean contiene(int entrada) {
+            int palabra = entrada >>> 6;
+            return entrada >= 0 && palabra < bits.length && (bits[palabra] & (1L << entrada)) != 0;
+        }
+
+        /** Primera entrada rechazada >= desde, o -1 si no hay más (como BitSet.nextSetBit). */
+        public int siguiente(int desde) {
+            int palabra = desde >>> 6;
+            if (desde < 0 || palabra >= bits.length) {
+                return -1;
+            }
+            long resto = bits[palabra] & (-1L << desde);
+            while (resto == 0) {
+                if (++palabra == bits.length) {
+                    return -1;
+                }
+                resto = bits[palabra];
+            }
+            return (palabra << 6) + Long.numberOfTrailingZeros(resto);
+        }
+
+        /** Índices rechazados en orden (crea un arreglo; siguiente() recorre sin crear nada). */
+        public int[] indices() {
+            int[] resultado = new int[cantidad()];
+            int n = 0;
+            for (int i = siguiente(0); i >= 0; i = siguiente(i + 1)) {
+                resultado[n++] = i;
+            }
+            return resultado;
+        }
+
+        private void asegurar(int entradas) {
+            int palabras = (entradas + 63) >>> 6;
+            if (palabras > bits.length) {
+                bits = Arrays.copyOf(bits, Math.max(palabras, bits.length * 2));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return cantidad() + " rechazadas de " + procesadas
+                   + (malFormadas > 0 ? " (" + malFormadas + " mal formadas)" : "");
+        }
+    }
+
+    // ===== NÚCLEO: una pasada que valida y asigna =====
+
+    /**
+     * Aplica las entradas [desde, hasta) de un lote; la entrada i rechazada
+     * marca el bit base + i. Cada destino tiene su propio bucle para que el
+     * JIT lo compile sin llamadas virtuales por entrada.
+     */
+    private interface Aplicador {
+        void aplicar(int[] ids, double[] promedios, int desde, int hasta, long[] bits, int base);
+    }
+
+    private static Aplicador aplicador(Estudiante[] destino) {
+        return (ids, promedios, desde, hasta, bits, base) -> {
+            for (int i = desde; i < hasta; i++) {
+                int id = ids[i];
+                Estudiante e = id >= 0 && id < destino.length ? destino[id] : null;
+                if (e == null || !e.asignarPromedio(promedios[i])) {
+                    int bit = base + i;
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+            }
+        };
+    }
+
+    private static Aplicador aplicador(Roster destino) {
+        return (ids, promedios, desde, hasta, bits, base) -> {
+            int filas = destino.size();
+            for (int i = desde; i < hasta; i++) {
+                int fila = ids[i];
+                double promedio = promedios[i];
+                if (fila >= 0 && fila < filas && Estudiante.esPromedioValido(promedio)) {
+                    destino.setPromedio(fila, promedio);
+                } else {
+                    int bit = base + i;
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+            }
+        };
+    }
+
+    private static Rechazos ejecutar(Aplicador aplicador, int destinos, int[] ids, double[] promedios,
+                                     boolean paralelo) {
+        if (ids.length != promedios.length) {
+            throw new IllegalArgumentException("Los arreglos no coinciden: " + ids.length + " ids y "
+                                               + promedios.length + " promedios");
+        }
+        int n = ids.length;
+        Rechazos rechazos = new Rechazos(n);
+        if (paralelo && n > UMBRAL && !hayRepetidos(ids, destinos)) {
+            ForkJoinPool.commonPool().invoke(new Particion(aplicador, ids, promedios, 0, n, rechazos.bits));
+        } else {
+            aplicador.aplicar(ids, promedios, 0, n, rechazos.bits, 0);
+        }
+        rechazos.procesadas = n;
+        return rechazos;
+    }
+
+    /**
+     * Con un id repetido en trozos distintos, cuál entrada gana dependería
+     * del orden de los hilos. Un bit por destino; los ids fuera de rango se
+     * rechazan igual en cualquier orden y no cuentan.
+     */
+    private static boolean hayRepetidos(int[] ids, int destinos) {
+        long[] vistos = new long[(destinos + 63) >>> 6];
+        for (int id : ids) {
+            if (id >= 0 && id < destinos) {
+                long bit = 1L << id;
+                if ((vistos[id >>> 6] & bit) != 0) {
+                    return true;
+                }
+                vistos[id >>> 6] |= bit;
+            }
+        }
+        return false;
+    }
+
+    /** Divide el lote en trozos alineados a 64 entradas: ninguna palabra del mapa se comparte. */
+    private static final class Particion extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Aplicador aplicador;
+        private final int[] ids;
+        private final double[] promedios;
+        private final int desde;
+        private final int hasta;
+        private final long[] bits;
+
+        Particion(Aplicador aplicador, int[] ids, double[] promedios, int desde, int hasta, long[] bits) {
+            this.aplicador = aplicador;
+            this.ids = ids;
+            this.promedios = promedios;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.bits = bits;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL) {
+                aplicador.aplicar(ids, promedios, desde, hasta, bits, 0);
+                return;
+            }
+            int medio = ((desde + hasta) >>> 1) & ~63;
+            invokeAll(new Particion(aplicador, ids, promedios, desde, medio, bits),
+                      new Particion(aplicador, ids, promedios, medio, hasta, bits));
+        }
+    }
+
+    // ===== LECTURA DE ARCHIVOS =====
+
+    /**
+     * Registros leídos y aún no aplicados. Un registro mal formado entra con
+     * id -1: el núcleo lo rechaza como cualquier otro y los índices del mapa
+     * siguen siendo consecutivos.
+     */
+    private static final class Lote {
+        private final int[] ids = new int[LOTE];
+        private final double[] promedios = new double[LOTE];
+        private final Aplicador aplicador;
+        private final Rechazos rechazos = new Rechazos(LOTE);
+        private int n;
+
+        Lote(Aplicador aplicador) {
+            this.aplicador = aplicador;
+        }
+
+        void agregar(int id, double promedio) {
+            ids[n] = id;
+            promedios[n] = promedio;
+            if (++n == LOTE) {
+                vaciar();
+            }
+        }
+
+        void malFormado() {
+            rechazos.malFormadas++;
+            agregar(-1, Double.NaN);
+        }
+
+        void vaciar() {
+            int base = rechazos.procesadas;
+            rechazos.asegurar(base + n);
+            aplicador.aplicar(ids, promedios, 0, n, rechazos.bits, base);
+            rechazos.procesadas += n;
+            n = 0;
+        }
+
+        Rechazos terminar() {
+            vaciar();
+            return rechazos;
+        }
+    }
+
+    private static Rechazos leerBinario(Path archivo, Aplicador aplicador) throws IOException {
+        Lote lote = new Lote(aplicador);
+        ByteBuffer bufer = ByteBuffer.allocate(BUFER);    // Big-endian por defecto
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            while (canal.read(bufer) >= 0) {
+                bufer.flip();
+                while (bufer.remaining() >= BYTES_REGISTRO) {
+                    lote.agregar(bufer.getInt(), bufer.getDouble());
+                }
+                bufer.compact();
+            }
+        }
+        if (bufer.position() > 0) {
+            lote.malFormado();
+        }
+        return lote.terminar();
+    }
+
+    private static Rechazos leerCsv(Path archivo, Aplicador aplicador) throws IOException {
+        LectorCsv lector = new LectorCsv(new Lote(aplicador));
+        ByteBuffer bufer = ByteBuffer.allocate(BUFER);
+        byte[] b = bufer.array();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            int pendiente = 0;    // Bytes de una línea incompleta al principio del búfer
+            boolean fin = false;
+            while (!fin) {
+                fin = canal.read(bufer) < 0;
+                int limite = bufer.position();
+                int inicio = 0;
+                for (int i = pendiente; i < limite; i++) {
+                    if (b[i] == '\n') {
+                        lector.linea(b, inicio, i);
+                        inicio = i + 1;
+                    }
+                }
+                if (fin && inicio < limite) {
+                    lector.linea(b, inicio, limite);     // Última línea sin \n
+                    inicio = limite;
+                }
+                if (inicio == 0 && limite == b.length) {
+                    lector.lineaLarga();                  // No cabe en el búfer
+                    inicio = limite;
+                }
+                pendiente = limite - inicio;
+                System.arraycopy(b, inicio, b, 0, pendiente);
+                bufer.position(pendiente);
+            }
+        }
+        return lector.lote.terminar();
+    }
+
+    /** Interpreta líneas "id,promedio" sin crear Strings (salvo decimales poco comunes). */
+    private static final class LectorCsv {
+        private static final double[] POTENCIAS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+                                                   1e11, 1e12, 1e13, 1e14, 1e15};
+
+        final Lote lote;
+        private boolean primera = true;
+        private boolean descartando;   // Dentro de una línea demasiado larga, hasta el próximo \n
+
+        LectorCsv(Lote lote) {
+            this.lote = lote;
+        }
+
+        void lineaLarga() {
+            if (!descartando) {
+                descartando = true;
+                primera = false;
+                lote.malFormado();
+            }
+        }
+
+        void linea(byte[] b, int desde, int hasta) {
+            if (descartando) {
+                descartando = false;      // Aquí termina la línea larga, ya contada
+                return;
+            }
+            while (desde < hasta && esBlanco(b[desde])) {
+                desde++;
+            }
+            while (hasta > desde && esBlanco(b[hasta - 1])) {
+                hasta--;        // Incluye el \r de \r\n
+            }
+            if (desde == hasta) {
+                return;
+            }
+            if (primera) {
+                primera = false;
+                if (!esDigito(b[desde]) && b[desde] != '-' && b[desde] != '+') {
+                    return;     // Encabezado
+                }
+            }
+            int coma = desde;
+            while (coma < hasta && b[coma] != ',') {
+                coma++;
+            }
+            if (coma == hasta) {
+                lote.malFormado();
+                return;
+            }
+            try {
+                int id = leerEntero(b, desde, recortarFin(b, desde, coma));
+                double promedio = leerDecimal(b, recortarInicio(b, coma + 1, hasta), hasta);
+                lote.agregar(id, promedio);
+            } catch (NumberFormatException e) {
+                lote.malFormado();
+            }
+        }
+
+        private static int leerEntero(byte[] b, int desde, int hasta) {
+            boolean negativo = desde < hasta && b[desde] == '-';
+            int i = negativo || (desde < hasta && b[desde] == '+') ? desde + 1 : desde;
+            if (i == hasta || hasta - i > 10) {
+                throw new NumberFormatException();
+            }
+            long valor = 0;
+            for (; i < hasta; i++) {
+                if (!esDigito(b[i])) {
+                    throw new NumberFormatException();
+                }
+                valor = valor * 10 + (b[i] - '0');
+            }
+            valor = negativo ? -valor : valor;
+            if (valor != (int) valor) {
+                throw new NumberFormatException();
+            }
+            return (int) valor;
+        }
+
+        /**
+         * Camino rápido para "8", "9.25", "-0.5": con 15 dígitos o menos la
+         * mantisa y la potencia de 10 son exactas en double y una sola
+         * división redondea igual que Double.parseDouble. El resto
+         * (exponentes, NaN, muchos dígitos) pasa por Double.parseDouble.
+         */
+        private static double leerDecimal(byte[] b, int desde, int hasta) {
+            int i = desde;
+            boolean negativo = i < hasta && b[i] == '-';
+            if (negativo || (i < hasta && b[i] == '+')) {
+                i++;
+            }
+            long mantisa = 0;
+            int digitos = 0;
+            int decimales = -1;    // -1 = sin punto todavía
+            for (; i < hasta; i++) {
+                byte c = b[i];
+                if (esDigito(c)) {
+                    mantisa = mantisa * 10 + (c - '0');
+                    digitos++;
+                    if (decimales >= 0) {
+                        decimales++;
+                    }
+                } else if (c == '.' && decimales < 0) {
+                    decimales = 0;
+                } else {
+                    break;
+                }
+            }
+            if (i == hasta && digitos > 0 && digitos < POTENCIAS.length) {
+                double valor = mantisa / POTENCIAS[Math.max(decimales, 0)];
+                return negativo ? -valor : valor;
+            }
+            if (hasta == desde) {
+                throw new NumberFormatException();
+            }
+            return Double.parseDouble(new String(b, desde, hasta - desde, StandardCharsets.ISO_8859_1));
+        }
+
+        private static int recortarInicio(byte[] b, int desde, int hasta) {
+            while (desde < hasta && esBlanco(b[desde])) {
+                desde++;
+            }
+            return desde;
+        }
+
+        private static int recortarFin(byte[] b, int desde, int hasta) {
+            while (hasta > desde && esBlanco(b[hasta - 1])) {
+                hasta--;
+            }
+            return hasta;
+        }
+
+        private static boolean esDigito(byte c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean esBlanco(byte c) {
+            return c == ' ' || c == '\t' || c == '\r';
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== CARGA MASIVA DE PROMEDIOS ===\n");
+
+        // 1. Un lote pequeño con errores
+        Estudiante[] estudiantes = {
+            new Estudiante("Ana García", 20, "Ingeniería en Sistemas"),
+            new Estudiante("Carlos López", 19, "Medicina"),
+            new Estudiante("María Núñez", 22, "Medicina"),
+            new Estudiante("José Pérez", 24, "Derecho")
+        };
+        int[] ids = {0, 1, 2, 7, 3, 1};
+        double[] promedios = {8.5, 11.0, 9.1, 7.0, Double.NaN, 9.4};
+
+        System.out.println("1. LOTE EN MEMORIA (ids " + Arrays.toString(ids) + "):");
+        Rechazos rechazos = aplicar(estudiantes, ids, promedios);
+        System.out.println("   " + rechazos + " → entradas " + Arrays.toString(rechazos.indices()));
+        for (int i = rechazos.siguiente(0); i >= 0; i = rechazos.siguiente(i + 1)) {
+            System.out.printf("   ❌ entrada %d: id=%d, promedio=%s%n", i, ids[i], promedios[i]);
+        }
+        for (Estudiante e : estudiantes) {
+            System.out.printf("   %-13s → %.1f%n", e.getNombre(), e.getPromedio());
+        }
+        System.out.println("   ✅ Ningún println durante la carga: el llamador decide qué mostrar");
+
+        // 2. Archivos
+        Path csv = Files.createTempFile("promedios", ".csv");
+        Path bin = Files.createTempFile("promedios", ".bin");
+        try {
+            Files.writeString(csv, "id,promedio\r\n0, 9.75\r\n1,abc\r\n\r\n2,1e1\r\n3;8.0\r\n99,5.5\r\n3,-0.5\r\n1,6");
+            try (DataOutputStream salida = new DataOutputStream(Files.newOutputStream(bin))) {
+                salida.writeInt(0);
+                salida.writeDouble(7.25);
+                salida.writeInt(2);
+                salida.writeDouble(10.01);
+                salida.writeShort(3);     // Registro incompleto
+            }
+            System.out.println("\n2. ARCHIVOS:");
+            Rechazos deCsv = cargarCsv(csv, estudiantes);
+            System.out.println("   CSV:     " + deCsv + " → registros " + Arrays.toString(deCsv.indices()));
+            Rechazos deBinario = cargarBinario(bin, estudiantes);
+            System.out.println("   Binario: " + deBinario + " → registros " + Arrays.toString(deBinario.indices()));
+            for (Estudiante e : estudiantes) {
+                System.out.printf("   %-13s → %.2f%n", e.getNombre(), e.getPromedio());
+            }
+
+            System.out.println("\n3. VERIFICACIÓN (setPromedio uno por uno vs lote, paralelo, CSV y binario):");
+            int n = 1_000_000;
+            System.out.println(verificar(n, csv, bin) ? "✅ Mismos promedios y mismos rechazos en las cinco formas"
+                                                      : "❌ Hay diferencias");
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(bin);
+        }
+    }
+
+    static Estudiante[] nuevosEstudiantes(int n) {
+        Estudiante[] estudiantes = new Estudiante[n];
+        for (int i = 0; i < n; i++) {
+            estudiantes[i] = new Estudiante("Estudiante " + i, 18 + i % 10, "Carrera " + i % 12);
+        }
+        return estudiantes;
+    }
+
+    /** Un lote reproducible: ~5% de promedios fuera de rango y ~1% de ids inexistentes. */
+    static void generarLote(int n, int[] ids, double[] promedios) {
+        SplittableRandom azar = new SplittableRandom(42);
+        for (int i = 0; i < n; i++) {
+            ids[i] = azar.nextInt(100) == 0 ? n + azar.nextInt(1000) : i;
+            promedios[i] = azar.nextInt(20) == 0 ? 10.0 + azar.nextInt(1, 100) / 10.0 : azar.nextInt(1001) / 100.0;
+        }
+    }
+
+    static void escribirArchivos(int[] ids, double[] promedios, Path csv, Path bin) throws IOException {
+        StringBuilder texto = new StringBuilder(ids.length * 12).append("id,promedio\n");
+        for (int i = 0; i < ids.length; i++) {
+            texto.append(ids[i]).append(',').append(promedios[i]).append('\n');
+        }
+        Files.writeString(csv, texto);
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(bin), BUFER))) {
+            for (int i = 0; i < ids.length; i++) {
+                salida.writeInt(ids[i]);
+                salida.writeDouble(promedios[i]);
+            }
+        }
+    }
+
+    private static boolean verificar(int n, Path csv, Path bin) throws IOException {
+        int[] ids = new int[n];
+        double[] promedios = new double[n];
+        generarLote(n, ids, promedios);
+        escribirArchivos(ids, promedios, csv, bin);
+
+        // Referencia: el bucle de siempre, con los mensajes desviados a un flujo que los descarta
+        Estudiante[] referencia = nuevosEstudiantes(n);
+        PrintStream original = System.out;
+        boolean[] rechazadaReferencia = new boolean[n];
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            for (int i = 0; i < n; i++) {
+                rechazadaReferencia[i] = ids[i] >= n || !Estudiante.esPromedioValido(promedios[i]);
+                if (ids[i] < n) {
+                    referencia[ids[i]].setPromedio(promedios[i]);
+                }
+            }
+        } finally {
+            System.setOut(original);
+        }
+
+        boolean ok = true;
+        String[] formas = {"aplicar", "aplicarEnParalelo", "cargarCsv", "cargarBinario", "Roster en paralelo"};
+        for (String forma : formas) {
+            Estudiante[] destino = nuevosEstudiantes(n);
+            Roster roster = null;
+            Rechazos r;
+            switch (forma) {
+                case "aplicar": r = aplicar(destino, ids, promedios); break;
+                case "aplicarEnParalelo": r = aplicarEnParalelo(destino, ids, promedios); break;
+                case "cargarCsv": r = cargarCsv(csv, destino); break;
+                case "cargarBinario": r = cargarBinario(bin, destino); break;
+                default:
+                    roster = new Roster(n);
+                    for (Estudiante e : destino) {
+                        roster.agregar(e);
+                    }
+                    r = aplicarEnParalelo(roster, ids, promedios);
+            }
+            boolean iguales = r.getProcesadas() == n && r.getMalFormadas() == 0;
+            for (int i = 0; iguales && i < n; i++) {
+                double obtenido = roster != null ? roster.fila(i).getPromedio() : destino[i].getPromedio();
+                iguales = r.contiene(i) == rechazadaReferencia[i] && obtenido == referencia[i].getPromedio();
+            }
+            System.out.printf("   %-20s %s %s%n", forma, iguales ? "✅" : "❌", r);
+            ok &= iguales;
+        }
+        return ok;
+    }
+}
+
+/*
+VALIDAR EN LOTE Y SEPARAR LOS MENSAJES:
+
+1. EL PROBLEMA:
+   - setPromedio() imprime cada valor inválido con System.out.println
+   - System.out vacía su búfer en cada línea: una escritura al sistema por error
+   - Con varios hilos las líneas se mezclan y todos esperan el mismo candado
+
+2. EL LOTE:
+   - ids[] y promedios[] se validan y aplican en una sola pasada
+   - Los rechazos quedan en un mapa de bits: 1 bit por entrada (125 KB por millón)
+   - El llamador recorre los rechazados con siguiente() y decide qué hacer
+
+3. PARALELO:
+   - Fork/join sobre trozos alineados a 64 entradas
+   - Cada trozo escribe sus propias palabras del mapa: sin candados ni atómicos
+   - Si el lote repite un id se aplica en un hilo: gana la última entrada, como en aplicar()
+
+4. ARCHIVOS:
+   - CSV "id,promedio" o binario (int + double) leídos con un búfer fijo de 64 KB
+   - Se interpreta directamente sobre los bytes, sin un String por línea
+   - Las líneas mal formadas son un rechazo más, con su número de registro
+*/
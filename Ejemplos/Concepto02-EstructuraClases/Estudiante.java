@@ -1,3 +1,5 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * CONCEPTO 2: Estructura de clases
  * 
@@ -11,9 +13,15 @@ public class Estudiante {
     private int edad;
     private String carrera;
     private double promedio;
+    private final int id;         // Identifica al estudiante en los eventos de estudio
+    
+    // Generador de ids y destino opcional de los eventos de estudiar() (ver ActividadEstudio)
+    private static final AtomicInteger siguienteId = new AtomicInteger(1);
+    private static volatile ActividadEstudio actividad;
     
     // CONSTRUCTOR con parámetros
     public Estudiante(String nombre, int edad, String carrera) {
+        this.id = siguienteId.getAndIncrement();
         this.nombre = nombre;     // 'this' para distinguir parámetro de atributo
         this.edad = edad;
         this.carrera = carrera;
@@ -21,6 +29,10 @@ public class Estudiante {
     }
     
     // MÉTODOS GETTER (para acceder a atributos privados)
+    public int getId() {
+        return id;
+    }
+    
     public String getNombre() {
         return nombre;
     }
@@ -39,16 +51,36 @@ public class Estudiante {
     
     // MÉTODOS SETTER (para modificar atributos privados)
     public void setPromedio(double promedio) {
-        if (promedio >= 0.0 && promedio <= 10.0) {
-            this.promedio = promedio;
-        } else {
+        if (!asignarPromedio(promedio)) {
             System.out.println("Promedio inválido. Debe estar entre 0.0 y 10.0");
         }
     }
     
+    // Valida y asigna sin imprimir; para cargas masivas (ver CargaPromedios)
+    boolean asignarPromedio(double promedio) {
+        if (esPromedioValido(promedio)) {
+            this.promedio = promedio;
+            return true;
+        }
+        return false;
+    }
+    
+    public static boolean esPromedioValido(double promedio) {
+        return promedio >= 0.0 && promedio <= 10.0;   // También descarta NaN
+    }
+    
     // MÉTODOS DE COMPORTAMIENTO
     public void estudiar(String materia) {
         System.out.println(nombre + " está estudiando " + materia);
+        ActividadEstudio destino = actividad;
+        if (destino != null) {
+            destino.registrar(this, materia);   // Evento para las estadísticas en vivo (no bloquea)
+        }
+    }
+    
+    /** Envía cada llamada a estudiar() a {@code actividad}; null para solo imprimir. */
+    public static void setActividad(ActividadEstudio actividad) {
+        Estudiante.actividad = actividad;
     }
     
     public void mostrarInformacion() {
@@ -45,21 +45,9 @@ class ClaseUtilidad {
             return "Texto vacío";
         }
         
-        // Capitalizar primera letra de cada palabra
-        String[] palabras = texto.split(" ");
-        StringBuilder resultado = new StringBuilder();
-        
-        for (String palabra : palabras) {
-            if (palabra.length() > 0) {
-                resultado.append(Character.toUpperCase(palabra.charAt(0)));
-                if (palabra.length() > 1) {
-                    resultado.append(palabra.substring(1).toLowerCase());
-                }
-                resultado.append(" ");
-            }
-        }
-        
-        return resultado.toString().trim();
+        // Capitalizar primera letra de cada palabra en una sola pasada
+        // (sin split, substring ni trim; ver TitulosMasivos)
+        return TitulosMasivos.capitalizar(texto);
     }
 }
 
@@ -0,0 +1,866 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * CONCEPTO 2: Estructura de clases
+ *
+ * Ejemplo: Padrón de millones de estudiantes en columnas primitivas
+ * Demuestra cómo una clase puede guardar los mismos datos que Estudiante
+ * sin crear un objeto por estudiante: un arreglo por atributo, la carrera
+ * como código de diccionario y los nombres en UTF-8 dentro de páginas de
+ * bytes. Las consultas (mejores promedios, agrupar por carrera, histograma
+ * de edades y filtros por rango) recorren trozos de los arreglos en
+ * paralelo con fork/join, y cualquier fila se puede ver como un Estudiante
+ * cuando hace falta
+ * (rendimiento medido con JMH en benchmarks/: RosterBenchmark)
+ */
+public class Roster {
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+    /** Filas por tarea: un trozo de este tamaño se recorre sin dividirlo más. */
+    private static final int UMBRAL = 1 << 15;
+    public static final int EDAD_MAXIMA = 255;
+    private static final int MAXIMO_CARRERAS = 1 << 16;
+
+    // Páginas de nombres: la posición de un nombre es (página << BITS_PAGINA) | desplazamiento
+    private static final int BITS_PAGINA = 22;
+    private static final int TAMANO_PAGINA = 1 << BITS_PAGINA;   // 4 MB
+    private static final int LARGO_MAXIMO_NOMBRE = 0xFFFF;
+
+    // COLUMNAS PRIMITIVAS - una posición por fila (estudiante)
+    private long[] nombres;        // (posición << 16) | largo en bytes
+    private byte[] edades;         // 0..255 sin signo
+    private short[] carreras;      // Código del diccionario (sin signo)
+    private double[] promedios;
+    private int filas;
+
+    // TEXTO de los nombres, sin un String por estudiante
+    private byte[][] paginas = new byte[4][];
+    private int paginaActual = -1;
+    private int usadoPagina;
+
+    // DICCIONARIO de carreras: código <-> texto
+    private final Map<String, Integer> codigoPorCarrera = new HashMap<>();
+    private String[] carreraPorCodigo = new String[16];
+    private int totalCarreras;
+
+    public Roster() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /** Reserva espacio para {@code capacidad} estudiantes sin copiar columnas. */
+    public Roster(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("Capacidad negativa: " + capacidad);
+        }
+        int c = Math.max(capacidad, 16);
+        this.nombres = new long[c];
+        this.edades = new byte[c];
+        this.carreras = new short[c];
+        this.promedios = new double[c];
+    }
+
+    // ===== ESCRITURA =====
+
+    /** Agrega un estudiante al final y devuelve su número de fila. */
+    public int agregar(String nombre, int edad, String carrera, double promedio) {
+        if (edad < 0 || edad > EDAD_MAXIMA) {
+            throw new IllegalArgumentException("Edad fuera de rango (0-" + EDAD_MAXIMA + "): " + edad);
+        }
+        validarPromedio(promedio);
+        int codigo = codificarCarrera(carrera);
+        long referencia = guardarNombre(nombre);
+        if (filas == promedios.length) {
+            crecer();
+        }
+        int fila = filas++;
+        nombres[fila] = referencia;
+        edades[fila] = (byte) edad;
+        carreras[fila] = (short) codigo;
+        promedios[fila] = promedio;
+        return fila;
+    }
+
+    /** Copia un Estudiante al padrón; el objeto se puede descartar después. */
+    public int agregar(Estudiante estudiante) {
+        return agregar(estudiante.getNombre(), estudiante.getEdad(), estudiante.getCarrera(), estudiante.getPromedio());
+    }
+
+    /** Mismo rango que Estudiante.setPromedio(), pero un valor inválido es un error. */
+    public void setPromedio(int fila, double promedio) {
+        validarPromedio(promedio);
+        promedios[filaValida(fila)] = promedio;
+    }
+
+    // ===== CONSULTAS EN PARALELO =====
+
+    public int size() {
+        return filas;
+    }
+
+    /** Las {@code k} filas con mejor promedio, de mayor a menor (empates: la fila menor primero). */
+    public int[] topK(int k) {
+        return topK(k, Filtro.todos());
+    }
+
+    /** Igual que topK(k), solo entre las filas que cumplen el filtro. */
+    public int[] topK(int k, Filtro filtro) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k negativo: " + k);
+        }
+        int limite = Math.min(k, filas);
+        if (limite == 0) {
+            return new int[0];
+        }
+        Condicion condicion = new Condicion(filtro);
+        double[] p = promedios;
+        Mejores mejores = enParalelo((desde, hasta) -> {
+            Mejores parcial = new Mejores(limite);
+            for (int i = desde; i < hasta; i++) {
+                // Las filas se recorren en orden: un empate con el peor guardado pierde siempre
+                if (!parcial.descarta(p[i]) && condicion.acepta(i)) {
+                    parcial.ofrecer(p[i], i);
+                }
+            }
+            return parcial;
+        }, Mejores::juntar);
+        return mejores.ordenados();
+    }
+
+    /** Cantidad y promedio medio por carrera, en el orden en que aparecieron las carreras. */
+    public List<ResumenCarrera> agruparPorCarrera() {
+        return agruparPorCarrera(Filtro.todos());
+    }
+
+    public List<ResumenCarrera> agruparPorCarrera(Filtro filtro) {
+        Condicion condicion = new Condicion(filtro);
+        int grupos = totalCarreras;
+        short[] c = carreras;
+        double[] p = promedios;
+        Acumulado total = enParalelo((desde, hasta) -> {
+            Acumulado parcial = new Acumulado(grupos);
+            for (int i = desde; i < hasta; i++) {
+                if (condicion.acepta(i)) {
+                    int g = c[i] & 0xFFFF;
+                    parcial.cantidades[g]++;
+                    parcial.sumas[g] += p[i];
+                }
+            }
+            return parcial;
+        }, Acumulado::sumar);
+
+        List<ResumenCarrera> resultado = new ArrayList<>();
+        for (int g = 0; g < grupos; g++) {
+            if (total.cantidades[g] > 0) {
+                resultado.add(new ResumenCarrera(carreraPorCodigo[g], total.cantidades[g],
+                                                 total.sumas[g] / total.cantidades[g]));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Histograma de edades: la posición b cuenta las edades en
+     * [b * ancho, (b + 1) * ancho).
+     */
+    public long[] histogramaEdades(int ancho) {
+        return histogramaEdades(ancho, Filtro.todos());
+    }
+
+    public long[] histogramaEdades(int ancho, Filtro filtro) {
+        if (ancho < 1) {
+            throw new IllegalArgumentException("Ancho de balde inválido: " + ancho);
+        }
+        Condicion condicion = new Condicion(filtro);
+        byte[] e = edades;
+        long[] porEdad = enParalelo((desde, hasta) -> {
+            long[] conteo = new long[EDAD_MAXIMA + 1];
+            for (int i = desde; i < hasta; i++) {
+                if (condicion.acepta(i)) {
+                    conteo[e[i] & 0xFF]++;
+                }
+            }
+            return conteo;
+        }, Roster::sumarEn);
+
+        long[] baldes = new long[EDAD_MAXIMA / ancho + 1];
+        for (int edad = 0; edad <= EDAD_MAXIMA; edad++) {
+            baldes[edad / ancho] += porEdad[edad];
+        }
+        return baldes;
+    }
+
+    /** Números de fila que cumplen el filtro, en orden. */
+    public int[] filtrar(Filtro filtro) {
+        Condicion condicion = new Condicion(filtro);
+        return enParalelo((desde, hasta) -> {
+            int[] parcial = new int[Math.min(hasta - desde, 64)];
+            int n = 0;
+            for (int i = desde; i < hasta; i++) {
+                if (condicion.acepta(i)) {
+                    if (n == parcial.length) {
+                        parcial = Arrays.copyOf(parcial, n * 2);
+                    }
+                    parcial[n++] = i;
+                }
+            }
+            return Arrays.copyOf(parcial, n);
+        }, (a, b) -> {
+            int[] juntos = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, juntos, a.length, b.length);
+            return juntos;
+        });
+    }
+
+    public long contar(Filtro filtro) {
+        Condicion condicion = new Condicion(filtro);
+        return enParalelo((desde, hasta) -> {
+            long n = 0;
+            for (int i = desde; i < hasta; i++) {
+                if (condicion.acepta(i)) {
+                    n++;
+                }
+            }
+            return n;
+        }, Long::sum);
+    }
+
+    /** Bytes reservados por las columnas, las páginas de nombres y el diccionario. */
+    public long bytesReservados() {
+        long total = nombres.length * 8L + edades.length + carreras.length * 2L + promedios.length * 8L;
+        for (int i = 0; i <= paginaActual; i++) {
+            total += paginas[i].length;
+        }
+        for (int g = 0; g < totalCarreras; g++) {
+            total += 40 + carreraPorCodigo[g].length();
+        }
+        return total;
+    }
+
+    // ===== VISTA DE FILA (mismos getters que Estudiante) =====
+
+    /** Devuelve una vista sobre una fila; se puede reposicionar con mover(). */
+    public Vista fila(int fila) {
+        return new Vista(filaValida(fila));
+    }
+
+    public class Vista {
+        private int fila;
+
+        private Vista(int fila) {
+            this.fila = fila;
+        }
+
+        /** Reutiliza la misma vista para otra fila (sin crear objetos). */
+        public Vista mover(int nuevaFila) {
+            this.fila = filaValida(nuevaFila);
+            return this;
+        }
+
+        public int getFila() { return fila; }
+        public String getNombre() { return leerNombre(nombres[fila]); }
+        public int getEdad() { return edades[fila] & 0xFF; }
+        public String getCarrera() { return carreraPorCodigo[carreras[fila] & 0xFFFF]; }
+        public double getPromedio() { return promedios[fila]; }
+        public void setPromedio(double promedio) { Roster.this.setPromedio(fila, promedio); }
+
+        /** Crea un Estudiante independiente con los datos actuales de la fila. */
+        public Estudiante materializar() {
+            Estudiante estudiante = new Estudiante(getNombre(), getEdad(), getCarrera());
+            estudiante.setPromedio(getPromedio());
+            return estudiante;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%d años, %s, promedio %.2f)", getNombre(), getEdad(), getCarrera(), getPromedio());
+        }
+    }
+
+    // ===== FILTRO Y RESULTADOS =====
+
+    /**
+     * Condiciones por rango (límites incluidos) sobre edad y promedio, y
+     * opcionalmente una carrera. Es inmutable: cada método devuelve otro filtro.
+     */
+    public static final class Filtro {
+        private static final Filtro SIN_CONDICIONES = new Filtro(0, EDAD_MAXIMA, 0.0, 10.0, null);
+
+        private final int edadMinima;
+        private final int edadMaxima;
+        private final double promedioMinimo;
+        private final double promedioMaximo;
+        private final String carrera;
+
+        private Filtro(int edadMinima, int edadMaxima, double promedioMinimo, double promedioMaximo, String carrera) {
+            this.edadMinima = edadMinima;
+            this.edadMaxima = edadMaxima;
+            this.promedioMinimo = promedioMinimo;
+            this.promedioMaximo = promedioMaximo;
+            this.carrera = carrera;
+        }
+
+        public static Filtro todos() {
+            return SIN_CONDICIONES;
+        }
+
+        public Filtro edadEntre(int minima, int maxima) {
+            return new Filtro(minima, maxima, promedioMinimo, promedioMaximo, carrera);
+        }
+
+        public Filtro promedioEntre(double minimo, double maximo) {
+            return new Filtro(edadMinima, edadMaxima, minimo, maximo, carrera);
+        }
+
+        public Filtro carrera(String carrera) {
+            return new Filtro(edadMinima, edadMaxima, promedioMinimo, promedioMaximo, carrera);
+        }
+
+        /** La misma condición sobre un Estudiante (para comparar con una List). */
+        public boolean acepta(Estudiante e) {
+            return e.getEdad() >= edadMinima && e.getEdad() <= edadMaxima
+                && e.getPromedio() >= promedioMinimo && e.getPromedio() <= promedioMaximo
+                && (carrera == null || carrera.equals(e.getCarrera()));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("edad %d-%d, promedio %.2f-%.2f%s", edadMinima, edadMaxima,
+                                 promedioMinimo, promedioMaximo, carrera == null ? "" : ", " + carrera);
+        }
+    }
+
+    public static final class ResumenCarrera {
+        private final String carrera;
+        private final long cantidad;
+        private final double promedio;
+
+        ResumenCarrera(String carrera, long cantidad, double promedio) {
+            this.carrera = carrera;
+            this.cantidad = cantidad;
+            this.promedio = promedio;
+        }
+
+        public String getCarrera() { return carrera; }
+        public long getCantidad() { return cantidad; }
+        public double getPromedio() { return promedio; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d estudiantes, promedio %.2f", carrera, cantidad, promedio);
+        }
+    }
+
+    /**
+     * Un filtro traducido a este padrón: la carrera pasa a ser un código y
+     * se guardan las columnas del momento de la consulta. Así el bucle solo
+     * compara enteros y doubles.
+     */
+    private final class Condicion {
+        private final byte[] e = edades;
+        private final short[] c = carreras;
+        private final double[] p = promedios;
+        private final int edadMinima;
+        private final int edadMaxima;
+        private final double promedioMinimo;
+        private final double promedioMaximo;
+        private final int carrera;     // -1 = cualquiera; MAXIMO_CARRERAS = ninguna
+
+        Condicion(Filtro f) {
+            this.edadMinima = f.edadMinima;
+            this.edadMaxima = f.edadMaxima;
+            this.promedioMinimo = f.promedioMinimo;
+            this.promedioMaximo = f.promedioMaximo;
+            if (f.carrera == null) {
+                this.carrera = -1;
+            } else {
+                Integer codigo = codigoPorCarrera.get(f.carrera);
+                this.carrera = codigo == null ? MAXIMO_CARRERAS : codigo;
+            }
+        }
+
+        boolean acepta(int i) {
+            int edad = e[i] & 0xFF;
+            double promedio = p[i];
+            // & en lugar de &&: sin saltos que dependan de los datos (el orden es aleatorio)
+            return (edad >= edadMinima) & (edad <= edadMaxima)
+                 & (promedio >= promedioMinimo) & (promedio <= promedioMaximo)
+                 & ((carrera < 0) | ((c[i] & 0xFFFF) == carrera));
+        }
+    }
+
+    // ===== FORK/JOIN SOBRE TROZOS DE LAS COLUMNAS =====
+
+    /** Lo que calcula una tarea sobre las filas [desde, hasta). */
+    private interface Hoja<R> {
+        R calcular(int desde, int hasta);
+    }
+
+    /**
+     * Divide [desde, hasta) por la mitad hasta llegar a UMBRAL filas. La forma
+     * del árbol depende solo del número de filas, así que las sumas de
+     * doubles dan el mismo resultado con cualquier cantidad de hilos.
+     */
+    private static final class Particion<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final Hoja<R> hoja;
+        private final BinaryOperator<R> combinar;
+        private final int desde;
+        private final int hasta;
+
+        Particion(Hoja<R> hoja, BinaryOperator<R> combinar, int desde, int hasta) {
+            this.hoja = hoja;
+            this.combinar = combinar;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected R compute() {
+            if (hasta - desde <= UMBRAL) {
+                return hoja.calcular(desde, hasta);
+            }
+            int medio = (desde + hasta) >>> 1;
+            Particion<R> izquierda = new Particion<>(hoja, combinar, desde, medio);
+            izquierda.fork();
+            R derecha = new Particion<>(hoja, combinar, medio, hasta).compute();
+            return combinar.apply(izquierda.join(), derecha);
+        }
+    }
+
+    private <R> R enParalelo(Hoja<R> hoja, BinaryOperator<R> combinar) {
+        return ForkJoinPool.commonPool().invoke(new Particion<>(hoja, combinar, 0, filas));
+    }
+
+    /**
+     * Montículo acotado con los k mejores (promedio, fila); la raíz es el
+     * peor de los guardados. Los arreglos crecen a demanda hasta k, así un
+     * k grande no reserva k posiciones en cada trozo.
+     */
+    private static final class Mejores {
+        private final int k;
+        private double[] valores;
+        private int[] filas;
+        private int tamano;
+
+        Mejores(int k) {
+            this.k = k;
+            this.valores = new double[Math.min(k, 16)];
+            this.filas = new int[valores.length];
+        }
+
+        /** a es peor que b: menor promedio o, con el mismo, fila mayor. */
+        private static boolean peor(double va, int fa, double vb, int fb) {
+            return va < vb || (va == vb && fa > fb);
+        }
+
+        /** Para filas recorridas en orden creciente: true si no puede entrar. */
+        boolean descarta(double valor) {
+            return tamano == k && valor <= valores[0];
+        }
+
+        void ofrecer(double valor, int fila) {
+            if (tamano < k) {
+                if (tamano == valores.length) {
+                    int nueva = (int) Math.min(k, 2L * tamano);
+                    valores = Arrays.copyOf(valores, nueva);
+                    filas = Arrays.copyOf(filas, nueva);
+                }
+                subir(tamano++, valor, fila);
+            } else if (peor(valores[0], filas[0], valor, fila)) {
+                bajar(0, valor, fila);
+            }
+        }
+
+        Mejores juntar(Mejores otro) {
+            Mejores grande = tamano >= otro.tamano ? this : otro;
+            Mejores chico = grande == this ? otro : this;
+            for (int i = 0; i < chico.tamano; i++) {
+                grande.ofrecer(chico.valores[i], chico.filas[i]);
+            }
+            return grande;
+        }
+
+        /** Vacía el montículo y devuelve las filas de mejor a peor. */
+        int[] ordenados() {
+            int[] resultado = new int[tamano];
+            for (int i = tamano - 1; i >= 0; i--) {
+                resultado[i] = filas[0];
+                tamano--;
+                if (tamano > 0) {
+                    bajar(0, valores[tamano], filas[tamano]);
+                }
+            }
+            return resultado;
+        }
+
+        private void subir(int pos, double valor, int fila) {
+            while (pos > 0) {
+                int padre = (pos - 1) >>> 1;
+                if (!peor(valor, fila, valores[padre], filas[padre])) {
+                    break;
+                }
+                valores[pos] = valores[padre];
+                filas[pos] = filas[padre];
+                pos = padre;
+            }
+            valores[pos] = valor;
+            filas[pos] = fila;
+        }
+
+        private void bajar(int pos, double valor, int fila) {
+            while (true) {
+                int hijo = 2 * pos + 1;
+                if (hijo >= tamano) {
+                    break;
+                }
+                if (hijo + 1 < tamano && peor(valores[hijo + 1], filas[hijo + 1], valores[hijo], filas[hijo])) {
+                    hijo++;
+                }
+                if (!peor(valores[hijo], filas[hijo], valor, fila)) {
+                    break;
+                }
+                valores[pos] = valores[hijo];
+                filas[pos] = filas[hijo];
+                pos = hijo;
+            }
+            valores[pos] = valor;
+            filas[pos] = fila;
+        }
+    }
+
+    /** Cantidades y sumas por código de carrera. */
+    private static final class Acumulado {
+        final long[] cantidades;
+        final double[] sumas;
+
+        Acumulado(int grupos) {
+            this.cantidades = new long[grupos];
+            this.sumas = new double[grupos];
+        }
+
+        Acumulado sumar(Acumulado otro) {
+            sumarEn(cantidades, otro.cantidades);
+            for (int g = 0; g < sumas.length; g++) {
+                sumas[g] += otro.sumas[g];
+            }
+            return this;
+        }
+    }
+
+    private static long[] sumarEn(long[] destino, long[] otro) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += otro[i];
+        }
+        return destino;
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    private static void validarPromedio(double promedio) {
+        if (!(promedio >= 0.0 && promedio <= 10.0)) {
+            throw new IllegalArgumentException("Promedio inválido (0.0-10.0): " + promedio);
+        }
+    }
+
+    private int filaValida(int fila) {
+        if (fila < 0 || fila >= filas) {
+            throw new IndexOutOfBoundsException("Fila fuera de rango: " + fila);
+        }
+        return fila;
+    }
+
+    private int codificarCarrera(String carrera) {
+        Integer codigo = codigoPorCarrera.get(carrera);
+        if (codigo != null) {
+            return codigo;
+        }
+        if (totalCarreras == MAXIMO_CARRERAS) {
+            throw new IllegalStateException("Demasiadas carreras distintas (máximo " + MAXIMO_CARRERAS + ")");
+        }
+        if (totalCarreras == carreraPorCodigo.length) {
+            carreraPorCodigo = Arrays.copyOf(carreraPorCodigo, totalCarreras * 2);
+        }
+        carreraPorCodigo[totalCarreras] = carrera;
+        codigoPorCarrera.put(carrera, totalCarreras);
+        return totalCarreras++;
+    }
+
+    /** Copia el nombre en UTF-8 a la página actual y devuelve su referencia. */
+    private long guardarNombre(String nombre) {
+        byte[] utf8 = nombre.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > LARGO_MAXIMO_NOMBRE) {
+            throw new IllegalArgumentException("Nombre demasiado largo: " + utf8.length + " bytes");
+        }
+        if (paginaActual < 0 || usadoPagina + utf8.length > paginas[paginaActual].length) {
+            // La primera página es pequeña; cada nueva duplica la anterior hasta 4 MB
+            int tamano = paginaActual < 0 ? 4096 : Math.min(TAMANO_PAGINA, paginas[paginaActual].length * 2);
+            paginaActual++;
+            if (paginaActual == paginas.length) {
+                paginas = Arrays.copyOf(paginas, paginaActual * 2);
+            }
+            paginas[paginaActual] = new byte[Math.max(tamano, utf8.length)];
+            usadoPagina = 0;
+        }
+        System.arraycopy(utf8, 0, paginas[paginaActual], usadoPagina, utf8.length);
+        long posicion = ((long) paginaActual << BITS_PAGINA) | usadoPagina;
+        usadoPagina += utf8.length;
+        return (posicion << 16) | utf8.length;
+    }
+
+    private String leerNombre(long referencia) {
+        long posicion = referencia >>> 16;
+        return new String(paginas[(int) (posicion >>> BITS_PAGINA)], (int) (posicion & (TAMANO_PAGINA - 1)),
+                          (int) (referencia & 0xFFFF), StandardCharsets.UTF_8);
+    }
+
+    private void crecer() {
+        int nueva = promedios.length * 2;
+        nombres = Arrays.copyOf(nombres, nueva);
+        edades = Arrays.copyOf(edades, nueva);
+        carreras = Arrays.copyOf(carreras, nueva);
+        promedios = Arrays.copyOf(promedios, nueva);
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    private static final String[] NOMBRES_DEMO = {"Ana", "Carlos", "María", "José", "Lucía", "Andrés", "Sofía",
+                                                  "Diego", "Valentina", "Mateo", "Camila", "Íñigo"};
+    private static final String[] APELLIDOS_DEMO = {"García", "López", "Rodríguez", "Pérez", "Martínez",
+                                                    "Gómez", "Díaz", "Torres", "Ramírez", "Núñez"};
+    private static final String[] CARRERAS_DEMO = {"Ingeniería en Sistemas", "Medicina", "Derecho", "Arquitectura",
+                                                   "Psicología", "Contaduría", "Biología", "Diseño Gráfico",
+                                                   "Enfermería", "Economía", "Física", "Filosofía"};
+
+    public static void main(String[] args) {
+        System.out.println("=== PADRÓN DE ESTUDIANTES EN COLUMNAS (Roster) ===\n");
+
+        // 1. Uso básico con los datos de Estudiante.main
+        Roster roster = new Roster();
+        roster.agregar("Ana García", 20, "Ingeniería en Sistemas", 8.5);
+        roster.agregar("Carlos López", 19, "Medicina", 9.2);
+        roster.agregar("María Núñez", 22, "Medicina", 7.8);
+        roster.agregar("José Pérez", 24, "Derecho", 9.2);
+        roster.agregar("Lucía Torres", 18, "Ingeniería en Sistemas", 6.9);
+        roster.agregar(new Estudiante("Íñigo Díaz", 21, "Derecho"));   // Promedio inicial 0.0
+        roster.fila(5).setPromedio(8.1);
+
+        System.out.println("1. VISTA POR FILA (mismos getters que Estudiante):");
+        Roster.Vista v = roster.fila(0);
+        for (int i = 0; i < roster.size(); i++) {
+            System.out.println("   " + v.mover(i));
+        }
+
+        System.out.println("\n2. MEJORES 3 PROMEDIOS:");
+        for (int fila : roster.topK(3)) {
+            System.out.println("   " + v.mover(fila));
+        }
+
+        System.out.println("\n3. AGRUPAR POR CARRERA:");
+        for (ResumenCarrera r : roster.agruparPorCarrera()) {
+            System.out.println("   " + r);
+        }
+
+        System.out.println("\n4. HISTOGRAMA DE EDADES (baldes de 3 años):");
+        long[] baldes = roster.histogramaEdades(3);
+        for (int b = 0; b < baldes.length; b++) {
+            if (baldes[b] > 0) {
+                System.out.printf("   %3d-%-3d | %s%n", b * 3, b * 3 + 2, "█".repeat((int) baldes[b]));
+            }
+        }
+
+        Filtro filtro = Filtro.todos().edadEntre(19, 22).promedioEntre(8.0, 10.0);
+        System.out.println("\n5. FILTRO (" + filtro + "):");
+        for (int fila : roster.filtrar(filtro)) {
+            System.out.println("   " + v.mover(fila));
+        }
+
+        System.out.println("\n6. MATERIALIZAR UN Estudiante DESDE UNA FILA:");
+        Estudiante estudiante = roster.fila(1).materializar();
+        estudiante.mostrarInformacion();
+        estudiante.estudiar("Anatomía");
+
+        System.out.println("\n7. VERIFICACIÓN CONTRA List<Estudiante> (200.000 estudiantes):");
+        System.out.println(compararConLista(200_000) ? "✅ Mismos resultados que con streams sobre la lista"
+                                                     : "❌ Diferencias con la lista");
+
+        // 8. Memoria: un objeto por estudiante contra columnas
+        System.out.println("\n8. MEMORIA (1.000.000 estudiantes):");
+        compararMemoria(1_000_000);
+    }
+
+    // Datos pseudoaleatorios reproducibles; el promedio con dos decimales genera empates
+    static Estudiante generar(SplittableRandom azar, int i) {
+        String nombre = NOMBRES_DEMO[azar.nextInt(NOMBRES_DEMO.length)] + " "
+                        + APELLIDOS_DEMO[azar.nextInt(APELLIDOS_DEMO.length)] + " " + i;
+        Estudiante e = new Estudiante(nombre, 17 + azar.nextInt(30), CARRERAS_DEMO[azar.nextInt(CARRERAS_DEMO.length)]);
+        e.setPromedio(azar.nextInt(1001) / 100.0);
+        return e;
+    }
+
+    private static boolean compararConLista(int n) {
+        SplittableRandom azar = new SplittableRandom(42);
+        List<Estudiante> lista = new ArrayList<>(n);
+        Roster roster = new Roster(n);
+        for (int i = 0; i < n; i++) {
+            Estudiante e = generar(azar, i);
+            lista.add(e);
+            roster.agregar(e);
+        }
+
+        boolean ok = true;
+        Filtro[] filtros = {
+            Filtro.todos(),
+            Filtro.todos().edadEntre(20, 25).promedioEntre(7.5, 9.99),
+            Filtro.todos().carrera("Medicina").edadEntre(30, 46),
+            Filtro.todos().carrera("Astronomía")    // No existe: nada coincide
+        };
+        for (Filtro f : filtros) {
+            List<Integer> esperadas = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (f.acepta(lista.get(i))) {
+                    esperadas.add(i);
+                }
+            }
+
+            // Filtro y conteo
+            int[] filtradas = roster.filtrar(f);
+            boolean filtroOk = filtradas.length == esperadas.size() && roster.contar(f) == esperadas.size();
+            for (int i = 0; filtroOk && i < filtradas.length; i++) {
+                filtroOk = filtradas[i] == esperadas.get(i);
+            }
+
+            // Top-k: ordenar toda la lista por promedio (desc) y luego por fila
+            int[] top = roster.topK(1000, f);
+            List<Integer> ordenadas = esperadas.stream()
+                .sorted(Comparator.comparingDouble((Integer i) -> lista.get(i).getPromedio()).reversed()
+                                  .thenComparingInt(i -> i))
+                .limit(1000)
+                .collect(Collectors.toList());
+            boolean topOk = top.length == ordenadas.size();
+            for (int i = 0; topOk && i < top.length; i++) {
+                topOk = top[i] == ordenadas.get(i);
+            }
+
+            // Agrupar por carrera
+            Map<String, List<Estudiante>> porCarrera = esperadas.stream().map(lista::get)
+                .collect(Collectors.groupingBy(Estudiante::getCarrera));
+            List<ResumenCarrera> grupos = roster.agruparPorCarrera(f);
+            boolean gruposOk = grupos.size() == porCarrera.size();
+            for (ResumenCarrera r : grupos) {
+                List<Estudiante> miembros = porCarrera.get(r.getCarrera());
+                double media = miembros == null ? Double.NaN
+                               : miembros.stream().mapToDouble(Estudiante::getPromedio).average().orElse(0);
+                gruposOk &= miembros != null && miembros.size() == r.getCantidad()
+                            && Math.abs(media - r.getPromedio()) < 1e-9;
+            }
+
+            // Histograma con baldes de 5 años
+            long[] baldes = roster.histogramaEdades(5, f);
+            long[] esperados = new long[baldes.length];
+            for (int i : esperadas) {
+                esperados[lista.get(i).getEdad() / 5]++;
+            }
+            boolean histogramaOk = Arrays.equals(baldes, esperados);
+
+            System.out.printf("   %-52s filtro %s | top-k %s | grupos %s | histograma %s%n", f,
+                              filtroOk ? "✅" : "❌", topOk ? "✅" : "❌", gruposOk ? "✅" : "❌", histogramaOk ? "✅" : "❌");
+            ok &= filtroOk && topOk && gruposOk && histogramaOk;
+        }
+
+        // La vista devuelve lo mismo que el objeto original
+        Vista v = roster.fila(0);
+        for (int i = 0; i < n; i += 997) {
+            Estudiante e = lista.get(i);
+            v.mover(i);
+            ok &= e.getNombre().equals(v.getNombre()) && e.getEdad() == v.getEdad()
+                  && e.getCarrera().equals(v.getCarrera()) && e.getPromedio() == v.getPromedio();
+        }
+        return ok;
+    }
+
+    private static void compararMemoria(int n) {
+        long m0 = memoriaUsada();
+        List<Estudiante> lista = generarLista(n, 7);
+        long m1 = memoriaUsada();
+        Roster roster = new Roster(n);
+        for (Estudiante e : lista) {
+            roster.agregar(e);
+        }
+        long m2 = memoriaUsada();
+        System.out.printf("   lista ≈ %.0f bytes/estudiante, roster ≈ %.0f bytes/estudiante (%,d MB reservados)%n",
+                          (m1 - m0) / (double) n, (m2 - m1) / (double) n, roster.bytesReservados() >> 20);
+    }
+
+    static List<Estudiante> generarLista(int n, long semilla) {
+        SplittableRandom azar = new SplittableRandom(semilla);
+        List<Estudiante> lista = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            lista.add(generar(azar, i));
+        }
+        return lista;
+    }
+
+    // ===== LAS MISMAS CONSULTAS CON List<Estudiante> Y STREAMS (para comparar) =====
+
+    static List<Estudiante> topKLista(List<Estudiante> lista, int k) {
+        return lista.stream().sorted(Comparator.comparingDouble(Estudiante::getPromedio).reversed())
+                    .limit(k).collect(Collectors.toList());
+    }
+
+    static Map<String, Double> agruparPorCarreraLista(List<Estudiante> lista) {
+        return lista.stream().collect(Collectors.groupingBy(Estudiante::getCarrera,
+                                                            Collectors.averagingDouble(Estudiante::getPromedio)));
+    }
+
+    static Map<Integer, Long> histogramaEdadesLista(List<Estudiante> lista, int ancho) {
+        return lista.stream().collect(Collectors.groupingBy(e -> e.getEdad() / ancho, Collectors.counting()));
+    }
+
+    static List<Estudiante> filtrarLista(List<Estudiante> lista, Filtro filtro) {
+        return lista.stream().filter(filtro::acepta).collect(Collectors.toList());
+    }
+
+    private static long memoriaUsada() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
+
+/*
+PADRÓN EN COLUMNAS (STRUCT-OF-ARRAYS) CON CONSULTAS EN PARALELO:
+
+1. UN OBJETO POR ESTUDIANTE:
+   - Estudiante = cabecera + 4 campos + un String para el nombre (+ su byte[])
+   - Recorrer promedios = saltar de objeto en objeto por el heap
+   - Ordenar toda la lista para sacar 100 mejores es O(n log n)
+
+2. COLUMNAS:
+   - double[] promedios, byte[] edades, short[] carreras (código de diccionario)
+   - Los nombres en UTF-8 dentro de páginas de bytes: ningún String hasta que se pide
+   - Comparar carreras = comparar dos short, no dos String
+
+3. CONSULTAS CON FORK/JOIN:
+   - Cada tarea recorre un trozo de UMBRAL filas y devuelve un resultado parcial
+   - top-k: un montículo de k por trozo, luego se juntan (O(n log k))
+   - agrupar/histograma: arreglos de conteos por trozo que se suman al final
+   - El árbol de tareas depende solo del tamaño: mismas sumas con 1 o 16 hilos
+
+4. VISTA:
+   - Vista tiene los getters de Estudiante y se reposiciona con mover(fila)
+   - materializar() crea un Estudiante de verdad solo cuando hace falta
+*/
@@ -0,0 +1,314 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CONCEPTO 2: Estructura de clases
+ *
+ * Ejemplo: Capitalizar millones de nombres (ClaseUtilidad.formatearTexto)
+ * Demuestra cómo una clase utilitaria con métodos static concentra un
+ * algoritmo reutilizable: una sola pasada sobre los caracteres, sin split,
+ * substring ni trim, y un modo masivo que procesa archivos enteros en
+ * trozos paralelos escribiendo el resultado en orden
+ * (rendimiento medido con JMH en benchmarks/: TextoBenchmark, TitulosMasivosBenchmark)
+ */
+public final class TitulosMasivos {
+
+    private static final char SIGMA = 'Σ';
+    private static final char I_CON_PUNTO = 'İ';
+
+    private TitulosMasivos() {
+        // Solo métodos static
+    }
+
+    // ===== UNA LÍNEA =====
+
+    /**
+     * Capitaliza cada palabra de {@code texto}: primera letra en mayúscula
+     * de título y el resto en minúscula (reglas Unicode independientes del
+     * idioma del sistema). Los espacios repetidos, tabuladores y demás
+     * blancos se reducen a un solo espacio y se quitan los de los extremos.
+     */
+    public static String capitalizar(String texto) {
+        int n = texto.length();
+        // Arreglo de trabajo reutilizado por hilo: lo único nuevo es el String final.
+        // Se trabaja sobre el mismo arreglo; solo 'İ' crece y obliga a separar entrada y salida
+        char[] trabajo = TRABAJO.get();
+        if (trabajo.length < 3 * n) {
+            trabajo = new char[Math.max(3 * n, 2 * trabajo.length)];
+            TRABAJO.set(trabajo);
+        }
+        texto.getChars(0, n, trabajo, 0);
+        int largo = capitalizar(trabajo, 0, n, trabajo, 0);
+        if (largo < 0) {
+            texto.getChars(0, n, trabajo, 0);
+            largo = capitalizar(trabajo, 0, n, trabajo, n) - n;
+            return new String(trabajo, n, largo);
+        }
+        return new String(trabajo, 0, largo);
+    }
+
+    private static final ThreadLocal<char[]> TRABAJO = ThreadLocal.withInitial(() -> new char[256]);
+
+    /**
+     * Núcleo en una pasada. Escribe en {@code salida} desde {@code pos};
+     * puede ser el mismo arreglo que la entrada si pos <= desde (la
+     * escritura nunca adelanta a la lectura salvo con 'İ').
+     *
+     * @return la nueva posición en la salida, o -1 si no hubo espacio
+     */
+    public static int capitalizar(char[] entrada, int desde, int hasta, char[] salida, int pos) {
+        boolean inicioPalabra = true;
+        boolean hayPalabras = false;
+        boolean mismoArreglo = salida == entrada;
+        int i = desde;
+        while (i < hasta) {
+            int cp = Character.codePointAt(entrada, i, hasta);
+            int ancho = Character.charCount(cp);
+            if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+                inicioPalabra = true;
+                i += ancho;
+                continue;
+            }
+            boolean separar = inicioPalabra && hayPalabras;
+            int convertido;
+            if (inicioPalabra) {
+                convertido = Character.toTitleCase(cp);
+                inicioPalabra = false;
+                hayPalabras = true;
+            } else if (cp == I_CON_PUNTO) {
+                convertido = -1;   // 'İ' en minúscula son dos caracteres: 'i' + punto combinante
+            } else if (cp == SIGMA) {
+                // Sigma final: 'Σ' al final de la palabra se escribe 'ς'
+                int siguiente = i + ancho;
+                boolean finDePalabra = siguiente >= hasta
+                        || !Character.isLetter(Character.codePointAt(entrada, siguiente, hasta));
+                convertido = finDePalabra ? 'ς' : 'σ';
+            } else {
+                convertido = Character.toLowerCase(cp);
+            }
+            int escrito = (separar ? 1 : 0) + (convertido < 0 ? 2 : Character.charCount(convertido));
+            // Sin espacio, o (trabajando sobre el mismo arreglo) la escritura alcanzaría lo no leído
+            if (pos + escrito > salida.length || mismoArreglo && pos < hasta && pos + escrito > i + ancho) {
+                return -1;
+            }
+            if (separar) {
+                salida[pos++] = ' ';
+            }
+            if (convertido < 0) {
+                salida[pos++] = 'i';
+                salida[pos++] = '\u0307';
+            } else if (convertido < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                salida[pos++] = (char) convertido;
+            } else {
+                pos += Character.toChars(convertido, salida, pos);
+            }
+            i += ancho;
+        }
+        return pos;
+    }
+
+    // ===== ARCHIVOS COMPLETOS =====
+
+    /**
+     * Capitaliza cada línea de un archivo UTF-8. El archivo se lee en trozos
+     * que terminan en '\n'; cada trozo se procesa en un hilo y se escribe en
+     * su turno, así que la salida tiene las líneas en el mismo orden.
+     * Una línea vacía o solo con blancos queda vacía.
+     *
+     * @return líneas procesadas
+     */
+    public static long capitalizarArchivo(Path entrada, Path salida, int hilos) throws IOException, InterruptedException {
+        int tamanoTrozo = 4 << 20;
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        ArrayDeque<Future<ByteBuffer>> pendientes = new ArrayDeque<>();
+        long lineas = 0;
+        try (FileChannel in = FileChannel.open(entrada, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(salida, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] resto = new byte[0];
+            ByteBuffer lectura = ByteBuffer.allocate(tamanoTrozo);
+            boolean fin = false;
+            while (!fin) {
+                lectura.clear();
+                fin = leerCompleto(in, lectura) < 0;
+                byte[] datos = new byte[resto.length + lectura.position()];
+                System.arraycopy(resto, 0, datos, 0, resto.length);
+                System.arraycopy(lectura.array(), 0, datos, resto.length, lectura.position());
+                int corte = fin ? datos.length : ultimoSalto(datos) + 1;
+                resto = Arrays.copyOfRange(datos, corte, datos.length);
+                if (corte == 0) {
+                    continue;   // Línea más larga que el trozo: se junta con la siguiente lectura
+                }
+                for (int k = 0; k < corte; k++) {
+                    if (datos[k] == '\n') lineas++;
+                }
+                if (fin && corte > 0 && datos[corte - 1] != '\n') lineas++;
+                int largo = corte;
+                pendientes.add(pool.submit(() -> procesarTrozo(datos, largo)));
+                if (pendientes.size() >= hilos * 2) {
+                    escribir(out, pendientes.poll());
+                }
+            }
+            while (!pendientes.isEmpty()) {
+                escribir(out, pendientes.poll());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return lineas;
+    }
+
+    private static int leerCompleto(FileChannel canal, ByteBuffer destino) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino) < 0) {
+                return -1;
+            }
+        }
+        return destino.position();
+    }
+
+    private static int ultimoSalto(byte[] datos) {
+        for (int i = datos.length - 1; i >= 0; i--) {
+            if (datos[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    private static ByteBuffer procesarTrozo(byte[] datos, int largo) {
+        // Los cortes caen en '\n', que en UTF-8 nunca está dentro de un carácter
+        CharBuffer texto = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(datos, 0, largo));
+        char[] entrada = texto.array();
+        int n = texto.limit();
+        char[] salida = new char[n + 16];
+        int pos = 0;
+        int inicio = 0;
+        while (inicio < n) {
+            int finLinea = inicio;
+            while (finLinea < n && entrada[finLinea] != '\n') finLinea++;
+            int finTexto = finLinea > inicio && entrada[finLinea - 1] == '\r' ? finLinea - 1 : finLinea;
+            int necesario = pos + 2 * (finTexto - inicio) + 2;
+            if (necesario > salida.length) {
+                salida = Arrays.copyOf(salida, Math.max(necesario, salida.length * 2));
+            }
+            pos = capitalizar(entrada, inicio, finTexto, salida, pos);
+            for (int k = finTexto; k < finLinea; k++) salida[pos++] = '\r';
+            if (finLinea < n) salida[pos++] = '\n';
+            inicio = finLinea + 1;
+        }
+        return StandardCharsets.UTF_8.encode(CharBuffer.wrap(salida, 0, pos));
+    }
+
+    private static void escribir(FileChannel out, Future<ByteBuffer> trozo) throws IOException, InterruptedException {
+        try {
+            ByteBuffer bytes = trozo.get();
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Error al procesar un trozo", e.getCause());
+        }
+    }
+
+    // ===== VERSIÓN ANTERIOR (para comparar) =====
+
+    static String formatearTextoAnterior(String texto) {
+        String[] palabras = texto.split(" ");
+        StringBuilder resultado = new StringBuilder();
+        for (String palabra : palabras) {
+            if (palabra.length() > 0) {
+                resultado.append(Character.toUpperCase(palabra.charAt(0)));
+                if (palabra.length() > 1) {
+                    resultado.append(palabra.substring(1).toLowerCase());
+                }
+                resultado.append(" ");
+            }
+        }
+        return resultado.toString().trim();
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== CAPITALIZACIÓN MASIVA ===\n");
+
+        // 1. Casos especiales
+        System.out.println("1. CASOS ESPECIALES:");
+        String[] casos = {"hola mundo", "  LAPTOP   gaming\tPRO  ", "ǆungla ΟΔΥΣΣΕΥΣ", "İSTANBUL kİLO", "𝐚bc déjà-vu"};
+        for (String caso : casos) {
+            System.out.printf("%-28s → \"%s\"%n", "\"" + caso + "\"", capitalizar(caso));
+        }
+
+        // 2. Misma respuesta que la versión anterior en textos comunes
+        System.out.println("\n2. COMPARACIÓN CON LA VERSIÓN ANTERIOR:");
+        String[] catalogo = generarCatalogo(1_000_000);
+        int distintos = 0;
+        for (String nombre : catalogo) {
+            if (!capitalizar(nombre).equals(formatearTextoAnterior(nombre))) distintos++;
+        }
+        System.out.println(distintos == 0
+                           ? "✅ " + catalogo.length + " nombres de catálogo con el mismo resultado"
+                           : "❌ " + distintos + " diferencias");
+
+        // 3. Archivo completo en paralelo
+        System.out.println("\n3. ARCHIVO DE CATÁLOGO:");
+        Path entrada = Files.createTempFile("catalogo", ".txt");
+        Path salida = Files.createTempFile("catalogo-titulos", ".txt");
+        try {
+            Files.write(entrada, Arrays.asList(catalogo), StandardCharsets.UTF_8);
+            int hilos = Runtime.getRuntime().availableProcessors();
+            long lineas = capitalizarArchivo(entrada, salida, hilos);
+            boolean enOrden = true;
+            int i = 0;
+            for (String linea : Files.readAllLines(salida, StandardCharsets.UTF_8)) {
+                enOrden &= linea.equals(capitalizar(catalogo[i++]));
+            }
+            System.out.printf("%,d líneas con %d hilo(s) %s%n", lineas, hilos,
+                              enOrden && i == catalogo.length ? "✅ en orden" : "❌ salida distinta");
+        } finally {
+            Files.deleteIfExists(entrada);
+            Files.deleteIfExists(salida);
+        }
+    }
+
+    static String[] generarCatalogo(int cantidad) {
+        String[] marcas = {"LAPTOP", "mouse", "Teclado", "monitor", "CÁMARA", "auriculares", "SILLA"};
+        String[] detalles = {"gaming", "PRO", "inalámbrico", "ergonómica", "4k ultra hd", "rgb", "mecánico"};
+        String[] nombres = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            nombres[i] = marcas[i % marcas.length] + (i % 5 == 0 ? "  " : " ") + detalles[(i / 7) % detalles.length]
+                         + " modelo " + (i % 1000) + (i % 3 == 0 ? " EDICIÓN especial" : "");
+        }
+        return nombres;
+    }
+}
+
+/*
+CAPITALIZACIÓN EN UNA PASADA:
+
+1. VERSIÓN ANTERIOR (por palabra):
+   • split(" ") → arreglo + un String por palabra
+   • substring(1).toLowerCase() → dos Strings más por palabra
+   • StringBuilder + toString() + trim() → copias del resultado
+
+2. UNA PASADA:
+   • Se recorre el arreglo de caracteres una sola vez
+   • Blancos repetidos (espacio, tab, etc.) se reducen a un espacio
+   • Unicode: mayúscula de título (ǆ → ǅ), sigma final (Σ → ς), 'İ' → "i̇"
+   • Solo se crea el arreglo de trabajo y el String final
+
+3. MODO MASIVO:
+   • Trozos de 4 MB cortados en '\n'
+   • Cada trozo en un hilo; se escriben en el orden en que se leyeron
+*/
@@ -0,0 +1,395 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Mensajes de debug que no cuestan nada cuando están apagados
+ * Demuestra cómo revisar el nivel antes de construir el mensaje, cómo
+ * pasar valores primitivos sin convertirlos a texto en el hilo que trabaja
+ * y cómo un único hilo escritor saca los mensajes de un anillo preasignado
+ * (rendimiento medido con JMH en benchmarks/: ConsolaBenchmark)
+ */
+public class AsyncLogger implements AutoCloseable {
+
+    public enum Nivel { DEBUG, INFO, ERROR, APAGADO }
+
+    // Tipo del argumento guardado en cada casilla del anillo
+    private static final int SIN_VALOR = 0, LARGO = 1, DECIMAL = 2, LOGICO = 3, CARACTER = 4, OBJETO = 5;
+
+    // ===== CASILLA DEL ANILLO (se reutilizan; nunca se crean por mensaje) =====
+
+    private static final class Casilla {
+        volatile long publicada = -1;   // Secuencia del mensaje que contiene
+        Nivel nivel;
+        String plantilla;
+        int tipo;
+        long bits;
+        Object objeto;
+    }
+
+    private volatile int minimo;
+    private final Casilla[] anillo;
+    private final int mascara;
+    // Bit de "cerrado" dentro de la secuencia: reservar y ver si ya se cerró es una sola operación
+    private static final long CERRADO = 1L << 62;
+
+    private final AtomicLong reservada = new AtomicLong();   // Próxima secuencia a entregar (+ CERRADO)
+    private volatile long consumida;                         // Próxima secuencia que leerá el escritor
+    private volatile long limite = -1;                       // Secuencias a escribir antes de terminar
+    private final LongAdder esperas = new LongAdder();
+    private final OutputStream salida;
+    private final Thread escritor;
+
+    /**
+     * @param nivel     nivel mínimo que se registra
+     * @param salida    destino de los mensajes
+     * @param capacidad tamaño del anillo (se redondea a potencia de 2)
+     */
+    public AsyncLogger(Nivel nivel, OutputStream salida, int capacidad) {
+        int tamano = Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+        this.anillo = new Casilla[tamano];
+        for (int i = 0; i < tamano; i++) {
+            anillo[i] = new Casilla();
+        }
+        this.mascara = tamano - 1;
+        this.salida = salida;
+        setNivel(nivel);
+        this.escritor = new Thread(this::escribir, "async-logger");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    public void setNivel(Nivel nivel) {
+        this.minimo = nivel.ordinal();
+    }
+
+    /** Para mensajes caros: evita calcular nada si el nivel está apagado. */
+    public boolean activo(Nivel nivel) {
+        return nivel.ordinal() >= minimo;
+    }
+
+    // ===== API: el nivel se revisa ANTES de tocar los argumentos =====
+    // En la plantilla, "{}" marca dónde va el valor: debug("intentos: {}", 3)
+
+    public void debug(String mensaje) {
+        if (Nivel.DEBUG.ordinal() >= minimo) publicar(Nivel.DEBUG, mensaje, SIN_VALOR, 0, null);
+    }
+
+    public void debug(String plantilla, long valor) {
+        if (Nivel.DEBUG.ordinal() >= minimo) publicar(Nivel.DEBUG, plantilla, LARGO, valor, null);
+    }
+
+    public void debug(String plantilla, double valor) {
+        if (Nivel.DEBUG.ordinal() >= minimo) publicar(Nivel.DEBUG, plantilla, DECIMAL, Double.doubleToRawLongBits(valor), null);
+    }
+
+    public void debug(String plantilla, boolean valor) {
+        if (Nivel.DEBUG.ordinal() >= minimo) publicar(Nivel.DEBUG, plantilla, LOGICO, valor ? 1 : 0, null);
+    }
+
+    public void debug(String plantilla, char valor) {
+        if (Nivel.DEBUG.ordinal() >= minimo) publicar(Nivel.DEBUG, plantilla, CARACTER, valor, null);
+    }
+
+    /** El objeto se convierte a texto en el hilo escritor: debe ser inmutable (String, Integer...). */
+    public void debug(String plantilla, Object valor) {
+        if (Nivel.DEBUG.ordinal() >= minimo) publicar(Nivel.DEBUG, plantilla, OBJETO, 0, valor);
+    }
+
+    /** El proveedor solo se ejecuta si DEBUG está activo (en el hilo que llama). */
+    public void debug(Supplier<String> mensaje) {
+        if (Nivel.DEBUG.ordinal() >= minimo) publicar(Nivel.DEBUG, mensaje.get(), SIN_VALOR, 0, null);
+    }
+
+    public void info(String mensaje) {
+        if (Nivel.INFO.ordinal() >= minimo) publicar(Nivel.INFO, mensaje, SIN_VALOR, 0, null);
+    }
+
+    public void info(String plantilla, long valor) {
+        if (Nivel.INFO.ordinal() >= minimo) publicar(Nivel.INFO, plantilla, LARGO, valor, null);
+    }
+
+    public void info(String plantilla, double valor) {
+        if (Nivel.INFO.ordinal() >= minimo) publicar(Nivel.INFO, plantilla, DECIMAL, Double.doubleToRawLongBits(valor), null);
+    }
+
+    public void info(String plantilla, boolean valor) {
+        if (Nivel.INFO.ordinal() >= minimo) publicar(Nivel.INFO, plantilla, LOGICO, valor ? 1 : 0, null);
+    }
+
+    public void info(String plantilla, char valor) {
+        if (Nivel.INFO.ordinal() >= minimo) publicar(Nivel.INFO, plantilla, CARACTER, valor, null);
+    }
+
+    public void info(String plantilla, Object valor) {
+        if (Nivel.INFO.ordinal() >= minimo) publicar(Nivel.INFO, plantilla, OBJETO, 0, valor);
+    }
+
+    public void info(Supplier<String> mensaje) {
+        if (Nivel.INFO.ordinal() >= minimo) publicar(Nivel.INFO, mensaje.get(), SIN_VALOR, 0, null);
+    }
+
+    public void error(String mensaje) {
+        if (Nivel.ERROR.ordinal() >= minimo) publicar(Nivel.ERROR, mensaje, SIN_VALOR, 0, null);
+    }
+
+    public void error(String plantilla, long valor) {
+        if (Nivel.ERROR.ordinal() >= minimo) publicar(Nivel.ERROR, plantilla, LARGO, valor, null);
+    }
+
+    public void error(String plantilla, double valor) {
+        if (Nivel.ERROR.ordinal() >= minimo) publicar(Nivel.ERROR, plantilla, DECIMAL, Double.doubleToRawLongBits(valor), null);
+    }
+
+    public void error(String plantilla, boolean valor) {
+        if (Nivel.ERROR.ordinal() >= minimo) publicar(Nivel.ERROR, plantilla, LOGICO, valor ? 1 : 0, null);
+    }
+
+    public void error(String plantilla, char valor) {
+        if (Nivel.ERROR.ordinal() >= minimo) publicar(Nivel.ERROR, plantilla, CARACTER, valor, null);
+    }
+
+    public void error(String plantilla, Object valor) {
+        if (Nivel.ERROR.ordinal() >= minimo) publicar(Nivel.ERROR, plantilla, OBJETO, 0, valor);
+    }
+
+    public void error(Supplier<String> mensaje) {
+        if (Nivel.ERROR.ordinal() >= minimo) publicar(Nivel.ERROR, mensaje.get(), SIN_VALOR, 0, null);
+    }
+
+    /** Mensajes que tuvieron que esperar porque el anillo estaba lleno. */
+    public long getEsperas() {
+        return esperas.sum();
+    }
+
+    // ===== PRODUCTORES (varios hilos) =====
+
+    // Política con el anillo lleno: el productor ESPERA (no se pierden mensajes).
+    // Primero cede el procesador unas pocas veces y luego parkNanos creciente hasta 1 ms
+    private void publicar(Nivel nivel, String plantilla, int tipo, long bits, Object objeto) {
+        long secuencia = reservada.getAndIncrement();
+        if ((secuencia & CERRADO) != 0) {
+            return;   // Se reservó después de close(): el escritor ya no lo espera
+        }
+        if (secuencia - consumida >= anillo.length) {
+            esperas.increment();
+            for (int intento = 0; secuencia - consumida >= anillo.length; intento++) {
+                LockSupport.unpark(escritor);
+                if (intento < 16) {
+                    Thread.yield();   // Cede el procesador al escritor (clave con pocos núcleos)
+                } else {
+                    LockSupport.parkNanos(Math.min(1_000_000L, 1_000L << Math.min(10, intento - 16)));
+                }
+            }
+        }
+        Casilla c = anillo[(int) secuencia & mascara];
+        c.nivel = nivel;
+        c.plantilla = plantilla;
+        c.tipo = tipo;
+        c.bits = bits;
+        c.objeto = objeto;
+        c.publicada = secuencia;   // Escritura volatile: publica los campos anteriores
+    }
+
+    // ===== HILO ESCRITOR (uno solo) =====
+
+    private void escribir() {
+        StringBuilder linea = new StringBuilder(256);
+        char[] caracteres = new char[256];
+        ByteBuffer bytes = ByteBuffer.allocate(64 * 1024);
+        CharsetEncoder codificador = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        String separador = System.lineSeparator();
+        long siguiente = 0;
+        while (true) {
+            Casilla c = anillo[(int) siguiente & mascara];
+            if (c.publicada != siguiente) {
+                vaciar(bytes);
+                if (siguiente == limite) {
+                    return;   // Se escribió todo lo reservado antes de close()
+                }
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+            linea.setLength(0);
+            formatear(c, linea);
+            linea.append(separador);
+            c.plantilla = null;
+            c.objeto = null;
+            consumida = ++siguiente;   // La casilla ya se puede reutilizar
+
+            if (linea.length() > caracteres.length) {
+                caracteres = new char[linea.length() * 2];
+            }
+            linea.getChars(0, linea.length(), caracteres, 0);
+            CharBuffer entrada = CharBuffer.wrap(caracteres, 0, linea.length());
+            if (bytes.remaining() < linea.length() * 4) {
+                vaciar(bytes);
+                if (bytes.capacity() < linea.length() * 4) {
+                    bytes = ByteBuffer.allocate(linea.length() * 4);   // Mensaje enorme (caso raro)
+                }
+            }
+            codificador.reset();
+            codificador.encode(entrada, bytes, true);
+            codificador.flush(bytes);
+        }
+    }
+
+    private static void formatear(Casilla c, StringBuilder linea) {
+        linea.append(c.nivel).append(" -> ");
+        String p = c.plantilla;
+        int marca = c.tipo == SIN_VALOR ? -1 : p.indexOf("{}");
+        if (marca < 0) {
+            linea.append(p);
+            return;
+        }
+        linea.append(p, 0, marca);
+        switch (c.tipo) {
+            case LARGO: linea.append(c.bits); break;
+            case DECIMAL: linea.append(Double.longBitsToDouble(c.bits)); break;
+            case LOGICO: linea.append(c.bits != 0); break;
+            case CARACTER: linea.append((char) c.bits); break;
+            default: linea.append(c.objeto); break;
+        }
+        linea.append(p, marca + 2, p.length());
+    }
+
+    private void vaciar(ByteBuffer bytes) {
+        if (bytes.position() == 0) {
+            return;
+        }
+        try {
+            salida.write(bytes.array(), 0, bytes.position());
+            salida.flush();
+        } catch (IOException e) {
+            // Un logger no debe tumbar la aplicación: se informa y se descarta
+            System.err.println("AsyncLogger: no se pudo escribir: " + e.getMessage());
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Espera a que se escriban todos los mensajes reservados antes del cierre y
+     * detiene el escritor. Los mensajes publicados después se descartan.
+     */
+    @Override
+    public void close() {
+        long anterior = reservada.getAndAdd(CERRADO);
+        if ((anterior & CERRADO) == 0) {
+            limite = anterior;
+        }
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== LOGGER ASÍNCRONO CON NIVELES ===\n");
+
+        // 1. Los mismos mensajes de CasosPracticos.debugVariables()
+        System.out.println("1. MENSAJES DE DEBUG:");
+        try (AsyncLogger log = new AsyncLogger(Nivel.DEBUG, System.out, 1024)) {
+            log.debug("usuario: '{}'", "admin");
+            log.debug("intentos: {}", 3);
+            log.debug("autenticado: {}", false);
+            log.debug("saldoCuenta: {}", 1250.75);
+            log.debug("nivelAcceso: {}", 'A');
+            log.setNivel(Nivel.INFO);
+            log.debug(() -> "Este mensaje nunca se construye");
+            log.info("Con nivel INFO los mensajes DEBUG se descartan antes de formatear");
+        }
+
+        // 2. Prueba: debug() apagado no crea objetos, ni siquiera con un double
+        System.out.println("\n2. MEMORIA DE debug() APAGADO:");
+        PrintStream nulo = new PrintStream(OutputStream.nullOutputStream());
+        int n = 20_000_000;
+        try (AsyncLogger apagado = new AsyncLogger(Nivel.INFO, nulo, 1024)) {
+            for (int i = 0; i < n; i++) {
+                apagado.debug("intentos: {}", i);   // Calentamiento
+            }
+            com.sun.management.ThreadMXBean mx =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long antes = mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < n; i++) {
+                apagado.debug("saldo: {}", i * 0.5);
+            }
+            long bytes = mx.getThreadAllocatedBytes(Thread.currentThread().getId()) - antes;
+            System.out.printf("Bytes creados por debug() apagado: %.3f %s%n", bytes / (double) n,
+                              bytes < 10_000 ? "✅" : "❌");
+        }
+
+        // 3. Cierre con productores activos: no se cuelga y no pierde lo reservado antes
+        System.out.println("\n3. CIERRE MIENTRAS 4 HILOS PUBLICAN (anillo de 64):");
+        LongAdder lineas = new LongAdder();
+        OutputStream contador = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n') lineas.increment();
+            }
+
+            @Override
+            public void write(byte[] b, int desde, int largo) {
+                for (int i = desde; i < desde + largo; i++) {
+                    write(b[i]);
+                }
+            }
+        };
+        AsyncLogger log = new AsyncLogger(Nivel.INFO, contador, 64);
+        Thread[] productores = new Thread[4];
+        for (int t = 0; t < productores.length; t++) {
+            productores[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    log.error("intento {}", i);
+                }
+            });
+            productores[t].start();
+        }
+        productores[0].join();
+        log.close();   // Los otros hilos pueden seguir publicando
+        for (Thread t : productores) {
+            t.join();
+        }
+        System.out.printf("Líneas escritas: %d de %d publicadas %s%n", lineas.sum(), 4 * 50_000,
+                          lineas.sum() >= 50_000 && lineas.sum() <= 4 * 50_000 ? "✅ terminó sin colgarse" : "❌");
+    }
+}
+
+/*
+LOGGER ASÍNCRONO:
+
+1. NIVEL PRIMERO:
+   • if (nivel >= minimo) se revisa antes de tocar los argumentos
+   • Apagado, debug("intentos: {}", i) cuesta una comparación: sin String ni boxing
+
+2. MENSAJES PEREZOSOS:
+   • debug(() -> "texto " + calculoCaro()) solo ejecuta la lambda si DEBUG está activo
+   • Sobrecargas para long, double, boolean y char: el valor viaja como bits
+
+3. ESCRITURA ASÍNCRONA:
+   • Los hilos copian nivel, plantilla y valor en una casilla de un anillo preasignado
+   • Un único hilo escritor arma el texto y escribe en bloques
+   • Si el anillo se llena, el productor espera (unos pocos yield y luego parkNanos
+     creciente hasta 1 ms): no se pierden mensajes
+
+4. CIERRE:
+   • close() marca un bit en la misma secuencia que reservan los productores
+   • Todo mensaje reservado antes del cierre se escribe; los posteriores se descartan
+*/
@@ -1,3 +1,5 @@
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * CONCEPTO 3: Salida estándar (System.out)
  * 
@@ -78,16 +80,22 @@ public class CasosPracticos {
         System.out.println("├─────────────────────────────────────────────────┤");
         System.out.println("│ DESCRIPCIÓN          │ CANT │ PRECIO │  TOTAL  │");
         System.out.println("├──────────────────────┼──────┼────────┼─────────┤");
-        System.out.printf("│ %-20s │ %4d │ $%6.2f │ $%7.2f │%n", 
-                         "Laptop Gaming", 1, 1299.99, 1299.99);
-        System.out.printf("│ %-20s │ %4d │ $%6.2f │ $%7.2f │%n", 
-                         "Mouse RGB", 2, 45.50, 91.00);
-        System.out.printf("│ %-20s │ %4d │ $%6.2f │ $%7.2f │%n", 
-                         "Teclado Mecánico", 1, 120.00, 120.00);
+        // Importes en centavos exactos (Dinero): nada se calcula a mano ni con double
+        String[] descripciones = {"Laptop Gaming", "Mouse RGB", "Teclado Mecánico"};
+        int[] cantidades = {1, 2, 1};
+        Dinero[] precios = {Dinero.de("1299.99"), Dinero.de("45.50"), Dinero.de("120.00")};
+        Dinero subtotal = Dinero.CERO;
+        for (int i = 0; i < descripciones.length; i++) {
+            Dinero importe = precios[i].multiplicar(cantidades[i]);
+            subtotal = subtotal.sumar(importe);
+            System.out.printf("│ %-20s │ %4d │ $%6s │ $%7s │%n", 
+                             descripciones[i], cantidades[i], precios[i], importe);
+        }
+        Dinero iva = subtotal.iva();
         System.out.println("├──────────────────────┴──────┴────────┼─────────┤");
-        System.out.printf("│                        SUBTOTAL: │ $%7.2f │%n", 1510.99);
-        System.out.printf("│                        IVA (13%%): │ $%7.2f │%n", 196.43);
-        System.out.printf("│                           TOTAL: │ $%7.2f │%n", 1707.42);
+        System.out.printf("│                        SUBTOTAL: │ $%7s │%n", subtotal);
+        System.out.printf("│                        IVA (13%%): │ $%7s │%n", iva);
+        System.out.printf("│                           TOTAL: │ $%7s │%n", subtotal.sumar(iva));
         System.out.println("└───────────────────────────────────────┴─────────┘");
         System.out.println("           ¡Gracias por su compra!               ");
         System.out.println();
@@ -97,30 +105,22 @@ public class CasosPracticos {
         System.out.println("=== SIMULANDO DESCARGA ===");
         System.out.println("Descargando archivo grande.zip...");
         
+        // El hilo de trabajo solo suma bytes; ProgressMonitor redibuja la barra
+        // 10 veces por segundo desde su propio hilo (ya no hay sleep por cuadro)
+        long total = 1000L << 20;
         try {
-            for (int i = 0; i <= 100; i += 5) {
-                // Crear barra de progreso visual
-                int barras = i / 2; // 50 caracteres máximo
-                StringBuilder progreso = new StringBuilder();
-                
-                progreso.append("[");
-                for (int j = 0; j < 50; j++) {
-                    if (j < barras) {
-                        progreso.append("█");
-                    } else {
-                        progreso.append("░");
+            try (ProgressMonitor monitor = new ProgressMonitor(System.out, 10)) {
+                ProgressMonitor.Barra barra = monitor.nuevaBarra(null, total, 1 << 20, "MB");
+                Thread descarga = new Thread(() -> {
+                    for (long hecho = 0; hecho < total; hecho += 1 << 20) {
+                        LockSupport.parkNanos(4_000_000);   // Simula la red: 1 MB cada 4 ms
+                        barra.avanzar(1 << 20);
                     }
-                }
-                progreso.append("]");
-                
-                // \r hace que la siguiente salida sobrescriba la línea actual
-                System.out.printf("\r%s %3d%% (%d MB / %d MB)", 
-                                progreso.toString(), i, i * 10, 1000);
-                
-                Thread.sleep(200); // Pausa para efecto visual
-            }
-            
-            System.out.println("\n✓ Descarga completada exitosamente!");
+                });
+                descarga.start();
+                descarga.join();
+            }   // close() dibuja el cuadro final y salta de línea
+            System.out.println("✓ Descarga completada exitosamente!");
         } catch (InterruptedException e) {
             System.out.println("\nDescarga interrumpida.");
         }
@@ -136,20 +136,21 @@ public class CasosPracticos {
         double saldoCuenta = 1250.75;
         char nivelAcceso = 'A';
         
-        // Técnica útil para debug: mostrar nombre y valor
-        System.out.println("DEBUG -> usuario: '" + usuario + "'");
-        System.out.println("DEBUG -> intentos: " + intentos);
-        System.out.println("DEBUG -> autenticado: " + autenticado);
-        System.out.println("DEBUG -> saldoCuenta: " + saldoCuenta);
-        System.out.println("DEBUG -> nivelAcceso: " + nivelAcceso);
-        
-        // Formato alternativo para debug
-        System.out.printf("DEBUG -> Estado del sistema:%n");
-        System.out.printf("  - Usuario: %s%n", usuario);
-        System.out.printf("  - Intentos restantes: %d%n", intentos);
-        System.out.printf("  - Autenticado: %s%n", autenticado ? "SÍ" : "NO");
-        System.out.printf("  - Saldo: $%.2f%n", saldoCuenta);
-        System.out.printf("  - Nivel: %c%n", nivelAcceso);
+        // Técnica útil para debug: mostrar nombre y valor. El nivel se revisa
+        // antes de armar el texto y un hilo aparte hace la escritura
+        try (AsyncLogger log = new AsyncLogger(AsyncLogger.Nivel.DEBUG, System.out, 256)) {
+            log.debug("usuario: '{}'", usuario);
+            log.debug("intentos: {}", intentos);
+            log.debug("autenticado: {}", autenticado);
+            log.debug("saldoCuenta: {}", saldoCuenta);
+            log.debug("nivelAcceso: {}", nivelAcceso);
+            
+            // Formato alternativo para debug: la lambda solo se ejecuta si DEBUG está activo
+            log.debug(() -> String.format("Estado del sistema:%n  - Usuario: %s%n  - Intentos restantes: %d%n"
+                                          + "  - Autenticado: %s%n  - Saldo: $%.2f%n  - Nivel: %c",
+                                          usuario, intentos, autenticado ? "SÍ" : "NO",
+                                          saldoCuenta, nivelAcceso));
+        }   // close() espera a que se escriban todos los mensajes
         
         System.out.println();
         System.out.println("=== FIN DE EJEMPLOS PRÁCTICOS ===");
@@ -178,11 +179,13 @@ CASOS PRÁCTICOS DEMOSTRADOS:
    - Uso de \r para sobrescribir línea
    - Indicadores visuales con caracteres especiales
    - Actualización en tiempo real
+   - El trabajo solo suma; otro hilo dibuja (ProgressMonitor)
 
 5. DEBUG Y LOGGING
    - Mostrar nombres y valores de variables
    - Formato consistente para debug
    - Información útil para desarrollo
+   - Nivel revisado antes de formatear; escritura asíncrona (AsyncLogger)
 
 TÉCNICAS ÚTILES:
 - \r para sobrescribir la línea actual
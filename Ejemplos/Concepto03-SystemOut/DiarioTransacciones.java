@@ -0,0 +1,405 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Historial de movimientos en disco ("5. Ver historial")
+ * Demuestra un diario de solo-agregar: cada movimiento es un registro
+ * binario de 64 bytes dentro de archivos mapeados en memoria, los fsync se
+ * agrupan, un índice disperso por cuenta pagina el historial sin recorrer
+ * todo el archivo y al abrir se descartan los registros a medio escribir
+ * (rendimiento medido con JMH en benchmarks/: DiarioBenchmark)
+ */
+public class DiarioTransacciones implements LibroCuentas.Diario, AutoCloseable {
+
+    // ===== FORMATO DEL REGISTRO (64 bytes, big endian; la secuencia nunca es 0) =====
+    private static final int TAMANO = 64;
+    private static final int SECUENCIA = 0;      // long: secuencia del libro
+    private static final int FECHA = 8;          // long: milisegundos desde 1970
+    private static final int MONTO = 16;         // long: centavos
+    private static final int SALDO = 24;         // long: saldo después del movimiento
+    private static final int ANTERIOR = 32;      // long: registro anterior de la misma cuenta (+1; 0 = ninguno)
+    private static final int CUENTA = 40;        // int
+    private static final int TIPO = 44;          // int
+    private static final int CRC = 48;           // int: CRC32C de los bytes 0..47
+    private static final int CUBIERTO = 48;
+
+    private static final int CADA = 16;          // Índice disperso: uno de cada 16 movimientos por cuenta
+
+    /** Recibe los movimientos de una página de historial, del más nuevo al más viejo. */
+    public interface Lector {
+        void movimiento(long secuencia, long fecha, int tipo, long centavos, long saldo);
+    }
+
+    private final Path carpeta;
+    private final int porSegmento;
+    private final List<MappedByteBuffer> segmentos = new ArrayList<>();
+    private final CRC32C calculadorCrc = new CRC32C();
+    private final byte[] temporal = new byte[CUBIERTO];
+
+    // Índice en memoria (se reconstruye al abrir)
+    private long[] ultimo = new long[1024];      // Último registro de cada cuenta (+1)
+    private int[] cantidad = new int[1024];      // Movimientos de cada cuenta
+    private long[][] muestras = new long[1024][];// muestras[c][k] = registro del movimiento k*CADA de c
+
+    private long escritos;                       // Registros escritos (y siguiente posición)
+    private final AtomicLong durables = new AtomicLong();   // Registros cubiertos por force() (solo crece)
+    private final Thread confirmador;
+    private volatile boolean cerrado;
+    private final int recuperados;
+    private final int descartados;
+
+    /**
+     * Abre (o crea) el diario y recupera su estado.
+     *
+     * @param registrosPorSegmento registros por archivo "diario-NNNNNN.seg"
+     * @param intervaloNanos       cada cuánto se agrupan los fsync pendientes
+     */
+    public DiarioTransacciones(Path carpeta, int registrosPorSegmento, long intervaloNanos) throws IOException {
+        this.carpeta = Files.createDirectories(carpeta);
+        this.porSegmento = registrosPorSegmento;
+        int[] resultado = recuperar();
+        this.recuperados = resultado[0];
+        this.descartados = resultado[1];
+        this.durables.set(escritos);
+        this.confirmador = new Thread(() -> confirmarCada(intervaloNanos), "diario-fsync");
+        confirmador.setDaemon(true);
+        confirmador.start();
+    }
+
+    // ===== ESCRITURA =====
+
+    @Override
+    public synchronized void anotar(long secuencia, int cuenta, int tipo, long centavos, long saldo) {
+        if (cerrado) {
+            throw new IllegalStateException("El diario está cerrado");
+        }
+        long registro = escritos;
+        MappedByteBuffer seg = segmento(registro);
+        int base = (int) (registro % porSegmento) * TAMANO;
+        asegurarCuenta(cuenta);
+        seg.putLong(base + SECUENCIA, secuencia);
+        seg.putLong(base + FECHA, System.currentTimeMillis());
+        seg.putLong(base + MONTO, centavos);
+        seg.putLong(base + SALDO, saldo);
+        seg.putLong(base + ANTERIOR, ultimo[cuenta]);
+        seg.putInt(base + CUENTA, cuenta);
+        seg.putInt(base + TIPO, tipo);
+        seg.putInt(base + CRC, calcularCrc(seg, base));
+        indexar(cuenta, registro);
+        escritos = registro + 1;
+    }
+
+    /** Bloquea hasta que todo lo anotado hasta ahora esté en disco (lo hace el hilo de fsync). */
+    public void confirmar() {
+        long objetivo;
+        synchronized (this) {
+            objetivo = escritos;
+        }
+        while (durables.get() < objetivo) {
+            if (cerrado) {
+                forzar();   // El hilo de fsync ya terminó o está terminando
+                return;
+            }
+            LockSupport.unpark(confirmador);
+            LockSupport.parkNanos(50_000);
+        }
+    }
+
+    // Un solo force() cubre todos los registros escritos desde el anterior (commit en grupo)
+    private void confirmarCada(long intervaloNanos) {
+        while (!cerrado) {
+            LockSupport.parkNanos(intervaloNanos);
+            forzar();
+        }
+    }
+
+    // Puede correr a la vez en el hilo de fsync, en close() y en confirmar():
+    // 'durables' avanza con max() para que un force() más viejo no lo haga retroceder
+    private void forzar() {
+        long hasta;
+        List<MappedByteBuffer> sucios;
+        synchronized (this) {
+            hasta = escritos;
+            long yaDurables = durables.get();
+            if (hasta <= yaDurables) {
+                return;
+            }
+            int desde = (int) (yaDurables / porSegmento);
+            sucios = new ArrayList<>(segmentos.subList(desde, (int) ((hasta - 1) / porSegmento) + 1));
+        }
+        for (MappedByteBuffer s : sucios) {
+            s.force();   // Fuera del candado: los productores siguen escribiendo
+        }
+        durables.accumulateAndGet(hasta, Math::max);
+    }
+
+    public long getDurables() {
+        return durables.get();
+    }
+
+    // ===== LECTURA DEL HISTORIAL =====
+
+    public synchronized int cantidadDe(int cuenta) {
+        return cuenta < cantidad.length ? cantidad[cuenta] : 0;
+    }
+
+    /**
+     * Lee la página {@code pagina} (0 = la más reciente) del historial de la cuenta.
+     * Salta con el índice disperso al movimiento más cercano y recorre como
+     * máximo CADA registros hacia atrás antes de empezar a entregar.
+     *
+     * @return movimientos entregados
+     */
+    public synchronized int leerPagina(int cuenta, int pagina, int tamanoPagina, Lector lector) {
+        int total = cantidadDe(cuenta);
+        long primero = (long) total - 1 - (long) pagina * tamanoPagina;   // Ordinal del más nuevo de la página
+        if (primero < 0) {
+            return 0;
+        }
+        // Muestra con ordinal >= primero más cercana; si no hay, el último registro
+        long k = (primero + CADA - 1) / CADA;
+        long ordinal;
+        long registro;
+        if (k * CADA < total) {
+            ordinal = k * CADA;
+            registro = muestras[cuenta][(int) k];
+        } else {
+            ordinal = total - 1;
+            registro = ultimo[cuenta] - 1;
+        }
+        for (; ordinal > primero; ordinal--) {
+            registro = segmento(registro).getLong(desplazamiento(registro) + ANTERIOR) - 1;
+        }
+        int entregados = 0;
+        while (entregados < tamanoPagina && registro >= 0) {
+            MappedByteBuffer seg = segmento(registro);
+            int base = desplazamiento(registro);
+            lector.movimiento(seg.getLong(base + SECUENCIA), seg.getLong(base + FECHA), seg.getInt(base + TIPO),
+                              seg.getLong(base + MONTO), seg.getLong(base + SALDO));
+            registro = seg.getLong(base + ANTERIOR) - 1;
+            entregados++;
+        }
+        return entregados;
+    }
+
+    // ===== ÍNDICE =====
+
+    private void asegurarCuenta(int cuenta) {
+        if (cuenta < 0) {
+            throw new IllegalArgumentException("Cuenta inválida: " + cuenta);
+        }
+        if (cuenta >= ultimo.length) {
+            int n = Math.max(cuenta + 1, ultimo.length * 2);
+            ultimo = Arrays.copyOf(ultimo, n);
+            cantidad = Arrays.copyOf(cantidad, n);
+            muestras = Arrays.copyOf(muestras, n);
+        }
+    }
+
+    private void indexar(int cuenta, long registro) {
+        int ordinal = cantidad[cuenta];
+        if (ordinal % CADA == 0) {
+            long[] m = muestras[cuenta];
+            int k = ordinal / CADA;
+            if (m == null) {
+                m = muestras[cuenta] = new long[4];
+            } else if (k == m.length) {
+                m = muestras[cuenta] = Arrays.copyOf(m, m.length * 2);
+            }
+            m[k] = registro;
+        }
+        ultimo[cuenta] = registro + 1;
+        cantidad[cuenta] = ordinal + 1;
+    }
+
+    // ===== SEGMENTOS =====
+
+    private MappedByteBuffer segmento(long registro) {
+        int n = (int) (registro / porSegmento);
+        while (segmentos.size() <= n) {
+            try {
+                segmentos.add(mapear(segmentos.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return segmentos.get(n);
+    }
+
+    private int desplazamiento(long registro) {
+        return (int) (registro % porSegmento) * TAMANO;
+    }
+
+    private Path archivo(int n) {
+        return carpeta.resolve(String.format("diario-%06d.seg", n));
+    }
+
+    private MappedByteBuffer mapear(int n) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo(n), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) porSegmento * TAMANO);
+        }
+    }
+
+    private int calcularCrc(MappedByteBuffer seg, int base) {
+        seg.get(base, temporal, 0, CUBIERTO);
+        calculadorCrc.reset();
+        calculadorCrc.update(temporal, 0, CUBIERTO);
+        return (int) calculadorCrc.getValue();
+    }
+
+    // ===== RECUPERACIÓN =====
+
+    /**
+     * Lee los segmentos en orden hasta el primer registro inválido (vacío,
+     * CRC incorrecto o cadena de la cuenta rota); desde ahí pone ceros y
+     * borra los segmentos siguientes: un final a medio escribir desaparece.
+     */
+    private int[] recuperar() throws IOException {
+        int existentes = 0;
+        while (Files.exists(archivo(existentes))) {
+            existentes++;
+        }
+        long registro = 0;
+        boolean valido = true;
+        while (valido && registro < (long) existentes * porSegmento) {
+            MappedByteBuffer seg = segmento(registro);
+            int base = desplazamiento(registro);
+            int cuenta = seg.getInt(base + CUENTA);
+            valido = seg.getInt(base + CRC) == calcularCrc(seg, base) && seg.getLong(base + SECUENCIA) > 0
+                     && cuenta >= 0;
+            if (valido) {
+                asegurarCuenta(cuenta);
+                valido = seg.getLong(base + ANTERIOR) == ultimo[cuenta];
+            }
+            if (valido) {
+                indexar(cuenta, registro);
+                registro++;
+            }
+        }
+        escritos = registro;
+        long descartados = 0;
+        if (existentes > 0 && registro < (long) existentes * porSegmento) {
+            MappedByteBuffer seg = segmento(registro);
+            for (int i = desplazamiento(registro); i < porSegmento * TAMANO; i += TAMANO) {
+                if (seg.getLong(i + SECUENCIA) != 0) {
+                    descartados++;
+                }
+                for (int b = 0; b < TAMANO; b += 8) {
+                    seg.putLong(i + b, 0);
+                }
+            }
+            seg.force();
+            for (int n = (int) (registro / porSegmento) + 1; n < existentes; n++) {
+                descartados += porSegmento;   // Aproximado: segmentos enteros posteriores
+                Files.delete(archivo(n));
+            }
+            while (segmentos.size() > registro / porSegmento + 1) {
+                segmentos.remove(segmentos.size() - 1);
+            }
+        }
+        return new int[] {(int) registro, (int) Math.min(Integer.MAX_VALUE, descartados)};
+    }
+
+    /** Detiene el hilo de fsync, espera a que termine y fuerza lo que quede pendiente. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            cerrado = true;   // Desde aquí anotar() falla: 'escritos' ya no cambia
+        }
+        LockSupport.unpark(confirmador);
+        boolean interrumpido = false;
+        while (confirmador.isAlive()) {
+            try {
+                confirmador.join();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        forzar();
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== DIARIO DE TRANSACCIONES ===\n");
+        Path carpeta = Files.createTempDirectory("diario");
+        try {
+            // 1. El libro de cuentas escribe su historial en el diario
+            System.out.println("1. HISTORIAL DE UNA CUENTA (página 0, 5 por página):");
+            DiarioTransacciones diario = new DiarioTransacciones(carpeta, 1 << 16, 1_000_000);
+            LibroCuentas banco = new LibroCuentas(1000, 64, diario);
+            banco.depositar(7, 100_000);
+            for (int i = 1; i <= 40; i++) {
+                banco.transferir(7, 8, 100 * i);
+                banco.depositar(7, 50 * i);
+            }
+            diario.confirmar();
+            Lector imprimir = (sec, fecha, tipo, centavos, saldo) -> {
+                StringBuilder sb = new StringBuilder(String.format("  #%-6d %-22s $", sec, LibroCuentas.nombreTipo(tipo)));
+                Dinero.agregarCentavos(sb, centavos, 8).append("  saldo $");
+                System.out.println(Dinero.agregarCentavos(sb, saldo, 9));
+            };
+            diario.leerPagina(7, 0, 5, imprimir);
+            System.out.println("Movimientos de la cuenta 7: " + diario.cantidadDe(7));
+
+            // 2. Corte de luz: el último registro queda a medio escribir
+            System.out.println("\n2. RECUPERACIÓN TRAS UN CORTE:");
+            long antes = diario.escritos;
+            MappedByteBuffer ultimoSegmento = diario.segmento(antes - 1);
+            ultimoSegmento.putLong(diario.desplazamiento(antes - 1) + MONTO, 999_999);   // Escritura rota
+            ultimoSegmento.force();
+            diario.close();
+            DiarioTransacciones reabierto = new DiarioTransacciones(carpeta, 1 << 16, 1_000_000);
+            System.out.println("Registros antes: " + antes + " | recuperados: " + reabierto.recuperados
+                               + " | descartados: " + reabierto.descartados
+                               + (reabierto.recuperados == antes - 1 ? " ✅" : " ❌"));
+            System.out.println("Historial de la cuenta 7 tras reabrir: " + reabierto.cantidadDe(7) + " movimientos");
+            reabierto.close();
+        } finally {
+            try (var archivos = Files.walk(carpeta)) {
+                archivos.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+}
+
+/*
+DIARIO DE TRANSACCIONES:
+
+1. REGISTROS FIJOS DE 64 BYTES:
+   • secuencia, fecha, monto, saldo, registro anterior, cuenta, tipo y CRC
+   • Posición del registro n: segmento n / porSegmento, byte (n % porSegmento) * 64
+   • Archivos mapeados en memoria: escribir es copiar bytes, sin llamadas al sistema
+
+2. COMMIT EN GRUPO:
+   • Un hilo hace force() cada ~1 ms sobre todo lo escrito
+   • Mil movimientos en ese intervalo = un solo fsync
+   • confirmar() espera a que lo anotado esté en disco
+
+3. HISTORIAL PAGINADO:
+   • Cada registro apunta al anterior de la misma cuenta (lista enlazada en disco)
+   • Índice disperso: uno de cada 16 movimientos por cuenta
+   • Ir a la página p: salto directo + como máximo 16 pasos
+
+4. RECUPERACIÓN:
+   • Al abrir se recorre el diario validando CRC y enlaces
+   • El primer registro inválido marca el final: lo demás se borra
+*/
@@ -0,0 +1,290 @@
+import java.nio.ByteBuffer;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Dinero con centavos exactos
+ * Demuestra por qué las facturas no deben calcularse con double y cómo un
+ * long de centavos da resultados exactos, impuestos con redondeo definido
+ * y un formateo a texto sin String.format ni objetos temporales
+ * (rendimiento medido con JMH en benchmarks/: FormatoBenchmark; propiedades
+ * contra BigDecimal en src/test/java: DineroTest)
+ */
+public final class Dinero implements Comparable<Dinero> {
+
+    public static final Dinero CERO = new Dinero(0);
+
+    // ===== REDONDEO E IMPUESTOS =====
+
+    public enum Redondeo {
+        /** 0.5 se aleja del cero (el redondeo "escolar"). */
+        MITAD_ARRIBA,
+        /** 0.5 va al vecino par (redondeo bancario): no acumula sesgo. */
+        MITAD_PAR
+    }
+
+    /** Tasa expresada en puntos básicos: 1300 = 13%, 1050 = 10,5%. */
+    public static final class Tasa {
+        public static final Tasa IVA = new Tasa(1300);
+
+        final int puntosBasicos;
+
+        private Tasa(int puntosBasicos) {
+            if (puntosBasicos < 0 || puntosBasicos > 1_000_000) {
+                throw new IllegalArgumentException("Tasa fuera de rango: " + puntosBasicos + " puntos básicos");
+            }
+            this.puntosBasicos = puntosBasicos;
+        }
+
+        public static Tasa porcentaje(int porcentaje) {
+            return new Tasa(Math.multiplyExact(porcentaje, 100));
+        }
+
+        public static Tasa puntosBasicos(int puntosBasicos) {
+            return new Tasa(puntosBasicos);
+        }
+
+        @Override
+        public String toString() {
+            return (puntosBasicos / 100) + (puntosBasicos % 100 == 0 ? "" : String.format(".%02d", puntosBasicos % 100)) + "%";
+        }
+    }
+
+    // ===== VALOR =====
+
+    private final long centavos;
+
+    private Dinero(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinero deCentavos(long centavos) {
+        return centavos == 0 ? CERO : new Dinero(centavos);
+    }
+
+    /** Lee "1299.99", "-0.5" o "120"; más de dos decimales es un error, no se redondea en silencio. */
+    public static Dinero de(String texto) {
+        return new Dinero(parsearCentavos(texto));
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    // ===== ARITMÉTICA (exacta: lanza ArithmeticException si se desborda) =====
+
+    public Dinero sumar(Dinero otro) {
+        return deCentavos(Math.addExact(centavos, otro.centavos));
+    }
+
+    public Dinero restar(Dinero otro) {
+        return deCentavos(Math.subtractExact(centavos, otro.centavos));
+    }
+
+    public Dinero multiplicar(long cantidad) {
+        return deCentavos(Math.multiplyExact(centavos, cantidad));
+    }
+
+    public Dinero impuesto(Tasa tasa, Redondeo redondeo) {
+        return deCentavos(impuestoCentavos(centavos, tasa, redondeo));
+    }
+
+    /** IVA del 13% con redondeo MITAD_ARRIBA, como en las facturas de ejemplo. */
+    public Dinero iva() {
+        return impuesto(Tasa.IVA, Redondeo.MITAD_ARRIBA);
+    }
+
+    /**
+     * Versión primitiva para bucles de alto volumen: centavos × tasa / 10000,
+     * redondeado a centavo entero según {@code redondeo}.
+     */
+    public static long impuestoCentavos(long centavos, Tasa tasa, Redondeo redondeo) {
+        return dividirRedondeando(Math.multiplyExact(centavos, (long) tasa.puntosBasicos), 10_000, redondeo);
+    }
+
+    static long dividirRedondeando(long dividendo, long divisor, Redondeo redondeo) {
+        long cociente = dividendo / divisor;
+        long resto = dividendo % divisor;          // Mismo signo que el dividendo
+        if (resto == 0) {
+            return cociente;
+        }
+        long doble = Math.abs(resto) * 2;          // |resto| < divisor: no se desborda
+        int paso = dividendo < 0 ? -1 : 1;
+        if (doble > divisor) {
+            return cociente + paso;
+        }
+        if (doble == divisor && (redondeo == Redondeo.MITAD_ARRIBA || (cociente & 1) != 0)) {
+            return cociente + paso;
+        }
+        return cociente;
+    }
+
+    // ===== TEXTO =====
+
+    /**
+     * Escribe los centavos como "1510.99" al final de {@code destino},
+     * alineado a la derecha en {@code ancho} caracteres (igual que %ancho.2f).
+     */
+    public static StringBuilder agregarCentavos(StringBuilder destino, long centavos, int ancho) {
+        int digitos = Math.max(3, contarDigitos(centavos));
+        int largo = digitos + 1 + (centavos < 0 ? 1 : 0);
+        for (int i = largo; i < ancho; i++) {
+            destino.append(' ');
+        }
+        if (centavos < 0) {
+            destino.append('-');
+        }
+        int inicio = destino.length();
+        destino.setLength(inicio + digitos + 1);
+        long resto = centavos < 0 ? centavos : -centavos;   // En negativo para admitir Long.MIN_VALUE
+        int posicion = inicio + digitos;
+        for (int i = 0; i < digitos; i++) {
+            if (i == 2) {
+                destino.setCharAt(posicion--, '.');
+            }
+            destino.setCharAt(posicion--, (char) ('0' - (resto % 10)));
+            resto /= 10;
+        }
+        return destino;
+    }
+
+    /** Igual que {@link #agregarCentavos(StringBuilder, long, int)} pero en bytes ASCII. */
+    public static ByteBuffer escribirCentavos(ByteBuffer destino, long centavos, int ancho) {
+        int digitos = Math.max(3, contarDigitos(centavos));
+        int largo = digitos + 1 + (centavos < 0 ? 1 : 0);
+        for (int i = largo; i < ancho; i++) {
+            destino.put((byte) ' ');
+        }
+        if (centavos < 0) {
+            destino.put((byte) '-');
+        }
+        int inicio = destino.position();
+        long resto = centavos < 0 ? centavos : -centavos;
+        int posicion = inicio + digitos;
+        for (int i = 0; i < digitos; i++) {
+            if (i == 2) {
+                destino.put(posicion--, (byte) '.');
+            }
+            destino.put(posicion--, (byte) ('0' - (resto % 10)));
+            resto /= 10;
+        }
+        destino.position(inicio + digitos + 1);
+        return destino;
+    }
+
+    public StringBuilder agregarA(StringBuilder destino, int ancho) {
+        return agregarCentavos(destino, centavos, ancho);
+    }
+
+    private static int contarDigitos(long centavos) {
+        int digitos = 1;
+        for (long v = centavos < 0 ? centavos : -centavos; v <= -10; v /= 10) {
+            digitos++;
+        }
+        return digitos;
+    }
+
+    static long parsearCentavos(String texto) {
+        int i = 0;
+        int n = texto.length();
+        boolean negativo = n > 0 && texto.charAt(0) == '-';
+        if (negativo || (n > 0 && texto.charAt(0) == '+')) {
+            i++;
+        }
+        long unidades = 0;
+        int digitosEnteros = 0;
+        for (; i < n && texto.charAt(i) != '.'; i++, digitosEnteros++) {
+            unidades = Math.addExact(Math.multiplyExact(unidades, 10), digito(texto, i));
+        }
+        long fraccion = 0;
+        int decimales = 0;
+        if (i < n) {
+            for (i++; i < n; i++, decimales++) {
+                if (decimales == 2) {
+                    throw new NumberFormatException("Más de dos decimales: \"" + texto + "\"");
+                }
+                fraccion = fraccion * 10 + digito(texto, i);
+            }
+        }
+        if (digitosEnteros == 0 && decimales == 0) {
+            throw new NumberFormatException("Cantidad vacía: \"" + texto + "\"");
+        }
+        if (decimales == 1) {
+            fraccion *= 10;
+        }
+        long total = Math.addExact(Math.multiplyExact(unidades, 100), fraccion);
+        return negativo ? -total : total;
+    }
+
+    private static int digito(String texto, int i) {
+        char c = texto.charAt(i);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Carácter inválido '" + c + "' en: \"" + texto + "\"");
+        }
+        return c - '0';
+    }
+
+    @Override
+    public String toString() {
+        return agregarA(new StringBuilder(24), 0).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Dinero && ((Dinero) o).centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public int compareTo(Dinero otro) {
+        return Long.compare(centavos, otro.centavos);
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) {
+        System.out.println("=== DINERO CON CENTAVOS EXACTOS ===\n");
+
+        // 1. La factura de CasosPracticos calculada, no escrita a mano
+        System.out.println("1. FACTURA DE EJEMPLO:");
+        Dinero subtotal = de("1299.99").multiplicar(1)
+                .sumar(de("45.50").multiplicar(2))
+                .sumar(de("120.00").multiplicar(1));
+        Dinero iva = subtotal.iva();
+        System.out.println("Subtotal: $" + subtotal + " | IVA (" + Tasa.IVA + "): $" + iva
+                           + " | Total: $" + subtotal.sumar(iva));
+        System.out.println("Con double: 0.1 + 0.2 = " + (0.1 + 0.2)
+                           + " | con Dinero: " + de("0.10").sumar(de("0.20")));
+
+        // 2. Redondeo bancario vs mitad hacia arriba
+        System.out.println("\n2. REDONDEO DE 0.50 CENTAVOS (IVA 13% de $0.50 = 6.5 centavos):");
+        System.out.println("MITAD_ARRIBA: $" + de("0.50").impuesto(Tasa.IVA, Redondeo.MITAD_ARRIBA)
+                           + " | MITAD_PAR: $" + de("0.50").impuesto(Tasa.IVA, Redondeo.MITAD_PAR));
+
+    }
+}
+
+/*
+DINERO CON CENTAVOS:
+
+1. ¿POR QUÉ NO double?
+   • 0.1 + 0.2 = 0.30000000000000004
+   • Los errores se acumulan al sumar miles de líneas
+
+2. long DE CENTAVOS:
+   • $1299.99 se guarda como 129999
+   • Sumar y multiplicar por cantidad es exacto (desborde = excepción)
+   • Impuestos: centavos × puntos básicos / 10000 con redondeo elegido
+
+3. REDONDEO:
+   • MITAD_ARRIBA: 6.5 → 7 (el habitual en facturas)
+   • MITAD_PAR: 6.5 → 6, 7.5 → 8 (bancario, sin sesgo)
+
+4. TEXTO SIN String.format:
+   • agregarCentavos(sb, 151099, 7) → "1510.99"
+   • Escribe directamente en el StringBuilder o ByteBuffer de la factura
+*/
@@ -0,0 +1,444 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Facturación masiva en paralelo
+ * Demuestra cómo generar millones de facturas con el diseño de
+ * CasosPracticos.generarFactura() usando todos los núcleos: las facturas
+ * se agrupan en lotes, cada lote se dibuja en un ForkJoinPool y los lotes
+ * se escriben en archivos (fragmentos) siempre en el mismo orden
+ * (rendimiento medido con JMH en benchmarks/: FacturacionBenchmark)
+ */
+public class FacturacionMasiva {
+
+    private static final String FIN = System.lineSeparator();
+
+    // ===== DATOS DE ENTRADA =====
+
+    /** Una factura: cliente, fecha y sus líneas (descripción, cantidad, precio unitario en centavos). */
+    public static final class Factura {
+        final String cliente;
+        final String fecha;
+        final String[] descripciones;
+        final int[] cantidades;
+        final long[] precios;
+
+        public Factura(String cliente, String fecha, String[] descripciones, int[] cantidades, long[] precios) {
+            if (descripciones.length != cantidades.length || cantidades.length != precios.length) {
+                throw new IllegalArgumentException("Las líneas de la factura tienen largos distintos");
+            }
+            this.cliente = cliente;
+            this.fecha = fecha;
+            this.descripciones = descripciones;
+            this.cantidades = cantidades;
+            this.precios = precios;
+        }
+    }
+
+    // ===== CONFIGURACIÓN =====
+
+    private final ForkJoinPool pool;
+    private final int tamanoLote;
+    private final int lotesEnVuelo;
+
+    /**
+     * @param hilos       número de hilos que dibujan facturas
+     * @param tamanoLote  facturas por lote (unidad de trabajo y de escritura)
+     */
+    public FacturacionMasiva(int hilos, int tamanoLote) {
+        this.pool = new ForkJoinPool(hilos);
+        this.tamanoLote = tamanoLote;
+        this.lotesEnVuelo = hilos * 4;   // Limita la memoria: el lector espera si hay demasiados lotes
+    }
+
+    /**
+     * Dibuja todas las facturas y las escribe en {@code fragmentos} archivos
+     * "facturas-000.txt", "facturas-001.txt", ... dentro de {@code carpeta}.
+     * El lote k va al fragmento k % fragmentos, siempre en orden, y la factura
+     * i-ésima recibe el número {@code primerNumero + i}: el resultado es
+     * idéntico sin importar cuántos hilos se usen.
+     *
+     * Si un lote falla (al dibujarse o al escribirse) se deja de leer
+     * facturas, su fragmento descarta los lotes que le queden y el primer
+     * error se lanza al terminar: nunca se queda esperando. Si falla la
+     * lectura de facturas o se interrumpe la espera de un lote libre, se
+     * espera a que terminen los lotes en vuelo antes de cerrar los
+     * fragmentos y después se relanza esa excepción.
+     *
+     * @return cantidad de facturas generadas
+     */
+    public long generar(Iterator<Factura> facturas, long primerNumero, Path carpeta, int fragmentos)
+            throws IOException, InterruptedException {
+        Fragmento[] salida = new Fragmento[fragmentos];
+        BlockingQueue<Lote> libres = new ArrayBlockingQueue<>(lotesEnVuelo);
+        for (int i = 0; i < lotesEnVuelo; i++) {
+            libres.add(new Lote(tamanoLote));
+        }
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        long total = 0;
+        Lote enCurso = null;   // Lote que se está llenando y todavía no se entregó al pool
+        try {
+            for (int i = 0; i < fragmentos; i++) {
+                Path archivo = carpeta.resolve(String.format("facturas-%03d.txt", i));
+                salida[i] = new Fragmento(abrirFragmento(archivo), lotesEnVuelo);
+            }
+
+            long indiceLote = 0;
+            while (facturas.hasNext() && error.get() == null) {
+                enCurso = libres.take();   // Espera si todos los lotes están ocupados
+                enCurso.enUso.set(true);
+                enCurso.cantidad = 0;
+                while (enCurso.cantidad < tamanoLote && facturas.hasNext()) {
+                    enCurso.facturas[enCurso.cantidad++] = facturas.next();
+                }
+                Lote lote = enCurso;
+                lote.indice = indiceLote++;
+                lote.primerNumero = primerNumero + total;
+                total += lote.cantidad;
+                pool.execute(() -> procesarLote(lote, salida, libres, error));
+                enCurso = null;
+            }
+        } finally {
+            if (enCurso != null) {
+                enCurso.devolver(libres);
+            }
+            // Los lotes en vuelo siguen escribiendo en los canales: esperar a
+            // que todos vuelvan a la cola de libres antes de cerrarlos
+            recuperarLotes(libres);
+            for (Fragmento f : salida) {
+                if (f != null) {
+                    f.canal.close();
+                }
+            }
+        }
+        Throwable e = error.get();
+        if (e instanceof IOException) throw (IOException) e;
+        if (e instanceof RuntimeException) throw (RuntimeException) e;
+        if (e != null) throw new IOException(e);
+        return total;
+    }
+
+    // Toma los lotesEnVuelo lotes de la cola; una interrupción no corta la
+    // espera (los canales no pueden cerrarse antes) pero se vuelve a marcar
+    private void recuperarLotes(BlockingQueue<Lote> libres) {
+        boolean interrumpido = false;
+        for (int recuperados = 0; recuperados < lotesEnVuelo; ) {
+            try {
+                libres.take();
+                recuperados++;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Abre el archivo de un fragmento; las pruebas lo reemplazan para simular errores de escritura. */
+    WritableByteChannel abrirFragmento(Path archivo) throws IOException {
+        return FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    private static void procesarLote(Lote lote, Fragmento[] salida, BlockingQueue<Lote> libres,
+                                     AtomicReference<Throwable> error) {
+        Fragmento destino = salida[(int) (lote.indice % salida.length)];
+        try {
+            Dibujante dibujante = DIBUJANTE.get();   // Búferes propios de este hilo
+            lote.bytes.clear();
+            for (int i = 0; i < lote.cantidad; i++) {
+                lote.bytes = dibujante.dibujar(lote.facturas[i], lote.primerNumero + i, lote.bytes);
+                lote.facturas[i] = null;
+            }
+            lote.bytes.flip();
+            destino.entregar(lote, salida.length, libres);
+        } catch (Throwable t) {
+            error.compareAndSet(null, t);
+            // Los lotes siguientes del fragmento ya no pueden escribirse en orden
+            destino.descartar(libres);
+            lote.devolver(libres);
+        }
+    }
+
+    // ===== LOTES Y FRAGMENTOS =====
+
+    private static final class Lote {
+        final Factura[] facturas;
+        int cantidad;
+        long indice;
+        long primerNumero;
+        ByteBuffer bytes = ByteBuffer.allocate(256 * 1024);
+        final AtomicBoolean enUso = new AtomicBoolean();
+
+        Lote(int tamano) {
+            this.facturas = new Factura[tamano];
+        }
+
+        // Vuelve a la cola de libres una sola vez por uso, aunque lo intenten dos caminos
+        void devolver(BlockingQueue<Lote> libres) {
+            if (enUso.compareAndSet(true, false)) {
+                Arrays.fill(facturas, 0, cantidad, null);
+                libres.add(this);
+            }
+        }
+    }
+
+    // Un archivo de salida; escribe sus lotes en orden aunque terminen desordenados
+    private static final class Fragmento {
+        final WritableByteChannel canal;
+        final Lote[] listos;        // Anillo de lotes terminados que esperan su turno
+        long siguiente;             // Número de secuencia (dentro del fragmento) que toca escribir
+        boolean fallido;            // Un lote falló: el resto del fragmento se descarta
+
+        Fragmento(WritableByteChannel canal, int capacidad) {
+            this.canal = canal;
+            this.listos = new Lote[capacidad];
+        }
+
+        synchronized void entregar(Lote lote, int fragmentos, BlockingQueue<Lote> libres) throws IOException {
+            if (fallido) {
+                lote.devolver(libres);
+                return;
+            }
+            long secuencia = lote.indice / fragmentos;
+            listos[(int) (secuencia % listos.length)] = lote;
+            while (true) {
+                int posicion = (int) (siguiente % listos.length);
+                Lote turno = listos[posicion];
+                if (turno == null || turno.indice / fragmentos != siguiente) {
+                    return;
+                }
+                while (turno.bytes.hasRemaining()) {
+                    canal.write(turno.bytes);
+                }
+                listos[posicion] = null;
+                siguiente++;
+                turno.devolver(libres);
+            }
+        }
+
+        synchronized void descartar(BlockingQueue<Lote> libres) {
+            fallido = true;
+            for (int i = 0; i < listos.length; i++) {
+                if (listos[i] != null) {
+                    listos[i].devolver(libres);
+                    listos[i] = null;
+                }
+            }
+        }
+    }
+
+    // ===== DIBUJO DE UNA FACTURA (un Dibujante por hilo, reutilizado) =====
+
+    private static final ThreadLocal<Dibujante> DIBUJANTE = ThreadLocal.withInitial(Dibujante::new);
+
+    static final class Dibujante {
+        private final CompiledFormat numero = CompiledFormat.compilar("│ FACTURA #: %-8d                         │%n");
+        private final CompiledFormat fecha = CompiledFormat.compilar("│ FECHA: %10s                            │%n");
+        private final CompiledFormat cliente = CompiledFormat.compilar("│ CLIENTE: %-30s       │%n");
+        private final CompiledFormat linea = CompiledFormat.compilar("│ %-20s │ %4d │ $");
+
+        private final StringBuilder texto = new StringBuilder(2048);
+        private char[] caracteres = new char[2048];
+        private CharBuffer vista = CharBuffer.wrap(caracteres);
+        private final CharsetEncoder codificador = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /** Agrega la factura a 'destino'; si no cabe devuelve un búfer más grande con todo copiado. */
+        ByteBuffer dibujar(Factura f, long numeroFactura, ByteBuffer destino) {
+            StringBuilder sb = texto;
+            sb.setLength(0);
+            sb.append("┌─────────────────────────────────────────────────┐").append(FIN);
+            sb.append("│                 TECNO STORE S.A.                │").append(FIN);
+            sb.append("│              Calle Principal #123              │").append(FIN);
+            sb.append("│          Tel: (555) 123-4567                   │").append(FIN);
+            sb.append("├─────────────────────────────────────────────────┤").append(FIN);
+            numero.iniciar(sb).agregar(numeroFactura).terminar();
+            fecha.iniciar(sb).agregar(f.fecha).terminar();
+            cliente.iniciar(sb).agregar(f.cliente).terminar();
+            sb.append("├─────────────────────────────────────────────────┤").append(FIN);
+            sb.append("│ DESCRIPCIÓN          │ CANT │ PRECIO │  TOTAL  │").append(FIN);
+            sb.append("├──────────────────────┼──────┼────────┼─────────┤").append(FIN);
+            // Importes en centavos exactos; se escriben sin pasar por String.format
+            long suma = 0;
+            for (int i = 0; i < f.descripciones.length; i++) {
+                long importe = Math.multiplyExact(f.precios[i], (long) f.cantidades[i]);
+                suma = Math.addExact(suma, importe);
+                linea.iniciar(sb).agregar(f.descripciones[i]).agregar(f.cantidades[i]).terminar();
+                Dinero.agregarCentavos(sb, f.precios[i], 6).append(" │ $");
+                Dinero.agregarCentavos(sb, importe, 7).append(" │").append(FIN);
+            }
+            long impuesto = Dinero.impuestoCentavos(suma, Dinero.Tasa.IVA, Dinero.Redondeo.MITAD_ARRIBA);
+            sb.append("├──────────────────────┴──────┴────────┼─────────┤").append(FIN);
+            sb.append("│                        SUBTOTAL: │ $");
+            Dinero.agregarCentavos(sb, suma, 7).append(" │").append(FIN);
+            sb.append("│                        IVA (13%): │ $");
+            Dinero.agregarCentavos(sb, impuesto, 7).append(" │").append(FIN);
+            sb.append("│                           TOTAL: │ $");
+            Dinero.agregarCentavos(sb, suma + impuesto, 7).append(" │").append(FIN);
+            sb.append("└───────────────────────────────────────┴─────────┘").append(FIN);
+            sb.append("           ¡Gracias por su compra!               ").append(FIN);
+            sb.append(FIN);
+            return codificar(destino);
+        }
+
+        private ByteBuffer codificar(ByteBuffer destino) {
+            int largo = texto.length();
+            if (largo > caracteres.length) {
+                caracteres = new char[largo * 2];
+                vista = CharBuffer.wrap(caracteres);
+            }
+            texto.getChars(0, largo, caracteres, 0);
+            vista.clear().limit(largo);
+            codificador.reset();
+            while (true) {
+                CoderResult r = codificador.encode(vista, destino, true);
+                if (r.isOverflow()) {
+                    // Caso raro: el lote no cabe; se duplica su búfer (y se conserva para siempre)
+                    ByteBuffer mayor = ByteBuffer.allocate(destino.capacity() * 2);
+                    destino.flip();
+                    mayor.put(destino);
+                    destino = mayor;
+                    continue;
+                }
+                return destino;
+            }
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== FACTURACIÓN MASIVA EN PARALELO ===\n");
+
+        // 1. La misma factura que CasosPracticos.generarFactura(), byte a byte
+        System.out.println("1. COMPARACIÓN CON CasosPracticos.generarFactura():");
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        PrintStream consola = System.out;
+        System.setOut(new PrintStream(original, true, Charset.defaultCharset()));
+        try {
+            CasosPracticos.generarFactura();
+        } finally {
+            System.setOut(consola);
+        }
+        Factura ejemplo = new Factura("Juan Pérez García", "15/03/2024",
+                new String[] {"Laptop Gaming", "Mouse RGB", "Teclado Mecánico"},
+                new int[] {1, 2, 1}, new long[] {129999, 4550, 12000});
+        ByteBuffer dibujada = new Dibujante().dibujar(ejemplo, 1001, ByteBuffer.allocate(4096));
+        dibujada.flip();
+        byte[] bytes = new byte[dibujada.remaining()];
+        dibujada.get(bytes);
+        System.out.println(Arrays.equals(bytes, original.toByteArray())
+                           ? "✅ Factura idéntica a la de generarFactura()"
+                           : "❌ La factura es diferente");
+
+        // 2. Salida determinista: los mismos bytes con 1, 2, 4, ... hilos
+        int facturas = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        System.out.println("\n2. " + facturas + " FACTURAS EN 8 FRAGMENTOS CON DISTINTOS HILOS:");
+        long crcReferencia = -1;
+        for (int hilos = 1; hilos <= 8; hilos *= 2) {
+            Path carpeta = Files.createTempDirectory("facturas");
+            FacturacionMasiva motor = new FacturacionMasiva(hilos, 512);
+            try {
+                motor.generar(generadorDePrueba(facturas), 1001, carpeta, 8);
+                long crc = crcDeCarpeta(carpeta, 8);
+                if (crcReferencia == -1) {
+                    crcReferencia = crc;
+                }
+                System.out.printf("%2d hilo(s): CRC %08x %s%n", hilos, crc,
+                                  crc == crcReferencia ? "✅" : "❌ (distinto)");
+            } finally {
+                motor.cerrar();
+                for (int i = 0; i < 8; i++) {
+                    Files.deleteIfExists(carpeta.resolve(String.format("facturas-%03d.txt", i)));
+                }
+                Files.deleteIfExists(carpeta);
+            }
+        }
+    }
+
+    static Iterator<Factura> generadorDePrueba(int cantidad) {
+        String[] productos = {"Laptop Gaming", "Mouse RGB", "Teclado Mecánico", "Monitor 27\"", "Webcam HD"};
+        long[] precios = {129999, 4550, 12000, 34990, 5995};
+        return new Iterator<Factura>() {
+            int i;
+
+            public boolean hasNext() {
+                return i < cantidad;
+            }
+
+            public Factura next() {
+                int lineas = 1 + i % 4;
+                String[] d = new String[lineas];
+                int[] c = new int[lineas];
+                long[] p = new long[lineas];
+                for (int k = 0; k < lineas; k++) {
+                    d[k] = productos[(i + k) % productos.length];
+                    c[k] = 1 + (i + k) % 3;
+                    p[k] = precios[(i + k) % precios.length];
+                }
+                return new Factura("Cliente " + (i++ % 10_000), "15/03/2024", d, c, p);
+            }
+        };
+    }
+
+    private static long crcDeCarpeta(Path carpeta, int fragmentos) throws IOException {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < fragmentos; i++) {
+            crc.update(Files.readAllBytes(carpeta.resolve(String.format("facturas-%03d.txt", i))));
+        }
+        return crc.getValue();
+    }
+}
+
+/*
+FACTURACIÓN MASIVA:
+
+1. LOTES:
+   • Las facturas se leen en lotes (por ejemplo, de 512)
+   • Cada lote recibe números consecutivos: FACTURA # nunca se repite ni salta
+   • Hay un número fijo de lotes en circulación: la memoria no crece
+
+2. PARALELISMO (ForkJoinPool):
+   • Cada lote es una tarea; los hilos libres "roban" trabajo pendiente
+   • Cada hilo tiene su propio Dibujante (StringBuilder, patrones, codificador)
+
+3. ORDEN DETERMINISTA:
+   • El lote k va al fragmento k % fragmentos
+   • Cada fragmento escribe sus lotes en orden, aunque terminen desordenados
+   • Mismo resultado con 1 hilo o con 64
+
+4. ERRORES:
+   • Si un lote falla, su fragmento devuelve los lotes que esperaban turno
+   • Cada lote vuelve a la cola de libres una sola vez (AtomicBoolean)
+   • generar() termina y lanza el primer error
+   • Si falla la lectura de facturas, se espera a los lotes en vuelo antes de cerrar
+*/
@@ -0,0 +1,345 @@
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: El motor detrás del menú "SISTEMA BANCARIO"
+ * Demuestra las cinco opciones del menú de CasosPracticos (saldo, depósito,
+ * retiro, transferencia e historial) sobre millones de cuentas, con saldos
+ * en centavos (long) y candados por franjas tomados siempre en el mismo
+ * orden para que dos transferencias cruzadas nunca se bloqueen entre sí
+ * (rendimiento medido con JMH en benchmarks/: LibroCuentasBenchmark)
+ */
+public class LibroCuentas {
+
+    // Tipos de movimiento (historial)
+    public static final int DEPOSITO = 1, RETIRO = 2, TRANSFERENCIA_ENVIADA = 3, TRANSFERENCIA_RECIBIDA = 4;
+
+    /** Recibe cada movimiento ya aplicado, dentro del candado de la cuenta. */
+    public interface Diario {
+        void anotar(long secuencia, int cuenta, int tipo, long centavos, long saldo);
+    }
+
+    private final long[] saldos;
+    private final ReentrantLock[] franjas;
+    private final int mascara;
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Diario diario;
+
+    /**
+     * @param cuentas cantidad de cuentas (números 0 .. cuentas-1)
+     * @param franjas cantidad de candados (se redondea a potencia de 2); la
+     *                cuenta c usa el candado c % franjas
+     * @param diario  destino del historial
+     */
+    public LibroCuentas(int cuentas, int franjas, Diario diario) {
+        this.saldos = new long[cuentas];
+        int n = Integer.highestOneBit(Math.max(1, franjas - 1)) << 1;
+        this.franjas = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) {
+            this.franjas[i] = new ReentrantLock();
+        }
+        this.mascara = n - 1;
+        this.diario = Objects.requireNonNull(diario);
+    }
+
+    public int getCuentas() {
+        return saldos.length;
+    }
+
+    // ===== 1. CONSULTAR SALDO =====
+
+    public long consultarSaldo(int cuenta) {
+        ReentrantLock candado = candado(cuenta);
+        candado.lock();
+        try {
+            return saldos[cuenta];
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // ===== 2. DEPÓSITO =====
+
+    /** @return el saldo nuevo */
+    public long depositar(int cuenta, long centavos) {
+        positivo(centavos);
+        ReentrantLock candado = candado(cuenta);
+        candado.lock();
+        try {
+            long saldo = Math.addExact(saldos[cuenta], centavos);
+            saldos[cuenta] = saldo;
+            diario.anotar(secuencia.incrementAndGet(), cuenta, DEPOSITO, centavos, saldo);
+            return saldo;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // ===== 3. RETIRO =====
+
+    /** @return false (y nada cambia) si el saldo no alcanza */
+    public boolean retirar(int cuenta, long centavos) {
+        positivo(centavos);
+        ReentrantLock candado = candado(cuenta);
+        candado.lock();
+        try {
+            long saldo = saldos[cuenta];
+            if (saldo < centavos) {
+                return false;
+            }
+            saldos[cuenta] = saldo - centavos;
+            diario.anotar(secuencia.incrementAndGet(), cuenta, RETIRO, centavos, saldo - centavos);
+            return true;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    // ===== 4. TRANSFERENCIA =====
+
+    /**
+     * Mueve {@code centavos} de una cuenta a otra de forma atómica.
+     * Los dos candados se toman en orden de número de franja: si un hilo
+     * transfiere A→B y otro B→A, ambos piden primero la misma franja y
+     * ninguno puede quedarse esperando al otro para siempre.
+     *
+     * @return false (y nada cambia) si el saldo de origen no alcanza
+     */
+    public boolean transferir(int origen, int destino, long centavos) {
+        positivo(centavos);
+        if (origen == destino) {
+            throw new IllegalArgumentException("La cuenta de origen y destino es la misma: " + origen);
+        }
+        Objects.checkIndex(origen, saldos.length);
+        Objects.checkIndex(destino, saldos.length);
+        int a = origen & mascara;
+        int b = destino & mascara;
+        ReentrantLock primero = franjas[Math.min(a, b)];
+        ReentrantLock segundo = franjas[Math.max(a, b)];
+        primero.lock();
+        try {
+            if (segundo != primero) {
+                segundo.lock();
+            }
+            try {
+                long saldoOrigen = saldos[origen];
+                if (saldoOrigen < centavos) {
+                    return false;
+                }
+                long saldoDestino = Math.addExact(saldos[destino], centavos);
+                saldos[origen] = saldoOrigen - centavos;
+                saldos[destino] = saldoDestino;
+                long n = secuencia.incrementAndGet();
+                diario.anotar(n, origen, TRANSFERENCIA_ENVIADA, centavos, saldoOrigen - centavos);
+                diario.anotar(n, destino, TRANSFERENCIA_RECIBIDA, centavos, saldoDestino);
+                return true;
+            } finally {
+                if (segundo != primero) {
+                    segundo.unlock();
+                }
+            }
+        } finally {
+            primero.unlock();
+        }
+    }
+
+    // ===== TOTALES (toma todas las franjas en orden: una foto consistente) =====
+
+    public long totalEnBanco() {
+        for (ReentrantLock f : franjas) {
+            f.lock();
+        }
+        try {
+            long total = 0;
+            for (long s : saldos) {
+                total += s;
+            }
+            return total;
+        } finally {
+            for (int i = franjas.length - 1; i >= 0; i--) {
+                franjas[i].unlock();
+            }
+        }
+    }
+
+    private ReentrantLock candado(int cuenta) {
+        Objects.checkIndex(cuenta, saldos.length);
+        return franjas[cuenta & mascara];
+    }
+
+    private static void positivo(long centavos) {
+        if (centavos <= 0) {
+            throw new IllegalArgumentException("El monto debe ser positivo: " + centavos + " centavos");
+        }
+    }
+
+    // ===== 5. HISTORIAL RECIENTE (en memoria, de tamaño fijo) =====
+
+    /**
+     * Guarda los últimos movimientos de todo el banco en un anillo de
+     * arreglos primitivos; el historial de una cuenta se busca hacia atrás.
+     * Para conservar la historia completa se usa un diario en disco.
+     */
+    public static final class HistorialReciente implements Diario {
+        private final long[] secuencias;
+        private final int[] cuentas;
+        private final int[] tipos;
+        private final long[] montos;
+        private final long[] saldos;
+        private long escritos;
+
+        public HistorialReciente(int capacidad) {
+            secuencias = new long[capacidad];
+            cuentas = new int[capacidad];
+            tipos = new int[capacidad];
+            montos = new long[capacidad];
+            saldos = new long[capacidad];
+        }
+
+        @Override
+        public synchronized void anotar(long secuencia, int cuenta, int tipo, long centavos, long saldo) {
+            int i = (int) (escritos++ % secuencias.length);
+            secuencias[i] = secuencia;
+            cuentas[i] = cuenta;
+            tipos[i] = tipo;
+            montos[i] = centavos;
+            saldos[i] = saldo;
+        }
+
+        /** Imprime hasta {@code maximo} movimientos de la cuenta, del más nuevo al más viejo. */
+        public synchronized void imprimir(int cuenta, int maximo) {
+            StringBuilder sb = new StringBuilder();
+            int mostrados = 0;
+            for (long k = escritos - 1; k >= Math.max(0, escritos - secuencias.length) && mostrados < maximo; k--) {
+                int i = (int) (k % secuencias.length);
+                if (cuentas[i] != cuenta) {
+                    continue;
+                }
+                sb.setLength(0);
+                sb.append(String.format("  #%-6d %-22s $", secuencias[i], nombreTipo(tipos[i])));
+                Dinero.agregarCentavos(sb, montos[i], 9).append("  saldo $");
+                Dinero.agregarCentavos(sb, saldos[i], 9);
+                System.out.println(sb);
+                mostrados++;
+            }
+        }
+    }
+
+    /** Diario que no guarda nada (para medir solo el motor). */
+    public static final Diario SIN_DIARIO = (secuencia, cuenta, tipo, centavos, saldo) -> { };
+
+    static String nombreTipo(int tipo) {
+        switch (tipo) {
+            case DEPOSITO: return "Depósito";
+            case RETIRO: return "Retiro";
+            case TRANSFERENCIA_ENVIADA: return "Transferencia enviada";
+            case TRANSFERENCIA_RECIBIDA: return "Transferencia recibida";
+            default: return "Tipo " + tipo;
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== MOTOR DEL SISTEMA BANCARIO ===\n");
+
+        // 1. Las cinco opciones del menú
+        System.out.println("1. OPCIONES DEL MENÚ:");
+        HistorialReciente historial = new HistorialReciente(1024);
+        LibroCuentas banco = new LibroCuentas(10, 16, historial);
+        System.out.println("1. Saldo de la cuenta 1: $" + Dinero.deCentavos(banco.consultarSaldo(1)));
+        banco.depositar(1, 150_000);
+        System.out.println("2. Depósito de $1500.00 en la cuenta 1 → saldo $" + Dinero.deCentavos(banco.consultarSaldo(1)));
+        System.out.println("3. Retiro de $200.00 → " + (banco.retirar(1, 20_000) ? "aprobado" : "rechazado"));
+        System.out.println("3. Retiro de $5000.00 → " + (banco.retirar(1, 500_000) ? "aprobado" : "rechazado (saldo insuficiente)"));
+        System.out.println("4. Transferencia de $350.50 a la cuenta 2 → " + (banco.transferir(1, 2, 35_050) ? "aprobada" : "rechazada"));
+        System.out.println("   Saldos finales: cuenta 1 $" + Dinero.deCentavos(banco.consultarSaldo(1))
+                           + " | cuenta 2 $" + Dinero.deCentavos(banco.consultarSaldo(2)));
+        System.out.println("5. Historial de la cuenta 1:");
+        historial.imprimir(1, 10);
+
+        // 2. Carga: millones de cuentas, muchos hilos, el dinero total no cambia
+        int cuentas = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        System.out.println("\n2. CARGA (" + cuentas + " cuentas, 200 ms por ronda):");
+        LibroCuentas grande = new LibroCuentas(cuentas, 4096, SIN_DIARIO);
+        for (int c = 0; c < cuentas; c++) {
+            grande.depositar(c, 100_000);
+        }
+        long esperado = grande.totalEnBanco();
+        for (int hilos = 1; hilos <= 16; hilos *= 2) {
+            esperado += generarCarga(grande, hilos, 200);
+            System.out.printf("%2d hilo(s): %s%n", hilos,
+                              grande.totalEnBanco() == esperado ? "✅ el dinero cuadra" : "❌ el dinero no cuadra");
+        }
+    }
+
+    // Mezcla: 40% transferencias, 30% consultas, 15% depósitos, 15% retiros.
+    // Devuelve depósitos - retiros aprobados
+    private static long generarCarga(LibroCuentas banco, int hilos, long duracionMs) throws InterruptedException {
+        LongAdder neto = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            SplittableRandom azar = new SplittableRandom(h * 7919L + hilos);
+            trabajadores[h] = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int n = banco.getCuentas();
+                long limite = System.nanoTime() + duracionMs * 1_000_000;
+                while (System.nanoTime() < limite) {
+                    int tipo = azar.nextInt(100);
+                    int a = azar.nextInt(n);
+                    long monto = 1 + azar.nextInt(50_000);
+                    if (tipo < 40) {
+                        int b = azar.nextInt(n - 1);
+                        banco.transferir(a, b >= a ? b + 1 : b, monto);
+                    } else if (tipo < 70) {
+                        banco.consultarSaldo(a);
+                    } else if (tipo < 85) {
+                        banco.depositar(a, monto);
+                        neto.add(monto);
+                    } else if (banco.retirar(a, monto)) {
+                        neto.add(-monto);
+                    }
+                }
+            });
+            trabajadores[h].start();
+        }
+        largada.countDown();
+        for (Thread t : trabajadores) {
+            t.join();
+        }
+        return neto.sum();
+    }
+}
+
+/*
+MOTOR BANCARIO:
+
+1. SALDOS EN CENTAVOS:
+   • long[] saldos: 8 bytes por cuenta, sin objetos por cuenta
+   • Sin errores de redondeo (ver Dinero)
+
+2. CANDADOS POR FRANJAS:
+   • Un candado por cada grupo de cuentas (cuenta % franjas)
+   • Menos memoria que un candado por cuenta, poca contención
+
+3. TRANSFERENCIAS SIN INTERBLOQUEO:
+   • Siempre se toma primero la franja de número menor
+   • A→B y B→A piden los candados en el mismo orden
+   • Si ambas cuentas están en la misma franja, se toma un solo candado
+
+4. CARGA:
+   • Muchos hilos mezclan las cinco operaciones sobre millones de cuentas
+   • Al final, el dinero total debe cuadrar con depósitos y retiros
+   • Transacciones por segundo y P99 se miden con JMH (LibroCuentasBenchmark)
+*/
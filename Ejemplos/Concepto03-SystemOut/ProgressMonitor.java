@@ -0,0 +1,323 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Barras de progreso que no frenan el trabajo
+ * Demuestra cómo separar el trabajo del dibujo: los hilos de trabajo solo
+ * suman a un contador y un único hilo redibuja las barras a una frecuencia
+ * fija, con "\r" para una barra o movimientos de cursor ANSI para varias
+ * (rendimiento medido con JMH en benchmarks/: ConsolaBenchmark; costo y memoria
+ * de avanzar() y redibujar() comprobados en src/test/java: ProgressMonitorTest)
+ */
+public class ProgressMonitor implements AutoCloseable {
+
+    private static final int ANCHO_BARRA = 50;
+    private static final byte ESC = 0x1B;
+
+    // ===== UNA BARRA =====
+
+    /** Lo único que tocan los hilos de trabajo: un contador sin bloqueos. */
+    public static final class Barra {
+        private final LongAdder hecho = new LongAdder();
+        private final byte[] etiqueta;
+        private final long total;
+        private final long porUnidad;
+        private final byte[] unidad;
+
+        private Barra(byte[] etiqueta, long total, long porUnidad, byte[] unidad) {
+            this.etiqueta = etiqueta;
+            this.total = total;
+            this.porUnidad = porUnidad;
+            this.unidad = unidad;
+        }
+
+        /** Suma trabajo terminado: unos pocos nanosegundos, nunca espera al dibujo. */
+        public void avanzar(long cantidad) {
+            hecho.add(cantidad);
+        }
+
+        public void avanzar() {
+            hecho.increment();
+        }
+
+        /** Trabajo hecho, acotado a [0, total] aunque se haya avanzado de más o con negativos. */
+        public long getHecho() {
+            return Math.max(0, Math.min(total, hecho.sum()));
+        }
+    }
+
+    // ===== ESTADO DEL DIBUJANTE =====
+
+    private final OutputStream salida;
+    private final Charset charset;
+    private final CopyOnWriteArrayList<Barra> barras = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService reloj;
+
+    // Tablas de glifos: barrasDibujadas[n] = "[" + n llenos + (50 - n) vacíos + "]" ya codificado
+    private final byte[][] barrasDibujadas = new byte[ANCHO_BARRA + 1][];
+    private final byte[] digitos = new byte[20];
+    private byte[] cuadro = new byte[1024];
+    private int largo;
+    private int lineasDibujadas;
+
+    // Primer error de escritura del reloj; close() lo relanza
+    private volatile IOException errorDibujo;
+
+    /**
+     * @param salida          destino del dibujo (normalmente System.out)
+     * @param cuadrosPorSegundo frecuencia de redibujo
+     */
+    public ProgressMonitor(OutputStream salida, int cuadrosPorSegundo) {
+        this(salida, Charset.defaultCharset(), cuadrosPorSegundo);
+    }
+
+    public ProgressMonitor(OutputStream salida, Charset charset, int cuadrosPorSegundo) {
+        if (cuadrosPorSegundo <= 0) {
+            throw new IllegalArgumentException("Los cuadros por segundo deben ser positivos: " + cuadrosPorSegundo);
+        }
+        this.salida = salida;
+        this.charset = charset;
+        for (int n = 0; n <= ANCHO_BARRA; n++) {
+            barrasDibujadas[n] = ("[" + "█".repeat(n) + "░".repeat(ANCHO_BARRA - n) + "]").getBytes(charset);
+        }
+        this.reloj = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "progress-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = 1_000_000_000L / cuadrosPorSegundo;
+        reloj.scheduleAtFixedRate(this::cuadroProgramado, periodo, periodo, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Agrega una barra; se dibuja como "[███░░] 45% (450 MB / 1000 MB)".
+     *
+     * @param etiqueta  texto antes de la barra (null para ninguno)
+     * @param total     trabajo total (por ejemplo, bytes)
+     * @param porUnidad cuántas unidades de trabajo forman una unidad mostrada (1 MB = 1048576 bytes)
+     * @param unidad    nombre de la unidad mostrada ("MB")
+     */
+    public Barra nuevaBarra(String etiqueta, long total, long porUnidad, String unidad) {
+        if (total <= 0 || porUnidad <= 0) {
+            throw new IllegalArgumentException("El total y la unidad deben ser positivos");
+        }
+        Barra barra = new Barra(etiqueta == null ? new byte[0] : (etiqueta + " ").getBytes(charset),
+                                total, porUnidad, unidad.getBytes(charset));
+        synchronized (this) {
+            barras.add(barra);
+        }
+        return barra;
+    }
+
+    /**
+     * Detiene el reloj y dibuja el último cuadro (con los valores finales) seguido de un salto de línea.
+     *
+     * @throws UncheckedIOException si falló la escritura de algún cuadro, incluido uno del reloj
+     */
+    @Override
+    public void close() {
+        reloj.shutdown();
+        try {
+            reloj.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (errorDibujo != null) {
+            throw new UncheckedIOException("Falló el dibujo del progreso", errorDibujo);
+        }
+        redibujar();
+        try {
+            salida.write(System.lineSeparator().getBytes(charset));
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===== DIBUJO (un solo hilo; sin objetos nuevos por cuadro) =====
+
+    // Una excepción que sale de una tarea periódica cancela en silencio los
+    // cuadros siguientes: se guarda el error y se deja de dibujar hasta close()
+    private void cuadroProgramado() {
+        if (errorDibujo != null) {
+            return;
+        }
+        try {
+            redibujar();
+        } catch (UncheckedIOException e) {
+            errorDibujo = e.getCause();
+        }
+    }
+
+    synchronized void redibujar() {
+        int n = barras.size();
+        if (n == 0) {
+            return;
+        }
+        largo = 0;
+        agregar((byte) '\r');
+        if (lineasDibujadas > 1) {
+            // Volver al inicio del bloque de barras: ESC [ (lineas - 1) A
+            agregar(ESC);
+            agregar((byte) '[');
+            agregarNumero(lineasDibujadas - 1, 0);
+            agregar((byte) 'A');
+        }
+        for (int i = 0; i < n; i++) {
+            Barra b = barras.get(i);
+            long hecho = b.getHecho();
+            int porcentaje = (int) (hecho * 100 / b.total);
+            agregar(b.etiqueta);
+            agregar(barrasDibujadas[(int) (hecho * ANCHO_BARRA / b.total)]);
+            agregar((byte) ' ');
+            agregarNumero(porcentaje, 3);
+            agregar((byte) '%');
+            agregar((byte) ' ');
+            agregar((byte) '(');
+            agregarNumero(hecho / b.porUnidad, 0);
+            agregar((byte) ' ');
+            agregar(b.unidad);
+            agregar((byte) ' ');
+            agregar((byte) '/');
+            agregar((byte) ' ');
+            agregarNumero(b.total / b.porUnidad, 0);
+            agregar((byte) ' ');
+            agregar(b.unidad);
+            agregar((byte) ')');
+            if (n > 1) {
+                // Borrar lo que quede del cuadro anterior en esta línea
+                agregar(ESC);
+                agregar((byte) '[');
+                agregar((byte) 'K');
+                if (i < n - 1) {
+                    agregar((byte) '\n');
+                }
+            }
+        }
+        lineasDibujadas = n;
+        try {
+            salida.write(cuadro, 0, largo);
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void agregar(byte b) {
+        if (largo == cuadro.length) {
+            cuadro = Arrays.copyOf(cuadro, cuadro.length * 2);
+        }
+        cuadro[largo++] = b;
+    }
+
+    private void agregar(byte[] bytes) {
+        if (largo + bytes.length > cuadro.length) {
+            cuadro = Arrays.copyOf(cuadro, Math.max(cuadro.length * 2, largo + bytes.length));
+        }
+        System.arraycopy(bytes, 0, cuadro, largo, bytes.length);
+        largo += bytes.length;
+    }
+
+    // Número no negativo alineado a la derecha en 'ancho' (como %3d)
+    private void agregarNumero(long valor, int ancho) {
+        int pos = digitos.length;
+        do {
+            digitos[--pos] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor > 0);
+        for (int i = digitos.length - pos; i < ancho; i++) {
+            agregar((byte) ' ');
+        }
+        for (; pos < digitos.length; pos++) {
+            agregar(digitos[pos]);
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== MONITOR DE PROGRESO ===\n");
+
+        // 1. Varias descargas a la vez, cada una en su hilo
+        System.out.println("1. TRES DESCARGAS SIMULTÁNEAS (ANSI):");
+        try (ProgressMonitor monitor = new ProgressMonitor(System.out, 10)) {
+            String[] archivos = {"grande.zip  ", "video.mp4   ", "respaldo.tar"};
+            long[] tamanos = {1000, 400, 700};
+            Thread[] hilos = new Thread[archivos.length];
+            for (int i = 0; i < archivos.length; i++) {
+                Barra barra = monitor.nuevaBarra(archivos[i], tamanos[i] << 20, 1 << 20, "MB");
+                long tamano = tamanos[i] << 20;
+                hilos[i] = new Thread(() -> {
+                    for (long hecho = 0; hecho < tamano; hecho += 1 << 20) {
+                        LockSupport.parkNanos(2_000_000);   // "Red": 1 MB cada 2 ms
+                        barra.avanzar(1 << 20);
+                    }
+                });
+                hilos[i].start();
+            }
+            for (Thread t : hilos) {
+                t.join();
+            }
+        }
+
+        // 2. Errores: un avance negativo no rompe el dibujo y un fallo de escritura llega a close()
+        System.out.println("\n2. ERRORES DE ESCRITURA Y AVANCES NEGATIVOS:");
+        OutputStream roto = new OutputStream() {
+            private int escrituras;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int desde, int largo) throws IOException {
+                if (++escrituras > 3) {
+                    throw new IOException("Terminal cerrada (simulado)");
+                }
+            }
+        };
+        ProgressMonitor monitor = new ProgressMonitor(roto, 100);
+        monitor.nuevaBarra("negativa", 100, 1, "KB").avanzar(-50);
+        LockSupport.parkNanos(200_000_000);   // ~20 cuadros: los primeros 3 se escriben
+        try {
+            monitor.close();
+            System.out.println("❌ close() no informó el error");
+        } catch (UncheckedIOException e) {
+            System.out.println("✅ close() informó: " + e.getCause().getMessage());
+        }
+    }
+}
+
+/*
+MONITOR DE PROGRESO:
+
+1. SEPARAR TRABAJO Y DIBUJO:
+   • El hilo de trabajo solo hace barra.avanzar(n): un LongAdder, sin esperas
+   • Un único hilo "reloj" redibuja a frecuencia fija (por ejemplo, 10 veces por segundo)
+   • Trabajar más rápido no significa dibujar más
+
+2. UNA O VARIAS BARRAS:
+   • Una barra: \r vuelve al inicio de la línea
+   • Varias: ESC[nA sube n líneas y ESC[K borra el resto de cada línea
+
+3. SIN OBJETOS POR CUADRO:
+   • Las 51 barras posibles se codifican una sola vez (tabla de glifos)
+   • Los números se escriben dígito a dígito en un arreglo reutilizado
+
+4. ERRORES:
+   • Una excepción en una tarea periódica cancela los cuadros siguientes sin avisar
+   • El reloj guarda el primer IOException y close() lo lanza
+   • El avance se acota a [0, total]: un negativo no se sale de la tabla de glifos
+*/
@@ -0,0 +1,559 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Reporte de ventas a partir de un archivo CSV enorme
+ * Demuestra cómo leer un archivo de varios GB con memoria mapeada
+ * (FileChannel.map), analizar los campos directamente sobre los bytes
+ * sin crear un String por línea, y acumular totales en tablas de
+ * arreglos primitivos antes de imprimir el mismo REPORTE DE VENTAS
+ * (rendimiento medido con JMH en benchmarks/: ReporteVentasBenchmark)
+ *
+ * Formato del archivo (una venta por línea, cabecera opcional):
+ *   fecha,producto,cantidad,total
+ *   2024-03-01,Laptop Dell XPS,3,3899.97
+ */
+public class ReporteVentasMapeado {
+
+    // Se mapea el archivo por ventanas: la memoria no depende del tamaño del archivo
+    private static final long TAMANO_VENTANA = 64L * 1024 * 1024;
+
+    // Cabecera opcional: solo se salta si la primera línea es exactamente esta
+    private static final byte[] CABECERA = "fecha,producto,cantidad,total".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String[] MESES = {
+        "Enero", "Febrero", "Marzo", "Abril", "Mayo", "Junio",
+        "Julio", "Agosto", "Septiembre", "Octubre", "Noviembre", "Diciembre"
+    };
+
+    /** Lee el archivo en un solo hilo. */
+    public static Acumulador procesar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            Acumulador acumulador = new Acumulador();
+            procesarRango(canal, 0, canal.size(), acumulador);
+            return acumulador;
+        }
+    }
+
+    /** Lee el archivo en trozos paralelos, cortados siempre en un fin de línea. */
+    public static Acumulador procesarEnParalelo(Path archivo, int hilos) throws IOException, InterruptedException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            long[] cortes = new long[hilos + 1];
+            cortes[hilos] = tamano;
+            for (int i = 1; i < hilos; i++) {
+                cortes[i] = Math.max(cortes[i - 1], siguienteInicioDeLinea(canal, tamano * i / hilos));
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(hilos);
+            try {
+                List<Future<Acumulador>> parciales = new ArrayList<>();
+                for (int i = 0; i < hilos; i++) {
+                    long desde = cortes[i];
+                    long hasta = cortes[i + 1];
+                    parciales.add(pool.submit(() -> {
+                        Acumulador parcial = new Acumulador();
+                        procesarRango(canal, desde, hasta, parcial);
+                        return parcial;
+                    }));
+                }
+                Acumulador total = new Acumulador();
+                for (Future<Acumulador> parcial : parciales) {
+                    total.combinar(parcial.get());
+                }
+                return total;
+            } catch (java.util.concurrent.ExecutionException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof IOException) throw (IOException) causa;
+                if (causa instanceof RuntimeException) throw (RuntimeException) causa;
+                throw new IOException(causa);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Imprime el REPORTE DE VENTAS con el mismo diseño que
+     * CasosPracticos.generarReporteVentas(): una fila por (fecha, producto).
+     */
+    public static void imprimirReporte(Acumulador datos) throws IOException {
+        Integer[] orden = new Integer[datos.size()];
+        for (int e = 0; e < orden.length; e++) {
+            orden[e] = e;
+        }
+        String[] fechas = new String[orden.length];
+        String[] productos = new String[orden.length];
+        for (int e = 0; e < orden.length; e++) {
+            fechas[e] = datos.fecha(e);
+            productos[e] = datos.producto(e);
+        }
+        Arrays.sort(orden, (a, b) -> {
+            int c = fechas[a].compareTo(fechas[b]);
+            return c != 0 ? c : productos[a].compareTo(productos[b]);
+        });
+
+        System.out.println("═══════════════════════════════════════════════════════");
+        System.out.println("                  REPORTE DE VENTAS MENSUAL            ");
+        System.out.printf("%20s%-34s%n", "", periodo(fechas));
+        System.out.println("═══════════════════════════════════════════════════════");
+        System.out.printf("%-12s | %-20s | %10s | %12s%n", 
+                         "FECHA", "PRODUCTO", "CANTIDAD", "TOTAL");
+        System.out.println("─────────────┼──────────────────────┼────────────┼─────────────");
+        System.out.flush();
+
+        // Filas: mismo formato "%-12s | %-20s | %10d | $%11.2f%n", sin printf por fila
+        long cantidadTotal = 0;
+        long centavosTotal = 0;
+        TablePrinter tabla = new TablePrinter(Channels.newChannel(System.out), TablePrinter.columnasReporteVentas());
+        for (int e : orden) {
+            tabla.texto(fechas[e]).texto(productos[e]).entero(datos.cantidad(e))
+                 .decimal(datos.centavos(e) / 100.0).finFila();
+            cantidadTotal += datos.cantidad(e);
+            centavosTotal += datos.centavos(e);
+        }
+        tabla.vaciar();
+
+        System.out.println("─────────────┼──────────────────────┼────────────┼─────────────");
+        System.out.printf("%-35s | %10s | $%11.2f%n", 
+                         "TOTAL GENERAL", String.valueOf(cantidadTotal), centavosTotal / 100.0);
+        System.out.println("═══════════════════════════════════════════════════════");
+        System.out.println();
+    }
+
+    // "Marzo 2024" si todas las fechas son del mismo mes; si no, el rango de fechas
+    private static String periodo(String[] fechas) {
+        if (fechas.length == 0) {
+            return "Sin ventas";
+        }
+        String primera = fechas[0];
+        String ultima = fechas[0];
+        for (String f : fechas) {
+            if (f.compareTo(primera) < 0) primera = f;
+            if (f.compareTo(ultima) > 0) ultima = f;
+        }
+        if (primera.length() >= 7 && ultima.startsWith(primera.substring(0, 7))) {
+            try {
+                int mes = Integer.parseInt(primera.substring(5, 7));
+                if (mes >= 1 && mes <= 12) {
+                    return MESES[mes - 1] + " " + primera.substring(0, 4);
+                }
+            } catch (NumberFormatException e) {
+                // Fecha con otro formato: se muestra el rango
+            }
+        }
+        return primera + " a " + ultima;
+    }
+
+    // Devuelve la posición justo después del primer '\n' en o tras 'desde'
+    private static long siguienteInicioDeLinea(FileChannel canal, long desde) throws IOException {
+        if (desde == 0) {
+            return 0;
+        }
+        ByteBuffer trozo = ByteBuffer.allocate(64 * 1024);
+        long posicion = desde - 1;   // Si 'desde' ya es inicio de línea, se queda ahí
+        while (posicion < canal.size()) {
+            trozo.clear();
+            int leidos = canal.read(trozo, posicion);
+            if (leidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < leidos; i++) {
+                if (trozo.get(i) == '\n') {
+                    return posicion + i + 1;
+                }
+            }
+            posicion += leidos;
+        }
+        return canal.size();
+    }
+
+    // Recorre [desde, hasta) por ventanas mapeadas que terminan en un fin de línea
+    private static void procesarRango(FileChannel canal, long desde, long hasta, Acumulador acumulador) throws IOException {
+        long inicio = desde;
+        while (inicio < hasta) {
+            long largo = Math.min(TAMANO_VENTANA, hasta - inicio);
+            MappedByteBuffer ventana = canal.map(FileChannel.MapMode.READ_ONLY, inicio, largo);
+            int fin = (int) largo;
+            if (inicio + largo < hasta) {
+                // Retroceder hasta el último '\n' para no cortar una línea
+                while (fin > 0 && ventana.get(fin - 1) != '\n') {
+                    fin--;
+                }
+                if (fin == 0) {
+                    throw new IOException("Línea más larga que la ventana de lectura en la posición " + inicio);
+                }
+            }
+            analizarLineas(ventana, fin, inicio, acumulador);
+            inicio += fin;
+        }
+    }
+
+    // Analiza las líneas de ventana[0, fin) sin crear objetos por línea;
+    // 'base' es la posición de la ventana en el archivo (para los mensajes de error)
+    private static void analizarLineas(ByteBuffer b, int fin, long base, Acumulador acumulador) {
+        int i = 0;
+        if (base == 0 && esCabecera(b, fin)) {
+            i = saltarLinea(b, 0, fin);
+        }
+        while (i < fin) {
+            int inicioLinea = i;
+            if (lineaVacia(b, inicioLinea, fin)) {
+                i = saltarLinea(b, inicioLinea, fin);
+                continue;
+            }
+            // FECHA y PRODUCTO: solo se guardan las posiciones, no se copian
+            int finFecha = buscar(b, i, fin, (byte) ',');
+            int finProducto = finFecha < fin && b.get(finFecha) == ',' ? buscar(b, finFecha + 1, fin, (byte) ',') : fin;
+            if (finProducto >= fin || b.get(finProducto) != ',') {
+                throw errorDeLinea("Faltan columnas", base + inicioLinea);
+            }
+            // CANTIDAD
+            int p = finProducto + 1;
+            long cantidad = 0;
+            boolean negativa = p < fin && b.get(p) == '-';
+            if (negativa) p++;
+            int inicioCantidad = p;
+            while (p < fin && b.get(p) >= '0' && b.get(p) <= '9') {
+                cantidad = cantidad * 10 + (b.get(p++) - '0');
+            }
+            if (p == inicioCantidad || p >= fin || b.get(p) != ',') {
+                throw errorDeLinea("Cantidad inválida", base + inicioLinea);
+            }
+            if (negativa) cantidad = -cantidad;
+            // TOTAL (en centavos, exacto)
+            p++;
+            long centavos = 0;
+            boolean totalNegativo = p < fin && b.get(p) == '-';
+            if (totalNegativo) p++;
+            int inicioTotal = p;
+            while (p < fin && b.get(p) >= '0' && b.get(p) <= '9') {
+                centavos = centavos * 10 + (b.get(p++) - '0');
+            }
+            if (p == inicioTotal) {
+                throw errorDeLinea("Total vacío", base + inicioLinea);
+            }
+            int decimales = 0;
+            if (p < fin && b.get(p) == '.') {
+                p++;
+                while (p < fin && b.get(p) >= '0' && b.get(p) <= '9') {
+                    if (++decimales > 2) {
+                        throw errorDeLinea("Más de 2 decimales en el total", base + inicioLinea);
+                    }
+                    centavos = centavos * 10 + (b.get(p++) - '0');
+                }
+            }
+            for (; decimales < 2; decimales++) {
+                centavos *= 10;
+            }
+            if (totalNegativo) centavos = -centavos;
+            if (p < fin && b.get(p) == '\r') p++;
+            if (p < fin && b.get(p) != '\n') {
+                throw errorDeLinea("Total inválido", base + inicioLinea);
+            }
+            acumulador.sumar(b, inicioLinea, finFecha, finFecha + 1, finProducto, cantidad, centavos);
+            i = p + 1;
+        }
+    }
+
+    private static boolean esCabecera(ByteBuffer b, int fin) {
+        if (fin < CABECERA.length) {
+            return false;
+        }
+        for (int i = 0; i < CABECERA.length; i++) {
+            if (b.get(i) != CABECERA[i]) {
+                return false;
+            }
+        }
+        int p = CABECERA.length;
+        if (p < fin && b.get(p) == '\r') p++;
+        return p == fin || b.get(p) == '\n';
+    }
+
+    private static IllegalArgumentException errorDeLinea(String motivo, long posicion) {
+        return new IllegalArgumentException(motivo + " en la línea que empieza en el byte " + posicion);
+    }
+
+    private static int buscar(ByteBuffer b, int desde, int fin, byte objetivo) {
+        int i = desde;
+        while (i < fin && b.get(i) != objetivo && b.get(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean lineaVacia(ByteBuffer b, int desde, int fin) {
+        for (int i = desde; i < fin && b.get(i) != '\n'; i++) {
+            if (b.get(i) != '\r' && b.get(i) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int saltarLinea(ByteBuffer b, int desde, int fin) {
+        int i = desde;
+        while (i < fin && b.get(i) != '\n') {
+            i++;
+        }
+        return i + 1;
+    }
+
+    // ===== ACUMULADOR: tabla hash con direccionamiento abierto sobre arreglos primitivos =====
+
+    /**
+     * Totales por (fecha, producto). Las claves se copian una sola vez a un
+     * arreglo de bytes compartido; las búsquedas comparan bytes sin crear Strings.
+     */
+    public static final class Acumulador {
+        private int[] tabla = new int[1024];          // Índice de entrada + 1 (0 = libre)
+        private int[] hashes = new int[512];
+        private int[] inicioClave = new int[512];
+        private short[] largoFecha = new short[512];
+        private short[] largoProducto = new short[512];
+        private long[] cantidades = new long[512];
+        private long[] centavos = new long[512];
+        private byte[] claves = new byte[16 * 1024];
+        private int usadoClaves;
+        private int entradas;
+
+        void sumar(ByteBuffer b, int iniFecha, int finFecha, int iniProducto, int finProducto,
+                   long cantidad, long totalCentavos) {
+            int h = 0x811C9DC5;   // FNV-1a sobre fecha + separador + producto
+            for (int i = iniFecha; i < finFecha; i++) h = (h ^ b.get(i)) * 0x01000193;
+            h = (h ^ 0x1F) * 0x01000193;
+            for (int i = iniProducto; i < finProducto; i++) h = (h ^ b.get(i)) * 0x01000193;
+
+            int mascara = tabla.length - 1;
+            int pos = (h ^ (h >>> 16)) & mascara;
+            while (true) {
+                int e = tabla[pos] - 1;
+                if (e < 0) {
+                    e = nuevaEntrada(h, b, iniFecha, finFecha, iniProducto, finProducto);
+                    tabla[pos] = e + 1;
+                    if (entradas * 2 > tabla.length) {
+                        rehacerTabla();
+                    }
+                    cantidades[e] += cantidad;
+                    centavos[e] += totalCentavos;
+                    return;
+                }
+                if (hashes[e] == h && mismaClave(e, b, iniFecha, finFecha, iniProducto, finProducto)) {
+                    cantidades[e] += cantidad;
+                    centavos[e] += totalCentavos;
+                    return;
+                }
+                pos = (pos + 1) & mascara;
+            }
+        }
+
+        private boolean mismaClave(int e, ByteBuffer b, int iniFecha, int finFecha, int iniProducto, int finProducto) {
+            if (largoFecha[e] != finFecha - iniFecha || largoProducto[e] != finProducto - iniProducto) {
+                return false;
+            }
+            int k = inicioClave[e];
+            for (int i = iniFecha; i < finFecha; i++) {
+                if (claves[k++] != b.get(i)) return false;
+            }
+            for (int i = iniProducto; i < finProducto; i++) {
+                if (claves[k++] != b.get(i)) return false;
+            }
+            return true;
+        }
+
+        private int nuevaEntrada(int h, ByteBuffer b, int iniFecha, int finFecha, int iniProducto, int finProducto) {
+            if (finFecha - iniFecha > Short.MAX_VALUE || finProducto - iniProducto > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Fecha o producto demasiado largos");
+            }
+            if (entradas == hashes.length) {
+                int n = entradas * 2;
+                hashes = Arrays.copyOf(hashes, n);
+                inicioClave = Arrays.copyOf(inicioClave, n);
+                largoFecha = Arrays.copyOf(largoFecha, n);
+                largoProducto = Arrays.copyOf(largoProducto, n);
+                cantidades = Arrays.copyOf(cantidades, n);
+                centavos = Arrays.copyOf(centavos, n);
+            }
+            int largo = (finFecha - iniFecha) + (finProducto - iniProducto);
+            if (usadoClaves + largo > claves.length) {
+                claves = Arrays.copyOf(claves, Math.max(claves.length * 2, usadoClaves + largo));
+            }
+            int e = entradas++;
+            hashes[e] = h;
+            inicioClave[e] = usadoClaves;
+            largoFecha[e] = (short) (finFecha - iniFecha);
+            largoProducto[e] = (short) (finProducto - iniProducto);
+            for (int i = iniFecha; i < finFecha; i++) claves[usadoClaves++] = b.get(i);
+            for (int i = iniProducto; i < finProducto; i++) claves[usadoClaves++] = b.get(i);
+            return e;
+        }
+
+        private void rehacerTabla() {
+            tabla = new int[tabla.length * 2];
+            int mascara = tabla.length - 1;
+            for (int e = 0; e < entradas; e++) {
+                int pos = (hashes[e] ^ (hashes[e] >>> 16)) & mascara;
+                while (tabla[pos] != 0) {
+                    pos = (pos + 1) & mascara;
+                }
+                tabla[pos] = e + 1;
+            }
+        }
+
+        /** Suma los totales de otro acumulador (resultado de otro hilo). */
+        void combinar(Acumulador otro) {
+            ByteBuffer claveOtro = ByteBuffer.wrap(otro.claves);
+            for (int e = 0; e < otro.entradas; e++) {
+                int fecha = otro.inicioClave[e];
+                int producto = fecha + otro.largoFecha[e];
+                sumar(claveOtro, fecha, producto, producto, producto + otro.largoProducto[e],
+                      otro.cantidades[e], otro.centavos[e]);
+            }
+        }
+
+        public int size() {
+            return entradas;
+        }
+
+        String fecha(int e) {
+            return new String(claves, inicioClave[e], largoFecha[e], StandardCharsets.UTF_8);
+        }
+
+        String producto(int e) {
+            return new String(claves, inicioClave[e] + largoFecha[e], largoProducto[e], StandardCharsets.UTF_8);
+        }
+
+        long cantidad(int e) { return cantidades[e]; }
+        long centavos(int e) { return centavos[e]; }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Uso: java ReporteVentasMapeado ventas.csv [--paralelo]
+        if (args.length > 0) {
+            Path archivo = Paths.get(args[0]);
+            boolean paralelo = args.length > 1 && args[1].equals("--paralelo");
+            Acumulador datos = paralelo
+                               ? procesarEnParalelo(archivo, Runtime.getRuntime().availableProcessors())
+                               : procesar(archivo);
+            imprimirReporte(datos);
+            return;
+        }
+
+        System.out.println("=== REPORTE DE VENTAS DESDE UN ARCHIVO MAPEADO ===\n");
+
+        // 1. Los mismos datos de CasosPracticos, pero leídos de un CSV
+        System.out.println("1. REPORTE A PARTIR DE UN CSV PEQUEÑO:");
+        Path pequeno = Files.createTempFile("ventas", ".csv");
+        Files.write(pequeno, Arrays.asList(
+            "fecha,producto,cantidad,total",
+            "2024-03-01,Laptop Dell XPS,3,3899.97",
+            "2024-03-02,Mouse Logitech,15,375.00",
+            "2024-03-03,Teclado Mecánico,8,600.00",
+            "2024-03-05,Monitor 24\",5,1250.00"), StandardCharsets.UTF_8);
+        imprimirReporte(procesar(pequeno));
+        Files.delete(pequeno);
+
+        // Una cantidad vacía es un error, no una venta de 0 unidades
+        Path invalido = Files.createTempFile("ventas-invalido", ".csv");
+        Files.write(invalido, Arrays.asList(
+            "fecha,producto,cantidad,total",
+            "2024-03-02,Mouse Logitech,,375.00"), StandardCharsets.UTF_8);
+        try {
+            procesar(invalido);
+            System.out.println("❌ Se aceptó una cantidad vacía\n");
+        } catch (IllegalArgumentException e) {
+            System.out.println("✅ " + e.getMessage() + "\n");
+        } finally {
+            Files.delete(invalido);
+        }
+
+        // 2. Archivo grande: secuencial y paralelo dan los mismos totales
+        int lineas = 1_000_000;
+        System.out.println("2. ARCHIVO GRANDE (" + lineas + " líneas):");
+        Path grande = Files.createTempFile("ventas-grande", ".csv");
+        try {
+            generarArchivo(grande, lineas);
+            System.out.printf("Tamaño: %.1f MB%n", Files.size(grande) / 1e6);
+            Acumulador secuencial = procesar(grande);
+            int hilos = Math.max(2, Runtime.getRuntime().availableProcessors());
+            Acumulador paralelo = procesarEnParalelo(grande, hilos);
+            System.out.println("Secuencial:   " + resumen(secuencial));
+            System.out.println("Paralelo(" + hilos + "): " + resumen(paralelo));
+            System.out.println(resumen(secuencial).equals(resumen(paralelo))
+                               ? "✅ Mismos totales en ambos modos" : "❌ Los totales no coinciden");
+        } finally {
+            Files.deleteIfExists(grande);
+        }
+    }
+
+    private static String resumen(Acumulador datos) {
+        long cantidad = 0;
+        long centavos = 0;
+        for (int e = 0; e < datos.size(); e++) {
+            cantidad += datos.cantidad(e);
+            centavos += datos.centavos(e);
+        }
+        return String.format("%d filas agregadas, cantidad %d, total $%d.%02d",
+                             datos.size(), cantidad, centavos / 100, centavos % 100);
+    }
+
+    static void generarArchivo(Path archivo, int lineas) throws IOException {
+        String[] productos = {"Laptop Dell XPS", "Mouse Logitech", "Teclado Mecánico", "Monitor 24\"",
+                              "Audífonos", "Webcam HD", "Disco SSD 1TB", "Memoria 16GB"};
+        try (BufferedWriter w = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            w.write("fecha,producto,cantidad,total\n");
+            for (int i = 0; i < lineas; i++) {
+                int cantidad = 1 + i % 20;
+                long centavos = cantidad * (1999L + (i % 8) * 2500L);
+                w.write("2024-03-");
+                int dia = 1 + i % 31;
+                if (dia < 10) w.write('0');
+                w.write(Integer.toString(dia));
+                w.write(',');
+                w.write(productos[i % productos.length]);
+                w.write(',');
+                w.write(Integer.toString(cantidad));
+                w.write(',');
+                w.write(Long.toString(centavos / 100));
+                w.write('.');
+                w.write((char) ('0' + centavos % 100 / 10));
+                w.write((char) ('0' + centavos % 10));
+                w.write('\n');
+            }
+        }
+    }
+}
+
+/*
+REPORTE DESDE UN ARCHIVO MAPEADO:
+
+1. MEMORIA MAPEADA (FileChannel.map):
+   • El sistema operativo carga las páginas del archivo bajo demanda
+   • Se mapea por ventanas de 64 MB: la memoria no crece con el archivo
+
+2. ANÁLISIS SIN Strings:
+   • Los campos se leen byte a byte sobre la ventana
+   • Cantidad y total se convierten a long (total en centavos, exacto)
+   • Fecha y producto solo se copian la PRIMERA vez que aparecen
+
+3. MODO PARALELO:
+   • El archivo se divide en trozos que terminan en '\n'
+   • Cada hilo acumula en su propia tabla y al final se combinan
+*/
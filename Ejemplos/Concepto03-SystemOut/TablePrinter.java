@@ -0,0 +1,405 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Impresión de tablas por lotes
+ * Demuestra cómo escribir millones de filas con el mismo formato que
+ * printf, pero definiendo las columnas una sola vez y escribiendo en
+ * un búfer reutilizable que se vacía en bloques grandes
+ * (rendimiento medido con JMH en benchmarks/: TablaBenchmark)
+ */
+public class TablePrinter implements AutoCloseable {
+
+    // Tamaño a partir del cual el búfer de caracteres se vacía al canal
+    private static final int UMBRAL_VACIADO = 32 * 1024;
+
+    // Potencias de 10 para los decimales (precisión 0 a 9)
+    private static final long[] POTENCIAS = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private final WritableByteChannel canal;
+    private final CharsetEncoder codificador;
+    private final Locale locale;
+    private final char separadorDecimal;
+    private final boolean digitosAscii;
+    private final Columna[] columnas;
+
+    // BÚFERES REUTILIZABLES (se crean una vez, no por fila)
+    private char[] caracteres = new char[UMBRAL_VACIADO * 2];
+    private int posicion;
+    private final ByteBuffer bytes = ByteBuffer.allocate(UMBRAL_VACIADO * 4);
+    private final char[] digitos = new char[24];
+    private StringBuilder respaldo;              // Solo para casos raros (ver decimal())
+    private Formatter formateadorRespaldo;
+
+    // Estado de la fila en curso
+    private int columnaActual;
+
+    /** Escribe en el canal con el charset y el locale por defecto (los mismos que System.out.printf). */
+    public TablePrinter(WritableByteChannel canal, Columna... columnas) {
+        this(canal, Charset.defaultCharset(), Locale.getDefault(Locale.Category.FORMAT), columnas);
+    }
+
+    public TablePrinter(WritableByteChannel canal, Charset charset, Locale locale, Columna... columnas) {
+        this.canal = canal;
+        // Igual que PrintStream: los caracteres no representables se reemplazan (por '?')
+        this.codificador = charset.newEncoder()
+                                  .onMalformedInput(CodingErrorAction.REPLACE)
+                                  .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.locale = locale;
+        DecimalFormatSymbols simbolos = DecimalFormatSymbols.getInstance(locale);
+        this.separadorDecimal = simbolos.getDecimalSeparator();
+        this.digitosAscii = simbolos.getZeroDigit() == '0';
+        this.columnas = columnas.clone();
+    }
+
+    // ===== DEFINICIÓN DE COLUMNAS =====
+
+    /** Una columna de la tabla: texto fijo o un valor con ancho y alineación. */
+    public static final class Columna {
+        private static final int TIPO_LITERAL = 0, TIPO_TEXTO = 1, TIPO_ENTERO = 2, TIPO_DECIMAL = 3;
+
+        private final int tipo;
+        private final int ancho;
+        private final boolean izquierda;
+        private final int precision;
+        private final String literal;
+
+        private Columna(int tipo, int ancho, boolean izquierda, int precision, String literal) {
+            this.tipo = tipo;
+            this.ancho = ancho;
+            this.izquierda = izquierda;
+            this.precision = precision;
+            this.literal = literal;
+        }
+
+        /** Texto fijo entre columnas, por ejemplo " | " o " | $". */
+        public static Columna literal(String texto) {
+            return new Columna(TIPO_LITERAL, 0, false, 0, texto);
+        }
+
+        /** Fin de línea, igual que %n. */
+        public static Columna nuevaLinea() {
+            return literal(System.lineSeparator());
+        }
+
+        /** Equivale a %-Ns (izquierda) o %Ns (derecha). */
+        public static Columna texto(int ancho, boolean izquierda) {
+            return new Columna(TIPO_TEXTO, ancho, izquierda, 0, null);
+        }
+
+        /** Equivale a %-Nd (izquierda) o %Nd (derecha). */
+        public static Columna entero(int ancho, boolean izquierda) {
+            return new Columna(TIPO_ENTERO, ancho, izquierda, 0, null);
+        }
+
+        /** Equivale a %N.Pf (alineado a la derecha). */
+        public static Columna decimal(int ancho, int precision) {
+            if (precision < 0 || precision >= POTENCIAS.length) {
+                throw new IllegalArgumentException("Precisión no soportada: " + precision);
+            }
+            return new Columna(TIPO_DECIMAL, ancho, false, precision, null);
+        }
+    }
+
+    // ===== ESCRITURA DE VALORES (en el orden de las columnas) =====
+
+    public TablePrinter texto(CharSequence valor) {
+        Columna c = columnaDeDatos(Columna.TIPO_TEXTO);
+        CharSequence v = valor == null ? "null" : valor;
+        int largo = v.length();
+        asegurarEspacio(Math.max(largo, c.ancho));
+        if (!c.izquierda) {
+            rellenar(c.ancho - largo);
+        }
+        for (int i = 0; i < largo; i++) {
+            caracteres[posicion++] = v.charAt(i);
+        }
+        if (c.izquierda) {
+            rellenar(c.ancho - largo);
+        }
+        return avanzar();
+    }
+
+    public TablePrinter entero(long valor) {
+        Columna c = columnaDeDatos(Columna.TIPO_ENTERO);
+        if (!digitosAscii) {
+            return respaldo(c, valor);
+        }
+        int inicio = escribirEntero(valor);
+        volcarDigitos(c, inicio);
+        return avanzar();
+    }
+
+    public TablePrinter decimal(double valor) {
+        Columna c = columnaDeDatos(Columna.TIPO_DECIMAL);
+        long escala = POTENCIAS[c.precision];
+        double escalado = Math.abs(valor) * escala;
+        double fraccion = escalado - Math.floor(escalado);
+        // Camino rápido: valores moderados que no están cerca de un empate (x.5).
+        // Cerca de un empate Formatter redondea sobre la representación decimal más
+        // corta del double, así que ahí se delega en Formatter para ser idénticos.
+        if (!digitosAscii || Double.isNaN(valor) || escalado >= 1e12 || Math.abs(fraccion - 0.5) < 1e-3) {
+            return respaldo(c, valor);
+        }
+        long redondeado = (long) Math.floor(escalado + 0.5);
+        long parteEntera = redondeado / escala;
+        long parteDecimal = redondeado % escala;
+
+        int inicio = digitos.length;
+        if (c.precision > 0) {
+            for (int i = 0; i < c.precision; i++) {
+                digitos[--inicio] = (char) ('0' + parteDecimal % 10);
+                parteDecimal /= 10;
+            }
+            digitos[--inicio] = separadorDecimal;
+        }
+        inicio = escribirEnteroDesde(parteEntera, inicio);
+        // El signo se conserva aunque el valor redondeado sea cero (como printf con -0.001)
+        if (valor < 0 || (valor == 0.0 && 1 / valor < 0)) {
+            digitos[--inicio] = '-';
+        }
+        volcarDigitos(c, inicio);
+        return avanzar();
+    }
+
+    /** Cierra la fila; si el búfer es grande lo vacía al canal. */
+    public void finFila() throws IOException {
+        escribirLiterales();
+        if (columnaActual != columnas.length) {
+            throw new IllegalStateException("Faltan valores en la fila");
+        }
+        columnaActual = 0;
+        if (posicion >= UMBRAL_VACIADO) {
+            vaciar();
+        }
+    }
+
+    /** Escribe todo lo pendiente en el canal. */
+    public void vaciar() throws IOException {
+        CharBuffer pendiente = CharBuffer.wrap(caracteres, 0, posicion);
+        while (true) {
+            CoderResult resultado = codificador.encode(pendiente, bytes, false);
+            escribirBytes();
+            if (resultado.isUnderflow()) {
+                break;
+            }
+            if (resultado.isError()) {
+                resultado.throwException();
+            }
+        }
+        // Un surrogate sin pareja al final queda para la siguiente vez
+        int restantes = pendiente.remaining();
+        System.arraycopy(caracteres, pendiente.position(), caracteres, 0, restantes);
+        posicion = restantes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        vaciar();
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    private Columna columnaDeDatos(int tipo) {
+        escribirLiterales();
+        if (columnaActual >= columnas.length || columnas[columnaActual].tipo != tipo) {
+            throw new IllegalStateException("La columna " + columnaActual + " no es del tipo esperado");
+        }
+        return columnas[columnaActual];
+    }
+
+    private TablePrinter avanzar() {
+        columnaActual++;
+        return this;
+    }
+
+    // Copia los literales que haya antes de la siguiente columna de datos
+    private void escribirLiterales() {
+        while (columnaActual < columnas.length && columnas[columnaActual].tipo == Columna.TIPO_LITERAL) {
+            String literal = columnas[columnaActual].literal;
+            asegurarEspacio(literal.length());
+            literal.getChars(0, literal.length(), caracteres, posicion);
+            posicion += literal.length();
+            columnaActual++;
+        }
+    }
+
+    // Escribe el entero en 'digitos' alineado al final; devuelve el índice inicial
+    private int escribirEntero(long valor) {
+        if (valor == Long.MIN_VALUE) {
+            String texto = Long.toString(valor);
+            int inicio = digitos.length - texto.length();
+            texto.getChars(0, texto.length(), digitos, inicio);
+            return inicio;
+        }
+        int inicio = escribirEnteroDesde(Math.abs(valor), digitos.length);
+        if (valor < 0) {
+            digitos[--inicio] = '-';
+        }
+        return inicio;
+    }
+
+    private int escribirEnteroDesde(long positivo, int fin) {
+        int i = fin;
+        do {
+            digitos[--i] = (char) ('0' + positivo % 10);
+            positivo /= 10;
+        } while (positivo != 0);
+        return i;
+    }
+
+    private void volcarDigitos(Columna c, int inicio) {
+        int largo = digitos.length - inicio;
+        asegurarEspacio(Math.max(largo, c.ancho));
+        if (!c.izquierda) {
+            rellenar(c.ancho - largo);
+        }
+        System.arraycopy(digitos, inicio, caracteres, posicion, largo);
+        posicion += largo;
+        if (c.izquierda) {
+            rellenar(c.ancho - largo);
+        }
+    }
+
+    private void rellenar(int espacios) {
+        for (int i = 0; i < espacios; i++) {
+            caracteres[posicion++] = ' ';
+        }
+    }
+
+    private void asegurarEspacio(int extra) {
+        if (posicion + extra > caracteres.length) {
+            caracteres = Arrays.copyOf(caracteres, Math.max(caracteres.length * 2, posicion + extra));
+        }
+    }
+
+    // Caso raro: se usa Formatter (mismo resultado que printf, con asignaciones)
+    private TablePrinter respaldo(Columna c, Object valor) {
+        if (formateadorRespaldo == null) {
+            respaldo = new StringBuilder();
+            formateadorRespaldo = new Formatter(respaldo, locale);
+        }
+        respaldo.setLength(0);
+        String patron = c.tipo == Columna.TIPO_DECIMAL
+                        ? "%" + c.ancho + "." + c.precision + "f"
+                        : "%" + (c.izquierda ? "-" : "") + (c.ancho > 0 ? c.ancho : "") + "d";
+        formateadorRespaldo.format(patron, valor);
+        asegurarEspacio(respaldo.length());
+        respaldo.getChars(0, respaldo.length(), caracteres, posicion);
+        posicion += respaldo.length();
+        return avanzar();
+    }
+
+    private void escribirBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    // Mismo formato que las filas de CasosPracticos.generarReporteVentas()
+    static Columna[] columnasReporteVentas() {
+        return new Columna[] {
+            Columna.texto(12, true), Columna.literal(" | "),
+            Columna.texto(20, true), Columna.literal(" | "),
+            Columna.entero(10, false), Columna.literal(" | $"),
+            Columna.decimal(11, 2), Columna.nuevaLinea()
+        };
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== IMPRESIÓN DE TABLAS POR LOTES ===\n");
+
+        String[] fechas = {"2024-03-01", "2024-03-02", "2024-03-03", "2024-03-05"};
+        String[] productos = {"Laptop Dell XPS", "Mouse Logitech", "Teclado Mecánico", "Monitor 24\""};
+        int[] cantidades = {3, 15, 8, 5};
+        double[] totales = {3899.97, 375.00, 600.00, 1250.00};
+
+        // 1. Las filas del reporte de ventas, impresas con TablePrinter
+        System.out.println("1. FILAS DEL REPORTE DE VENTAS:");
+        System.out.flush();
+        TablePrinter tabla = new TablePrinter(Channels.newChannel(System.out), columnasReporteVentas());
+        for (int i = 0; i < fechas.length; i++) {
+            tabla.texto(fechas[i]).texto(productos[i]).entero(cantidades[i]).decimal(totales[i]).finFila();
+        }
+        tabla.vaciar();
+
+        // 2. Comparación byte a byte contra printf con valores variados
+        System.out.println("\n2. COMPARACIÓN BYTE A BYTE CONTRA printf:");
+        int filas = 200_000;
+        ByteArrayOutputStream conPrintf = new ByteArrayOutputStream();
+        ByteArrayOutputStream conTabla = new ByteArrayOutputStream();
+        escribirConPrintf(new PrintStream(conPrintf, false, Charset.defaultCharset()), filas);
+        escribirConTabla(conTabla, filas);
+        System.out.println(Arrays.equals(conPrintf.toByteArray(), conTabla.toByteArray())
+                           ? "✅ Salida idéntica (" + conTabla.size() + " bytes)"
+                           : "❌ La salida es diferente");
+    }
+
+    private static void escribirConPrintf(PrintStream salida, int filas) {
+        for (int i = 0; i < filas; i++) {
+            salida.printf("%-12s | %-20s | %10d | $%11.2f%n",
+                          "2024-03-" + (i % 28 + 1), "Producto " + (i % 977), i % 50, valorDePrueba(i));
+        }
+        salida.flush();
+    }
+
+    private static void escribirConTabla(OutputStream salida, int filas) throws IOException {
+        try (TablePrinter tabla = new TablePrinter(Channels.newChannel(salida), columnasReporteVentas())) {
+            for (int i = 0; i < filas; i++) {
+                tabla.texto("2024-03-" + (i % 28 + 1)).texto("Producto " + (i % 977))
+                     .entero(i % 50).decimal(valorDePrueba(i)).finFila();
+            }
+        }
+    }
+
+    // Montos con céntimos "difíciles" (x.xx5, negativos, grandes)
+    private static double valorDePrueba(int i) {
+        switch (i % 5) {
+            case 0: return i * 1.005;
+            case 1: return -(i % 1000) * 0.125;
+            case 2: return i * 13.37 / 7.0;
+            case 3: return 1e13 + i;
+            default: return (i % 100) / 100.0;
+        }
+    }
+}
+
+/*
+IMPRESIÓN DE TABLAS POR LOTES:
+
+1. COSTO DE printf POR FILA:
+   • Vuelve a analizar el patrón "%-12s | %-20s | ..." en cada llamada
+   • Convierte los números a objetos (boxing) para el varargs
+   • Toma el candado de System.out en cada fila
+
+2. TablePrinter:
+   • Las columnas se definen UNA vez (Columna.texto, entero, decimal)
+   • Cada fila se escribe en un char[] reutilizable
+   • Se vacía al canal en bloques de ~32 KB
+
+3. MISMA SALIDA QUE printf:
+   • Mismo relleno, alineación, separador decimal y fin de línea
+   • Los decimales cercanos a un empate (ej. 1.005) se delegan a Formatter
+*/
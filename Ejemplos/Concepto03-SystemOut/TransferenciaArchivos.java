@@ -0,0 +1,431 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+/**
+ * CONCEPTO 3: Salida estándar (System.out)
+ *
+ * Ejemplo: Copia real de archivos grandes con barra de progreso
+ * Demuestra la versión real de "Descargando archivo grande.zip...": el
+ * archivo se divide en bloques que se copian en paralelo con
+ * FileChannel.transferFrom (el sistema operativo mueve los bytes sin pasar
+ * por el heap), la barra muestra "%3d%% (%d MB / %d MB)" y un archivo de
+ * control con el CRC de cada bloque permite continuar una copia interrumpida
+ * (rendimiento medido con JMH en benchmarks/: TransferenciaBenchmark)
+ */
+public class TransferenciaArchivos {
+
+    private static final long MAGICO = 0x5452414E53464532L;   // "TRANSFE2" (con CRC por bloque)
+    private static final long PASO = 8L << 20;                 // Avance de la barra cada 8 MB
+
+    private final long tamanoBloque;
+    private final int hilos;
+    private final AtomicBoolean cancelada = new AtomicBoolean();
+
+    /**
+     * @param tamanoBloque bytes por bloque (unidad de trabajo y de reanudación)
+     * @param hilos        bloques que se copian a la vez
+     */
+    public TransferenciaArchivos(long tamanoBloque, int hilos) {
+        if (tamanoBloque <= 0 || hilos <= 0) {
+            throw new IllegalArgumentException("Tamaño de bloque e hilos deben ser positivos");
+        }
+        this.tamanoBloque = tamanoBloque;
+        this.hilos = hilos;
+    }
+
+    /** Pide detener la copia; los bloques terminados quedan anotados para reanudar. */
+    public void cancelar() {
+        cancelada.set(true);
+    }
+
+    /** Archivo de control de la copia hacia {@code destino}. */
+    public static Path puntoDeControl(Path destino) {
+        return destino.resolveSibling(destino.getFileName() + ".parte");
+    }
+
+    /**
+     * Copia {@code origen} en {@code destino}. Si existe un punto de control
+     * válido (mismo origen, tamaño y bloque) y el destino tiene el largo
+     * esperado, solo copia los bloques que faltan o cuyo CRC ya no coincide.
+     *
+     * @param barra barra donde se informa el avance en bytes (puede ser null)
+     * @return bytes copiados en esta llamada
+     * @throws CancellationException si se llamó a {@link #cancelar()}
+     */
+    public long copiar(Path origen, Path destino, ProgressMonitor.Barra barra) throws IOException {
+        cancelada.set(false);
+        long tamano = Files.size(origen);
+        long modificado = Files.getLastModifiedTime(origen).toMillis();
+        int bloques = (int) Math.max(1, (tamano + tamanoBloque - 1) / tamanoBloque);
+        Path control = puntoDeControl(destino);
+        PuntoDeControl registro = leerPuntoDeControl(control, destino, tamano, modificado, bloques);
+        if (registro == null) {
+            registro = new PuntoDeControl(control, tamano, modificado, new BitSet(bloques), new int[bloques]);
+            Files.deleteIfExists(destino);
+        }
+        BitSet hechos = registro.hechos;
+        if (barra != null) {
+            for (int b = hechos.nextSetBit(0); b >= 0; b = hechos.nextSetBit(b + 1)) {
+                barra.avanzar(largoBloque(b, tamano));
+            }
+        }
+
+        try (FileChannel salida = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (salida.size() != tamano) {
+                salida.truncate(tamano);
+                if (tamano > 0 && salida.size() < tamano) {
+                    salida.write(ByteBuffer.wrap(new byte[1]), tamano - 1);   // Reserva el tamaño final
+                }
+            }
+        }
+        registro.guardar();
+
+        // Los hilos se detienen con esta bandera, nunca con interrupciones: interrumpir
+        // un hilo dentro de transferFrom cierra su canal (ClosedByInterruptException)
+        AtomicBoolean detener = new AtomicBoolean();
+        PuntoDeControl anotador = registro;
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Long>> tareas = new ArrayList<>();
+            for (int b = hechos.nextClearBit(0); b < bloques; b = hechos.nextClearBit(b + 1)) {
+                int bloque = b;
+                tareas.add(pool.submit(() -> copiarBloque(origen, destino, bloque, tamano, barra, anotador, detener)));
+            }
+            long copiados = 0;
+            for (Future<Long> t : tareas) {
+                copiados += esperar(t);
+            }
+            if (cancelada.get()) {
+                throw new CancellationException("Copia cancelada; se puede reanudar desde " + control);
+            }
+            try (FileChannel salida = FileChannel.open(destino, StandardOpenOption.WRITE)) {
+                salida.force(true);
+            }
+            Files.deleteIfExists(control);
+            return copiados;
+        } finally {
+            detener.set(true);
+            pool.shutdown();
+            esperarHilos(pool);
+        }
+    }
+
+    private long copiarBloque(Path origen, Path destino, int bloque, long tamano, ProgressMonitor.Barra barra,
+                              PuntoDeControl registro, AtomicBoolean detener) throws IOException {
+        long inicio = bloque * tamanoBloque;
+        long fin = inicio + largoBloque(bloque, tamano);
+        // Cada bloque tiene sus propios canales: un error o una interrupción en un
+        // hilo solo cierra los suyos y no afecta a los demás bloques
+        try (FileChannel entrada = FileChannel.open(origen, StandardOpenOption.READ);
+             FileChannel salida = FileChannel.open(destino, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            entrada.position(inicio);
+            long posicion = inicio;
+            while (posicion < fin) {
+                if (cancelada.get() || detener.get()) {
+                    return posicion - inicio;
+                }
+                long n = salida.transferFrom(entrada, posicion, Math.min(PASO, fin - posicion));
+                if (n <= 0) {
+                    throw new IOException("El origen se acortó durante la copia: " + origen);
+                }
+                posicion += n;
+                if (barra != null) {
+                    barra.avanzar(n);
+                }
+            }
+            salida.force(false);      // Los datos llegan al disco antes de anotar el bloque
+            registro.marcar(bloque, crcBloque(salida, inicio, fin - inicio));
+        }
+        return fin - inicio;
+    }
+
+    // CRC32C de [inicio, inicio + largo) leído del destino: lo que de verdad quedó escrito
+    private static int crcBloque(FileChannel canal, long inicio, long largo) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer bufer = ByteBuffer.allocateDirect((int) Math.min(1 << 20, Math.max(1, largo)));
+        long posicion = inicio;
+        long fin = inicio + largo;
+        while (posicion < fin) {
+            bufer.clear().limit((int) Math.min(bufer.capacity(), fin - posicion));
+            int n = canal.read(bufer, posicion);
+            if (n <= 0) {
+                throw new IOException("El destino es más corto de lo esperado");
+            }
+            bufer.flip();
+            crc.update(bufer);
+            posicion += n;
+        }
+        return (int) crc.getValue();
+    }
+
+    // Espera a que los bloques en curso vean la bandera 'detener' (a lo sumo un PASO cada uno)
+    private static void esperarHilos(ExecutorService pool) {
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                if (pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long largoBloque(int bloque, long tamano) {
+        return Math.min(tamanoBloque, tamano - bloque * tamanoBloque);
+    }
+
+    private static long esperar(Future<Long> tarea) throws IOException {
+        try {
+            return tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Copia interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // ===== PUNTO DE CONTROL =====
+    // Formato: MAGICO, tamaño del origen, fecha de modificación, tamaño de bloque,
+    // CRC32C de cada bloque (0 si falta) y los bloques terminados
+
+    private final class PuntoDeControl {
+        final Path archivo;
+        final long tamano;
+        final long modificado;
+        final BitSet hechos;
+        final int[] crcs;
+
+        PuntoDeControl(Path archivo, long tamano, long modificado, BitSet hechos, int[] crcs) {
+            this.archivo = archivo;
+            this.tamano = tamano;
+            this.modificado = modificado;
+            this.hechos = hechos;
+            this.crcs = crcs;
+        }
+
+        synchronized void marcar(int bloque, int crc) {
+            crcs[bloque] = crc;
+            hechos.set(bloque);
+            try {
+                guardar();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void guardar() throws IOException {
+            byte[] bits = hechos.toByteArray();
+            ByteBuffer datos = ByteBuffer.allocate(32 + 4 * crcs.length + bits.length);
+            datos.putLong(MAGICO).putLong(tamano).putLong(modificado).putLong(tamanoBloque);
+            datos.asIntBuffer().put(crcs);
+            datos.position(datos.position() + 4 * crcs.length);
+            datos.put(bits).flip();
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (datos.hasRemaining()) {
+                    canal.write(datos);
+                }
+                canal.force(true);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Devuelve el punto de control para reanudar, o null si hay que empezar de
+     * cero: no existe, es de otro origen o configuración, o el destino falta o
+     * no tiene el largo esperado. Los bloques anotados cuyo CRC ya no coincide
+     * con el destino se vuelven a copiar.
+     */
+    private PuntoDeControl leerPuntoDeControl(Path control, Path destino, long tamano, long modificado,
+                                              int bloques) throws IOException {
+        if (!Files.exists(control)) {
+            return null;
+        }
+        ByteBuffer datos = ByteBuffer.wrap(Files.readAllBytes(control));
+        if (datos.remaining() < 32 + 4 * bloques || datos.getLong() != MAGICO || datos.getLong() != tamano
+                || datos.getLong() != modificado || datos.getLong() != tamanoBloque) {
+            return null;   // Otro archivo u otra configuración: se empieza de cero
+        }
+        if (!Files.isRegularFile(destino) || Files.size(destino) != tamano) {
+            return null;   // Destino borrado, truncado o reemplazado: sus bloques no sirven
+        }
+        int[] crcs = new int[bloques];
+        datos.asIntBuffer().get(crcs);
+        datos.position(datos.position() + 4 * bloques);
+        BitSet hechos = BitSet.valueOf(datos);
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.READ)) {
+            for (int b = hechos.nextSetBit(0); b >= 0; b = hechos.nextSetBit(b + 1)) {
+                if (b >= bloques) {
+                    return null;
+                }
+                long inicio = b * tamanoBloque;
+                if (crcBloque(canal, inicio, largoBloque(b, tamano)) != crcs[b]) {
+                    hechos.clear(b);
+                    crcs[b] = 0;
+                }
+            }
+        }
+        return new PuntoDeControl(control, tamano, modificado, hechos, crcs);
+    }
+
+    // ===== COPIA INGENUA (para comparar) =====
+
+    static long copiarConStreams(Path origen, Path destino) throws IOException {
+        try (InputStream in = Files.newInputStream(origen);
+             OutputStream out = Files.newOutputStream(destino)) {
+            byte[] bufer = new byte[8192];
+            long total = 0;
+            int n;
+            while ((n = in.read(bufer)) > 0) {
+                out.write(bufer, 0, n);
+                total += n;
+            }
+            return total;
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TRANSFERENCIA DE ARCHIVOS GRANDES ===\n");
+        Path carpeta = Files.createTempDirectory("transferencia");
+        try {
+            // 1. Copia con barra, interrupción a mitad y reanudación
+            System.out.println("1. COPIA, INTERRUPCIÓN Y REANUDACIÓN:");
+            Path origen = crearArchivo(carpeta.resolve("grande.zip"), 1000L << 20);
+            Path destino = carpeta.resolve("copia-grande.zip");
+            TransferenciaArchivos motor = new TransferenciaArchivos(32L << 20, 4);
+            try (ProgressMonitor monitor = new ProgressMonitor(System.out, 10)) {
+                ProgressMonitor.Barra barra = monitor.nuevaBarra(null, Files.size(origen), 1 << 20, "MB");
+                long corte = Files.size(origen) * 2 / 5;
+                Thread vigilante = new Thread(() -> {
+                    while (barra.getHecho() < corte && !Thread.interrupted()) {
+                        LockSupport.parkNanos(1_000_000);
+                    }
+                    motor.cancelar();   // Simula un corte al llegar al 40%
+                });
+                vigilante.start();
+                try {
+                    motor.copiar(origen, destino, barra);
+                } catch (CancellationException e) {
+                    vigilante.interrupt();
+                }
+            }
+            System.out.println("Interrumpida; punto de control: " + Files.exists(puntoDeControl(destino)));
+            // Se daña un byte del primer bloque (ya anotado): el CRC lo detecta y ese bloque se recopia
+            try (FileChannel danado = FileChannel.open(destino, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer uno = ByteBuffer.allocate(1);
+                danado.read(uno, 0);
+                uno.put(0, (byte) ~uno.get(0)).rewind();
+                danado.write(uno, 0);
+            }
+            long copiados;
+            try (ProgressMonitor monitor = new ProgressMonitor(System.out, 10)) {
+                ProgressMonitor.Barra barra = monitor.nuevaBarra(null, Files.size(origen), 1 << 20, "MB");
+                copiados = motor.copiar(origen, destino, barra);
+            }
+            System.out.printf("Reanudada: faltaban %d MB de %d MB%n", copiados >> 20, Files.size(origen) >> 20);
+            System.out.println(crc(origen) == crc(destino) && !Files.exists(puntoDeControl(destino))
+                               ? "✅ Copia idéntica al original"
+                               : "❌ La copia no coincide");
+            Files.delete(origen);
+            Files.delete(destino);
+        } finally {
+            try (var archivos = Files.list(carpeta)) {
+                for (Path p : (Iterable<Path>) archivos::iterator) {
+                    Files.deleteIfExists(p);
+                }
+            }
+            Files.deleteIfExists(carpeta);
+        }
+    }
+
+    static Path crearArchivo(Path archivo, long tamano) throws IOException {
+        ByteBuffer bloque = ByteBuffer.allocateDirect(1 << 20);
+        for (int i = 0; i < bloque.capacity(); i++) {
+            bloque.put(i, (byte) (i * 31 + (i >>> 10)));
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long escrito = 0;
+            while (escrito < tamano) {
+                bloque.clear();
+                bloque.putLong(0, escrito);   // Cada MB distinto, para que el CRC detecte desplazamientos
+                bloque.limit((int) Math.min(bloque.capacity(), tamano - escrito));
+                while (bloque.hasRemaining()) {
+                    escrito += canal.write(bloque);
+                }
+            }
+        }
+        return archivo;
+    }
+
+    private static long crc(Path archivo) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer bufer = ByteBuffer.allocateDirect(1 << 20);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            while (canal.read(bufer) > 0) {
+                bufer.flip();
+                crc.update(bufer);
+                bufer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+}
+
+/*
+TRANSFERENCIA DE ARCHIVOS GRANDES:
+
+1. COPIA SIN PASAR POR EL HEAP:
+   • InputStream/OutputStream: disco → byte[] de Java → disco
+   • FileChannel.transferFrom: el sistema operativo copia directamente
+
+2. BLOQUES EN PARALELO:
+   • El archivo se divide en bloques (por ejemplo, de 64 MB)
+   • Cada bloque usa sus propios canales de lectura y escritura
+   • Todos escriben en el mismo archivo, cada uno en su posición
+
+3. REANUDAR:
+   • Al terminar un bloque: force() y se anota en "destino.parte" con su CRC32C
+   • Si la copia se corta, la siguiente solo copia los bloques que faltan
+   • Si el origen cambió (tamaño o fecha) o el destino no tiene el largo esperado,
+     se empieza de cero; un bloque cuyo CRC no coincide se vuelve a copiar
+   • Cancelar usa una bandera, no interrupciones: interrumpir transferFrom cierra el canal
+
+4. PROGRESO:
+   • Los bloques suman bytes a una barra de ProgressMonitor
+   • Se muestra igual que simularProgreso(): "%3d%% (%d MB / %d MB)"
+*/
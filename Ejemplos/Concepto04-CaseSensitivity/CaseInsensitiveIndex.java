@@ -0,0 +1,353 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * CONCEPTO 4: CASE SENSITIVITY
+ *
+ * Ejemplo: Índice de nombres de usuario que distingue o ignora mayúsculas
+ * Demuestra cómo buscar "usuario", "Usuario" y "USUARIO" sin crear copias
+ * con toLowerCase(): la tabla calcula el hash y compara las claves
+ * normalizando cada carácter al vuelo, y guarda la escritura original para
+ * poder hacer también búsquedas exactas sobre los mismos datos
+ * (rendimiento medido con JMH en benchmarks/: MayusculasBenchmark)
+ */
+public final class CaseInsensitiveIndex<V> {
+
+    /** Qué hacer cuando llega una clave que solo difiere en mayúsculas de otra ya registrada. */
+    public enum Politica {
+        DISTINGUIR,   // usuario, Usuario y USUARIO son tres entradas distintas
+        FUSIONAR      // son la misma entrada: se conserva la primera escritura
+    }
+
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    private final Politica politica;
+
+    // Tabla de direccionamiento abierto (sondeo lineal). Todas las variantes
+    // de una clave tienen el mismo hash, así que quedan en la misma cadena
+    private String[] claves;
+    private Object[] valores;
+    private int[] hashes;
+    private int mascara;
+    private int umbral;
+    private int tamano;
+
+    public CaseInsensitiveIndex(Politica politica) {
+        this(politica, CAPACIDAD_MINIMA);
+    }
+
+    /** Reserva espacio para {@code esperadas} claves sin redimensionar. */
+    public CaseInsensitiveIndex(Politica politica, int esperadas) {
+        if (esperadas < 0) {
+            throw new IllegalArgumentException("Cantidad esperada negativa: " + esperadas);
+        }
+        this.politica = politica;
+        int capacidad = CAPACIDAD_MINIMA;
+        while (capacidad - (capacidad >>> 2) < esperadas) {   // Carga máxima 3/4
+            capacidad <<= 1;
+        }
+        reservar(capacidad);
+    }
+
+    // ===== ESCRITURA =====
+
+    /**
+     * Registra {@code clave}. Con DISTINGUIR solo reemplaza la entrada escrita
+     * exactamente igual; con FUSIONAR reemplaza cualquier variante y mantiene
+     * la escritura que se registró primero.
+     *
+     * @return el valor anterior, o null si la clave era nueva
+     */
+    public V poner(String clave, V valor) {
+        int h = hash(clave);
+        int i = h & mascara;
+        for (String k; (k = claves[i]) != null; i = (i + 1) & mascara) {
+            if (hashes[i] == h && (politica == Politica.FUSIONAR ? igualesIgnorando(k, clave) : k.equals(clave))) {
+                @SuppressWarnings("unchecked")
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        hashes[i] = h;
+        if (++tamano > umbral) {
+            reservar(claves.length << 1);
+        }
+        return null;
+    }
+
+    /** Quita la entrada escrita exactamente como {@code clave}. */
+    public V quitar(CharSequence clave) {
+        int i = buscarExacta(clave);
+        if (i < 0) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        V anterior = (V) valores[i];
+        // Desplazamiento hacia atrás: sin lápidas, y las variantes conservan su orden
+        for (int j = (i + 1) & mascara; claves[j] != null; j = (j + 1) & mascara) {
+            int ideal = hashes[j] & mascara;
+            if (((j - ideal) & mascara) >= ((j - i) & mascara)) {
+                claves[i] = claves[j];
+                valores[i] = valores[j];
+                hashes[i] = hashes[j];
+                i = j;
+            }
+        }
+        claves[i] = null;
+        valores[i] = null;
+        tamano--;
+        return anterior;
+    }
+
+    // ===== LECTURA (ninguna crea objetos) =====
+
+    /** Búsqueda exacta: "Usuario" no encuentra "usuario". */
+    @SuppressWarnings("unchecked")
+    public V obtener(CharSequence clave) {
+        int i = buscarExacta(clave);
+        return i < 0 ? null : (V) valores[i];
+    }
+
+    /** Búsqueda ignorando mayúsculas: devuelve la primera variante registrada. */
+    @SuppressWarnings("unchecked")
+    public V obtenerIgnorandoMayusculas(CharSequence clave) {
+        int i = buscarIgnorando(clave);
+        return i < 0 ? null : (V) valores[i];
+    }
+
+    /** La escritura con la que se registró la clave ("USUARIO" → "usuario"), o null. */
+    public String claveRegistrada(CharSequence clave) {
+        int i = buscarIgnorando(clave);
+        return i < 0 ? null : claves[i];
+    }
+
+    /** Cuántas entradas coinciden con {@code clave} ignorando mayúsculas (más de 1 = ambigua). */
+    public int variantes(CharSequence clave) {
+        int h = hash(clave);
+        int cuenta = 0;
+        for (int i = h & mascara; claves[i] != null; i = (i + 1) & mascara) {
+            if (hashes[i] == h && igualesIgnorando(claves[i], clave)) {
+                cuenta++;
+            }
+        }
+        return cuenta;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public Politica getPolitica() {
+        return politica;
+    }
+
+    private int buscarExacta(CharSequence clave) {
+        int h = hash(clave);
+        for (int i = h & mascara; claves[i] != null; i = (i + 1) & mascara) {
+            if (hashes[i] == h && claves[i].contentEquals(clave)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int buscarIgnorando(CharSequence clave) {
+        int h = hash(clave);
+        for (int i = h & mascara; claves[i] != null; i = (i + 1) & mascara) {
+            if (hashes[i] == h && igualesIgnorando(claves[i], clave)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void reservar(int capacidad) {
+        String[] viejasClaves = claves;
+        Object[] viejosValores = valores;
+        int[] viejosHashes = hashes;
+        claves = new String[capacidad];
+        valores = new Object[capacidad];
+        hashes = new int[capacidad];
+        mascara = capacidad - 1;
+        umbral = capacidad - (capacidad >>> 2);
+        if (viejasClaves == null) {
+            return;
+        }
+        // El orden de recorrido mantiene juntas (y en orden) las variantes de cada clave
+        int inicio = 0;
+        while (viejasClaves[inicio] != null) {   // Empezar justo después de un hueco
+            inicio++;
+        }
+        for (int n = 0, j = inicio; n < viejasClaves.length; n++, j = (j + 1) & (viejasClaves.length - 1)) {
+            if (viejasClaves[j] != null) {
+                int i = viejosHashes[j] & mascara;
+                while (claves[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = viejasClaves[j];
+                valores[i] = viejosValores[j];
+                hashes[i] = viejosHashes[j];
+            }
+        }
+    }
+
+    // ===== NORMALIZACIÓN AL VUELO =====
+
+    /**
+     * Forma normalizada de un carácter, la misma equivalencia que
+     * equalsIgnoreCase: mayúscula y luego minúscula (así 'K' de Kelvin,
+     * 'K' y 'k' caen juntas). ASCII se resuelve sin llamar a Character.
+     */
+    static int plegar(int cp) {
+        if (cp < 0x80) {
+            return cp - 'A' < 26 && cp >= 'A' ? cp | 0x20 : cp;
+        }
+        return Character.toLowerCase(Character.toUpperCase(cp));
+    }
+
+    /** Hash de la forma normalizada, recorriendo la clave por puntos de código. */
+    static int hash(CharSequence s) {
+        int h = 0;
+        int n = s.length();
+        for (int i = 0; i < n; ) {
+            char c = s.charAt(i++);
+            int cp = c;
+            if (Character.isHighSurrogate(c) && i < n && Character.isLowSurrogate(s.charAt(i))) {
+                cp = Character.toCodePoint(c, s.charAt(i++));
+            }
+            h = 31 * h + plegar(cp);
+        }
+        // Mezcla final: los bits bajos deciden la casilla
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /** Compara normalizando carácter a carácter; no crea ningún String. */
+    static boolean igualesIgnorando(String a, CharSequence b) {
+        int na = a.length();
+        int nb = b.length();
+        int i = 0;
+        int j = 0;
+        while (i < na && j < nb) {
+            char ca = a.charAt(i++);
+            char cb = b.charAt(j++);
+            if (ca == cb && ca < 0xD800) {
+                continue;   // Camino más común: mismo carácter BMP
+            }
+            int pa = ca;
+            int pb = cb;
+            if (Character.isHighSurrogate(ca) && i < na && Character.isLowSurrogate(a.charAt(i))) {
+                pa = Character.toCodePoint(ca, a.charAt(i++));
+            }
+            if (Character.isHighSurrogate(cb) && j < nb && Character.isLowSurrogate(b.charAt(j))) {
+                pb = Character.toCodePoint(cb, b.charAt(j++));
+            }
+            if (pa != pb && plegar(pa) != plegar(pb)) {
+                return false;
+            }
+        }
+        return i == na && j == nb;
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) {
+        System.out.println("=== ÍNDICE DE USUARIOS SIN toLowerCase() ===");
+
+        // 1. Las dos políticas con usuario / Usuario / USUARIO
+        System.out.println("\n1. POLÍTICAS:");
+        CaseInsensitiveIndex<String> distinguir = new CaseInsensitiveIndex<>(Politica.DISTINGUIR);
+        distinguir.poner("usuario", "admin");
+        distinguir.poner("Usuario", "guest");
+        distinguir.poner("USUARIO", "root");
+        System.out.println("DISTINGUIR → " + distinguir.tamano() + " entradas");
+        System.out.println("  obtener(\"Usuario\") = " + distinguir.obtener("Usuario"));
+        System.out.println("  obtener(\"uSuArIo\") = " + distinguir.obtener("uSuArIo"));
+        System.out.println("  obtenerIgnorandoMayusculas(\"uSuArIo\") = " + distinguir.obtenerIgnorandoMayusculas("uSuArIo")
+                           + " (primera registrada)");
+        System.out.println("  variantes(\"usuario\") = " + distinguir.variantes("usuario") + " ❌ nombre ambiguo");
+
+        CaseInsensitiveIndex<String> fusionar = new CaseInsensitiveIndex<>(Politica.FUSIONAR);
+        fusionar.poner("usuario", "admin");
+        fusionar.poner("Usuario", "guest");
+        fusionar.poner("USUARIO", "root");
+        System.out.println("FUSIONAR → " + fusionar.tamano() + " entrada: "
+                           + fusionar.claveRegistrada("USUARIO") + " = " + fusionar.obtenerIgnorandoMayusculas("Usuario")
+                           + " ✅ el último valor, la primera escritura");
+
+        // 2. Comparación con equalsIgnoreCase y TreeMap(CASE_INSENSITIVE_ORDER)
+        System.out.println("\n2. COMPARACIÓN ALEATORIA:");
+        System.out.println(compararConJdk(200_000) ? "✅ Mismas entradas y respuestas que TreeMap(CASE_INSENSITIVE_ORDER)"
+                                                   : "❌ Diferencias con el JDK");
+    }
+
+    private static boolean compararConJdk(int operaciones) {
+        // Alfabeto con los casos difíciles: ß, ÿ/Ÿ, µ, Kelvin, İ/ı turcas, griego, Deseret (fuera del BMP)
+        String[] piezas = {"a", "A", "z", "Z", "ñ", "Ñ", "ß", "ÿ", "Ÿ", "µ", "K", "k", "K", "İ", "ı", "i", "I",
+                           "σ", "ς", "Σ", "𐐀", "𐐨", "1", "_"};
+        SplittableRandom rnd = new SplittableRandom(17);
+        CaseInsensitiveIndex<Integer> indice = new CaseInsensitiveIndex<>(Politica.FUSIONAR);
+        CaseInsensitiveIndex<Integer> exacto = new CaseInsensitiveIndex<>(Politica.DISTINGUIR);
+        TreeMap<String, Integer> arbol = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        HashMap<String, Integer> mapa = new HashMap<>();
+        StringBuilder sb = new StringBuilder();
+        for (int op = 0; op < operaciones; op++) {
+            sb.setLength(0);
+            for (int largo = 1 + rnd.nextInt(3); largo > 0; largo--) {
+                sb.append(piezas[rnd.nextInt(piezas.length)]);
+            }
+            String clave = sb.toString();
+            switch (rnd.nextInt(3)) {
+                case 0:
+                    if (!java.util.Objects.equals(indice.poner(clave, op), arbol.put(clave, op))
+                        || !java.util.Objects.equals(exacto.poner(clave, op), mapa.put(clave, op))) {
+                        return false;
+                    }
+                    break;
+                case 1:
+                    if (!java.util.Objects.equals(exacto.quitar(clave), mapa.remove(clave))) {
+                        return false;
+                    }
+                    break;
+                default:
+                    Map.Entry<String, Integer> e = arbol.ceilingEntry(clave);
+                    boolean enArbol = e != null && e.getKey().equalsIgnoreCase(clave);
+                    if (!java.util.Objects.equals(indice.obtenerIgnorandoMayusculas(sb), enArbol ? e.getValue() : null)
+                        || !java.util.Objects.equals(exacto.obtener(sb), mapa.get(clave))) {
+                        return false;
+                    }
+            }
+        }
+        return indice.tamano() == arbol.size() && exacto.tamano() == mapa.size();
+    }
+}
+
+/*
+BUSCAR IGNORANDO MAYÚSCULAS SIN COPIAR:
+
+1. EL PROBLEMA:
+   - a.toLowerCase().equals(b.toLowerCase()) crea hasta dos String por comparación
+   - En un login con miles de intentos por segundo, eso es basura constante
+   - equalsIgnoreCase() no crea objetos, pero no sirve para buscar en un HashMap
+
+2. LA IDEA:
+   - hash() y la comparación normalizan cada carácter al vuelo (mayúscula → minúscula)
+   - Todas las variantes de "usuario" tienen el mismo hash y caen juntas
+   - Se guarda la escritura original: búsqueda exacta e ignorando mayúsculas en la misma tabla
+
+3. POLÍTICAS:
+   - DISTINGUIR: usuario, Usuario y USUARIO son cuentas distintas (variantes() detecta ambigüedad)
+   - FUSIONAR: son la misma cuenta; se conserva la primera escritura
+
+4. DETALLES:
+   - Misma equivalencia que equalsIgnoreCase() y CASE_INSENSITIVE_ORDER
+   - Sondeo lineal con borrado por desplazamiento (sin lápidas)
+   - Se puede buscar con cualquier CharSequence (StringBuilder, CharBuffer...)
+*/
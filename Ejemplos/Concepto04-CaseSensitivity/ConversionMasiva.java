@@ -0,0 +1,285 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * CONCEPTO 4: CASE SENSITIVITY
+ *
+ * Ejemplo: Convertir mayúsculas/minúsculas en bloque
+ * Demuestra las tres conversiones de MetodosCaseSensitive (convertir,
+ * Convertir y CONVERTIR) aplicadas a buffers completos: en bytes Latin-1
+ * se procesan 8 letras ASCII a la vez dentro de un long, en char[] se usa
+ * una tabla para los primeros 256 caracteres y Character para el resto
+ * (rendimiento medido con JMH en benchmarks/: MayusculasBenchmark)
+ */
+public final class ConversionMasiva {
+
+    public enum Modo { MINUSCULAS, MAYUSCULAS, ALTERNADO }
+
+    private static final VarHandle LARGO = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ALTOS = 0x8080808080808080L;
+    private static final long PARES = 0x0080008000800080L;   // Bytes 0, 2, 4 y 6 del long
+
+    // Tablas Latin-1: lo que no existe en Latin-1 (µ → Μ, ÿ → Ÿ) queda igual
+    private static final byte[] MIN_LATIN1 = new byte[256];
+    private static final byte[] MAY_LATIN1 = new byte[256];
+    // Tablas para char: los 256 primeros caracteres con su conversión completa
+    private static final char[] MIN_CHAR = new char[256];
+    private static final char[] MAY_CHAR = new char[256];
+
+    static {
+        for (int c = 0; c < 256; c++) {
+            int min = Character.toLowerCase(c);
+            int may = Character.toUpperCase(c);
+            MIN_LATIN1[c] = (byte) (min < 256 ? min : c);
+            MAY_LATIN1[c] = (byte) (may < 256 ? may : c);
+            MIN_CHAR[c] = (char) min;
+            MAY_CHAR[c] = (char) may;
+        }
+    }
+
+    private ConversionMasiva() {
+        // Solo métodos static
+    }
+
+    // ===== BYTES LATIN-1 (también sirve para ASCII) =====
+
+    /**
+     * Convierte {@code src[desde..hasta)} en {@code dst} desde {@code pos}
+     * (puede ser el mismo arreglo: conversión en el lugar).
+     *
+     * @param indice posición del primer byte dentro del texto completo
+     *               (solo importa en ALTERNADO: pares en mayúscula)
+     */
+    public static void convertir(Modo modo, byte[] src, int desde, int hasta, byte[] dst, int pos, long indice) {
+        int i = desde;
+        // Palabra a palabra: 8 bytes por vuelta mientras todos sean ASCII
+        for (; i + 8 <= hasta; i += 8, pos += 8) {
+            long w = (long) LARGO.get(src, i);
+            if ((w & ALTOS) != 0) {
+                convertirUnoAUno(modo, src, i, i + 8, dst, pos, indice + (i - desde));
+                continue;
+            }
+            long mayus = (w + 0x3F3F3F3F3F3F3F3FL) & ~(w + 0x2525252525252525L) & ALTOS;   // 'A'..'Z'
+            long minus = (w + 0x1F1F1F1F1F1F1F1FL) & ~(w + 0x0505050505050505L) & ALTOS;   // 'a'..'z'
+            long cambiar;
+            switch (modo) {
+                case MINUSCULAS: cambiar = mayus; break;
+                case MAYUSCULAS: cambiar = minus; break;
+                default:
+                    long pares = ((indice + (i - desde)) & 1) == 0 ? PARES : PARES << 8;
+                    cambiar = (minus & pares) | (mayus & ~pares);
+            }
+            LARGO.set(dst, pos, w ^ (cambiar >>> 2));   // 0x80 >>> 2 = 0x20: la diferencia entre 'A' y 'a'
+        }
+        convertirUnoAUno(modo, src, i, hasta, dst, pos, indice + (i - desde));
+    }
+
+    private static void convertirUnoAUno(Modo modo, byte[] src, int desde, int hasta, byte[] dst, int pos, long indice) {
+        for (int i = desde; i < hasta; i++, pos++, indice++) {
+            int b = src[i] & 0xFF;
+            boolean mayuscula = modo == Modo.MAYUSCULAS || (modo == Modo.ALTERNADO && (indice & 1) == 0);
+            dst[pos] = mayuscula ? MAY_LATIN1[b] : MIN_LATIN1[b];
+        }
+    }
+
+    // ===== CHAR[] (Unicode completo) =====
+
+    /**
+     * Convierte caracteres UTF-16 conservando la longitud (mapeo simple de
+     * Unicode, igual que Character.toLowerCase/toUpperCase). MINUSCULAS y
+     * MAYUSCULAS tratan los pares sustitutos como un solo carácter; ALTERNADO
+     * cuenta posiciones de char, como CONVERTIR().
+     */
+    public static void convertir(Modo modo, char[] src, int desde, int hasta, char[] dst, int pos, long indice) {
+        if (modo == Modo.ALTERNADO) {
+            for (int i = desde; i < hasta; i++, pos++) {
+                char c = src[i];
+                boolean mayuscula = ((indice + (i - desde)) & 1) == 0;
+                if (c < 256) {
+                    dst[pos] = mayuscula ? MAY_CHAR[c] : MIN_CHAR[c];
+                } else {
+                    dst[pos] = mayuscula ? Character.toUpperCase(c) : Character.toLowerCase(c);
+                }
+            }
+            return;
+        }
+        boolean minusculas = modo == Modo.MINUSCULAS;
+        char[] tabla = minusculas ? MIN_CHAR : MAY_CHAR;
+        for (int i = desde; i < hasta; i++, pos++) {
+            char c = src[i];
+            if (c < 256) {
+                dst[pos] = tabla[c];   // Camino rápido: ASCII y Latin-1
+            } else if (Character.isHighSurrogate(c) && i + 1 < hasta && Character.isLowSurrogate(src[i + 1])) {
+                int cp = Character.toCodePoint(c, src[i + 1]);
+                int conv = minusculas ? Character.toLowerCase(cp) : Character.toUpperCase(cp);
+                if (Character.charCount(conv) != 2) {
+                    conv = cp;   // Nunca cambia la longitud
+                }
+                dst[pos] = Character.highSurrogate(conv);
+                dst[++pos] = Character.lowSurrogate(conv);
+                i++;
+            } else {
+                dst[pos] = minusculas ? Character.toLowerCase(c) : Character.toUpperCase(c);
+            }
+        }
+    }
+
+    /** Versión de String: una sola copia del texto, convertida en el lugar. */
+    public static String convertir(Modo modo, String texto) {
+        char[] c = texto.toCharArray();
+        convertir(modo, c, 0, c.length, c, 0, 0);
+        return new String(c);
+    }
+
+    // ===== FLUJOS (archivos de cualquier tamaño) =====
+
+    /** Bytes Latin-1/ASCII: buffer fijo de 64 KB convertido en el lugar. */
+    public static long convertir(Modo modo, InputStream in, OutputStream out) throws IOException {
+        byte[] bufer = new byte[64 * 1024];
+        long indice = 0;
+        int n;
+        while ((n = in.read(bufer)) > 0) {
+            convertir(modo, bufer, 0, n, bufer, 0, indice);
+            out.write(bufer, 0, n);
+            indice += n;
+        }
+        return indice;
+    }
+
+    /** Texto en cualquier codificación; un par sustituto nunca se corta entre dos lecturas. */
+    public static long convertir(Modo modo, Reader in, Writer out) throws IOException {
+        char[] bufer = new char[64 * 1024];
+        long indice = 0;
+        int guardados = 0;
+        int n;
+        while ((n = in.read(bufer, guardados, bufer.length - guardados)) > 0 || guardados > 0) {
+            int total = guardados + Math.max(0, n);
+            // Si el bloque termina en la mitad de un par sustituto, esa mitad espera a la siguiente lectura
+            int listos = n > 0 && Character.isHighSurrogate(bufer[total - 1]) ? total - 1 : total;
+            convertir(modo, bufer, 0, listos, bufer, 0, indice);
+            out.write(bufer, 0, listos);
+            indice += listos;
+            guardados = total - listos;
+            if (guardados > 0) {
+                bufer[0] = bufer[listos];
+            }
+            if (n <= 0) {
+                break;
+            }
+        }
+        return indice;
+    }
+
+    /** Convierte un archivo; Latin-1 y ASCII van por el camino de bytes. */
+    public static long convertirArchivo(Modo modo, Path entrada, Path salida, Charset charset) throws IOException {
+        if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+            try (InputStream in = Files.newInputStream(entrada); OutputStream out = Files.newOutputStream(salida)) {
+                return convertir(modo, in, out);
+            }
+        }
+        try (Reader in = Files.newBufferedReader(entrada, charset); Writer out = Files.newBufferedWriter(salida, charset)) {
+            return convertir(modo, in, out);
+        }
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== CONVERSIÓN MASIVA DE MAYÚSCULAS/MINÚSCULAS ===\n");
+
+        // 1. Igual que los métodos de MetodosCaseSensitive
+        System.out.println("1. MISMOS RESULTADOS QUE convertir / Convertir / CONVERTIR:");
+        String texto = "Hola Mundo";
+        System.out.println("MINUSCULAS: " + convertir(Modo.MINUSCULAS, texto));
+        System.out.println("MAYUSCULAS: " + convertir(Modo.MAYUSCULAS, texto));
+        System.out.println("ALTERNADO:  " + convertir(Modo.ALTERNADO, texto));
+
+        // 2. Comparación aleatoria contra Character, carácter por carácter
+        System.out.println("\n2. COMPARACIÓN ALEATORIA:");
+        SplittableRandom azar = new SplittableRandom(2024);
+        int fallos = 0;
+        for (int caso = 0; caso < 20_000; caso++) {
+            int largo = azar.nextInt(0, 64);
+            byte[] latin1 = new byte[largo];
+            char[] chars = new char[largo];
+            for (int k = 0; k < largo; k++) {
+                latin1[k] = (byte) (azar.nextBoolean() ? 'A' + azar.nextInt(58) : azar.nextInt(256));
+                chars[k] = (char) (azar.nextInt(4) == 0 ? azar.nextInt(0x0370, 0x0530) : latin1[k] & 0xFF);
+            }
+            long indice = azar.nextInt(4);
+            for (Modo modo : Modo.values()) {
+                byte[] b = new byte[largo];
+                convertir(modo, latin1, 0, largo, b, 0, indice);
+                char[] c = new char[largo];
+                convertir(modo, chars, 0, largo, c, 0, indice);
+                for (int k = 0; k < largo; k++) {
+                    boolean mayus = modo == Modo.MAYUSCULAS || (modo == Modo.ALTERNADO && ((indice + k) & 1) == 0);
+                    int original = latin1[k] & 0xFF;
+                    int esperado = mayus ? Character.toUpperCase(original) : Character.toLowerCase(original);
+                    if ((b[k] & 0xFF) != (esperado < 256 ? esperado : original)) fallos++;
+                    char esperadoChar = mayus ? Character.toUpperCase(chars[k]) : Character.toLowerCase(chars[k]);
+                    if (c[k] != esperadoChar) fallos++;
+                }
+            }
+        }
+        String conSustitutos = "𐐀𐐁 Deseret";   // Letras fuera del plano básico
+        fallos += convertir(Modo.MINUSCULAS, conSustitutos).equals(conSustitutos.toLowerCase()) ? 0 : 1;
+        System.out.println(fallos == 0 ? "✅ 20000 textos × 3 modos idénticos a Character" : "❌ " + fallos + " diferencias");
+
+        // Flujos: archivo UTF-8 (camino Reader/Writer) y Latin-1 (camino de bytes)
+        Path entrada = Files.createTempFile("conversion", ".txt");
+        Path salida = Files.createTempFile("conversion-salida", ".txt");
+        try {
+            String contenido = repetirTexto("Árbol 𐐀 Ñandú straße Κόσμε\n", 20_000);
+            boolean iguales = true;
+            for (Charset cs : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1}) {
+                String representable = new String(contenido.getBytes(cs), cs);
+                Files.writeString(entrada, representable, cs);
+                convertirArchivo(Modo.ALTERNADO, entrada, salida, cs);
+                iguales &= Files.readString(salida, cs).equals(convertir(Modo.ALTERNADO, representable));
+            }
+            System.out.println(iguales ? "✅ Archivos UTF-8 y Latin-1 convertidos por flujo igual que en memoria"
+                                       : "❌ El flujo no coincide");
+        } finally {
+            Files.deleteIfExists(entrada);
+            Files.deleteIfExists(salida);
+        }
+    }
+
+    private static String repetirTexto(String patron, int veces) {
+        return patron.repeat(veces);
+    }
+}
+
+/*
+CONVERSIÓN MASIVA:
+
+1. 8 LETRAS ASCII A LA VEZ (bytes):
+   • Se leen 8 bytes como un long
+   • Sumando constantes, el bit alto de cada byte indica si es 'A'..'Z' o 'a'..'z'
+   • Un solo XOR con 0x20 cambia todas las letras marcadas
+   • Si algún byte no es ASCII, esos 8 se convierten con una tabla Latin-1
+
+2. CHAR[] CON UNICODE:
+   • Tabla para los 256 primeros caracteres
+   • Character.toLowerCase/toUpperCase para el resto
+   • Los pares sustitutos se convierten como un solo carácter
+
+3. SIN OBJETOS:
+   • Se escribe en el lugar o en un buffer que entrega quien llama
+   • Los flujos reutilizan un buffer de 64 KB
+
+4. LO QUE NO CAMBIA LA LONGITUD:
+   • ß → "SS" o 'İ' → "i̇" cambian la longitud: para eso, String.toUpperCase()
+*/
@@ -80,6 +80,19 @@ public class ErroresComunesCaseSensitive {
         System.out.println("\nNormalizar antes de comparar:");
         System.out.println("\"Hola\".toLowerCase().equals(\"hola\".toLowerCase()) = " + 
                           input1.toLowerCase().equals(input2.toLowerCase()));  // true
+        System.out.println("→ Ojo: cada toLowerCase() crea un String nuevo");
+
+        // Para buscar muchos nombres (por ejemplo en un login), un índice
+        // que ignora mayúsculas sin copiar las claves (ver CaseInsensitiveIndex)
+        CaseInsensitiveIndex<String> usuarios = new CaseInsensitiveIndex<>(CaseInsensitiveIndex.Politica.DISTINGUIR);
+        usuarios.poner("usuario", usuario);
+        usuarios.poner("Usuario", Usuario);
+        usuarios.poner("USUARIO", USUARIO);
+        System.out.println("\nBuscar en un índice sin crear copias:");
+        System.out.println("obtener(\"Usuario\") = " + usuarios.obtener("Usuario"));  // guest
+        System.out.println("obtenerIgnorandoMayusculas(\"uSuArIo\") = " +
+                          usuarios.obtenerIgnorandoMayusculas("uSuArIo"));  // admin
+        System.out.println("variantes(\"usuario\") = " + usuarios.variantes("usuario"));  // 3
     }
     
     public static void demostrarConfusionDeVariables() {
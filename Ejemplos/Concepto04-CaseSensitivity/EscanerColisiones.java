@@ -0,0 +1,1264 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CONCEPTO 4: CASE SENSITIVITY
+ *
+ * Ejemplo: Detector de identificadores que solo difieren en mayúsculas
+ * Demuestra cómo prohibir en todo un repositorio lo que muestran
+ * VariablesCaseSensitive (edad/Edad/EDAD), MetodosCaseSensitive
+ * (sumar/Sumar/SUMAR) y ErroresComunesCaseSensitive (contador/ContaDor):
+ * recorre el árbol en paralelo, lee los .java con un analizador léxico
+ * escrito a mano y agrupa las declaraciones por su forma normalizada dentro
+ * de cada ámbito (archivo, clase, método). Con caché solo vuelve a analizar
+ * los archivos que cambiaron
+ */
+public final class EscanerColisiones {
+
+    // Archivos desde este tamaño se mapean en memoria; los pequeños se copian
+    // a un buffer reutilizado (mapear cuesta más que copiar unos pocos KB, y
+    // cada mapeo vive hasta que el GC lo libera: con cientos de miles de
+    // archivos se agotaría el límite de mapeos del sistema)
+    private static final int UMBRAL_MAPEO = 64 * 1024;
+    private static final int ARCHIVOS_POR_TAREA = 32;
+
+    private static final int MAGIA_CACHE = 0x43434F4C;   // "CCOL"
+    private static final int VERSION_CACHE = 1;
+    // Un archivo modificado hace menos de esto puede volver a cambiar sin que
+    // cambie su fecha (resolución del sistema de archivos): se verifica por resumen
+    private static final long MARGEN_FECHA_MS = 2_000;
+
+    private final ForkJoinPool pool;
+
+    public EscanerColisiones(int hilos) {
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("Cantidad de hilos inválida: " + hilos);
+        }
+        this.pool = new ForkJoinPool(hilos);
+    }
+
+    // ===== RESULTADOS =====
+
+    /** Un grupo de identificadores que solo difieren en mayúsculas dentro de un ámbito. */
+    public static final class Colision implements Comparable<Colision> {
+        private final String ruta;
+        private final int linea;
+        private final String ambito;
+        private final String nombres;
+
+        Colision(String ruta, int linea, String ambito, String nombres) {
+            this.ruta = ruta;
+            this.linea = linea;
+            this.ambito = ambito;
+            this.nombres = nombres;
+        }
+
+        public String getRuta() {
+            return ruta;
+        }
+
+        public int getLinea() {
+            return linea;
+        }
+
+        public String getAmbito() {
+            return ambito;
+        }
+
+        public String getNombres() {
+            return nombres;
+        }
+
+        @Override
+        public int compareTo(Colision otra) {
+            int c = ruta.compareTo(otra.ruta);
+            return c != 0 ? c : Integer.compare(linea, otra.linea);
+        }
+
+        @Override
+        public String toString() {
+            return ruta + ":" + linea + ": [" + ambito + "] " + nombres;
+        }
+    }
+
+    /** Resultado de un escaneo completo o incremental. */
+    public static final class Informe {
+        private final List<Colision> colisiones;
+        private final List<String> errores;
+        private final int archivos;
+        private final int analizados;
+        private final int tocados;
+        private final long nanos;
+
+        Informe(List<Colision> colisiones, List<String> errores, int archivos, int analizados, int tocados, long nanos) {
+            this.colisiones = colisiones;
+            this.errores = errores;
+            this.archivos = archivos;
+            this.analizados = analizados;
+            this.tocados = tocados;
+            this.nanos = nanos;
+        }
+
+        public List<Colision> getColisiones() {
+            return colisiones;
+        }
+
+        public List<String> getErrores() {
+            return errores;
+        }
+
+        /** Archivos .java encontrados. */
+        public int getArchivos() {
+            return archivos;
+        }
+
+        /** Archivos que se leyeron y analizaron de nuevo. */
+        public int getAnalizados() {
+            return analizados;
+        }
+
+        /** Archivos con fecha nueva pero el mismo contenido (resumen igual al de la caché). */
+        public int getTocados() {
+            return tocados;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    // Lo que se guarda en caché por archivo
+    private static final class ResultadoArchivo {
+        final String ruta;
+        final long tamano;
+        final long modificado;
+        final byte[] resumen;
+        final List<Colision> colisiones;
+
+        ResultadoArchivo(String ruta, long tamano, long modificado, byte[] resumen, List<Colision> colisiones) {
+            this.ruta = ruta;
+            this.tamano = tamano;
+            this.modificado = modificado;
+            this.resumen = resumen;
+            this.colisiones = colisiones;
+        }
+    }
+
+    // ===== ESCANEO =====
+
+    /** Escanea todo el árbol sin caché. */
+    public Informe escanear(Path raiz) throws IOException {
+        return escanear(raiz, null);
+    }
+
+    /**
+     * Escanea el árbol. Si {@code cache} no es null se usa para saltar los
+     * archivos sin cambios (mismo tamaño y fecha, o mismo resumen SHA-256) y
+     * al terminar se reescribe con el estado actual.
+     */
+    public Informe escanear(Path raiz, Path cache) throws IOException {
+        long inicio = System.nanoTime();
+        long inicioReloj = System.currentTimeMillis();
+        Escaneo escaneo = new Escaneo(raiz, cache == null ? null : leerCache(cache), cache != null);
+        pool.invoke(escaneo.new Directorio(raiz));
+
+        List<Colision> todas = new ArrayList<>(escaneo.colisionesDirectorio);
+        List<ResultadoArchivo> resultados = new ArrayList<>(escaneo.resultados.values());
+        for (ResultadoArchivo r : resultados) {
+            todas.addAll(r.colisiones);
+        }
+        Collections.sort(todas);
+        List<String> errores = new ArrayList<>(escaneo.errores);
+        Collections.sort(errores);
+        if (cache != null) {
+            escribirCache(cache, resultados, inicioReloj - MARGEN_FECHA_MS);
+        }
+        return new Informe(todas, errores, resultados.size(), escaneo.analizados.intValue(),
+                           escaneo.tocados.intValue(), System.nanoTime() - inicio);
+    }
+
+    /** Estado compartido de un escaneo; las tareas lo llenan en paralelo. */
+    private final class Escaneo {
+        final Path raiz;
+        final Map<String, ResultadoArchivo> anterior;
+        final boolean conResumen;
+        final Map<String, ResultadoArchivo> resultados = new ConcurrentHashMap<>();
+        final ConcurrentLinkedQueue<Colision> colisionesDirectorio = new ConcurrentLinkedQueue<>();
+        final ConcurrentLinkedQueue<String> errores = new ConcurrentLinkedQueue<>();
+        final LongAdder analizados = new LongAdder();
+        final LongAdder tocados = new LongAdder();
+
+        Escaneo(Path raiz, Map<String, ResultadoArchivo> anterior, boolean conResumen) {
+            this.raiz = raiz;
+            this.anterior = anterior;
+            this.conResumen = conResumen;
+        }
+
+        /** Lista un directorio: cada subdirectorio es otra tarea, los archivos van en lotes. */
+        final class Directorio extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final Path dir;
+
+            Directorio(Path dir) {
+                this.dir = dir;
+            }
+
+            @Override
+            protected void compute() {
+                List<RecursiveAction> tareas = new ArrayList<>();
+                List<Path> archivos = new ArrayList<>();
+                List<BasicFileAttributes> atributos = new ArrayList<>();
+                // Nombres que chocan en un sistema de archivos que ignora mayúsculas (Windows, macOS)
+                Ambito nombres = new Ambito(Ambito.DIRECTORIO, "directorio");
+                try (DirectoryStream<Path> entradas = Files.newDirectoryStream(dir)) {
+                    for (Path p : entradas) {
+                        BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        String nombre = p.getFileName().toString();
+                        nombres.declarar(nombre, 0);
+                        if (a.isDirectory()) {
+                            tareas.add(new Directorio(p));
+                        } else if (a.isRegularFile() && nombre.endsWith(".java")) {
+                            archivos.add(p);
+                            atributos.add(a);
+                        }
+                    }
+                } catch (IOException e) {
+                    errores.add(relativa(dir) + ": " + e);
+                    return;
+                }
+                String rutaDir = dir.equals(raiz) ? "." : relativa(dir);
+                nombres.cerrar(rutaDir, colisionesDirectorio);
+                if (!archivos.isEmpty()) {
+                    tareas.add(new Lote(archivos, atributos, 0, archivos.size()));
+                }
+                invokeAll(tareas);
+            }
+        }
+
+        final class Lote extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final List<Path> archivos;
+            private final List<BasicFileAttributes> atributos;
+            private final int desde;
+            private final int hasta;
+
+            Lote(List<Path> archivos, List<BasicFileAttributes> atributos, int desde, int hasta) {
+                this.archivos = archivos;
+                this.atributos = atributos;
+                this.desde = desde;
+                this.hasta = hasta;
+            }
+
+            @Override
+            protected void compute() {
+                if (hasta - desde > ARCHIVOS_POR_TAREA) {
+                    int medio = (desde + hasta) >>> 1;
+                    invokeAll(new Lote(archivos, atributos, desde, medio), new Lote(archivos, atributos, medio, hasta));
+                    return;
+                }
+                for (int i = desde; i < hasta; i++) {
+                    Path p = archivos.get(i);
+                    try {
+                        ResultadoArchivo r = procesar(p, atributos.get(i));
+                        resultados.put(r.ruta, r);
+                    } catch (NoSuchFileException e) {
+                        // Borrado mientras se recorría: simplemente ya no existe
+                    } catch (IOException | RuntimeException e) {
+                        errores.add(relativa(p) + ": " + e);
+                    }
+                }
+            }
+        }
+
+        private ResultadoArchivo procesar(Path p, BasicFileAttributes a) throws IOException {
+            String ruta = relativa(p);
+            long tamano = a.size();
+            long modificado = a.lastModifiedTime().toMillis();
+            ResultadoArchivo previo = anterior == null ? null : anterior.get(ruta);
+            if (previo != null && previo.tamano == tamano && previo.modificado == modificado) {
+                return previo;   // Sin cambios: ni siquiera se abre
+            }
+            try (FileChannel canal = FileChannel.open(p, StandardOpenOption.READ)) {
+                ByteBuffer datos = leer(canal);
+                byte[] resumen = null;
+                if (conResumen) {
+                    resumen = resumir(datos.duplicate());
+                    if (previo != null && Arrays.equals(resumen, previo.resumen)) {
+                        tocados.increment();
+                        return new ResultadoArchivo(ruta, datos.limit(), modificado, resumen, previo.colisiones);
+                    }
+                }
+                analizados.increment();
+                List<Colision> colisiones = new Analizador(ruta, datos).analizar();
+                return new ResultadoArchivo(ruta, datos.limit(), modificado, resumen, colisiones);
+            }
+        }
+
+        private String relativa(Path p) {
+            String s = raiz.relativize(p).toString();
+            return p.getFileSystem().getSeparator().equals("/") ? s : s.replace(p.getFileSystem().getSeparator(), "/");
+        }
+    }
+
+    private static final ThreadLocal<ByteBuffer> BUFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(UMBRAL_MAPEO));
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private static ByteBuffer leer(FileChannel canal) throws IOException {
+        long tamano = canal.size();
+        if (tamano >= UMBRAL_MAPEO) {
+            if (tamano > Integer.MAX_VALUE) {
+                throw new IOException("Archivo demasiado grande: " + tamano + " bytes");
+            }
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+        }
+        ByteBuffer b = BUFER.get();
+        b.clear();
+        while (b.hasRemaining() && canal.read(b) >= 0) {
+            // Leer hasta llenar o hasta el final
+        }
+        b.flip();
+        return b;
+    }
+
+    private static byte[] resumir(ByteBuffer datos) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        md.update(datos);
+        return md.digest();
+    }
+
+    // ===== ÁMBITOS =====
+
+    /** Declaraciones de un ámbito agrupadas por forma normalizada (ver CaseInsensitiveIndex). */
+    static final class Ambito {
+        static final int DIRECTORIO = 0;
+        static final int ARCHIVO = 1;
+        static final int CLASE = 2;
+        static final int METODO = 3;
+        static final int BLOQUE = 4;   // if/for/lambda...: declara en el método que lo contiene
+
+        final int tipo;
+        final String nombre;
+        private CaseInsensitiveIndex<Grupo> grupos;
+        private List<Grupo> chocados;
+
+        Ambito(int tipo, String nombre) {
+            this.tipo = tipo;
+            this.nombre = nombre;
+        }
+
+        void declarar(String identificador, int linea) {
+            if (grupos == null) {
+                grupos = new CaseInsensitiveIndex<>(CaseInsensitiveIndex.Politica.FUSIONAR);
+            }
+            Grupo g = grupos.obtenerIgnorandoMayusculas(identificador);
+            if (g == null) {
+                grupos.poner(identificador, new Grupo(identificador, linea));
+            } else if (g.agregar(identificador, linea) && g.cantidad == 2) {
+                if (chocados == null) {
+                    chocados = new ArrayList<>();
+                }
+                chocados.add(g);
+            }
+        }
+
+        void cerrar(String ruta, java.util.Collection<Colision> salida) {
+            if (chocados == null) {
+                return;
+            }
+            for (Grupo g : chocados) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < g.cantidad; i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    sb.append(g.nombres[i]);
+                    if (tipo != DIRECTORIO) {
+                        sb.append(" (l.").append(g.lineas[i]).append(')');
+                    }
+                }
+                salida.add(new Colision(ruta, g.lineas[0], nombre, sb.toString()));
+            }
+        }
+    }
+
+    /** Las distintas escrituras de un mismo identificador normalizado. */
+    static final class Grupo {
+        String[] nombres = new String[2];
+        int[] lineas = new int[2];
+        int cantidad;
+
+        Grupo(String nombre, int linea) {
+            nombres[0] = nombre;
+            lineas[0] = linea;
+            cantidad = 1;
+        }
+
+        /** @return true si {@code nombre} es una escritura nueva */
+        boolean agregar(String nombre, int linea) {
+            for (int i = 0; i < cantidad; i++) {
+                if (nombres[i].equals(nombre)) {
+                    return false;
+                }
+            }
+            if (cantidad == nombres.length) {
+                nombres = Arrays.copyOf(nombres, cantidad * 2);
+                lineas = Arrays.copyOf(lineas, cantidad * 2);
+            }
+            nombres[cantidad] = nombre;
+            lineas[cantidad++] = linea;
+            return true;
+        }
+    }
+
+    // ===== ANALIZADOR LÉXICO Y DE ÁMBITOS =====
+
+    // Tipos de token
+    static final int FIN = 0;
+    static final int IDENT = 1;
+    static final int CLAVE = 2;
+    static final int SIMBOLO = 3;    // Un solo carácter: { } ( ) ; , . @ [ ] < > ? : = &
+    static final int OPERADOR = 4;   // ==, &&, ->, +=, ...
+    static final int LITERAL = 5;
+
+    // Clases de palabra clave
+    static final int PRIMITIVO = 1;  // boolean, int, void...: pueden preceder a un nombre declarado
+    static final int TIPO = 2;       // class, interface, enum
+    static final int GENERICO = 3;   // extends, super: válidas dentro de <...>
+    static final int OTRA = 4;
+
+    private static final boolean[] PARTE_IDENTIFICADOR = new boolean[128];
+    private static final byte[][] CLAVES = new byte[256][];
+    private static final int[] CLASES_CLAVE = new int[256];
+
+    static {
+        for (int c = 0; c < 128; c++) {
+            PARTE_IDENTIFICADOR[c] = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '$';
+        }
+        String[][] grupos = {
+            {"boolean", "byte", "char", "short", "int", "long", "float", "double", "void"},
+            {"class", "interface", "enum"},
+            {"extends", "super"},
+            {"abstract", "assert", "break", "case", "catch", "const", "continue", "default", "do", "else",
+             "final", "finally", "for", "goto", "if", "implements", "import", "instanceof", "native", "new",
+             "package", "private", "protected", "public", "return", "static", "strictfp", "switch",
+             "synchronized", "this", "throw", "throws", "transient", "try", "volatile", "while",
+             "true", "false", "null", "yield", "permits", "sealed"}
+        };
+        for (int clase = 0; clase < grupos.length; clase++) {
+            for (String palabra : grupos[clase]) {
+                byte[] b = palabra.getBytes(StandardCharsets.US_ASCII);
+                int i = hashClave(b);
+                while (CLAVES[i] != null) {
+                    i = (i + 1) & 255;
+                }
+                CLAVES[i] = b;
+                CLASES_CLAVE[i] = clase + 1;
+            }
+        }
+    }
+
+    private static int hashClave(byte[] b) {
+        int h = 0;
+        for (byte x : b) {
+            h = h * 31 + x;
+        }
+        return mezclarClave(h, b.length);
+    }
+
+    private static int mezclarClave(int h, int largo) {
+        h += largo;
+        return (h ^ (h >>> 7)) & 255;
+    }
+
+    /**
+     * Recorre un archivo token a token con una ventana de tres (anterior,
+     * actual, siguiente). Sin gramática completa: reconoce una declaración
+     * cuando un identificador va precedido por un tipo (identificador,
+     * primitivo, ']' o el '>' que cierra un genérico) y seguido por
+     * '=', ';', ',', ')', ':' o '('. Los usos no cuentan, así que
+     * "Usuario usuario" (tipo y variable) no es una colisión.
+     */
+    static final class Analizador {
+        private final String ruta;
+        private final ByteBuffer datos;
+        private final byte[] arreglo;   // Arreglo del buffer si lo tiene (archivos pequeños): más rápido que get(i)
+        private final int fin;
+        private byte[] texto = new byte[64];
+
+        // Posición del analizador léxico
+        private int pos;
+        private int linea = 1;
+
+        // Token siguiente (el actual y el anterior se guardan resumidos)
+        private int tTipo;
+        private int tClase;
+        private int tSimbolo;
+        private int tInicio;
+        private int tFin;
+        private int tLinea;
+        private boolean tAscii;
+
+        // Estado de ámbitos
+        private final List<Ambito> pila = new ArrayList<>();
+        private final List<Colision> colisiones = new ArrayList<>();
+        private String claseNueva;          // Nombre tras class/interface/enum/record, hasta su '{'
+        private String candidatoMetodo;     // Último "nombre(" a nivel de clase
+        private final List<String> pendientes = new ArrayList<>();   // Parámetros antes del '{'
+        private int[] lineasPendientes = new int[8];
+        private int parentesis;
+        private int declaracionNivel = -1;   // Nivel de paréntesis de la declaración en curso, o -1
+
+        // Seguimiento de genéricos: profundidad de '<' abiertos tras un identificador
+        private int genericos;
+
+        Analizador(String ruta, ByteBuffer datos) {
+            this.ruta = ruta;
+            this.datos = datos;
+            this.arreglo = datos.hasArray() && datos.arrayOffset() == 0 ? datos.array() : null;
+            this.fin = datos.limit();
+        }
+
+        List<Colision> analizar() {
+            pila.add(new Ambito(Ambito.ARCHIVO, "archivo"));
+            // Ventana: anterior (resumido) / actual / siguiente
+            boolean anteriorEsTipo = false;
+            int anteriorTipo = FIN;
+            int anteriorSimbolo = 0;
+            siguiente();
+            int aTipo = tTipo, aClase = tClase, aSimbolo = tSimbolo, aInicio = tInicio, aFin = tFin, aLinea = tLinea;
+            boolean aAscii = tAscii;
+            while (aTipo != FIN) {
+                siguiente();
+                boolean esTipo = false;
+                if (aTipo == IDENT) {
+                    esTipo = identificador(aInicio, aFin, aAscii, aLinea, anteriorEsTipo, anteriorTipo, anteriorSimbolo);
+                } else if (aTipo == CLAVE) {
+                    esTipo = aClase == PRIMITIVO;
+                    if (genericos > 0 && aClase != PRIMITIVO && aClase != GENERICO) {
+                        genericos = 0;
+                    }
+                    if (aClase == TIPO && !(anteriorTipo == SIMBOLO && anteriorSimbolo == '.')) {
+                        claseNueva = "";   // El nombre llega con el próximo identificador
+                    }
+                } else if (aTipo == SIMBOLO) {
+                    esTipo = simbolo(aSimbolo, anteriorTipo);
+                } else {
+                    genericos = 0;
+                }
+                anteriorEsTipo = esTipo;
+                anteriorTipo = aTipo == CLAVE && aClase == PRIMITIVO ? IDENT : aTipo;
+                anteriorSimbolo = aSimbolo;
+                aTipo = tTipo;
+                aClase = tClase;
+                aSimbolo = tSimbolo;
+                aInicio = tInicio;
+                aFin = tFin;
+                aLinea = tLinea;
+                aAscii = tAscii;
+            }
+            while (!pila.isEmpty()) {   // Archivo sin cerrar: se reporta lo que haya
+                cerrarAmbito();
+            }
+            return colisiones;
+        }
+
+        /** @return true si este identificador puede ser el tipo de una declaración */
+        private boolean identificador(int inicio, int finTok, boolean ascii, int lineaTok,
+                                      boolean anteriorEsTipo, int anteriorTipo, int anteriorSimbolo) {
+            if (genericos > 0) {
+                return true;   // Dentro de <...>: nombres de tipo, nada que declarar
+            }
+            int s = tTipo == SIMBOLO ? tSimbolo : 0;
+            if (claseNueva != null && claseNueva.isEmpty()) {
+                claseNueva = cadena(inicio, finTok, ascii);
+                declarar(ambito(Ambito.ARCHIVO), claseNueva, lineaTok);
+                return false;
+            }
+            // "record Nombre(" es una declaración de tipo; "record" sola es un identificador más
+            if (tTipo == IDENT && finTok - inicio == 6 && esRecord(inicio)
+                && !(anteriorTipo == SIMBOLO && anteriorSimbolo == '.')) {
+                claseNueva = "";
+                return false;
+            }
+            Ambito arriba = pila.get(pila.size() - 1);
+            boolean nivelClase = arriba.tipo == Ambito.CLASE;
+            if (s == '(' && nivelClase && parentesis == 0) {
+                candidatoMetodo = cadena(inicio, finTok, ascii);   // Método, constructor o llamada en un inicializador
+            }
+            // "int a = 1, b = 2;": tras la coma, al mismo nivel de paréntesis, sigue la declaración
+            boolean otroDeclarador = declaracionNivel == parentesis && anteriorTipo == SIMBOLO && anteriorSimbolo == ','
+                                     && (s == '=' || s == ';' || s == ',');
+            if (otroDeclarador || anteriorEsTipo && (s == '=' || s == ';' || s == ',' || s == ')' || s == ':' || s == '(')) {
+                if (s == '=' || s == ',') {
+                    declaracionNivel = parentesis;
+                }
+                if (s == '(') {
+                    if (nivelClase) {
+                        declarar(arriba, candidatoMetodo, lineaTok);   // Nombre de método
+                    }
+                } else if (nivelClase && (parentesis > 0 || claseNueva != null)) {
+                    // Parámetros (o componentes de un record): pertenecen al ámbito que abre el '{'
+                    if (pendientes.size() == lineasPendientes.length) {
+                        lineasPendientes = Arrays.copyOf(lineasPendientes, pendientes.size() * 2);
+                    }
+                    lineasPendientes[pendientes.size()] = lineaTok;
+                    pendientes.add(cadena(inicio, finTok, ascii));
+                } else {
+                    declarar(destino(), cadena(inicio, finTok, ascii), lineaTok);
+                }
+            }
+            return true;
+        }
+
+        /** @return true si el símbolo termina un tipo ('>' de un genérico o ']') */
+        private boolean simbolo(int s, int anteriorTipo) {
+            switch (s) {
+                case '<':
+                    genericos = anteriorTipo == IDENT || genericos > 0 ? genericos + 1 : 0;
+                    return false;
+                case '>':
+                    if (genericos > 0) {
+                        return --genericos == 0;
+                    }
+                    return false;
+                case '.': case ',': case '?': case '[': case '&': case '@':
+                    return false;
+                case ']':
+                    return true;
+                default:
+                    break;
+            }
+            genericos = 0;
+            Ambito arriba = pila.get(pila.size() - 1);
+            switch (s) {
+                case '(':
+                    parentesis++;
+                    break;
+                case ')':
+                    if (parentesis > 0) {
+                        parentesis--;
+                    }
+                    if (declaracionNivel > parentesis) {
+                        declaracionNivel = -1;
+                    }
+                    break;
+                case ';':
+                    declaracionNivel = -1;
+                    if (arriba.tipo == Ambito.CLASE && parentesis == 0) {
+                        candidatoMetodo = null;   // Campo o método abstracto: no abre ámbito
+                        pendientes.clear();
+                    }
+                    break;
+                case '{':
+                    declaracionNivel = -1;
+                    abrirAmbito(arriba);
+                    break;
+                case '}':
+                    declaracionNivel = -1;
+                    cerrarAmbito();
+                    break;
+                default:
+                    break;
+            }
+            return false;
+        }
+
+        private void abrirAmbito(Ambito arriba) {
+            Ambito nuevo;
+            if (claseNueva != null) {
+                nuevo = new Ambito(Ambito.CLASE, "clase " + claseNueva);
+                claseNueva = null;
+            } else if (arriba.tipo == Ambito.CLASE) {
+                String clase = arriba.nombre.substring("clase ".length());
+                nuevo = new Ambito(Ambito.METODO, "método " + clase + "."
+                                   + (candidatoMetodo != null ? candidatoMetodo : "<inicializador>"));
+            } else {
+                nuevo = new Ambito(Ambito.BLOQUE, arriba.nombre);
+            }
+            candidatoMetodo = null;
+            parentesis = 0;
+            pila.add(nuevo);
+            for (int i = 0; i < pendientes.size(); i++) {
+                nuevo.declarar(pendientes.get(i), lineasPendientes[i]);
+            }
+            pendientes.clear();
+        }
+
+        private void cerrarAmbito() {
+            if (pila.size() == 1 && pila.get(0).tipo == Ambito.ARCHIVO && pos < fin) {
+                return;   // '}' sobrante: se ignora
+            }
+            Ambito a = pila.remove(pila.size() - 1);
+            a.cerrar(ruta, colisiones);
+            candidatoMetodo = null;
+            pendientes.clear();
+        }
+
+        /** El ámbito que recibe una declaración: el método o la clase más cercana. */
+        private Ambito destino() {
+            for (int i = pila.size() - 1; i >= 0; i--) {
+                Ambito a = pila.get(i);
+                if (a.tipo != Ambito.BLOQUE) {
+                    return a;
+                }
+            }
+            return pila.get(0);
+        }
+
+        private Ambito ambito(int tipo) {
+            for (int i = pila.size() - 1; i >= 0; i--) {
+                if (pila.get(i).tipo == tipo) {
+                    return pila.get(i);
+                }
+            }
+            return pila.get(0);
+        }
+
+        private static void declarar(Ambito a, String nombre, int linea) {
+            if (nombre != null) {
+                a.declarar(nombre, linea);
+            }
+        }
+
+        private boolean esRecord(int inicio) {
+            return datos.get(inicio) == 'r' && datos.get(inicio + 1) == 'e' && datos.get(inicio + 2) == 'c'
+                   && datos.get(inicio + 3) == 'o' && datos.get(inicio + 4) == 'r' && datos.get(inicio + 5) == 'd';
+        }
+
+        private String cadena(int inicio, int finTok, boolean ascii) {
+            int n = finTok - inicio;
+            if (texto.length < n) {
+                texto = new byte[Math.max(n, texto.length * 2)];
+            }
+            datos.get(inicio, texto, 0, n);
+            return new String(texto, 0, n, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        }
+
+        // ----- Analizador léxico -----
+
+        private int byteEn(int i) {
+            return (arreglo != null ? arreglo[i] : datos.get(i)) & 0xFF;
+        }
+
+        /** Lee el siguiente token en los campos t*. */
+        private void siguiente() {
+            while (pos < fin) {
+                int c = byteEn(pos);
+                if (c == '\n') {
+                    linea++;
+                    pos++;
+                } else if (c <= ' ') {
+                    pos++;
+                } else if (c == '/' && pos + 1 < fin && byteEn(pos + 1) == '/') {
+                    while (pos < fin && byteEn(pos) != '\n') {
+                        pos++;
+                    }
+                } else if (c == '/' && pos + 1 < fin && byteEn(pos + 1) == '*') {
+                    pos += 2;
+                    while (pos < fin && !(byteEn(pos) == '*' && pos + 1 < fin && byteEn(pos + 1) == '/')) {
+                        if (byteEn(pos++) == '\n') {
+                            linea++;
+                        }
+                    }
+                    pos = Math.min(fin, pos + 2);
+                } else {
+                    token(c);
+                    return;
+                }
+            }
+            tTipo = FIN;
+            tSimbolo = 0;
+            tLinea = linea;
+        }
+
+        private void token(int c) {
+            tLinea = linea;
+            tInicio = pos;
+            tSimbolo = 0;
+            tClase = 0;
+            if (c == '"') {
+                if (pos + 2 < fin && byteEn(pos + 1) == '"' && byteEn(pos + 2) == '"') {
+                    saltarTextoEnBloque();
+                } else {
+                    saltarLiteral('"');
+                }
+                tTipo = LITERAL;
+            } else if (c == '\'') {
+                saltarLiteral('\'');
+                tTipo = LITERAL;
+            } else if (esInicioIdentificador(c)) {
+                boolean ascii = true;
+                int h = 0;
+                while (pos < fin) {
+                    int b = byteEn(pos);
+                    if (b < 0x80) {
+                        if (!esParteAscii(b)) {
+                            break;
+                        }
+                        h = h * 31 + b;
+                        pos++;
+                    } else {
+                        int largo = largoUtf8(b);
+                        int cp = decodificar(pos, largo);
+                        if (!Character.isJavaIdentifierPart(cp)) {
+                            break;
+                        }
+                        ascii = false;
+                        pos += largo;
+                    }
+                }
+                tFin = pos;
+                tAscii = ascii;
+                tTipo = IDENT;
+                if (ascii && c >= 'a' && c <= 'z') {   // Todas las palabras clave empiezan en minúscula
+                    clasificarClave(h);
+                }
+            } else if (c >= '0' && c <= '9' || c == '.' && pos + 1 < fin && esDigito(byteEn(pos + 1))) {
+                while (pos < fin) {
+                    int b = byteEn(pos);
+                    if (esParteAscii(b) || b == '.') {
+                        pos++;
+                        if ((b == 'e' || b == 'E' || b == 'p' || b == 'P') && pos < fin
+                            && (byteEn(pos) == '+' || byteEn(pos) == '-')) {
+                            pos++;
+                        }
+                    } else {
+                        break;
+                    }
+                }
+                tTipo = LITERAL;
+            } else if ("{}();,.@[]<>?:".indexOf(c) >= 0 || c == '=' && !esOperador(pos + 1)
+                       || c == '&' && !esOperador(pos + 1)) {
+                pos++;
+                tTipo = SIMBOLO;
+                tSimbolo = c;
+            } else if (esOperador(pos)) {
+                while (esOperador(pos)) {
+                    pos++;
+                }
+                tTipo = OPERADOR;
+            } else {
+                pos += c < 0x80 ? 1 : largoUtf8(c);   // Carácter desconocido (o inicio no válido)
+                tTipo = OPERADOR;
+            }
+            tFin = pos;
+        }
+
+        private boolean esInicioIdentificador(int c) {
+            if (c < 0x80) {
+                return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == '$';
+            }
+            return Character.isJavaIdentifierStart(decodificar(pos, largoUtf8(c)));
+        }
+
+        private static boolean esParteAscii(int b) {
+            return b < 0x80 && PARTE_IDENTIFICADOR[b];
+        }
+
+        private static boolean esDigito(int b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private boolean esOperador(int i) {
+            if (i >= fin) {
+                return false;
+            }
+            int b = byteEn(i);
+            return b == '=' || b == '!' || b == '+' || b == '-' || b == '*' || b == '/' || b == '%'
+                   || b == '^' || b == '|' || b == '~' || b == '&';
+        }
+
+        private void saltarLiteral(int comilla) {
+            pos++;
+            while (pos < fin) {
+                int b = byteEn(pos);
+                if (b == '\\') {
+                    pos += 2;
+                } else if (b == comilla) {
+                    pos++;
+                    return;
+                } else if (b == '\n') {
+                    return;   // Literal sin cerrar: termina en la línea
+                } else {
+                    pos++;
+                }
+            }
+            pos = fin;
+        }
+
+        private void saltarTextoEnBloque() {
+            pos += 3;
+            while (pos < fin) {
+                int b = byteEn(pos);
+                if (b == '\\') {
+                    if (pos + 1 < fin && byteEn(pos + 1) == '\n') {
+                        linea++;
+                    }
+                    pos += 2;
+                } else if (b == '"' && pos + 2 < fin && byteEn(pos + 1) == '"' && byteEn(pos + 2) == '"') {
+                    pos += 3;
+                    return;
+                } else {
+                    if (b == '\n') {
+                        linea++;
+                    }
+                    pos++;
+                }
+            }
+            pos = fin;
+        }
+
+        /** Busca el identificador en la tabla de palabras clave sin copiarlo. */
+        private void clasificarClave(int h) {
+            int n = tFin - tInicio;
+            if (n < 2 || n > 12) {
+                return;
+            }
+            busqueda:
+            for (int i = mezclarClave(h, n); CLAVES[i] != null; i = (i + 1) & 255) {
+                byte[] k = CLAVES[i];
+                if (k.length != n) {
+                    continue;
+                }
+                for (int j = 0; j < n; j++) {
+                    if ((k[j] & 0xFF) != byteEn(tInicio + j)) {
+                        continue busqueda;
+                    }
+                }
+                tTipo = CLAVE;
+                tClase = CLASES_CLAVE[i];
+                return;
+            }
+        }
+
+        private static int largoUtf8(int b) {
+            return b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+        }
+
+        private int decodificar(int i, int largo) {
+            if (i + largo > fin) {
+                return 0xFFFD;
+            }
+            int b = byteEn(i);
+            switch (largo) {
+                case 2: return (b & 0x1F) << 6 | byteEn(i + 1) & 0x3F;
+                case 3: return (b & 0x0F) << 12 | (byteEn(i + 1) & 0x3F) << 6 | byteEn(i + 2) & 0x3F;
+                case 4: return (b & 0x07) << 18 | (byteEn(i + 1) & 0x3F) << 12 | (byteEn(i + 2) & 0x3F) << 6
+                               | byteEn(i + 3) & 0x3F;
+                default: return 0xFFFD;   // Byte de continuación suelto
+            }
+        }
+    }
+
+    // ===== CACHÉ EN DISCO =====
+
+    private static Map<String, ResultadoArchivo> leerCache(Path cache) throws IOException {
+        Map<String, ResultadoArchivo> mapa = new HashMap<>();
+        if (!Files.exists(cache)) {
+            return mapa;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cache)))) {
+            if (in.readInt() != MAGIA_CACHE || in.readInt() != VERSION_CACHE) {
+                return mapa;   // Formato desconocido: se reconstruye desde cero
+            }
+            int cantidad = in.readInt();
+            for (int i = 0; i < cantidad; i++) {
+                String ruta = in.readUTF();
+                long tamano = in.readLong();
+                long modificado = in.readLong();
+                byte[] resumen = new byte[in.readUnsignedByte()];
+                in.readFully(resumen);
+                int n = in.readInt();
+                List<Colision> colisiones = n == 0 ? Collections.emptyList() : new ArrayList<>(n);
+                for (int j = 0; j < n; j++) {
+                    colisiones.add(new Colision(ruta, in.readInt(), in.readUTF(), in.readUTF()));
+                }
+                mapa.put(ruta, new ResultadoArchivo(ruta, tamano, modificado, resumen, colisiones));
+            }
+        } catch (java.io.EOFException e) {
+            mapa.clear();   // Caché truncada: se ignora
+        }
+        return mapa;
+    }
+
+    /** Escribe la caché en un temporal y lo renombra: nunca queda a medias. */
+    private static void escribirCache(Path cache, List<ResultadoArchivo> resultados, long fechaSegura) throws IOException {
+        Path temporal = cache.resolveSibling(cache.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            out.writeInt(MAGIA_CACHE);
+            out.writeInt(VERSION_CACHE);
+            out.writeInt(resultados.size());
+            for (ResultadoArchivo r : resultados) {
+                out.writeUTF(r.ruta);
+                out.writeLong(r.tamano);
+                // Modificado durante el escaneo: la próxima vez se compara por resumen
+                out.writeLong(r.modificado >= fechaSegura ? -1 : r.modificado);
+                byte[] resumen = r.resumen != null ? r.resumen : new byte[0];
+                out.writeByte(resumen.length);
+                out.write(resumen);
+                out.writeInt(r.colisiones.size());
+                for (Colision c : r.colisiones) {
+                    out.writeInt(c.linea);
+                    out.writeUTF(c.ambito);
+                    out.writeUTF(c.nombres);
+                }
+            }
+        }
+        Files.move(temporal, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ===== DEMOSTRACIÓN / LÍNEA DE COMANDOS =====
+
+    /**
+     * Uso: java EscanerColisiones [raíz [--cache archivo] [--hilos n]]
+     * Con raíz termina con código 1 si encuentra colisiones (para CI).
+     * Sin argumentos ejecuta la demostración.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            System.exit(ejecutar(args));
+        }
+        System.out.println("=== DETECTOR DE COLISIONES DE MAYÚSCULAS ===");
+        int hilos = Runtime.getRuntime().availableProcessors();
+        EscanerColisiones escaner = new EscanerColisiones(hilos);
+
+        // 1. Casos difíciles para el analizador léxico
+        System.out.println("\n1. ANALIZADOR LÉXICO:");
+        verificarAnalizador();
+
+        // 2. Los ejemplos de este concepto
+        Path ejemplos = Path.of("Ejemplos", "Concepto04-CaseSensitivity");
+        if (Files.isDirectory(ejemplos)) {
+            System.out.println("\n2. EJEMPLOS DE CASE SENSITIVITY:");
+            Informe informe = escaner.escanear(ejemplos);
+            for (Colision c : informe.getColisiones()) {
+                System.out.println("❌ " + c);
+            }
+        } else {
+            System.out.println("\n2. (Ejecutar desde la raíz del proyecto para escanear Ejemplos/)");
+        }
+
+        // 3. Árbol grande sintético: completo, incremental y con cambios
+        System.out.println("\n3. ÁRBOL SINTÉTICO (" + hilos + " hilo(s)):");
+        Path raiz = Files.createTempDirectory("colisiones");
+        Path cache = raiz.resolveSibling(raiz.getFileName() + ".cache");
+        try {
+            int cantidad = 20_000;
+            List<Path> archivos = generarArbol(raiz, cantidad);
+            Informe completo = escaner.escanear(raiz, cache);
+            imprimir("Completo (crea caché)", completo);
+            Informe sinCambios = escaner.escanear(raiz, cache);
+            imprimir("Incremental sin cambios", sinCambios);
+
+            // 1% tocado (fecha nueva, mismo contenido) y 0,5% editado con colisiones nuevas
+            FileTime futuro = FileTime.fromMillis(System.currentTimeMillis() + 60_000);
+            for (int i = 0; i < cantidad; i += 100) {
+                Files.setLastModifiedTime(archivos.get(i), futuro);
+            }
+            for (int i = 50; i < cantidad; i += 200) {
+                String fuente = Files.readString(archivos.get(i), StandardCharsets.UTF_8);
+                Files.writeString(archivos.get(i), fuente.replace("int total = 0;", "int total = 0;\n        int Total = 1;"),
+                                  StandardCharsets.UTF_8);
+            }
+            Informe incremental = escaner.escanear(raiz, cache);
+            imprimir("Incremental con cambios", incremental);
+            Informe verificacion = escaner.escanear(raiz);
+            imprimir("Completo sin caché", verificacion);
+            boolean iguales = sinCambios.getColisiones().toString().equals(completo.getColisiones().toString())
+                              && incremental.getColisiones().toString().equals(verificacion.getColisiones().toString());
+            System.out.println(iguales ? "✅ El modo incremental reporta lo mismo que un escaneo completo"
+                                       : "❌ El modo incremental difiere del escaneo completo");
+        } finally {
+            borrar(raiz);
+            Files.deleteIfExists(cache);
+        }
+        escaner.pool.shutdown();
+    }
+
+    private static int ejecutar(String[] args) throws IOException {
+        Path raiz = Path.of(args[0]);
+        Path cache = null;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--cache")) {
+                cache = Path.of(args[i + 1]);
+            } else if (args[i].equals("--hilos")) {
+                hilos = Integer.parseInt(args[i + 1]);
+            } else {
+                System.err.println("Opción desconocida: " + args[i]);
+                return 2;
+            }
+        }
+        EscanerColisiones escaner = new EscanerColisiones(hilos);
+        try {
+            Informe informe = escaner.escanear(raiz, cache);
+            for (Colision c : informe.getColisiones()) {
+                System.out.println(c);
+            }
+            for (String e : informe.getErrores()) {
+                System.err.println("error: " + e);
+            }
+            System.err.printf("%d archivos, %d analizados, %d colisiones en %.2f s%n", informe.getArchivos(),
+                              informe.getAnalizados(), informe.getColisiones().size(), informe.getNanos() / 1e9);
+            return informe.getColisiones().isEmpty() ? 0 : 1;
+        } finally {
+            escaner.pool.shutdown();
+        }
+    }
+
+    private static void verificarAnalizador() {
+        String fuente = String.join("\n",
+            "import java.util.*;",
+            "/* int Edad = 1; en un comentario */",
+            "class Prueba {",
+            "    static int contador = 0;",
+            "    static int Contador = 10, total = contar(1, 2), TOTAL;",
+            "    Usuario usuario;                       // tipo y variable: no es colisión",
+            "    Map<String, List<Integer>> mapa = new HashMap<>();",
+            "    void sumar(int a, int b) { boolean c = a > b; int x = a < b ? 1 : 2; }",
+            "    int Sumar(int a, int B) { return a; }         // parámetros de otro método: no chocan",
+            "    String texto = \"int EDAD = 3;\" + '\"';",
+            "    String bloque = \"\"\"",
+            "        int eDaD = 4; \"\"\";",
+            "    void edades() {",
+            "        int edad = 1;",
+            "        for (int i = 0, I = 1; i < 3; i++, foo(a, b)) { int Edad = i; }",
+            "        Runnable r = () -> { int año = 2; int AÑO = 3; };",
+            "    }",
+            "    record Punto(int x, int X) { }",
+            "}",
+            "class prueba { }");
+        List<Colision> c = new Analizador("Prueba.java", ByteBuffer.wrap(fuente.getBytes(StandardCharsets.UTF_8))).analizar();
+        Collections.sort(c);
+        String[] esperadas = {
+            "Prueba.java:3: [archivo] Prueba (l.3), prueba (l.20)",
+            "Prueba.java:4: [clase Prueba] contador (l.4), Contador (l.5)",
+            "Prueba.java:5: [clase Prueba] total (l.5), TOTAL (l.5)",
+            "Prueba.java:8: [clase Prueba] sumar (l.8), Sumar (l.9)",
+            "Prueba.java:14: [método Prueba.edades] edad (l.14), Edad (l.15)",
+            "Prueba.java:15: [método Prueba.edades] i (l.15), I (l.15)",
+            "Prueba.java:16: [método Prueba.edades] año (l.16), AÑO (l.16)",
+            "Prueba.java:18: [clase Punto] x (l.18), X (l.18)",
+        };
+        List<String> obtenidas = new ArrayList<>();
+        for (Colision col : c) {
+            obtenidas.add(col.toString());
+        }
+        if (obtenidas.equals(Arrays.asList(esperadas))) {
+            System.out.println("✅ Comentarios, literales, text blocks, genéricos y comparaciones: " + c.size()
+                               + " colisiones esperadas");
+        } else {
+            System.out.println("❌ Esperadas " + Arrays.toString(esperadas) + "\n   obtenidas " + obtenidas);
+        }
+    }
+
+    private static List<Path> generarArbol(Path raiz, int cantidad) throws IOException {
+        List<Path> archivos = new ArrayList<>(cantidad);
+        FileTime antes = FileTime.fromMillis(System.currentTimeMillis() - 3_600_000);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cantidad; i++) {
+            Path dir = raiz.resolve("modulo" + (i % 20)).resolve("paquete" + (i / 20 % 50));
+            Files.createDirectories(dir);
+            sb.setLength(0);
+            sb.append("package modulo").append(i % 20).append(";\n\n/** Clase generada ").append(i).append(" */\n");
+            sb.append("public class Clase").append(i).append(" {\n");
+            sb.append("    private final Map<String, List<Integer>> indice = new HashMap<>();\n");
+            for (int m = 0; m < 20; m++) {
+                sb.append("    public int metodo").append(m).append("(int valor, String nombre) {\n");
+                sb.append("        int total = 0;\n");
+                sb.append("        for (int k = 0; k < valor; k++) { total += nombre.length() > k ? k : -k; }\n");
+                sb.append("        // total, Total y TOTAL en un comentario no cuentan\n");
+                sb.append("        return total;\n    }\n");
+            }
+            if (i % 100 == 7) {
+                sb.append("    int edad;\n    int Edad;\n");   // Colisión sembrada
+            }
+            sb.append("}\n");
+            Path p = dir.resolve("Clase" + i + ".java");
+            Files.writeString(p, sb, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(p, antes);   // Como un checkout viejo: fuera del margen de fechas
+            archivos.add(p);
+        }
+        return archivos;
+    }
+
+    private static void imprimir(String etiqueta, Informe informe) {
+        System.out.printf("%-26s %7.0f ms | %6d archivos | %6d analizados | %5d tocados | %4d colisiones%n", etiqueta,
+                          informe.getNanos() / 1e6, informe.getArchivos(), informe.getAnalizados(),
+                          informe.getTocados(), informe.getColisiones().size());
+    }
+
+    private static void borrar(Path raiz) throws IOException {
+        try (java.util.stream.Stream<Path> s = Files.walk(raiz)) {
+            List<Path> rutas = new ArrayList<>();
+            s.forEach(rutas::add);
+            Collections.reverse(rutas);
+            for (Path p : rutas) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
+
+/*
+PROHIBIR IDENTIFICADORES QUE SOLO DIFIEREN EN MAYÚSCULAS:
+
+1. QUÉ SE REPORTA:
+   - Archivo: tipos declarados (Prueba y prueba chocan además en Windows/macOS)
+   - Clase: campos y métodos (contador/Contador, sumar/Sumar/SUMAR)
+   - Método: parámetros y variables locales (edad/Edad, incluso en bloques internos)
+   - Directorio: archivos cuyo nombre solo difiere en mayúsculas
+
+2. QUÉ NO SE REPORTA:
+   - Tipo y variable con el mismo nombre: Usuario usuario
+   - Texto en comentarios, Strings, chars y text blocks
+   - Usos: solo cuentan las declaraciones
+
+3. CÓMO:
+   - Analizador léxico a mano (sin expresiones regulares) sobre los bytes del archivo
+   - Archivos grandes mapeados en memoria; pequeños copiados a un buffer por hilo
+   - Un ForkJoinPool: cada directorio es una tarea, los archivos van en lotes
+   - Agrupación por forma normalizada con CaseInsensitiveIndex
+
+4. MODO INCREMENTAL:
+   - La caché guarda tamaño, fecha, resumen SHA-256 y colisiones de cada archivo
+   - Mismo tamaño y fecha: ni se abre. Fecha distinta pero mismo resumen: se reutiliza
+   - Archivos modificados durante el escaneo se verifican por resumen la próxima vez
+*/
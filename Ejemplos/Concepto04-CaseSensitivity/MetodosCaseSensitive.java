@@ -70,16 +70,9 @@ public class MetodosCaseSensitive {
     
     public static String CONVERTIR(String texto) {
         System.out.println("Método CONVERTIR(): alterna mayúsculas y minúsculas");
-        StringBuilder resultado = new StringBuilder();
-        for (int i = 0; i < texto.length(); i++) {
-            char c = texto.charAt(i);
-            if (i % 2 == 0) {
-                resultado.append(Character.toUpperCase(c));
-            } else {
-                resultado.append(Character.toLowerCase(c));
-            }
-        }
-        return resultado.toString();
+        // Posiciones pares en mayúscula, impares en minúscula, en una sola
+        // copia del texto (para buffers enteros ver ConversionMasiva)
+        return ConversionMasiva.convertir(ConversionMasiva.Modo.ALTERNADO, texto);
     }
     
     public static void main(String[] args) {
@@ -1,3 +1,6 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
  * 
@@ -14,24 +17,28 @@ public class ComparacionEstaticaVsInstancia {
     static final String CODIGO_EMPRESA = "TC-001";  // Constante estática
     static boolean empresaActiva = true;
     
+    // Estadísticas de salarios (empresa y por departamento), actualizadas en O(1)
+    static final EstadisticasSalario estadisticasEmpresa = new EstadisticasSalario();
+    static final Map<String, EstadisticasSalario> estadisticasPorDepartamento = new ConcurrentHashMap<>();
+    
     // ===== VARIABLES DE INSTANCIA (INDIVIDUALES) =====
     private int idEmpleado;
     private String nombreEmpleado;
-    private String departamento;
+    private int departamento;           // Código retenido en DiccionarioCodigos.DEPARTAMENTOS
     private double salario;
     private int anosExperiencia;
     private boolean activo;
     private String email;
     
-    // Contador estático para generar IDs únicos
-    private static int contadorId = 1001;
+    // Generador estático de IDs únicos (seguro aunque se creen empleados en varios hilos)
+    private static final IdAllocator contadorId = new IdAllocator(1001, 1024);
     
     // CONSTRUCTOR
     public ComparacionEstaticaVsInstancia(String nombre, String departamento, double salario, int experiencia) {
         // Asignar valores a variables DE INSTANCIA (específicas de este objeto)
-        this.idEmpleado = contadorId++;
+        this.idEmpleado = contadorId.siguienteInt();
         this.nombreEmpleado = nombre;
-        this.departamento = departamento;
+        this.departamento = DiccionarioCodigos.DEPARTAMENTOS.adquirir(departamento);
         this.salario = salario;
         this.anosExperiencia = experiencia;
         this.activo = true;
@@ -39,6 +46,7 @@ public class ComparacionEstaticaVsInstancia {
         
         // Actualizar variables ESTÁTICAS (compartidas por todos)
         totalEmpleados++;
+        registrarSalario(getDepartamento(), salario);
         actualizarSalarioPromedio();
         
         System.out.println("✅ Empleado creado: " + nombre + " (ID: " + this.idEmpleado + ")");
@@ -66,7 +74,7 @@ public class ComparacionEstaticaVsInstancia {
         System.out.println("├─────────────────────────────────────────────────────────┤");
         System.out.println("│ ID: " + String.format("%-50d", this.idEmpleado) + " │");
         System.out.println("│ Nombre: " + String.format("%-46s", this.nombreEmpleado) + " │");
-        System.out.println("│ Departamento: " + String.format("%-40s", this.departamento) + " │");
+        System.out.println("│ Departamento: " + String.format("%-40s", getDepartamento()) + " │");
         System.out.println("│ Salario: $" + String.format("%-45.2f", this.salario) + " │");
         System.out.println("│ Experiencia: " + String.format("%-41d", this.anosExperiencia) + " años │");
         System.out.println("│ Email: " + String.format("%-47s", this.email) + " │");
@@ -98,16 +106,23 @@ public class ComparacionEstaticaVsInstancia {
     // MÉTODO DE INSTANCIA para cambiar datos individuales (afecta solo a este empleado)
     public void cambiarDatosPersonales(String nuevoNombre, String nuevoDepartamento, double nuevoSalario) {
         String anteriorNombre = this.nombreEmpleado;
-        String anteriorDepartamento = this.departamento;
+        String anteriorDepartamento = getDepartamento();
         double anteriorSalario = this.salario;
         
+        // Se retiene el código nuevo antes de soltar el anterior (puede ser el mismo)
+        int anteriorCodigo = this.departamento;
         this.nombreEmpleado = nuevoNombre;
-        this.departamento = nuevoDepartamento;
+        this.departamento = DiccionarioCodigos.DEPARTAMENTOS.adquirir(nuevoDepartamento);
+        DiccionarioCodigos.DEPARTAMENTOS.liberar(anteriorCodigo);
         this.salario = nuevoSalario;
         this.email = generarEmail(nuevoNombre);
         
-        // Actualizar salario promedio (variable estática)
-        actualizarSalarioPromedio();
+        // Quitar el salario anterior y registrar el nuevo (variables estáticas)
+        if (this.activo) {
+            quitarSalario(anteriorDepartamento, anteriorSalario);
+            registrarSalario(getDepartamento(), nuevoSalario);
+            actualizarSalarioPromedio();
+        }
         
         System.out.println("👤 CAMBIO EN DATOS PERSONALES (ID: " + this.idEmpleado + "):");
         System.out.println("  Nombre: '" + anteriorNombre + "' → '" + nuevoNombre + "'");
@@ -116,31 +131,64 @@ public class ComparacionEstaticaVsInstancia {
         System.out.println("  ✅ Este cambio afecta SOLO a este empleado");
     }
     
+    // MÉTODO DE INSTANCIA para desactivar al empleado (su salario sale de las estadísticas)
+    public void desactivar() {
+        if (!this.activo) {
+            return;
+        }
+        this.activo = false;
+        quitarSalario(getDepartamento(), this.salario);
+        actualizarSalarioPromedio();
+        System.out.println("⏸️ Empleado desactivado: " + this.nombreEmpleado + " (ID: " + this.idEmpleado + ")");
+    }
+    
     // Métodos auxiliares
     private String generarEmail(String nombre) {
         return nombre.toLowerCase().replace(" ", ".") + "@techcorp.com";
     }
     
+    private static void registrarSalario(String departamento, double salario) {
+        estadisticasEmpresa.agregar(salario);
+        estadisticasPorDepartamento.computeIfAbsent(departamento, d -> new EstadisticasSalario()).agregar(salario);
+    }
+    
+    private static void quitarSalario(String departamento, double salario) {
+        estadisticasEmpresa.quitar(salario);
+        estadisticasPorDepartamento.get(departamento).quitar(salario);
+    }
+    
     private static void actualizarSalarioPromedio() {
-        // En un caso real, esto sería más complejo
-        // Por simplicidad, asumimos un cálculo básico
-        if (totalEmpleados > 0) {
-            salarioPromedio = (salarioPromedio * (totalEmpleados - 1) + 50000) / totalEmpleados;
-        }
+        // El promedio ya se mantiene incrementalmente: solo se copia (O(1))
+        salarioPromedio = estadisticasEmpresa.getMedia();
     }
     
-    // Método estático para obtener estadísticas
+    // Método estático para obtener estadísticas (O(1) aunque haya millones de empleados)
     public static String obtenerEstadisticasEmpresa() {
-        return String.format("Empresa: %s | Empleados: %d | Salario Promedio: $%.2f", 
-                           nombreEmpresa, totalEmpleados, salarioPromedio);
+        EstadisticasSalario stats = estadisticasEmpresa;
+        return String.format("Empresa: %s | Empleados activos: %d | Salario Promedio: $%.2f | Mín: $%.2f | Máx: $%.2f"
+                           + " | P50: $%.2f | P90: $%.2f | P99: $%.2f", 
+                           nombreEmpresa, stats.getCantidad(), salarioPromedio, stats.getMin(), stats.getMax(),
+                           stats.percentil(0.50), stats.percentil(0.90), stats.percentil(0.99));
+    }
+    
+    // Método estático para obtener estadísticas de un departamento
+    public static String obtenerEstadisticasDepartamento(String departamento) {
+        EstadisticasSalario stats = estadisticasPorDepartamento.get(departamento);
+        return "Departamento: " + departamento + " | " + (stats == null ? "sin empleados" : stats.toString());
     }
     
     // Getters para variables de instancia
     public int getIdEmpleado() { return this.idEmpleado; }
     public String getNombreEmpleado() { return this.nombreEmpleado; }
-    public String getDepartamento() { return this.departamento; }
+    public String getDepartamento() { return DiccionarioCodigos.DEPARTAMENTOS.texto(this.departamento); }
+    public int getCodigoDepartamento() { return this.departamento; }
     public double getSalario() { return this.salario; }
     
+    // Compara dos int en lugar de dos String (los dos códigos están retenidos: no cambian de texto)
+    public boolean mismoDepartamento(ComparacionEstaticaVsInstancia otro) {
+        return this.departamento == otro.departamento;
+    }
+    
     public static void main(String[] args) {
         System.out.println("🔄 COMPARACIÓN: VARIABLES ESTÁTICAS VS DE INSTANCIA");
         System.out.println("═══════════════════════════════════════════════════════════════");
@@ -191,6 +239,11 @@ public class ComparacionEstaticaVsInstancia {
         System.out.println("→ ¡Solo cambió el empleado 2!");
         System.out.println();
         
+        System.out.println("Estadísticas de salarios (actualizadas sin recorrer empleados):");
+        System.out.println(obtenerEstadisticasEmpresa());
+        System.out.println(obtenerEstadisticasDepartamento("Recursos Humanos"));
+        System.out.println();
+        
         // 6. Tabla comparativa
         System.out.println("6. TABLA COMPARATIVA:");
         mostrarTablaComparativa();
@@ -0,0 +1,457 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
+ *
+ * Ejemplo: Diccionario compartido que convierte textos repetidos en códigos int
+ * Demuestra cómo una variable estática evita millones de copias del mismo
+ * String ("Medicina", "Ventas"...): cada objeto guarda un código pequeño,
+ * comparar es comparar dos int y el texto se recupera con una lectura
+ * (rendimiento medido con JMH en benchmarks/: DiccionarioBenchmark)
+ */
+public class DiccionarioCodigos {
+
+    // ===== DICCIONARIO COMPARTIDO (una sola copia de cada texto) =====
+    public static final DiccionarioCodigos DEPARTAMENTOS = new DiccionarioCodigos(1 << 12);
+
+    // Valor de referencias mientras un código se retira o espera reutilizarse
+    private static final int DESALOJADO = -1;
+
+    // Lecturas sin candado: ConcurrentHashMap.get y arreglos atómicos
+    private final Map<String, Integer> codigoPorTexto = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> textoPorCodigo;
+    private final AtomicIntegerArray referencias;    // Cuántos objetos guardan cada código
+    private final int capacidad;
+
+    // Solo se modifican dentro de synchronized (this)
+    private int asignados;               // Códigos 0..asignados-1 entregados alguna vez
+    private final int[] libres;          // Códigos desalojados listos para reutilizar
+    private int totalLibres;
+    private int manecilla;               // Próximo código que revisa el desalojo (reloj)
+    private volatile long desalojados;
+
+    public DiccionarioCodigos(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.textoPorCodigo = new AtomicReferenceArray<>(capacidad);
+        this.referencias = new AtomicIntegerArray(capacidad);
+        this.libres = new int[capacidad];
+    }
+
+    // ===== CAMINO COMÚN: SIN CANDADOS =====
+
+    /**
+     * Devuelve el código de {@code texto} y lo retiene: el código no se
+     * reutiliza hasta que cada adquirir() tenga su liberar(). Solo los textos
+     * nuevos (o un código que se está desalojando) pasan por el candado.
+     *
+     * @throws IllegalStateException si el diccionario está lleno y todos sus
+     *         textos siguen en uso
+     */
+    public int adquirir(String texto) {
+        Integer codigo = codigoPorTexto.get(Objects.requireNonNull(texto, "texto"));
+        if (codigo != null && retener(codigo, texto)) {
+            return codigo;
+        }
+        return insertar(texto);
+    }
+
+    /** Suelta un código obtenido con adquirir(); sin referencias, puede desalojarse. */
+    public void liberar(int codigo) {
+        int r = referencias.get(verificar(codigo));
+        while (r > 0) {
+            if (referencias.compareAndSet(codigo, r, r - 1)) {
+                return;
+            }
+            r = referencias.get(codigo);
+        }
+        throw new IllegalStateException("El código " + codigo + " se liberó más veces de las que se adquirió");
+    }
+
+    /**
+     * Código actual de {@code texto} sin retenerlo, o -1 si no está. Sirve
+     * para consultas (comparar contra códigos guardados), no para guardarlo.
+     */
+    public int codigo(String texto) {
+        Integer codigo = codigoPorTexto.get(texto);
+        return codigo == null ? -1 : codigo;
+    }
+
+    /** Búsqueda inversa: el texto de un código, o null si el código está libre. */
+    public String texto(int codigo) {
+        return textoPorCodigo.get(verificar(codigo));
+    }
+
+    /**
+     * La copia compartida de {@code texto} (null si es null). No retiene el
+     * código: sirve para objetos sin un momento claro para liberar() y nunca
+     * llena el diccionario, porque el texto puede desalojarse después.
+     */
+    public String canonico(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        int codigo = adquirir(texto);
+        String canonico = textoPorCodigo.get(codigo);
+        liberar(codigo);
+        return canonico;
+    }
+
+    // El mapa y el incremento no son atómicos juntos: entre ambos el código pudo
+    // desalojarse y entregarse a otro texto. Se comprueba después de retenerlo.
+    private boolean retener(int codigo, String texto) {
+        int r = referencias.get(codigo);
+        while (r != DESALOJADO) {
+            if (referencias.compareAndSet(codigo, r, r + 1)) {
+                if (texto.equals(textoPorCodigo.get(codigo))) {
+                    return true;
+                }
+                referencias.decrementAndGet(codigo);
+                return false;
+            }
+            r = referencias.get(codigo);
+        }
+        return false;
+    }
+
+    // ===== CAMINO LENTO: TEXTOS NUEVOS Y DESALOJO =====
+
+    private synchronized int insertar(String texto) {
+        // Con el candado nadie desaloja: un código que sigue en el mapa se puede retener
+        Integer existente = codigoPorTexto.get(texto);
+        if (existente != null && retener(existente, texto)) {
+            return existente;
+        }
+        int codigo;
+        if (totalLibres > 0) {
+            codigo = libres[--totalLibres];
+        } else if (asignados < capacidad) {
+            codigo = asignados++;
+        } else {
+            codigo = desalojarUno();
+            if (codigo < 0) {
+                throw new IllegalStateException("Diccionario lleno: los " + capacidad + " textos siguen en uso");
+            }
+        }
+        // La referencia de este adquirir() va antes de publicar el código en el mapa:
+        // si no, un retener() que lo encuentre ahí sumaría 1 y este set lo pisaría
+        referencias.set(codigo, 1);
+        textoPorCodigo.set(codigo, texto);
+        codigoPorTexto.put(texto, codigo);
+        return codigo;
+    }
+
+    // Recorre los códigos como las manecillas de un reloj y retira el primero sin referencias
+    private int desalojarUno() {
+        for (int paso = 0; paso < capacidad; paso++) {
+            int codigo = manecilla;
+            manecilla = manecilla + 1 == capacidad ? 0 : manecilla + 1;
+            if (retirar(codigo)) {
+                return codigo;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retira ya todos los textos sin referencias y deja sus códigos libres.
+     * No hace falta llamarlo: adquirir() desaloja cuando se llena.
+     *
+     * @return cuántos textos se retiraron
+     */
+    public synchronized int purgar() {
+        int retirados = 0;
+        for (int codigo = 0; codigo < asignados; codigo++) {
+            if (retirar(codigo)) {
+                libres[totalLibres++] = codigo;
+                retirados++;
+            }
+        }
+        return retirados;
+    }
+
+    private boolean retirar(int codigo) {
+        if (!referencias.compareAndSet(codigo, 0, DESALOJADO)) {
+            return false;    // En uso, o ya libre
+        }
+        codigoPorTexto.remove(textoPorCodigo.get(codigo));
+        textoPorCodigo.set(codigo, null);
+        desalojados++;
+        return true;
+    }
+
+    private int verificar(int codigo) {
+        if (codigo < 0 || codigo >= capacidad) {
+            throw new IllegalArgumentException("Código fuera de rango: " + codigo);
+        }
+        return codigo;
+    }
+
+    // ===== CONSULTAS =====
+
+    public int size() { return codigoPorTexto.size(); }
+    public int getCapacidad() { return capacidad; }
+    public long getDesalojados() { return desalojados; }
+
+    /** Cuántos adquirir() sin su liberar() tiene el código (0 si está libre). */
+    public int referencias(int codigo) {
+        return Math.max(0, referencias.get(verificar(codigo)));
+    }
+
+    // ===== DEMOSTRACIÓN =====
+
+    // Registro con el texto como campo (un String por objeto)
+    static class RegistroTexto {
+        final String departamento;
+        final double salario;
+
+        RegistroTexto(String departamento, double salario) {
+            this.departamento = departamento;
+            this.salario = salario;
+        }
+    }
+
+    // El mismo registro con el código del diccionario
+    static class RegistroCodigo {
+        final int departamento;
+        final double salario;
+
+        RegistroCodigo(int departamento, double salario) {
+            this.departamento = departamento;
+            this.salario = salario;
+        }
+    }
+
+    private static final String[] DEPARTAMENTOS_DEMO = {"Desarrollo", "Marketing", "Ventas", "Recursos Humanos",
+                                                        "Soporte", "Finanzas", "Logística", "Operaciones"};
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== DICCIONARIO COMPARTIDO DE CÓDIGOS ===\n");
+
+        // 1. Textos iguales -> mismo código, y vuelta al texto
+        System.out.println("1. CÓDIGOS Y BÚSQUEDA INVERSA:");
+        DiccionarioCodigos diccionario = new DiccionarioCodigos(4);
+        int medicina = diccionario.adquirir("Medicina");
+        int otraMedicina = diccionario.adquirir(new String("Medicina".toCharArray()));   // Otra copia
+        int derecho = diccionario.adquirir("Derecho");
+        System.out.printf("Medicina=%d, copia de Medicina=%d, Derecho=%d -> texto(%d)=%s%n",
+                          medicina, otraMedicina, derecho, derecho, diccionario.texto(derecho));
+        System.out.println(medicina == otraMedicina ? "✅ Misma carrera, mismo código" : "❌ Códigos distintos");
+
+        // 2. Capacidad acotada: solo se desalojan textos que nadie guarda
+        System.out.println("\n2. DESALOJO DE TEXTOS SIN USO (capacidad 4):");
+        diccionario.adquirir("Arquitectura");
+        int temporal = diccionario.adquirir("Música");
+        diccionario.liberar(temporal);                 // Música queda sin referencias
+        int biologia = diccionario.adquirir("Biología");   // Diccionario lleno: ocupa el código de Música
+        System.out.printf("Biología=%d (Música tenía %d) | Música ahora: %d | desalojados: %d%n",
+                          biologia, temporal, diccionario.codigo("Música"), diccionario.getDesalojados());
+        try {
+            diccionario.adquirir("Química");
+            System.out.println("❌ Se desalojó un texto en uso");
+        } catch (IllegalStateException e) {
+            System.out.println("✅ Lleno y todo en uso: " + e.getMessage());
+        }
+        DiccionarioCodigos sinRetener = new DiccionarioCodigos(4);
+        for (int i = 0; i < 10_000; i++) {
+            sinRetener.canonico("carrera-" + i);    // Como un objeto que nunca llama a liberar()
+        }
+        System.out.println(sinRetener.size() <= 4 && sinRetener.canonico(null) == null
+                           ? "✅ canonico(): 10000 textos distintos sin llenar el diccionario (y null se acepta)"
+                           : "❌ canonico() retuvo textos");
+
+        // 3. Varios hilos adquiriendo y liberando con desalojos constantes
+        System.out.println("\n3. VERIFICACIÓN CON 4 HILOS (64 textos, capacidad 32):");
+        System.out.println(verificarConcurrencia() ? "✅ Cada código retenido conservó su texto"
+                                                   : "❌ Un código cambió de texto mientras estaba retenido");
+
+        // 4. Memoria: 1M registros (y 10M si se pasa "10m")
+        System.out.println("\n4. MEMORIA (String por registro vs código int):");
+        compararRegistros(1_000_000);
+        if (args.length > 0 && args[0].equalsIgnoreCase("10m")) {
+            compararRegistros(10_000_000);
+        }
+    }
+
+    private static boolean verificarConcurrencia() throws InterruptedException {
+        DiccionarioCodigos diccionario = new DiccionarioCodigos(32);
+        String[] textos = new String[64];
+        for (int i = 0; i < textos.length; i++) {
+            textos[i] = "materia-" + i;
+        }
+        boolean[] correcto = new boolean[4];
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            int hilo = h;
+            Thread t = new Thread(() -> {
+                SplittableRandom azar = new SplittableRandom(hilo);
+                boolean ok = true;
+                int[] retenidos = new int[4];
+                String[] esperados = new String[4];
+                for (int i = 0; i < 200_000; i++) {
+                    int j = i & 3;
+                    if (esperados[j] != null) {
+                        ok &= esperados[j].equals(diccionario.texto(retenidos[j]));
+                        diccionario.liberar(retenidos[j]);
+                    }
+                    // Copia nueva: obliga a comparar contenido, no identidad
+                    String texto = new String(textos[azar.nextInt(textos.length)].toCharArray());
+                    try {
+                        retenidos[j] = diccionario.adquirir(texto);
+                        esperados[j] = texto;
+                    } catch (IllegalStateException lleno) {
+                        esperados[j] = null;    // 4 hilos x 4 retenidos = 16 < 32: no debería pasar
+                        ok = false;
+                    }
+                }
+                for (int j = 0; j < 4; j++) {
+                    if (esperados[j] != null) {
+                        diccionario.liberar(retenidos[j]);
+                    }
+                }
+                correcto[hilo] = ok;
+            });
+            hilos.add(t);
+            t.start();
+        }
+        for (Thread t : hilos) {
+            t.join();
+        }
+        boolean ok = correcto[0] & correcto[1] & correcto[2] & correcto[3];
+        // Al final nadie retiene nada y el mapa coincide con la tabla inversa
+        for (int c = 0; c < diccionario.getCapacidad(); c++) {
+            String texto = diccionario.texto(c);
+            ok &= diccionario.referencias(c) == 0 && (texto == null || diccionario.codigo(texto) == c);
+        }
+        System.out.printf("Desalojos durante la prueba: %,d | textos al final: %d | purgados: %d%n",
+                          diccionario.getDesalojados(), diccionario.size(), diccionario.purgar());
+        return ok && diccionario.size() == 0;
+    }
+
+    private static void compararRegistros(int n) {
+        DiccionarioCodigos diccionario = new DiccionarioCodigos(64);
+        String buscado = new String(DEPARTAMENTOS_DEMO[2].toCharArray());    // "Ventas", leído de la entrada
+
+        long m0 = memoriaUsada();
+        RegistroTexto[] copias = registrosConTexto(n, null);
+        long m1 = memoriaUsada();
+        double sumaCopias = sumaTextos(copias, buscado);
+        copias = null;
+
+        long m2 = memoriaUsada();
+        RegistroTexto[] canonicos = registrosConTexto(n, diccionario);
+        long m3 = memoriaUsada();
+        double sumaCanonicos = sumaTextos(canonicos, buscado);
+        canonicos = null;
+
+        long m4 = memoriaUsada();
+        RegistroCodigo[] codigos = registrosConCodigo(n, diccionario);
+        long m5 = memoriaUsada();
+        double sumaCodigos = sumaCodigos(codigos, diccionario.codigo(buscado));
+
+        System.out.printf("%,d registros:%n", n);
+        System.out.println("   Layout                   | Heap (MB) | Bytes/registro");
+        System.out.printf("   String copiado           | %9.1f | %14.1f%n", (m1 - m0) / 1e6, (double) (m1 - m0) / n);
+        System.out.printf("   String canónico          | %9.1f | %14.1f%n", (m3 - m2) / 1e6, (double) (m3 - m2) / n);
+        System.out.printf("   Código int               | %9.1f | %14.1f%n", (m5 - m4) / 1e6, (double) (m5 - m4) / n);
+        System.out.printf("   Ahorro de heap: %.0f%% | %s%n", 100.0 * (1 - (double) (m5 - m4) / (m1 - m0)),
+                          sumaCopias == sumaCanonicos && sumaCopias == sumaCodigos
+                          ? "✅ Misma suma de salarios de \"Ventas\" en los tres" : "❌ Las sumas no coinciden");
+        for (RegistroCodigo r : codigos) {
+            diccionario.liberar(r.departamento);
+        }
+    }
+
+    /**
+     * Como al leer un archivo: cada registro trae su propia copia del texto.
+     * Con {@code diccionario} se guarda la copia compartida (canonico()).
+     */
+    static RegistroTexto[] registrosConTexto(int n, DiccionarioCodigos diccionario) {
+        char[][] letras = letrasDemo();
+        RegistroTexto[] registros = new RegistroTexto[n];
+        for (int i = 0; i < n; i++) {
+            String leido = new String(letras[i & 7]);
+            registros[i] = new RegistroTexto(diccionario == null ? leido : diccionario.canonico(leido), i);
+        }
+        return registros;
+    }
+
+    /** Los mismos registros con el código retenido (hay que liberarlos al terminar). */
+    static RegistroCodigo[] registrosConCodigo(int n, DiccionarioCodigos diccionario) {
+        char[][] letras = letrasDemo();
+        RegistroCodigo[] registros = new RegistroCodigo[n];
+        for (int i = 0; i < n; i++) {
+            registros[i] = new RegistroCodigo(diccionario.adquirir(new String(letras[i & 7])), i);
+        }
+        return registros;
+    }
+
+    private static char[][] letrasDemo() {
+        char[][] letras = new char[DEPARTAMENTOS_DEMO.length][];
+        for (int d = 0; d < letras.length; d++) {
+            letras[d] = DEPARTAMENTOS_DEMO[d].toCharArray();
+        }
+        return letras;
+    }
+
+    static double sumaTextos(RegistroTexto[] registros, String buscado) {
+        double suma = 0.0;
+        for (RegistroTexto r : registros) {
+            if (r.departamento.equals(buscado)) {
+                suma += r.salario;
+            }
+        }
+        return suma;
+    }
+
+    static double sumaCodigos(RegistroCodigo[] registros, int buscado) {
+        double suma = 0.0;
+        for (RegistroCodigo r : registros) {
+            if (r.departamento == buscado) {
+                suma += r.salario;
+            }
+        }
+        return suma;
+    }
+
+    private static long memoriaUsada() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
+
+/*
+DICCIONARIO DE CÓDIGOS (INTERNADO DE TEXTOS):
+
+1. EL PROBLEMA:
+   • "Medicina" leído 10 millones de veces = 10 millones de String + byte[]
+   • Cada copia cuesta ~50 bytes aunque el texto sea el mismo
+   • equals() entre dos copias compara carácter por carácter
+
+2. UNA COPIA COMPARTIDA (static):
+   • DEPARTAMENTOS es un diccionario estático: uno para toda la aplicación
+   • Con adquirir(), cada objeto guarda un int y texto(codigo) recupera el String
+   • Comparar departamentos = comparar dos int
+
+3. LECTURAS SIN CANDADO:
+   • adquirir() de un texto conocido: ConcurrentHashMap.get + un compareAndSet
+   • Solo los textos nuevos pasan por synchronized
+
+4. ACOTADO, CON DESALOJO:
+   • Cada código cuenta cuántos objetos lo guardan (adquirir/liberar)
+   • Lleno → se reutiliza el primer código sin referencias (recorrido de reloj)
+   • Un código retenido nunca cambia de texto
+   • canonico() no retiene nada: lo usan objetos que nunca llaman a liberar()
+*/
@@ -0,0 +1,330 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
+ *
+ * Ejemplo: Almacén columnar de empleados (struct-of-arrays)
+ * Demuestra cómo guardar millones de empleados en arreglos primitivos
+ * en lugar de un objeto por empleado, y recorrerlos sin perseguir punteros
+ * (rendimiento medido con JMH en benchmarks/: AlmacenesBenchmark)
+ */
+public class EmpleadoStore {
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    // COLUMNAS PRIMITIVAS - una posición por fila (empleado)
+    private int[] ids;
+    private double[] salarios;
+    private int[] anosExperiencia;
+    private long[] activos;            // Bitset: 1 bit por fila
+    private int[] departamentos;       // Código del diccionario
+    private String[] nombres;          // Columna de texto (solo para la vista)
+    private int filas;
+
+    // DICCIONARIO de departamentos: código <-> texto
+    private final Map<String, Integer> codigoPorDepartamento = new HashMap<>();
+    private String[] departamentoPorCodigo = new String[16];
+    private int totalDepartamentos;
+
+    // ÍNDICE id -> fila (direccionamiento abierto, sin boxing)
+    private int[] indiceClaves;
+    private int[] indiceFilas;
+    private int mascaraIndice;
+
+    public EmpleadoStore() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    public EmpleadoStore(int capacidad) {
+        int c = Math.max(capacidad, 16);
+        this.ids = new int[c];
+        this.salarios = new double[c];
+        this.anosExperiencia = new int[c];
+        this.activos = new long[(c + 63) >>> 6];
+        this.departamentos = new int[c];
+        this.nombres = new String[c];
+        crearIndice(Integer.highestOneBit(c - 1) << 2);
+    }
+
+    // ===== ESCRITURA =====
+
+    /** Agrega un empleado al final y devuelve su número de fila. */
+    public int agregar(int idEmpleado, String nombre, String departamento, double salario, int experiencia) {
+        if (buscarFila(idEmpleado) >= 0) {
+            throw new IllegalArgumentException("ID duplicado: " + idEmpleado);
+        }
+        if (filas == ids.length) {
+            crecer();
+        }
+        int fila = filas++;
+        ids[fila] = idEmpleado;
+        nombres[fila] = nombre;
+        departamentos[fila] = codificarDepartamento(departamento);
+        salarios[fila] = salario;
+        anosExperiencia[fila] = experiencia;
+        activos[fila >>> 6] |= 1L << fila;
+        indexar(idEmpleado, fila);
+        return fila;
+    }
+
+    /** Actualiza los datos personales de un empleado existente. */
+    public void actualizar(int idEmpleado, String nombre, String departamento, double salario) {
+        int fila = filaObligatoria(idEmpleado);
+        nombres[fila] = nombre;
+        departamentos[fila] = codificarDepartamento(departamento);
+        salarios[fila] = salario;
+    }
+
+    public void actualizarSalario(int idEmpleado, double salario) {
+        salarios[filaObligatoria(idEmpleado)] = salario;
+    }
+
+    public void cambiarEstado(int idEmpleado, boolean activo) {
+        int fila = filaObligatoria(idEmpleado);
+        if (activo) {
+            activos[fila >>> 6] |= 1L << fila;
+        } else {
+            activos[fila >>> 6] &= ~(1L << fila);
+        }
+    }
+
+    // ===== RECORRIDOS (bucles simples sobre arreglos, aptos para vectorizar) =====
+
+    public int size() {
+        return filas;
+    }
+
+    public double sumaSalarios() {
+        double suma = 0.0;
+        double[] s = salarios;
+        for (int i = 0; i < filas; i++) {
+            suma += s[i];
+        }
+        return suma;
+    }
+
+    public double promedioSalario() {
+        return filas == 0 ? 0.0 : sumaSalarios() / filas;
+    }
+
+    public double salarioMinimo() {
+        double min = Double.POSITIVE_INFINITY;
+        double[] s = salarios;
+        for (int i = 0; i < filas; i++) {
+            min = Math.min(min, s[i]);
+        }
+        return min;
+    }
+
+    public double salarioMaximo() {
+        double max = Double.NEGATIVE_INFINITY;
+        double[] s = salarios;
+        for (int i = 0; i < filas; i++) {
+            max = Math.max(max, s[i]);
+        }
+        return max;
+    }
+
+    /** Suma de salarios de un departamento: compara códigos int, no Strings. */
+    public double sumaSalariosDepartamento(String departamento) {
+        Integer codigo = codigoPorDepartamento.get(departamento);
+        if (codigo == null) {
+            return 0.0;
+        }
+        int c = codigo;
+        double suma = 0.0;
+        for (int i = 0; i < filas; i++) {
+            // Selección sin salto; multiplicar por 0 no sirve: NaN * 0 = NaN
+            // contaminaría la suma de todos los departamentos
+            suma += departamentos[i] == c ? salarios[i] : 0.0;
+        }
+        return suma;
+    }
+
+    public int contarActivos() {
+        int total = 0;
+        int palabras = (filas + 63) >>> 6;
+        for (int i = 0; i < palabras; i++) {
+            total += Long.bitCount(activos[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Filtra las filas de empleados activos con salario >= minimo.
+     * Devuelve los números de fila en un arreglo recortado.
+     */
+    public int[] filtrarActivosConSalarioMinimo(double minimo) {
+        int[] resultado = new int[16];
+        int n = 0;
+        for (int i = 0; i < filas; i++) {
+            if (salarios[i] >= minimo && (activos[i >>> 6] & (1L << i)) != 0) {
+                if (n == resultado.length) {
+                    resultado = Arrays.copyOf(resultado, n * 2);
+                }
+                resultado[n++] = i;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    // ===== VISTA DE FILA (mismos getters que ComparacionEstaticaVsInstancia) =====
+
+    /** Devuelve una vista ligera sobre la fila del empleado con ese ID. */
+    public Vista porId(int idEmpleado) {
+        return new Vista(filaObligatoria(idEmpleado));
+    }
+
+    /** Devuelve una vista sobre una fila; se puede reposicionar con mover(). */
+    public Vista fila(int fila) {
+        return new Vista(filaValida(fila));
+    }
+
+    private int filaValida(int fila) {
+        if (fila < 0 || fila >= filas) {
+            throw new IndexOutOfBoundsException("Fila fuera de rango: " + fila);
+        }
+        return fila;
+    }
+
+    public class Vista {
+        private int fila;
+
+        private Vista(int fila) {
+            this.fila = fila;
+        }
+
+        /** Reutiliza la misma vista para otra fila (sin crear objetos). */
+        public Vista mover(int nuevaFila) {
+            this.fila = filaValida(nuevaFila);
+            return this;
+        }
+
+        public int getIdEmpleado() { return ids[fila]; }
+        public String getNombreEmpleado() { return nombres[fila]; }
+        public String getDepartamento() { return departamentoPorCodigo[departamentos[fila]]; }
+        public double getSalario() { return salarios[fila]; }
+        public int getAnosExperiencia() { return anosExperiencia[fila]; }
+        public boolean isActivo() { return (activos[fila >>> 6] & (1L << fila)) != 0; }
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    private int codificarDepartamento(String departamento) {
+        Integer codigo = codigoPorDepartamento.get(departamento);
+        if (codigo != null) {
+            return codigo;
+        }
+        if (totalDepartamentos == departamentoPorCodigo.length) {
+            departamentoPorCodigo = Arrays.copyOf(departamentoPorCodigo, totalDepartamentos * 2);
+        }
+        departamentoPorCodigo[totalDepartamentos] = departamento;
+        codigoPorDepartamento.put(departamento, totalDepartamentos);
+        return totalDepartamentos++;
+    }
+
+    private void crecer() {
+        int nueva = ids.length * 2;
+        ids = Arrays.copyOf(ids, nueva);
+        salarios = Arrays.copyOf(salarios, nueva);
+        anosExperiencia = Arrays.copyOf(anosExperiencia, nueva);
+        activos = Arrays.copyOf(activos, (nueva + 63) >>> 6);
+        departamentos = Arrays.copyOf(departamentos, nueva);
+        nombres = Arrays.copyOf(nombres, nueva);
+    }
+
+    private void crearIndice(int capacidad) {
+        indiceClaves = new int[capacidad];
+        indiceFilas = new int[capacidad];
+        Arrays.fill(indiceFilas, -1);
+        mascaraIndice = capacidad - 1;
+    }
+
+    private void indexar(int id, int fila) {
+        if (filas * 2 > indiceClaves.length) {
+            crearIndice(indiceClaves.length * 2);
+            for (int i = 0; i < filas - 1; i++) {
+                insertarEnIndice(ids[i], i);
+            }
+        }
+        insertarEnIndice(id, fila);
+    }
+
+    private void insertarEnIndice(int id, int fila) {
+        int pos = mezclar(id) & mascaraIndice;
+        while (indiceFilas[pos] != -1) {
+            pos = (pos + 1) & mascaraIndice;
+        }
+        indiceClaves[pos] = id;
+        indiceFilas[pos] = fila;
+    }
+
+    private int buscarFila(int id) {
+        int pos = mezclar(id) & mascaraIndice;
+        while (indiceFilas[pos] != -1) {
+            if (indiceClaves[pos] == id) {
+                return indiceFilas[pos];
+            }
+            pos = (pos + 1) & mascaraIndice;
+        }
+        return -1;
+    }
+
+    private int filaObligatoria(int id) {
+        int fila = buscarFila(id);
+        if (fila < 0) {
+            throw new IllegalArgumentException("No existe el empleado con ID " + id);
+        }
+        return fila;
+    }
+
+    private static int mezclar(int x) {
+        x *= 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== ALMACÉN COLUMNAR DE EMPLEADOS ===\n");
+
+        // 1. Uso básico con los mismos datos de ComparacionEstaticaVsInstancia
+        EmpleadoStore store = new EmpleadoStore();
+        store.agregar(1001, "Ana García", "Desarrollo", 55000, 3);
+        store.agregar(1002, "Carlos López", "Marketing", 45000, 2);
+        store.agregar(1003, "María Rodríguez", "Ventas", 48000, 4);
+        store.actualizar(1002, "Carlos Alberto López", "Recursos Humanos", 52000);
+
+        System.out.println("1. VISTA POR FILA (mismos getters que el objeto):");
+        EmpleadoStore.Vista v = store.fila(0);
+        for (int i = 0; i < store.size(); i++) {
+            v.mover(i);
+            System.out.printf("ID=%d, Nombre=%s, Departamento=%s, Salario=$%.2f%n",
+                              v.getIdEmpleado(), v.getNombreEmpleado(), v.getDepartamento(), v.getSalario());
+        }
+
+        System.out.println("\n2. RECORRIDOS SOBRE COLUMNAS:");
+        System.out.printf("Suma: $%.2f | Promedio: $%.2f | Mín: $%.2f | Máx: $%.2f%n",
+                          store.sumaSalarios(), store.promedioSalario(),
+                          store.salarioMinimo(), store.salarioMaximo());
+        System.out.println("Activos con salario >= 50000: " + store.filtrarActivosConSalarioMinimo(50000).length);
+    }
+}
+
+/*
+ALMACÉN COLUMNAR (STRUCT-OF-ARRAYS):
+
+1. OBJETO POR EMPLEADO:
+   • Cada empleado = cabecera de objeto + 7 campos + Strings aparte
+   • Recorrer salarios = saltar de objeto en objeto por el heap
+   • Millones de objetos = más trabajo para el recolector de basura
+
+2. COLUMNAS PRIMITIVAS:
+   • Un arreglo por atributo: int[] ids, double[] salarios, ...
+   • Los salarios quedan contiguos en memoria → caché y vectorización
+   • activo se guarda como 1 bit; departamento como un código int
+
+3. VISTA DE FILA:
+   • Vista ofrece los mismos getters que el objeto original
+   • mover(fila) reutiliza la vista sin crear objetos nuevos
+*/
@@ -0,0 +1,231 @@
+/**
+ * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
+ *
+ * Ejemplo: Estadísticas de salarios mantenidas en O(1)
+ * Demuestra cómo una variable estática de resumen (media, varianza, mínimo,
+ * máximo y percentiles) se actualiza al crear, modificar o desactivar un
+ * empleado, sin recorrer nunca la lista completa
+ */
+public class EstadisticasSalario {
+
+    // Media y suma de cuadrados de desviaciones (algoritmo de Welford)
+    private long cantidad;
+    private double media;
+    private double m2;
+
+    // Mínimo y máximo exactos mientras no se quite el valor extremo (cada uno por separado)
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private boolean minExacto = true;
+    private boolean maxExacto = true;
+
+    // Percentiles con error relativo del 1%
+    private final SketchCuantiles cuantiles = new SketchCuantiles(0.01);
+
+    public synchronized void agregar(double salario) {
+        if (cantidad == 0) {
+            min = salario;
+            max = salario;
+            minExacto = true;
+            maxExacto = true;
+        } else {
+            // Un extremo aproximado vuelve a ser exacto si llega un valor que supera a todos
+            if (minExacto || cuantiles.menorQueTodos(salario)) {
+                min = minExacto ? Math.min(min, salario) : salario;
+                minExacto = true;
+            }
+            if (maxExacto || cuantiles.mayorQueTodos(salario)) {
+                max = maxExacto ? Math.max(max, salario) : salario;
+                maxExacto = true;
+            }
+        }
+        cantidad++;
+        double delta = salario - media;
+        media += delta / cantidad;
+        m2 += delta * (salario - media);
+        cuantiles.agregar(salario);
+    }
+
+    /** Quita un salario agregado antes (cambio de salario o desactivación). */
+    public synchronized void quitar(double salario) {
+        if (cantidad == 0) {
+            throw new IllegalStateException("No hay salarios registrados");
+        }
+        if (cantidad == 1) {
+            cantidad = 0;
+            media = 0.0;
+            m2 = 0.0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+            minExacto = true;
+            maxExacto = true;
+        } else {
+            double mediaAnterior = media;
+            media = (cantidad * media - salario) / (cantidad - 1);
+            m2 = Math.max(0.0, m2 - (salario - mediaAnterior) * (salario - media));
+            cantidad--;
+            // Si se quitó el mínimo o el máximo ya no se conoce el siguiente en O(1):
+            // hasta que vuelva a ser exacto se informa el extremo aproximado del resumen de cuantiles
+            if (salario <= min) {
+                minExacto = false;
+            }
+            if (salario >= max) {
+                maxExacto = false;
+            }
+        }
+        cuantiles.quitar(salario);
+    }
+
+    public synchronized void cambiar(double anterior, double nuevo) {
+        quitar(anterior);
+        agregar(nuevo);
+    }
+
+    /**
+     * Combina otro resumen en este (fórmula de Chan para media y varianza).
+     * Primero copia {@code otro} con su candado y luego suma con el de este:
+     * nunca tiene los dos a la vez, así a.combinar(b) y b.combinar(a) en
+     * hilos distintos no se bloquean mutuamente.
+     */
+    public void combinar(EstadisticasSalario otro) {
+        EstadisticasSalario copia = otro.copia();
+        synchronized (this) {
+            if (copia.cantidad == 0) {
+                return;
+            }
+            if (cantidad == 0) {
+                min = copia.min;
+                max = copia.max;
+                minExacto = copia.minExacto;
+                maxExacto = copia.maxExacto;
+            } else {
+                // Un extremo exacto de un lado sigue siéndolo si supera a todo el otro lado
+                boolean nuevoMinExacto = minExacto && copia.minExacto
+                                         || minExacto && copia.cuantiles.menorQueTodos(min)
+                                         || copia.minExacto && cuantiles.menorQueTodos(copia.min);
+                boolean nuevoMaxExacto = maxExacto && copia.maxExacto
+                                         || maxExacto && copia.cuantiles.mayorQueTodos(max)
+                                         || copia.maxExacto && cuantiles.mayorQueTodos(copia.max);
+                min = !minExacto ? copia.min : !copia.minExacto ? min : Math.min(min, copia.min);
+                max = !maxExacto ? copia.max : !copia.maxExacto ? max : Math.max(max, copia.max);
+                minExacto = nuevoMinExacto;
+                maxExacto = nuevoMaxExacto;
+            }
+            long n = cantidad + copia.cantidad;
+            double delta = copia.media - media;
+            m2 += copia.m2 + delta * delta * cantidad * copia.cantidad / n;
+            media += delta * copia.cantidad / n;
+            cantidad = n;
+            cuantiles.combinar(copia.cuantiles);
+        }
+    }
+
+    private synchronized EstadisticasSalario copia() {
+        EstadisticasSalario copia = new EstadisticasSalario();
+        copia.cantidad = cantidad;
+        copia.media = media;
+        copia.m2 = m2;
+        copia.min = min;
+        copia.max = max;
+        copia.minExacto = minExacto;
+        copia.maxExacto = maxExacto;
+        copia.cuantiles.combinar(cuantiles);
+        return copia;
+    }
+
+    // ===== LECTURA: todo O(1) salvo los percentiles (proporcional al nº de cubetas) =====
+
+    public synchronized long getCantidad() { return cantidad; }
+    public synchronized double getMedia() { return media; }
+
+    /** Varianza poblacional de los salarios. */
+    public synchronized double getVarianza() {
+        return cantidad == 0 ? 0.0 : m2 / cantidad;
+    }
+
+    public synchronized double getMin() {
+        return minExacto ? min : cuantiles.minimoAproximado();
+    }
+
+    public synchronized double getMax() {
+        return maxExacto ? max : cuantiles.maximoAproximado();
+    }
+
+    /** true si getMin() y getMax() son exactos (no salen del resumen de cuantiles). */
+    public synchronized boolean isExtremosExactos() {
+        return minExacto && maxExacto;
+    }
+
+    public synchronized double percentil(double q) {
+        double valor = cuantiles.cuantil(q);
+        // Ningún percentil puede salirse de un extremo exacto
+        if (cantidad > 0 && minExacto) {
+            valor = Math.max(min, valor);
+        }
+        if (cantidad > 0 && maxExacto) {
+            valor = Math.min(max, valor);
+        }
+        return valor;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Empleados: %d | Promedio: $%.2f | Desv.: $%.2f | Mín: $%.2f | Máx: $%.2f"
+                             + " | P50: $%.2f | P90: $%.2f | P99: $%.2f",
+                             cantidad, media, Math.sqrt(getVarianza()), getMin(), getMax(),
+                             percentil(0.50), percentil(0.90), percentil(0.99));
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== ESTADÍSTICAS DE SALARIOS ===\n");
+
+        // 1. Quitar el máximo lo vuelve aproximado; un salario mayor lo hace exacto otra vez
+        EstadisticasSalario salarios = new EstadisticasSalario();
+        salarios.agregar(3000);
+        salarios.agregar(4500);
+        salarios.agregar(6000);
+        salarios.quitar(6000);
+        System.out.println("1. SIN EL MÁXIMO: " + salarios);
+        System.out.println("   " + (salarios.isExtremosExactos() ? "❌ sigue exacto" : "✅ máximo aproximado"));
+        salarios.agregar(7000);
+        System.out.println("   AGREGANDO 7000: " + salarios);
+        System.out.println("   " + (salarios.isExtremosExactos() && salarios.getMax() == 7000
+                                    ? "✅ máximo exacto de nuevo" : "❌ máximo sigue aproximado"));
+
+        // 2. a.combinar(b) y b.combinar(a) a la vez no se bloquean
+        //    (resúmenes vacíos: solo importa el orden de los candados, no los conteos)
+        EstadisticasSalario a = new EstadisticasSalario();
+        EstadisticasSalario b = new EstadisticasSalario();
+        Thread t1 = new Thread(() -> { for (int i = 0; i < 200_000; i++) a.combinar(b); });
+        Thread t2 = new Thread(() -> { for (int i = 0; i < 200_000; i++) b.combinar(a); });
+        t1.setDaemon(true);
+        t2.setDaemon(true);
+        t1.start();
+        t2.start();
+        t1.join(10_000);
+        t2.join(10_000);
+        System.out.println("\n2. COMBINAR CRUZADO EN DOS HILOS:");
+        System.out.println("   " + (t1.isAlive() || t2.isAlive() ? "❌ interbloqueo" : "✅ terminó"));
+    }
+}
+
+/*
+ESTADÍSTICAS INCREMENTALES:
+
+1. MEDIA Y VARIANZA (Welford):
+   • Agregar: media += (x - media) / n
+   • Quitar: se deshace la misma fórmula
+   • Sin recorrer la lista de empleados: O(1)
+
+2. MÍNIMO Y MÁXIMO:
+   • Exactos mientras solo se agreguen salarios
+   • Si se quita el extremo, se usa el resumen de cuantiles (error ≤ 1%)
+   • Vuelve a ser exacto cuando llega un salario más allá de todas las cubetas ocupadas
+
+3. PERCENTILES:
+   • SketchCuantiles: cubetas logarítmicas combinables
+
+4. COMBINAR SIN INTERBLOQUEO:
+   • Se copia el otro resumen con su candado y se suelta antes de tomar el propio
+   • Dos hilos haciendo a.combinar(b) y b.combinar(a) nunca se esperan en círculo
+*/
@@ -0,0 +1,187 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
+ *
+ * Ejemplo: Generador de IDs únicos compartido y seguro entre hilos
+ * Demuestra por qué "static int contadorId; contadorId++" falla con hilos
+ * y cómo repartir bloques de IDs a cada hilo para evitar contención
+ * (rendimiento medido con JMH en benchmarks/: AlmacenesBenchmark)
+ */
+public class IdAllocator {
+
+    // Cuántos bloques se reservan en disco por adelantado en cada escritura
+    private static final int BLOQUES_RESERVADOS = 64;
+
+    // VARIABLES COMPARTIDAS entre todos los hilos
+    private final AtomicLong siguienteBloque;    // Inicio del próximo bloque libre
+    private final LongAdder emitidos = new LongAdder();
+    private final int tamanoBloque;
+
+    // Persistencia opcional de la marca máxima (high-water mark)
+    private final Path archivoMarca;
+    private volatile long marcaReservada;
+
+    // VARIABLES POR HILO: {siguiente ID, fin del bloque (exclusivo)}
+    private final ThreadLocal<long[]> bloqueDelHilo = ThreadLocal.withInitial(() -> new long[] {0, 0});
+
+    /** Generador solo en memoria que empieza en {@code inicio}. */
+    public IdAllocator(long inicio, int tamanoBloque) {
+        this(inicio, tamanoBloque, null);
+    }
+
+    /**
+     * Generador que guarda su marca máxima en {@code archivoMarca}.
+     * Al reiniciar continúa desde la marca guardada, así ningún ID se repite
+     * (los IDs reservados pero no usados antes de cerrar se pierden).
+     */
+    public IdAllocator(long inicio, int tamanoBloque, Path archivoMarca) {
+        if (tamanoBloque <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo: " + tamanoBloque);
+        }
+        this.tamanoBloque = tamanoBloque;
+        this.archivoMarca = archivoMarca;
+        long arranque = Math.max(inicio, leerMarca(archivoMarca));
+        this.siguienteBloque = new AtomicLong(arranque);
+        this.marcaReservada = arranque;
+    }
+
+    /** Devuelve el siguiente ID único. Casi siempre sin tocar memoria compartida. */
+    public long siguiente() {
+        long[] bloque = bloqueDelHilo.get();
+        if (bloque[0] == bloque[1]) {
+            long inicio = siguienteBloque.getAndAdd(tamanoBloque);
+            reservarHasta(inicio + tamanoBloque);
+            bloque[0] = inicio;
+            bloque[1] = inicio + tamanoBloque;
+        }
+        emitidos.increment();
+        return bloque[0]++;
+    }
+
+    /** Versión int para las clases del curso que usan IDs int. */
+    public int siguienteInt() {
+        return Math.toIntExact(siguiente());
+    }
+
+    /** Total de IDs entregados (suma de contadores por hilo, sin bloqueo). */
+    public long totalEmitidos() {
+        return emitidos.sum();
+    }
+
+    // Solo escribe en disco cuando un bloque supera la marca ya reservada
+    private void reservarHasta(long fin) {
+        if (archivoMarca == null || fin <= marcaReservada) {
+            return;
+        }
+        synchronized (this) {
+            if (fin <= marcaReservada) {
+                return;
+            }
+            long nuevaMarca = fin + (long) tamanoBloque * BLOQUES_RESERVADOS;
+            escribirMarca(archivoMarca, nuevaMarca);
+            marcaReservada = nuevaMarca;
+        }
+    }
+
+    private static long leerMarca(Path archivo) {
+        if (archivo == null || !Files.exists(archivo)) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la marca de IDs: " + archivo, e);
+        }
+    }
+
+    // Escribe en un temporal y lo renombra: nunca queda un archivo a medias
+    private static void escribirMarca(Path archivo, long marca) {
+        try {
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            Files.write(temporal, Long.toString(marca).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar la marca de IDs: " + archivo, e);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== GENERADOR DE IDs POR BLOQUES ===\n");
+
+        // 1. Un solo hilo: los IDs salen consecutivos, igual que contadorId++
+        System.out.println("1. UN SOLO HILO:");
+        IdAllocator ids = new IdAllocator(1001, 1024);
+        System.out.println("IDs: " + ids.siguiente() + ", " + ids.siguiente() + ", " + ids.siguiente());
+
+        // 2. Varios hilos: comprobar que no hay duplicados
+        System.out.println("\n2. VERIFICACIÓN DE UNICIDAD CON 16 HILOS:");
+        verificarUnicidad(16, 200_000);
+
+        // 3. Persistencia: al "reiniciar" se continúa después de la marca guardada
+        System.out.println("\n3. PERSISTENCIA DE LA MARCA MÁXIMA:");
+        Path archivo = Files.createTempFile("ids", ".marca");
+        Files.delete(archivo);
+        IdAllocator antes = new IdAllocator(1, 100, archivo);
+        long ultimoAntes = 0;
+        for (int i = 0; i < 250; i++) {
+            ultimoAntes = antes.siguiente();
+        }
+        IdAllocator despues = new IdAllocator(1, 100, archivo);
+        long primeroDespues = despues.siguiente();
+        System.out.println("Último ID antes del reinicio: " + ultimoAntes);
+        System.out.println("Primer ID después del reinicio: " + primeroDespues
+                           + (primeroDespues > ultimoAntes ? " ✅ (sin repetir)" : " ❌ (¡repetido!)"));
+        Files.deleteIfExists(archivo);
+
+    }
+
+    private static void verificarUnicidad(int hilos, int porHilo) throws InterruptedException {
+        IdAllocator ids = new IdAllocator(0, 1000);
+        ConcurrentHashMap<Long, Boolean> vistos = new ConcurrentHashMap<>();
+        LongAdder duplicados = new LongAdder();
+        Thread[] trabajadores = new Thread[hilos];
+        for (int t = 0; t < hilos; t++) {
+            trabajadores[t] = new Thread(() -> {
+                for (int i = 0; i < porHilo; i++) {
+                    if (vistos.putIfAbsent(ids.siguiente(), Boolean.TRUE) != null) {
+                        duplicados.increment();
+                    }
+                }
+            });
+            trabajadores[t].start();
+        }
+        for (Thread t : trabajadores) {
+            t.join();
+        }
+        System.out.println("IDs generados: " + ids.totalEmitidos() + " | únicos: " + vistos.size()
+                           + " | duplicados: " + duplicados.sum()
+                           + (duplicados.sum() == 0 ? " ✅" : " ❌"));
+    }
+}
+
+/*
+GENERADOR DE IDs COMPARTIDO:
+
+1. EL PROBLEMA:
+   • static int contadorId; ... contadorId++ NO es atómico
+   • Dos hilos pueden leer el mismo valor → IDs duplicados
+
+2. LA SOLUCIÓN POR BLOQUES:
+   • Variable compartida (static): el inicio del próximo bloque libre
+   • Variable por hilo (ThreadLocal): el bloque que está usando ese hilo
+   • Solo se toca la variable compartida una vez cada 'tamanoBloque' IDs
+
+3. PERSISTENCIA:
+   • Se guarda en disco una marca por encima de todo ID entregado
+   • Al reiniciar se continúa desde la marca: nunca se repite un ID
+*/
@@ -0,0 +1,445 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
+ *
+ * Ejemplo: Las variables de instancia de VariablesDeInstancia empaquetadas fuera del heap
+ * Demuestra cuánto cuestan las cabeceras y referencias de millones de objetos
+ * pequeños: cada persona ocupa 20 bytes en un ByteBuffer directo y sus textos
+ * van en UTF-8 en un arena compartido, así el GC no tiene nada que recorrer
+ * (memoria y pausas de GC medidas con JMH en benchmarks/: PersonaStoreBenchmark)
+ */
+public class PersonaStore {
+
+    // ===== LAYOUT DE UN REGISTRO (20 bytes) =====
+    //  0  int    numeroIdentificacion
+    //  4  int    posición del nombre en el arena
+    //  8  int    posición del email en el arena
+    // 12  short  largo del nombre en bytes (sin signo)
+    // 14  short  largo del email en bytes (sin signo)
+    // 16  short  altura en centímetros
+    // 18  byte   edad (0..255 sin signo)
+    // 19  byte   banderas: bit 0 = activo
+    private static final int TAMANO_REGISTRO = 20;
+    private static final int POS_ID = 0;
+    private static final int POS_NOMBRE = 4;
+    private static final int POS_EMAIL = 8;
+    private static final int POS_LARGO_NOMBRE = 12;
+    private static final int POS_LARGO_EMAIL = 14;
+    private static final int POS_ALTURA = 16;
+    private static final int POS_EDAD = 18;
+    private static final int POS_BANDERAS = 19;
+    private static final int BIT_ACTIVO = 1;
+
+    public static final int EDAD_MAXIMA = 255;
+    public static final double ALTURA_MAXIMA = Short.MAX_VALUE / 100.0;
+    private static final int LARGO_MAXIMO_TEXTO = 0xFFFF;
+
+    // Páginas de registros: 2^15 personas (640 KB) por página, nunca se copian al crecer
+    private static final int BITS_FILAS = 15;
+    private static final int FILAS_POR_PAGINA = 1 << BITS_FILAS;
+
+    // Páginas del arena: la posición de un texto es (página << BITS_PAGINA) | desplazamiento
+    private static final int BITS_PAGINA = 22;
+    private static final int TAMANO_PAGINA = 1 << BITS_PAGINA;          // 4 MB
+    private static final int MAXIMO_PAGINAS = 1 << (31 - BITS_PAGINA);  // Posiciones int positivas: 2 GB
+
+    private ByteBuffer[] registros = new ByteBuffer[4];
+    private int filas;
+
+    // TEXTO de nombres y emails, sin un String por persona
+    private ByteBuffer[] arena = new ByteBuffer[4];
+    private int paginaActual = -1;
+    private int usadoPagina;
+    private long bytesMuertos;    // Textos reemplazados que aún ocupan el arena
+
+    // ===== ESCRITURA =====
+
+    /** Agrega una persona activa con un ID nuevo y devuelve su número de fila. */
+    public int agregar(String nombre, int edad, double altura, String email) {
+        return agregar(VariablesDeInstancia.nuevoId(), nombre, edad, altura, email, true);
+    }
+
+    /** Copia una persona (con su mismo ID); el objeto se puede descartar después. */
+    public int agregar(VariablesDeInstancia persona) {
+        return agregar(persona.getNumeroIdentificacion(), persona.getNombre(), persona.getEdad(),
+                       persona.getAltura(), persona.getEmail(), persona.isActivo());
+    }
+
+    private int agregar(int id, String nombre, int edad, double altura, String email, boolean activo) {
+        if (edad < 0 || edad > EDAD_MAXIMA) {
+            throw new IllegalArgumentException("Edad fuera de rango (0-" + EDAD_MAXIMA + "): " + edad);
+        }
+        short centimetros = centimetros(altura);
+        byte[] utf8Nombre = utf8(nombre);
+        byte[] utf8Email = utf8(email);
+
+        int fila = filas;
+        int pagina = fila >>> BITS_FILAS;
+        if (pagina == registros.length) {
+            registros = Arrays.copyOf(registros, pagina * 2);
+        }
+        if (registros[pagina] == null) {
+            registros[pagina] = ByteBuffer.allocateDirect(FILAS_POR_PAGINA * TAMANO_REGISTRO)
+                                          .order(ByteOrder.nativeOrder());
+        }
+        ByteBuffer b = registros[pagina];
+        int base = (fila & (FILAS_POR_PAGINA - 1)) * TAMANO_REGISTRO;
+        b.putInt(base + POS_ID, id);
+        b.putInt(base + POS_NOMBRE, guardarTexto(utf8Nombre, utf8Nombre.length));
+        b.putInt(base + POS_EMAIL, guardarTexto(utf8Email, utf8Email.length));
+        b.putShort(base + POS_LARGO_NOMBRE, (short) utf8Nombre.length);
+        b.putShort(base + POS_LARGO_EMAIL, (short) utf8Email.length);
+        b.putShort(base + POS_ALTURA, centimetros);
+        b.put(base + POS_EDAD, (byte) edad);
+        b.put(base + POS_BANDERAS, (byte) (activo ? BIT_ACTIVO : 0));
+        filas++;
+        return fila;
+    }
+
+    /**
+     * Reescribe un texto: si el nuevo cabe en el espacio del anterior se
+     * sobrescribe ahí; si no, va al final del arena y el anterior queda muerto
+     * hasta compactar().
+     */
+    private void reemplazarTexto(ByteBuffer b, int base, int campoPosicion, int campoLargo, String texto) {
+        byte[] utf8 = utf8(texto);
+        int largoAnterior = b.getShort(base + campoLargo) & 0xFFFF;
+        if (utf8.length <= largoAnterior) {
+            int posicion = b.getInt(base + campoPosicion);
+            arena[posicion >>> BITS_PAGINA].put(posicion & (TAMANO_PAGINA - 1), utf8);
+            bytesMuertos += largoAnterior - utf8.length;
+        } else {
+            b.putInt(base + campoPosicion, guardarTexto(utf8, utf8.length));
+            bytesMuertos += largoAnterior;
+        }
+        b.putShort(base + campoLargo, (short) utf8.length);
+    }
+
+    /** Copia el texto a la página actual del arena y devuelve su posición. */
+    private int guardarTexto(byte[] utf8, int largo) {
+        if (paginaActual < 0 || usadoPagina + largo > arena[paginaActual].capacity()) {
+            // La primera página es pequeña; cada nueva duplica la anterior hasta 4 MB
+            int tamano = paginaActual < 0 ? 1 << 16 : Math.min(TAMANO_PAGINA, arena[paginaActual].capacity() * 2);
+            if (paginaActual + 1 == MAXIMO_PAGINAS) {
+                throw new IllegalStateException("Arena de textos lleno (" + MAXIMO_PAGINAS + " páginas)");
+            }
+            paginaActual++;
+            if (paginaActual == arena.length) {
+                arena = Arrays.copyOf(arena, paginaActual * 2);
+            }
+            arena[paginaActual] = ByteBuffer.allocateDirect(tamano);
+            usadoPagina = 0;
+        }
+        arena[paginaActual].put(usadoPagina, utf8, 0, largo);
+        int posicion = (paginaActual << BITS_PAGINA) | usadoPagina;
+        usadoPagina += largo;
+        return posicion;
+    }
+
+    /**
+     * Copia los textos vivos a un arena nuevo y suelta el anterior (su memoria
+     * se devuelve cuando el GC recoge los ByteBuffer viejos).
+     *
+     * @return bytes del arena que se recuperaron
+     */
+    public long compactar() {
+        ByteBuffer[] anterior = arena;
+        long reservadoAntes = bytesArena();
+        arena = new ByteBuffer[4];
+        paginaActual = -1;
+        usadoPagina = 0;
+        byte[] temporal = new byte[256];
+        for (int fila = 0; fila < filas; fila++) {
+            ByteBuffer b = registros[fila >>> BITS_FILAS];
+            int base = (fila & (FILAS_POR_PAGINA - 1)) * TAMANO_REGISTRO;
+            temporal = moverTexto(anterior, b, base + POS_NOMBRE, base + POS_LARGO_NOMBRE, temporal);
+            temporal = moverTexto(anterior, b, base + POS_EMAIL, base + POS_LARGO_EMAIL, temporal);
+        }
+        bytesMuertos = 0;
+        return reservadoAntes - bytesArena();
+    }
+
+    private byte[] moverTexto(ByteBuffer[] origen, ByteBuffer b, int campoPosicion, int campoLargo, byte[] temporal) {
+        int largo = b.getShort(campoLargo) & 0xFFFF;
+        byte[] t = largo <= temporal.length ? temporal : new byte[largo];
+        int posicion = b.getInt(campoPosicion);
+        origen[posicion >>> BITS_PAGINA].get(posicion & (TAMANO_PAGINA - 1), t, 0, largo);
+        b.putInt(campoPosicion, guardarTexto(t, largo));
+        return t;
+    }
+
+    private static byte[] utf8(String texto) {
+        byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > LARGO_MAXIMO_TEXTO) {
+            throw new IllegalArgumentException("Texto demasiado largo: " + utf8.length + " bytes");
+        }
+        return utf8;
+    }
+
+    private static short centimetros(double altura) {
+        if (!(altura >= 0 && altura <= ALTURA_MAXIMA)) {
+            throw new IllegalArgumentException("Altura fuera de rango (0-" + ALTURA_MAXIMA + " m): " + altura);
+        }
+        return (short) Math.round(altura * 100);
+    }
+
+    // ===== CONSULTAS =====
+
+    public int size() {
+        return filas;
+    }
+
+    /** Memoria fuera del heap reservada: páginas de registros + arena de textos. */
+    public long bytesFueraDelHeap() {
+        long total = bytesArena();
+        for (ByteBuffer pagina : registros) {
+            total += pagina == null ? 0 : pagina.capacity();
+        }
+        return total;
+    }
+
+    private long bytesArena() {
+        long total = 0;
+        for (int i = 0; i <= paginaActual; i++) {
+            total += arena[i].capacity();
+        }
+        return total;
+    }
+
+    /** Bytes de textos reemplazados que compactar() puede recuperar. */
+    public long getBytesMuertos() {
+        return bytesMuertos;
+    }
+
+    /** Una vista posicionada en {@code fila}; se puede reutilizar con mover(). */
+    public Vista fila(int fila) {
+        return new Vista().mover(fila);
+    }
+
+    // ===== VISTA (FLYWEIGHT) =====
+
+    /**
+     * Los getters y los cambios de VariablesDeInstancia sobre una fila. Los
+     * cambios no imprimen nada (pensados para millones de filas); una vista
+     * no es segura entre hilos.
+     */
+    public class Vista {
+        private int fila;
+        private ByteBuffer pagina;
+        private int base;
+        private byte[] temporal = new byte[64];    // Para decodificar textos sin otro arreglo por llamada
+
+        private Vista() {
+        }
+
+        /** Reutiliza la misma vista para otra fila (sin crear objetos). */
+        public Vista mover(int nuevaFila) {
+            if (nuevaFila < 0 || nuevaFila >= filas) {
+                throw new IndexOutOfBoundsException("Fila " + nuevaFila + " de " + filas);
+            }
+            this.fila = nuevaFila;
+            this.pagina = registros[nuevaFila >>> BITS_FILAS];
+            this.base = (nuevaFila & (FILAS_POR_PAGINA - 1)) * TAMANO_REGISTRO;
+            return this;
+        }
+
+        public int getFila() { return fila; }
+        public String getNombre() { return leerTexto(POS_NOMBRE, POS_LARGO_NOMBRE); }
+        public int getEdad() { return pagina.get(base + POS_EDAD) & 0xFF; }
+        public double getAltura() { return pagina.getShort(base + POS_ALTURA) / 100.0; }
+        public String getEmail() { return leerTexto(POS_EMAIL, POS_LARGO_EMAIL); }
+        public boolean isActivo() { return (pagina.get(base + POS_BANDERAS) & BIT_ACTIVO) != 0; }
+        public int getNumeroIdentificacion() { return pagina.getInt(base + POS_ID); }
+
+        public void cambiarNombre(String nuevoNombre) {
+            reemplazarTexto(pagina, base, POS_NOMBRE, POS_LARGO_NOMBRE, nuevoNombre);
+        }
+
+        public void cumplirAnios() {
+            int edad = getEdad();
+            if (edad == EDAD_MAXIMA) {
+                throw new IllegalStateException("La edad ya es la máxima (" + EDAD_MAXIMA + ")");
+            }
+            pagina.put(base + POS_EDAD, (byte) (edad + 1));
+        }
+
+        public void cambiarEstado() {
+            pagina.put(base + POS_BANDERAS, (byte) (pagina.get(base + POS_BANDERAS) ^ BIT_ACTIVO));
+        }
+
+        public void actualizarEmail(String nuevoEmail) {
+            reemplazarTexto(pagina, base, POS_EMAIL, POS_LARGO_EMAIL, nuevoEmail);
+        }
+
+        public void mostrarInformacion() {
+            System.out.println("--- Información Personal ---");
+            System.out.println("ID: " + getNumeroIdentificacion());
+            System.out.println("Nombre: " + getNombre());
+            System.out.println("Edad: " + getEdad() + " años");
+            System.out.println("Altura: " + getAltura() + " m");
+            System.out.println("Email: " + getEmail());
+            System.out.println("Estado: " + (isActivo() ? "Activo" : "Inactivo"));
+            System.out.println();
+        }
+
+        private String leerTexto(int campoPosicion, int campoLargo) {
+            int largo = pagina.getShort(base + campoLargo) & 0xFFFF;
+            if (largo > temporal.length) {
+                temporal = new byte[Math.max(largo, temporal.length * 2)];
+            }
+            int posicion = pagina.getInt(base + campoPosicion);
+            arena[posicion >>> BITS_PAGINA].get(posicion & (TAMANO_PAGINA - 1), temporal, 0, largo);
+            return new String(temporal, 0, largo, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d: %s (%d años, %.2f m, %s, %s)", getNumeroIdentificacion(), getNombre(),
+                                 getEdad(), getAltura(), getEmail(), isActivo() ? "activo" : "inactivo");
+        }
+    }
+
+    // ===== COMPARACIÓN: un objeto por persona (layout actual) =====
+
+    // Misma forma que VariablesDeInstancia, pero sin imprimir en el constructor
+    private static class PersonaObjeto {
+        String nombre;
+        int edad;
+        double altura;
+        String email;
+        boolean activo;
+        int numeroIdentificacion;
+
+        PersonaObjeto(int id, String nombre, int edad, double altura, String email) {
+            this.numeroIdentificacion = id;
+            this.nombre = nombre;
+            this.edad = edad;
+            this.altura = altura;
+            this.email = email;
+            this.activo = true;
+        }
+    }
+
+    private static final String[] NOMBRES_DEMO = {"Ana", "Carlos", "María", "José", "Lucía", "Pedro", "Sofía", "Andrés"};
+    private static final String[] APELLIDOS_DEMO = {"García", "López", "Rodríguez", "Silva", "Mendez", "Pérez"};
+
+    public static void main(String[] args) {
+        System.out.println("=== PERSONAS EMPAQUETADAS FUERA DEL HEAP ===\n");
+
+        // 1. Las mismas personas y cambios que VariablesDeInstancia, con una sola vista
+        System.out.println("1. MISMOS CAMBIOS QUE VariablesDeInstancia CON UNA VISTA:");
+        PersonaStore store = new PersonaStore();
+        store.agregar("Ana García", 25, 1.65, "ana@email.com");
+        store.agregar("Carlos López", 30, 1.78, "carlos@email.com");
+        store.agregar("María Rodríguez", 28, 1.60, "maria@email.com");
+
+        PersonaStore.Vista v = store.fila(0);
+        v.cambiarNombre("Ana María García");
+        v.cumplirAnios();
+        v.actualizarEmail("anamaria@newemail.com");
+        v.mover(1).cumplirAnios();
+        v.cambiarEstado();
+        v.mover(2).cambiarNombre("María Elena Rodríguez");
+        v.cambiarEstado();
+        v.actualizarEmail("mariaelena@email.com");
+        for (int i = 0; i < store.size(); i++) {
+            v.mover(i).mostrarInformacion();
+        }
+        System.out.printf("3 personas = %d bytes de registros + textos en UTF-8 (%d bytes muertos por cambios)%n",
+                          3 * TAMANO_REGISTRO, store.getBytesMuertos());
+
+        // 2. Mismos resultados que con objetos tras muchos cambios aleatorios
+        System.out.println("\n2. VERIFICACIÓN CONTRA OBJETOS (200.000 personas, 1.000.000 de cambios):");
+        System.out.println(verificar(200_000, 1_000_000) ? "✅ Mismos valores en todas las filas"
+                                                         : "❌ Diferencias con los objetos");
+    }
+
+    private static String nombre(SplittableRandom azar, int i) {
+        return NOMBRES_DEMO[azar.nextInt(NOMBRES_DEMO.length)] + " "
+               + APELLIDOS_DEMO[azar.nextInt(APELLIDOS_DEMO.length)] + " " + i;
+    }
+
+    private static boolean verificar(int n, int cambios) {
+        SplittableRandom azar = new SplittableRandom(42);
+        PersonaObjeto[] objetos = new PersonaObjeto[n];
+        PersonaStore store = new PersonaStore();
+        for (int i = 0; i < n; i++) {
+            String nombre = nombre(azar, i);
+            int edad = 18 + azar.nextInt(60);
+            double altura = (140 + azar.nextInt(60)) / 100.0;
+            String email = "usuario" + i + "@email.com";
+            int fila = store.agregar(nombre, edad, altura, email);
+            objetos[i] = new PersonaObjeto(store.fila(fila).getNumeroIdentificacion(), nombre, edad, altura, email);
+        }
+
+        PersonaStore.Vista v = store.fila(0);
+        for (int c = 0; c < cambios; c++) {
+            int i = azar.nextInt(n);
+            PersonaObjeto o = objetos[i];
+            v.mover(i);
+            switch (azar.nextInt(4)) {
+                case 0:    // Nombres más cortos y más largos: se sobrescriben o van al final del arena
+                    o.nombre = azar.nextBoolean() ? NOMBRES_DEMO[azar.nextInt(NOMBRES_DEMO.length)] : nombre(azar, c) + " Jr.";
+                    v.cambiarNombre(o.nombre);
+                    break;
+                case 1:
+                    if (o.edad < EDAD_MAXIMA) {
+                        o.edad++;
+                        v.cumplirAnios();
+                    }
+                    break;
+                case 2:
+                    o.activo = !o.activo;
+                    v.cambiarEstado();
+                    break;
+                default:
+                    o.email = "cambio" + c + "@email.com";
+                    v.actualizarEmail(o.email);
+                    break;
+            }
+            if (c == cambios / 2) {
+                long muertos = store.getBytesMuertos();
+                System.out.printf("   A mitad de los cambios: %,d bytes muertos, compactar() recupera %,d bytes%n",
+                                  muertos, store.compactar());
+            }
+        }
+
+        boolean iguales = true;
+        for (int i = 0; i < n; i++) {
+            PersonaObjeto o = objetos[i];
+            v.mover(i);
+            iguales &= v.getNumeroIdentificacion() == o.numeroIdentificacion && v.getNombre().equals(o.nombre)
+                       && v.getEdad() == o.edad && v.getAltura() == o.altura && v.getEmail().equals(o.email)
+                       && v.isActivo() == o.activo;
+        }
+        return iguales;
+    }
+}
+
+/*
+REGISTROS EMPAQUETADOS FUERA DEL HEAP:
+
+1. UN OBJETO POR PERSONA:
+   • Cabecera + 6 campos + 2 String (cada uno con su byte[] y su cabecera)
+   • ~170 bytes por persona aunque los datos sean ~50
+   • El GC marca y mueve 3 objetos por persona en cada recolección completa
+
+2. REGISTRO DE 20 BYTES EN UN ByteBuffer DIRECTO:
+   • edad = 1 byte, altura = short en centímetros, activo = 1 bit
+   • nombre y email = posición + largo dentro de un arena de UTF-8
+   • Páginas fijas: crecer nunca copia los registros ya guardados
+
+3. VISTA (FLYWEIGHT):
+   • Mismos getters y cambios que VariablesDeInstancia sobre la fila actual
+   • mover(fila) reutiliza la vista sin crear objetos
+   • Un texto que no cabe en su lugar va al final; compactar() recupera lo muerto
+
+4. CUÁNDO NO USARLO:
+   • Pocos objetos: la clase normal es más simple y igual de rápida
+   • La memoria fuera del heap se libera cuando el GC recoge sus ByteBuffer
+*/
@@ -0,0 +1,440 @@
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
+ *
+ * Ejemplo: Estadísticas acumuladas compartidas entre hilos
+ * Demuestra cómo mantener un promedio "static" sin perder actualizaciones
+ * (celdas separadas) y sin acumular error numérico (suma compensada de Neumaier)
+ */
+public class RunningStats {
+
+    // VARIABLES COMPARTIDAS: un arreglo de celdas; cada hilo escribe en "su" celda
+    // (como LongAdder) y solo si está ocupada prueba la siguiente
+    private final Celda[] celdas;
+    private final int mascara;
+
+    // Valor de referencia: se acumulan (x - referencia) para reducir la cancelación
+    private final double referencia;
+
+    public RunningStats() {
+        this(0.0);
+    }
+
+    /**
+     * @param referencia valor cercano a los datos esperados (por ejemplo 5.0 para
+     *                   notas de 0 a 10); mejora la precisión de la varianza
+     */
+    public RunningStats(double referencia) {
+        int n = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1) << 1;
+        this.celdas = new Celda[n];
+        for (int i = 0; i < n; i++) {
+            celdas[i] = new Celda();
+        }
+        this.mascara = n - 1;
+        this.referencia = referencia;
+    }
+
+    // ===== ESCRITURA =====
+
+    public void agregar(double valor) {
+        validar(valor);
+        Celda celda = bloquearCelda();
+        try {
+            celda.aplicar(valor, valor - referencia, +1);
+        } finally {
+            celda.desbloquear();
+        }
+    }
+
+    /**
+     * Quita un valor agregado anteriormente (por ejemplo, un estudiante dado de baja).
+     * Puede hacerlo otro hilo: las celdas se combinan al leer. Quitar un valor
+     * que nunca se agregó deja las estadísticas incorrectas.
+     */
+    public void quitar(double valor) {
+        validar(valor);
+        Celda celda = bloquearCelda();
+        try {
+            celda.aplicar(valor, valor - referencia, -1);
+        } finally {
+            celda.desbloquear();
+        }
+    }
+
+    /** Cambia un valor por otro (por ejemplo, se corrige la nota de un estudiante) en un solo paso. */
+    public void actualizar(double anterior, double nuevo) {
+        validar(anterior);
+        validar(nuevo);
+        Celda celda = bloquearCelda();
+        try {
+            celda.aplicar(anterior, anterior - referencia, -1);
+            celda.aplicar(nuevo, nuevo - referencia, +1);
+        } finally {
+            celda.desbloquear();
+        }
+    }
+
+    private static void validar(double valor) {
+        if (Double.isNaN(valor)) {
+            throw new IllegalArgumentException("El valor no puede ser NaN");
+        }
+    }
+
+    // Celda preferida según el hilo; si otro hilo la tiene, se prueban las siguientes
+    // sin esperar, y solo después de dar la vuelta completa se espera por la preferida
+    private Celda bloquearCelda() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        int preferida = (int) (id >>> 32) & mascara;
+        for (int i = 0; i <= mascara; i++) {
+            Celda celda = celdas[(preferida + i) & mascara];
+            long sello = celda.candado.tryWriteLock();
+            if (sello != 0) {
+                celda.sello = sello;
+                return celda;
+            }
+        }
+        Celda celda = celdas[preferida];
+        celda.sello = celda.candado.writeLock();
+        return celda;
+    }
+
+    // ===== LECTURA =====
+
+    // Intentos optimistas antes de leer con candado (solo con escrituras sin pausa)
+    private static final int INTENTOS_OPTIMISTAS = 8;
+
+    /**
+     * Combina todas las celdas en un mismo instante, sin bloquear a los
+     * escritores: se toma el sello optimista de cada celda y se copia, y al
+     * final se validan todos los sellos. Si ninguna celda cambió desde que se
+     * copió hasta la validación, todas tenían a la vez los valores copiados
+     * (cada operación completa está o no está, y nunca falta una que terminó
+     * antes que otra incluida). Si alguna cambió se repite; tras varios
+     * intentos fallidos se toma el candado de lectura de cada celda, en orden
+     * (un escritor solo tiene una celda a la vez, así no hay interbloqueo).
+     */
+    public Instantanea instantanea() {
+        Datos[] copias = new Datos[celdas.length];
+        long[] sellos = new long[celdas.length];
+        for (int intento = 0; intento < INTENTOS_OPTIMISTAS; intento++) {
+            if (copiarOptimista(copias, sellos)) {
+                return combinar(copias);
+            }
+            Thread.onSpinWait();
+        }
+        int bloqueadas = 0;
+        try {
+            for (; bloqueadas < celdas.length; bloqueadas++) {
+                sellos[bloqueadas] = celdas[bloqueadas].candado.readLock();
+            }
+            for (int i = 0; i < celdas.length; i++) {
+                copias[i] = celdas[i].copiarCampos();
+            }
+        } finally {
+            for (int i = 0; i < bloqueadas; i++) {
+                celdas[i].candado.unlockRead(sellos[i]);
+            }
+        }
+        return combinar(copias);
+    }
+
+    private boolean copiarOptimista(Datos[] copias, long[] sellos) {
+        for (int i = 0; i < celdas.length; i++) {
+            sellos[i] = celdas[i].candado.tryOptimisticRead();
+            if (sellos[i] == 0) {
+                return false;    // Un escritor tiene la celda ahora mismo
+            }
+            copias[i] = celdas[i].copiarCampos();
+        }
+        for (int i = 0; i < celdas.length; i++) {
+            if (!celdas[i].candado.validate(sellos[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Instantanea combinar(Datos[] copias) {
+        long cantidad = 0;
+        double suma = 0.0, compSuma = 0.0;
+        double sumaCuadrados = 0.0, compCuadrados = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (Datos copia : copias) {
+            cantidad += copia.cantidad;
+            // Combinar sumas con compensación de Neumaier
+            double t = suma + copia.suma;
+            compSuma += Math.abs(suma) >= Math.abs(copia.suma) ? (suma - t) + copia.suma : (copia.suma - t) + suma;
+            suma = t;
+            compSuma += copia.compSuma;
+            t = sumaCuadrados + copia.sumaCuadrados;
+            compCuadrados += Math.abs(sumaCuadrados) >= Math.abs(copia.sumaCuadrados)
+                             ? (sumaCuadrados - t) + copia.sumaCuadrados
+                             : (copia.sumaCuadrados - t) + sumaCuadrados;
+            sumaCuadrados = t;
+            compCuadrados += copia.compCuadrados;
+            min = Math.min(min, copia.minAgregado);
+            max = Math.max(max, copia.maxAgregado);
+        }
+
+        if (cantidad == 0) {
+            return new Instantanea(0, 0.0, 0.0, Double.NaN, true, Double.NaN, true);
+        }
+        // El menor valor agregado sigue presente si se agregó más veces de las que se quitó
+        // (un valor puede agregarse en una celda y quitarse en otra: se suman todas)
+        long vecesMin = 0, vecesMax = 0;
+        for (Datos copia : copias) {
+            vecesMin += (copia.minAgregado == min ? copia.vecesMinAgregado : 0)
+                        - (copia.minQuitado == min ? copia.vecesMinQuitado : 0);
+            vecesMax += (copia.maxAgregado == max ? copia.vecesMaxAgregado : 0)
+                        - (copia.maxQuitado == max ? copia.vecesMaxQuitado : 0);
+        }
+        double sumaTotal = suma + compSuma;
+        double mediaDesplazada = sumaTotal / cantidad;
+        double varianza = Math.max(0.0, (sumaCuadrados + compCuadrados) / cantidad - mediaDesplazada * mediaDesplazada);
+        return new Instantanea(cantidad, mediaDesplazada + referencia, varianza, min, vecesMin > 0, max, vecesMax > 0);
+    }
+
+    public static final class Instantanea {
+        private final long cantidad;
+        private final double media;
+        private final double varianza;
+        private final double min;
+        private final boolean minExacto;
+        private final double max;
+        private final boolean maxExacto;
+
+        private Instantanea(long cantidad, double media, double varianza,
+                            double min, boolean minExacto, double max, boolean maxExacto) {
+            this.cantidad = cantidad;
+            this.media = media;
+            this.varianza = varianza;
+            this.min = min;
+            this.minExacto = minExacto;
+            this.max = max;
+            this.maxExacto = maxExacto;
+        }
+
+        public long getCantidad() { return cantidad; }
+        public double getMedia() { return media; }
+        /** Varianza poblacional. */
+        public double getVarianza() { return varianza; }
+        public double getDesviacion() { return Math.sqrt(varianza); }
+
+        /** Mínimo exacto; si se quitaron todas sus copias, una cota: ningún valor es menor. */
+        public double getMin() { return min; }
+        public boolean isMinExacto() { return minExacto; }
+
+        /** Máximo exacto; si se quitaron todas sus copias, una cota: ningún valor es mayor. */
+        public double getMax() { return max; }
+        public boolean isMaxExacto() { return maxExacto; }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d, media=%.4f, varianza=%.4f, min%s%.2f, max%s%.2f",
+                                 cantidad, media, varianza, minExacto ? "=" : "≥", min, maxExacto ? "=" : "≤", max);
+        }
+    }
+
+    // ===== CELDA (una por hilo, aproximadamente) =====
+
+    private static class Datos {
+        long cantidad;
+        double suma, compSuma;                   // Suma de (x - ref) y su compensación
+        double sumaCuadrados, compCuadrados;     // Suma de (x - ref)^2 y su compensación
+
+        // Extremos en O(1) por celda: el menor y el mayor valor que pasaron por
+        // agregar() y por quitar() en esta celda, y cuántas veces cada uno
+        double minAgregado = Double.POSITIVE_INFINITY, minQuitado = Double.POSITIVE_INFINITY;
+        double maxAgregado = Double.NEGATIVE_INFINITY, maxQuitado = Double.NEGATIVE_INFINITY;
+        long vecesMinAgregado, vecesMinQuitado, vecesMaxAgregado, vecesMaxQuitado;
+    }
+
+    private static final class Celda extends Datos {
+        final StampedLock candado = new StampedLock();
+        long sello;                              // Del hilo que tiene el candado de escritura
+
+        // Relleno para que dos celdas no compartan línea de caché
+        long p1, p2, p3, p4, p5, p6, p7;
+
+        void desbloquear() {
+            candado.unlockWrite(sello);
+        }
+
+        void aplicar(double valor, double desplazado, int signo) {
+            cantidad += signo;
+            if (signo > 0) {
+                registrarAgregado(valor);
+            } else {
+                registrarQuitado(valor);
+            }
+            double x = signo * desplazado;
+            double t = suma + x;
+            compSuma += Math.abs(suma) >= Math.abs(x) ? (suma - t) + x : (x - t) + suma;
+            suma = t;
+            double x2 = signo * desplazado * desplazado;
+            t = sumaCuadrados + x2;
+            compCuadrados += Math.abs(sumaCuadrados) >= Math.abs(x2) ? (sumaCuadrados - t) + x2 : (x2 - t) + sumaCuadrados;
+            sumaCuadrados = t;
+        }
+
+        private void registrarAgregado(double valor) {
+            if (valor < minAgregado) {
+                minAgregado = valor;
+                vecesMinAgregado = 1;
+            } else if (valor == minAgregado) {
+                vecesMinAgregado++;
+            }
+            if (valor > maxAgregado) {
+                maxAgregado = valor;
+                vecesMaxAgregado = 1;
+            } else if (valor == maxAgregado) {
+                vecesMaxAgregado++;
+            }
+        }
+
+        private void registrarQuitado(double valor) {
+            if (valor < minQuitado) {
+                minQuitado = valor;
+                vecesMinQuitado = 1;
+            } else if (valor == minQuitado) {
+                vecesMinQuitado++;
+            }
+            if (valor > maxQuitado) {
+                maxQuitado = valor;
+                vecesMaxQuitado = 1;
+            } else if (valor == maxQuitado) {
+                vecesMaxQuitado++;
+            }
+        }
+
+        // Durante una lectura optimista los campos pueden estar a medio escribir:
+        // la copia solo se usa si después se valida el sello
+        Datos copiarCampos() {
+            Datos copia = new Datos();
+            copia.cantidad = cantidad;
+            copia.suma = suma;
+            copia.compSuma = compSuma;
+            copia.sumaCuadrados = sumaCuadrados;
+            copia.compCuadrados = compCuadrados;
+            copia.minAgregado = minAgregado;
+            copia.minQuitado = minQuitado;
+            copia.maxAgregado = maxAgregado;
+            copia.maxQuitado = maxQuitado;
+            copia.vecesMinAgregado = vecesMinAgregado;
+            copia.vecesMinQuitado = vecesMinQuitado;
+            copia.vecesMaxAgregado = vecesMaxAgregado;
+            copia.vecesMaxQuitado = vecesMaxQuitado;
+            return copia;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== ESTADÍSTICAS ACUMULADAS SEGURAS ENTRE HILOS ===\n");
+
+        // 1. Uso básico con las notas de VariablesEstaticas
+        RunningStats notas = new RunningStats(5.0);
+        notas.agregar(8.5);
+        notas.agregar(9.2);
+        notas.agregar(7.8);
+        System.out.println("1. TRES ESTUDIANTES: " + notas.instantanea());
+
+        notas.actualizar(7.8, 8.8);
+        System.out.println("2. CORRIGIENDO 7.8 → 8.8: " + notas.instantanea());
+
+        notas.quitar(9.2);
+        System.out.println("3. QUITANDO 9.2: " + notas.instantanea());
+
+        // 4. Comparación con el cálculo "static double" sin protección
+        System.out.println("\n4. 8 HILOS × 250.000 NOTAS:");
+        RunningStats segura = new RunningStats(5.0);
+        double[] ingenuo = {0.0, 0.0};   // {promedio, total} como en VariablesEstaticas
+        Thread[] hilos = new Thread[8];
+        for (int t = 0; t < hilos.length; t++) {
+            hilos[t] = new Thread(() -> {
+                for (int i = 0; i < 250_000; i++) {
+                    double nota = (i % 100) / 10.0;
+                    segura.agregar(nota);
+                    ingenuo[1]++;
+                    ingenuo[0] = (ingenuo[0] * (ingenuo[1] - 1) + nota) / ingenuo[1];
+                }
+            });
+            hilos[t].start();
+        }
+        for (Thread h : hilos) {
+            h.join();
+        }
+        System.out.println("Sin protección: n=" + (long) ingenuo[1] + ", media=" + ingenuo[0]);
+        System.out.println("RunningStats:   " + segura.instantanea());
+        System.out.println("Valor esperado: n=2000000, media=4.9500");
+
+        // 5. Quitar desde hilos distintos a los que agregaron (otras celdas)
+        System.out.println("\n5. OTROS 4 HILOS QUITAN LAS NOTAS MENORES QUE 5.0:");
+        Thread[] bajas = new Thread[4];
+        for (int t = 0; t < bajas.length; t++) {
+            bajas[t] = new Thread(() -> {
+                for (int i = 0; i < 500_000; i++) {
+                    if (i % 100 < 50) {
+                        segura.quitar((i % 100) / 10.0);
+                    }
+                }
+            });
+            bajas[t].start();
+        }
+        for (Thread h : bajas) {
+            h.join();
+        }
+        RunningStats.Instantanea despues = segura.instantanea();
+        System.out.println("RunningStats:   " + despues);
+        // Se quitaron todas las notas 0.0: el mínimo pasa a ser una cota; el máximo sigue exacto
+        System.out.println(despues.getCantidad() == 1_000_000 && !despues.isMinExacto() && despues.getMin() == 0.0
+                           && despues.isMaxExacto() && despues.getMax() == 9.9
+                           ? "✅ n=1000000, min≥0.00 (se quitó el mínimo), max=9.90 exacto"
+                           : "❌ Se esperaba n=1000000, min≥0.00 (no exacto), max=9.90 exacto");
+
+        // 6. Después de quitar el máximo, una nota mayor lo vuelve exacto
+        System.out.println("\n6. QUITAR Y SUPERAR EL MÁXIMO:");
+        RunningStats pocas = new RunningStats(5.0);
+        pocas.agregar(6.0);
+        pocas.agregar(9.5);
+        pocas.quitar(9.5);
+        RunningStats.Instantanea sinMaximo = pocas.instantanea();
+        pocas.agregar(9.8);
+        RunningStats.Instantanea conMaximo = pocas.instantanea();
+        System.out.println("Sin 9.5: " + sinMaximo + " | agregando 9.8: " + conMaximo);
+        System.out.println(!sinMaximo.isMaxExacto() && conMaximo.isMaxExacto() && conMaximo.getMax() == 9.8
+                           ? "✅ máximo exacto de nuevo" : "❌ el máximo debía volver a ser exacto");
+    }
+}
+
+/*
+ESTADÍSTICAS ACUMULADAS (RunningStats):
+
+1. PROBLEMA DEL "static double promedioGeneral":
+   • promedio = (promedio * (n - 1) + x) / n es leer-modificar-escribir
+   • Con varios hilos se pierden actualizaciones
+   • Con millones de valores el redondeo se acumula
+
+2. CELDAS SEPARADAS (como LongAdder):
+   • Cada hilo escribe en su celda, con su propio candado → poca contención
+   • Si la celda está ocupada se prueba la siguiente en vez de esperar
+   • La lectura suma todas las celdas (memoria y lectura: O(celdas))
+
+3. MÍNIMO Y MÁXIMO EN O(1):
+   • Cada celda guarda el menor/mayor valor agregado y quitado, y cuántas veces
+   • Si el menor agregado se agregó más veces de las que se quitó, es el mínimo exacto
+   • Si se quitaron todas sus copias queda como cota (no hay lista de notas para
+     buscar el siguiente); un valor menor que todos lo vuelve exacto
+
+4. SUMA COMPENSADA (Neumaier):
+   • Guarda aparte el error de redondeo de cada suma
+   • El resultado final suma ese error de vuelta
+
+5. LECTURA SIN BLOQUEAR A LOS ESCRITORES:
+   • StampedLock.tryOptimisticRead() en cada celda: se copian todas y al final
+     se validan todos los sellos
+   • Si ninguna cambió, todas tenían esos valores en el mismo instante
+   • Si hubo escrituras a la vez se vuelve a leer (con candado solo si sigue fallando)
+*/
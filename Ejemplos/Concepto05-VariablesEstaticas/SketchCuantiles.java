@@ -0,0 +1,247 @@
+import java.util.Arrays;
+
+/**
+ * CONCEPTO 5: VARIABLES ESTÁTICAS VS DE INSTANCIA
+ *
+ * Ejemplo: Resumen de percentiles (p50, p90, p99) en memoria constante
+ * Demuestra un histograma con cubetas logarítmicas: cada valor cae en una
+ * cubeta cuyo ancho es un porcentaje fijo del valor (error relativo acotado)
+ */
+public class SketchCuantiles {
+
+    private final double errorRelativo;
+    private final double logGamma;
+
+    // Conteos por cubeta; la cubeta i cubre (gamma^(i-1), gamma^i]
+    private long[] conteos = new long[64];
+    private int desplazamiento = Integer.MIN_VALUE;   // Índice de cubeta de conteos[0]
+    private long conteoCeros;                         // Valores <= 0 (por ejemplo, salario 0)
+    private long total;
+
+    // Primera y última cubeta con conteo distinto de cero (índices absolutos),
+    // al día en cada cambio para responder menorQueTodos/mayorQueTodos en O(1)
+    private int primeraOcupada = Integer.MAX_VALUE;
+    private int ultimaOcupada = Integer.MIN_VALUE;
+
+    /** @param errorRelativo error máximo de cada percentil, por ejemplo 0.01 = 1% */
+    public SketchCuantiles(double errorRelativo) {
+        if (!(errorRelativo > 0 && errorRelativo < 1)) {
+            throw new IllegalArgumentException("El error relativo debe estar entre 0 y 1: " + errorRelativo);
+        }
+        this.errorRelativo = errorRelativo;
+        this.logGamma = Math.log((1 + errorRelativo) / (1 - errorRelativo));
+    }
+
+    // ===== ESCRITURA: O(1) salvo cuando el arreglo de cubetas crece =====
+
+    public void agregar(double valor) {
+        sumar(valor, 1);
+    }
+
+    /** Quita un valor agregado antes (por ejemplo, un empleado desactivado). */
+    public void quitar(double valor) {
+        sumar(valor, -1);
+    }
+
+    private void sumar(double valor, long delta) {
+        total += delta;
+        if (valor <= 0) {
+            conteoCeros += delta;
+            return;
+        }
+        int indice = indiceCubeta(valor);
+        asegurarCubeta(indice);
+        sumarEnCubeta(indice, delta);
+    }
+
+    private void sumarEnCubeta(int indice, long delta) {
+        int posicion = indice - desplazamiento;
+        long antes = conteos[posicion];
+        conteos[posicion] = antes + delta;
+        if (antes == 0) {
+            primeraOcupada = Math.min(primeraOcupada, indice);
+            ultimaOcupada = Math.max(ultimaOcupada, indice);
+        } else if (conteos[posicion] == 0) {
+            // Se vació una cubeta: solo si era un extremo se busca el siguiente, desde ella
+            // hacia adentro (las cubetas vecinas de un extremo suelen estar ocupadas)
+            if (indice == primeraOcupada) {
+                primeraOcupada = siguienteOcupada(indice + 1);
+            }
+            if (indice == ultimaOcupada) {
+                ultimaOcupada = anteriorOcupada(indice - 1);
+            }
+        }
+    }
+
+    /** Combina otro resumen en este (por ejemplo, varios departamentos en uno). */
+    public void combinar(SketchCuantiles otro) {
+        if (otro.errorRelativo != errorRelativo) {
+            throw new IllegalArgumentException("Solo se combinan resúmenes con el mismo error relativo");
+        }
+        conteoCeros += otro.conteoCeros;
+        total += otro.total;
+        if (otro.desplazamiento == Integer.MIN_VALUE) {
+            return;
+        }
+        for (int i = 0; i < otro.conteos.length; i++) {
+            if (otro.conteos[i] != 0) {
+                int indice = i + otro.desplazamiento;
+                asegurarCubeta(indice);
+                sumarEnCubeta(indice, otro.conteos[i]);
+            }
+        }
+    }
+
+    // ===== LECTURA =====
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Devuelve el cuantil q (0.0 a 1.0) con error relativo acotado.
+     * Devuelve NaN si el resumen está vacío.
+     */
+    public double cuantil(double q) {
+        if (total <= 0) {
+            return Double.NaN;
+        }
+        long rango = (long) Math.floor(q * (total - 1));
+        if (rango < conteoCeros) {
+            return 0.0;
+        }
+        long acumulado = conteoCeros;
+        for (int i = 0; i < conteos.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado > rango) {
+                return valorRepresentativo(i + desplazamiento);
+            }
+        }
+        return valorRepresentativo(conteos.length - 1 + desplazamiento);
+    }
+
+    /** Menor valor registrado, con el mismo error relativo que los cuantiles (O(1)). */
+    public double minimoAproximado() {
+        if (total <= 0) {
+            return Double.NaN;
+        }
+        return conteoCeros > 0 || primeraOcupada == Integer.MAX_VALUE ? 0.0 : valorRepresentativo(primeraOcupada);
+    }
+
+    /** Mayor valor registrado, con el mismo error relativo que los cuantiles (O(1)). */
+    public double maximoAproximado() {
+        if (total <= 0) {
+            return Double.NaN;
+        }
+        return ultimaOcupada == Integer.MIN_VALUE ? 0.0 : valorRepresentativo(ultimaOcupada);
+    }
+
+    /**
+     * true si {@code valor} es menor que todos los valores registrados. Basta
+     * con mirar las cubetas: se responde true solo si cae en una cubeta por
+     * debajo de la primera ocupada (si cae en la misma, no se sabe y es false).
+     */
+    public boolean menorQueTodos(double valor) {
+        if (total == 0) {
+            return true;
+        }
+        if (conteoCeros > 0) {
+            return false;    // Los valores <= 0 comparten una sola cubeta
+        }
+        return valor <= 0 || indiceCubeta(valor) < primeraOcupada;
+    }
+
+    /** true si {@code valor} es mayor que todos los valores registrados (misma idea). */
+    public boolean mayorQueTodos(double valor) {
+        if (total == 0) {
+            return true;
+        }
+        if (valor <= 0) {
+            return false;
+        }
+        return ultimaOcupada == Integer.MIN_VALUE || indiceCubeta(valor) > ultimaOcupada;
+    }
+
+    // ===== MÉTODOS AUXILIARES =====
+
+    // Primera cubeta ocupada desde 'indice' hasta la última ocupada (MAX_VALUE si no hay)
+    private int siguienteOcupada(int indice) {
+        for (int i = indice; i <= ultimaOcupada; i++) {
+            if (conteos[i - desplazamiento] != 0) {
+                return i;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    // Última cubeta ocupada desde 'indice' hacia abajo hasta la primera ocupada (MIN_VALUE si no hay)
+    private int anteriorOcupada(int indice) {
+        for (int i = indice; i >= primeraOcupada; i--) {
+            if (conteos[i - desplazamiento] != 0) {
+                return i;
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private int indiceCubeta(double valor) {
+        return (int) Math.ceil(Math.log(valor) / logGamma);
+    }
+
+    // Punto medio (relativo) de la cubeta: a menos de errorRelativo de cualquier valor de ella
+    private double valorRepresentativo(int indice) {
+        double gamma = Math.exp(logGamma);
+        return 2 * Math.exp(indice * logGamma) / (gamma + 1);
+    }
+
+    private void asegurarCubeta(int indice) {
+        if (desplazamiento == Integer.MIN_VALUE) {
+            desplazamiento = indice - conteos.length / 2;
+        }
+        int posicion = indice - desplazamiento;
+        if (posicion < 0) {
+            int extra = Math.max(-posicion, conteos.length / 2);
+            long[] nuevo = new long[conteos.length + extra];
+            System.arraycopy(conteos, 0, nuevo, extra, conteos.length);
+            conteos = nuevo;
+            desplazamiento -= extra;
+        } else if (posicion >= conteos.length) {
+            conteos = Arrays.copyOf(conteos, Math.max(posicion + 1, conteos.length + conteos.length / 2));
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== RESUMEN DE PERCENTILES ===\n");
+
+        SketchCuantiles sketch = new SketchCuantiles(0.01);
+        double[] exactos = new double[1_000_000];
+        java.util.Random aleatorio = new java.util.Random(42);
+        for (int i = 0; i < exactos.length; i++) {
+            exactos[i] = 30000 + Math.abs(aleatorio.nextGaussian()) * 25000;
+            sketch.agregar(exactos[i]);
+        }
+        Arrays.sort(exactos);
+
+        System.out.printf("%-6s | %12s | %12s%n", "CUANTIL", "EXACTO", "SKETCH");
+        for (double q : new double[] {0.5, 0.9, 0.99}) {
+            double exacto = exactos[(int) Math.floor(q * (exactos.length - 1))];
+            System.out.printf("p%-5.0f | %12.2f | %12.2f%n", q * 100, exacto, sketch.cuantil(q));
+        }
+        System.out.println("\n→ 1.000.000 salarios resumidos en unas pocas cubetas (error ≤ 1%)");
+    }
+}
+
+/*
+RESUMEN DE CUANTILES CON CUBETAS LOGARÍTMICAS:
+
+1. IDEA:
+   • La cubeta i guarda cuántos valores hay entre gamma^(i-1) y gamma^i
+   • gamma = (1 + error) / (1 - error)
+   • Cualquier valor de la cubeta está a menos de 'error' de su punto medio
+
+2. PROPIEDADES:
+   • Agregar y quitar: O(1) (un índice y un contador)
+   • Primera y última cubeta ocupada al día: mínimo y máximo aproximados en O(1)
+   • Memoria: depende del rango de valores, no de cuántos hay
+   • Combinable: sumar cubetas de dos resúmenes da el resumen de la unión
+*/
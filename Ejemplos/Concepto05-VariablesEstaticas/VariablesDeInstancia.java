@@ -14,8 +14,8 @@ public class VariablesDeInstancia {
     private boolean activo;
     private int numeroIdentificacion;
     
-    // Variable estática para generar IDs únicos
-    private static int contadorId = 1000;
+    // Variable estática para generar IDs únicos (segura entre hilos)
+    private static final IdAllocator contadorId = new IdAllocator(1000, 1024);
     
     // CONSTRUCTOR - inicializa variables de instancia
     public VariablesDeInstancia(String nombre, int edad, double altura, String email) {
@@ -27,7 +27,7 @@ public class VariablesDeInstancia {
         this.activo = true;  // Por defecto activo
         
         // Asignar ID único usando variable estática
-        this.numeroIdentificacion = contadorId++;
+        this.numeroIdentificacion = contadorId.siguienteInt();
         
         System.out.println("✅ Nuevo objeto creado con ID: " + this.numeroIdentificacion);
     }
@@ -75,9 +75,14 @@ public class VariablesDeInstancia {
     public boolean isActivo() { return this.activo; }
     public int getNumeroIdentificacion() { return this.numeroIdentificacion; }
     
-    // Método estático para mostrar el total de objetos creados
+    // IDs del mismo generador para las personas guardadas en PersonaStore
+    static int nuevoId() {
+        return contadorId.siguienteInt();
+    }
+    
+    // Método estático para mostrar el total de objetos creados (incluye filas de PersonaStore)
     public static int getTotalObjetosCreados() {
-        return contadorId - 1000;  // Restamos el valor inicial
+        return (int) contadorId.totalEmitidos();
     }
     
     public static void main(String[] args) {
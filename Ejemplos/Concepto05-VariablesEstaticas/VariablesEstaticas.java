@@ -10,7 +10,11 @@ public class VariablesEstaticas {
     static String nombreEscuela = "Instituto Tecnológico";
     static int totalEstudiantes = 0;
     static final String CODIGO_PAIS = "CO";  // Constante estática
-    static double promedioGeneral = 0.0;
+    // Estadísticas de promedios: seguras entre hilos y sin error acumulado
+    static final RunningStats promedioGeneral = new RunningStats(5.0);
+    
+    // Generador de números para los códigos (no se repite aunque haya varios hilos)
+    private static final IdAllocator contadorCodigos = new IdAllocator(0, 1024);
     
     // VARIABLES DE INSTANCIA (no static) - Específicas de cada objeto
     String nombreEstudiante;
@@ -39,7 +43,7 @@ public class VariablesEstaticas {
         System.out.println("Nombre de la escuela: " + nombreEscuela);
         System.out.println("Total de estudiantes: " + totalEstudiantes);
         System.out.println("Código del país: " + CODIGO_PAIS);
-        System.out.println("Promedio general: " + String.format("%.2f", promedioGeneral));
+        System.out.println("Promedio general: " + String.format("%.2f", promedioGeneral.instantanea().getMedia()));
         
         // ❌ ERROR: No podemos acceder a variables de instancia desde método estático
         // System.out.println("Nombre estudiante: " + nombreEstudiante);  // Error!
@@ -74,22 +78,28 @@ public class VariablesEstaticas {
     
     // MÉTODO DE INSTANCIA que modifica variable estática
     private void actualizarPromedioGeneral() {
-        // Recalcular promedio general usando la variable estática
-        if (totalEstudiantes > 0) {
-            // Simulación simple del cálculo (en un caso real sería más complejo)
-            promedioGeneral = (promedioGeneral * (totalEstudiantes - 1) + this.promedio) / totalEstudiantes;
-        }
+        // Agregar el promedio de este estudiante a las estadísticas compartidas
+        promedioGeneral.agregar(this.promedio);
+    }
+    
+    // MÉTODO DE INSTANCIA para corregir la nota de este estudiante
+    public void cambiarPromedio(double nuevoPromedio) {
+        promedioGeneral.actualizar(this.promedio, nuevoPromedio);
+        this.promedio = nuevoPromedio;
     }
     
     // MÉTODO para generar código único
     private String generarCodigo() {
-        return CODIGO_PAIS + "-" + String.format("%03d", totalEstudiantes);
+        return CODIGO_PAIS + "-" + String.format("%03d", contadorCodigos.siguiente());
     }
     
     // MÉTODO ESTÁTICO para obtener estadísticas
     public static String obtenerEstadisticas() {
+        // Una sola instantánea (cantidad y promedio salen de la misma lectura), sin bloquear a quien escribe;
+        // totalEstudiantes++ no es atómico y podría no coincidir con las notas registradas
+        RunningStats.Instantanea stats = promedioGeneral.instantanea();
         return String.format("Escuela: %s | Estudiantes: %d | Promedio: %.2f", 
-                           nombreEscuela, totalEstudiantes, promedioGeneral);
+                           nombreEscuela, stats.getCantidad(), stats.getMedia());
     }
     
     public static void main(String[] args) {
@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de CargaPromedios: con ids repetidos en un lote grande, la
+ * carga en paralelo deja los mismos promedios y rechazos que la
+ * secuencial (gana la última entrada válida).
+ */
+class CargaPromediosTest {
+
+    private static final int ESTUDIANTES = 1_000;
+    private static final int ENTRADAS = 200_000;
+
+    @Test
+    void paraleloConIdsRepetidosIgualQueSecuencial() {
+        int[] ids = new int[ENTRADAS];
+        double[] promedios = new double[ENTRADAS];
+        for (int i = 0; i < ENTRADAS; i++) {
+            ids[i] = i % ESTUDIANTES;
+            // Cada 7 entradas, un promedio inválido que no debe pisar al anterior
+            promedios[i] = i % 7 == 0 ? 11.0 : (i % 1001) / 100.0;
+        }
+        Estudiante[] secuencial = nuevos();
+        Estudiante[] paralelo = nuevos();
+        CargaPromedios.Rechazos esperados = CargaPromedios.aplicar(secuencial, ids, promedios);
+        CargaPromedios.Rechazos obtenidos = CargaPromedios.aplicarEnParalelo(paralelo, ids, promedios);
+
+        assertArrayEquals(esperados.indices(), obtenidos.indices());
+        for (int i = 0; i < ESTUDIANTES; i++) {
+            assertEquals(secuencial[i].getPromedio(), paralelo[i].getPromedio(), "estudiante " + i);
+        }
+        assertEquals(ultimoValido(ids, promedios, 1), paralelo[1].getPromedio());
+    }
+
+    @Test
+    void rosterEnParaleloConFilasRepetidasIgualQueSecuencial() {
+        int[] filas = new int[ENTRADAS];
+        double[] promedios = new double[ENTRADAS];
+        for (int i = 0; i < ENTRADAS; i++) {
+            filas[i] = ENTRADAS - 1 - i < ESTUDIANTES ? i % ESTUDIANTES : (i * 31) % ESTUDIANTES;
+            promedios[i] = (i % 1001) / 100.0;
+        }
+        Roster secuencial = nuevoRoster();
+        Roster paralelo = nuevoRoster();
+        CargaPromedios.aplicar(secuencial, filas, promedios);
+        CargaPromedios.aplicarEnParalelo(paralelo, filas, promedios);
+        for (int i = 0; i < ESTUDIANTES; i++) {
+            assertEquals(secuencial.fila(i).getPromedio(), paralelo.fila(i).getPromedio(), "fila " + i);
+        }
+    }
+
+    private static Estudiante[] nuevos() {
+        Estudiante[] estudiantes = new Estudiante[ESTUDIANTES];
+        for (int i = 0; i < ESTUDIANTES; i++) {
+            estudiantes[i] = new Estudiante("Estudiante " + i, 20, "Carrera " + i % 5);
+        }
+        return estudiantes;
+    }
+
+    private static Roster nuevoRoster() {
+        Roster roster = new Roster(ESTUDIANTES);
+        for (Estudiante e : nuevos()) {
+            roster.agregar(e);
+        }
+        return roster;
+    }
+
+    private static double ultimoValido(int[] ids, double[] promedios, int id) {
+        for (int i = ids.length - 1; i >= 0; i--) {
+            if (ids[i] == id && Estudiante.esPromedioValido(promedios[i])) {
+                return promedios[i];
+            }
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,116 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Prueba diferencial de CompiledFormat: patrones y valores aleatorios
+ * (semillas fijas) tienen que dar exactamente el mismo texto que
+ * String.format con el mismo Locale.
+ */
+class CompiledFormatTest {
+
+    private static final int CASOS = 150_000;
+
+    @ParameterizedTest
+    @CsvSource({
+        "20240315, und",
+        "20240316, es-ES",
+        "20240317, en-US",
+        "20240318, de-DE",
+        "20240319, fr-FR"
+    })
+    void mismoTextoQueStringFormat(long semilla, String etiqueta) {
+        Locale locale = Locale.forLanguageTag(etiqueta);
+        List<String> diferencias = pruebaDiferencial(new Random(semilla), CASOS, locale);
+        assertTrue(diferencias.isEmpty(), () -> diferencias.size() + " diferencias con " + locale
+                                               + " (semilla " + semilla + "), por ejemplo:\n"
+                                               + String.join("\n", diferencias.subList(0, Math.min(10, diferencias.size()))));
+    }
+
+    @Test
+    void filaDePrintfAvanzado() {
+        CompiledFormat fila = CompiledFormat.compilar("%-15s | %-8d | $%9.2f | %8d%n", Locale.US);
+        StringBuilder sb = new StringBuilder();
+        fila.iniciar(sb).agregar("Laptop").agregar(1001).agregar(1299.99).agregar(15).terminar();
+        assertEquals(String.format(Locale.US, "%-15s | %-8d | $%9.2f | %8d%n", "Laptop", 1001, 1299.99, 15),
+                     sb.toString());
+    }
+
+    private static List<String> pruebaDiferencial(Random r, int casos, Locale locale) {
+        String[] flagsEnteros = {"", "-", "0", "+", " ", "+0", " 0", "-+", "- "};
+        String[] flagsRadix = {"", "-", "0"};
+        List<String> diferencias = new ArrayList<>();
+        for (int caso = 0; caso < casos; caso++) {
+            String ancho = r.nextInt(3) == 0 ? "" : Integer.toString(1 + r.nextInt(20));
+            int tipo = r.nextInt(7);
+            String patron;
+            Object valor;
+            switch (tipo) {
+                case 0: {   // %d con int o long
+                    String f = flagsEnteros[r.nextInt(flagsEnteros.length)];
+                    patron = "%" + (f.contains("-") || f.contains("0") ? f + (ancho.isEmpty() ? "8" : ancho) : f + ancho) + "d";
+                    valor = r.nextBoolean() ? (Object) (r.nextInt() >> r.nextInt(32)) : (Object) (r.nextLong() >> r.nextInt(64));
+                    break;
+                }
+                case 1: case 2: {   // %o / %x / %X con int o long
+                    String f = flagsRadix[r.nextInt(flagsRadix.length)];
+                    char c = tipo == 1 ? 'o' : (r.nextBoolean() ? 'x' : 'X');
+                    patron = "%" + (f.isEmpty() ? ancho : f + (ancho.isEmpty() ? "8" : ancho)) + c;
+                    valor = r.nextBoolean() ? (Object) (r.nextInt() >> r.nextInt(32)) : (Object) (r.nextLong() >> r.nextInt(64));
+                    break;
+                }
+                case 3: case 4: {   // %f / %e / %E
+                    String f = flagsEnteros[r.nextInt(flagsEnteros.length)];
+                    char c = tipo == 3 ? 'f' : (r.nextBoolean() ? 'e' : 'E');
+                    String precision = r.nextInt(4) == 0 ? "" : "." + r.nextInt(10);
+                    patron = "%" + (f.contains("-") || f.contains("0") ? f + (ancho.isEmpty() ? "12" : ancho) : f + ancho)
+                             + precision + c;
+                    valor = doubleAleatorio(r);
+                    break;
+                }
+                case 5: {   // %s con texto
+                    String precision = r.nextInt(4) == 0 ? "." + r.nextInt(8) : "";
+                    patron = "%" + (r.nextBoolean() && !ancho.isEmpty() ? "-" : "") + ancho + precision + "s";
+                    valor = "Producto" + "ñáé".substring(0, r.nextInt(4)) + r.nextInt(1000);
+                    break;
+                }
+                default: {  // literales, %% y %n
+                    patron = "Progreso: %" + ancho + "d%% listo%n";
+                    valor = r.nextInt(101);
+                }
+            }
+            String esperado = String.format(locale, patron, valor);
+            StringBuilder obtenido = new StringBuilder();
+            CompiledFormat formato = CompiledFormat.compilar(patron, locale).iniciar(obtenido);
+            if (valor instanceof Integer) formato.agregar((int) (Integer) valor);
+            else if (valor instanceof Long) formato.agregar((long) (Long) valor);
+            else if (valor instanceof Double) formato.agregar((double) (Double) valor);
+            else formato.agregar((String) valor);
+            formato.terminar();
+            if (!esperado.contentEquals(obtenido)) {
+                diferencias.add("patrón=\"" + patron + "\" valor=" + valor
+                                + " esperado=\"" + esperado + "\" obtenido=\"" + obtenido + "\"");
+            }
+        }
+        return diferencias;
+    }
+
+    private static double doubleAleatorio(Random r) {
+        switch (r.nextInt(6)) {
+            case 0: return (r.nextInt(2_000_001) - 1_000_000) / 100.0;        // Montos con 2 decimales
+            case 1: return (r.nextInt(2_000_001) - 1_000_000) / 1000.0 + 0.0005; // Empates decimales
+            case 2: return r.nextGaussian() * Math.pow(10, r.nextInt(40) - 20);
+            case 3: return Double.longBitsToDouble(r.nextLong());             // Cualquier double
+            case 4: return r.nextInt(5) == 0 ? -0.0 : 0.0;
+            default: return r.nextDouble() * 1e6;
+        }
+    }
+}
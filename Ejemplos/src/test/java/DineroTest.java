@@ -0,0 +1,104 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Propiedades de Dinero comprobadas contra BigDecimal con valores
+ * aleatorios (semillas fijas): impuestos en los dos redondeos, texto,
+ * lectura y escritura en bytes.
+ */
+class DineroTest {
+
+    private static final int CASOS = 1_000_000;
+
+    @ParameterizedTest
+    @EnumSource(Dinero.Redondeo.class)
+    void impuestoIgualQueBigDecimal(Dinero.Redondeo redondeo) {
+        RoundingMode modo = redondeo == Dinero.Redondeo.MITAD_PAR ? RoundingMode.HALF_EVEN : RoundingMode.HALF_UP;
+        SplittableRandom azar = new SplittableRandom(20240315L);
+        for (int i = 0; i < CASOS; i++) {
+            long centavos = centavosAleatorios(azar, i);
+            int puntos = azar.nextInt(0, 5_000);
+            BigDecimal bruto = BigDecimal.valueOf(centavos, 2).multiply(BigDecimal.valueOf(puntos, 4));
+            long esperado = bruto.setScale(2, modo).unscaledValue().longValueExact();
+            long obtenido = Dinero.impuestoCentavos(centavos, Dinero.Tasa.puntosBasicos(puntos), redondeo);
+            if (obtenido != esperado) {
+                assertEquals(esperado, obtenido, centavos + " centavos × " + puntos + " puntos básicos");
+            }
+        }
+    }
+
+    @Test
+    void textoYLecturaIgualQueBigDecimal() {
+        SplittableRandom azar = new SplittableRandom(20240316L);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < CASOS; i++) {
+            long centavos = centavosAleatorios(azar, i);
+            String esperado = BigDecimal.valueOf(centavos, 2).toPlainString();
+            sb.setLength(0);
+            String texto = Dinero.agregarCentavos(sb, centavos, 0).toString();
+            if (!texto.equals(esperado) || Dinero.parsearCentavos(texto) != centavos) {
+                assertEquals(esperado, texto);
+                assertEquals(centavos, Dinero.parsearCentavos(texto), texto);
+            }
+        }
+    }
+
+    @Test
+    void bytesIgualQueFormatConAncho() {
+        SplittableRandom azar = new SplittableRandom(20240317L);
+        ByteBuffer bytes = ByteBuffer.allocate(32);
+        for (int i = 0; i < CASOS; i++) {
+            long centavos = centavosAleatorios(azar, i);
+            int ancho = azar.nextInt(0, 16);
+            String esperado = String.format("%" + (ancho == 0 ? "" : ancho) + "s", BigDecimal.valueOf(centavos, 2).toPlainString());
+            bytes.clear();
+            Dinero.escribirCentavos(bytes, centavos, ancho);
+            String obtenido = new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII);
+            if (!obtenido.equals(esperado)) {
+                assertEquals(esperado, obtenido, centavos + " centavos con ancho " + ancho);
+            }
+        }
+    }
+
+    @Test
+    void extremosDelLong() {
+        for (long centavos : new long[] {Long.MIN_VALUE, Long.MAX_VALUE, -1, 0, 1, -99, 100}) {
+            assertEquals(BigDecimal.valueOf(centavos, 2).toPlainString(), Dinero.deCentavos(centavos).toString());
+        }
+        assertThrows(ArithmeticException.class, () -> Dinero.deCentavos(Long.MAX_VALUE).sumar(Dinero.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Dinero.deCentavos(Long.MAX_VALUE / 2).multiplicar(3));
+    }
+
+    @Test
+    void redondeoDeMedioCentavo() {
+        // IVA 13% de $0.50 = 6.5 centavos
+        assertEquals(Dinero.de("0.07"), Dinero.de("0.50").impuesto(Dinero.Tasa.IVA, Dinero.Redondeo.MITAD_ARRIBA));
+        assertEquals(Dinero.de("0.06"), Dinero.de("0.50").impuesto(Dinero.Tasa.IVA, Dinero.Redondeo.MITAD_PAR));
+        assertEquals(Dinero.de("0.30"), Dinero.de("0.10").sumar(Dinero.de("0.20")));
+    }
+
+    @Test
+    void lecturaRechazaTextoInvalido() {
+        assertEquals(150, Dinero.parsearCentavos("1.5"));
+        assertEquals(-50, Dinero.parsearCentavos("-.5"));
+        assertThrows(NumberFormatException.class, () -> Dinero.de("1.005"));
+        assertThrows(NumberFormatException.class, () -> Dinero.de(""));
+        assertThrows(NumberFormatException.class, () -> Dinero.de("-"));
+        assertThrows(NumberFormatException.class, () -> Dinero.de("12,50"));
+    }
+
+    // Uno de cada diez con magnitud grande (hasta ~9.2e12 centavos), el resto montos habituales
+    private static long centavosAleatorios(SplittableRandom azar, int i) {
+        return i % 10 == 0 ? azar.nextLong() / 1_000_000 : azar.nextLong(-10_000_000, 10_000_000);
+    }
+}
@@ -0,0 +1,227 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas de FacturacionMasiva: un lote que falla a mitad de la corrida
+ * no debe dejar a generar() esperando lotes que nunca vuelven, y un fallo
+ * al leer facturas no cierra los fragmentos con lotes todavía escribiendo.
+ */
+class FacturacionMasivaTest {
+
+    private static final Duration LIMITE = Duration.ofSeconds(20);
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void generaTodasLasFacturasSinErrores() throws Exception {
+        FacturacionMasiva motor = new FacturacionMasiva(2, 16);
+        try {
+            long total = assertTimeoutPreemptively(LIMITE,
+                    () -> motor.generar(facturas(1_000, -1), 1, carpeta, 3));
+            assertEquals(1_000, total);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(true, Files.size(carpeta.resolve(String.format("facturas-%03d.txt", i))) > 0);
+            }
+        } finally {
+            motor.cerrar();
+        }
+    }
+
+    @Test
+    void unErrorDeEscrituraAMitadDeCorridaTermina() {
+        AtomicInteger escrituras = new AtomicInteger();
+        FacturacionMasiva motor = new FacturacionMasiva(2, 16) {
+            @Override
+            WritableByteChannel abrirFragmento(Path archivo) {
+                return new CanalQueFalla(escrituras, 10);
+            }
+        };
+        try {
+            IOException e = assertTimeoutPreemptively(LIMITE, () -> assertThrows(IOException.class,
+                    () -> motor.generar(facturas(5_000, -1), 1, carpeta, 3)));
+            assertEquals("Disco lleno (simulado)", e.getMessage());
+        } finally {
+            motor.cerrar();
+        }
+    }
+
+    @Test
+    void unErrorAlDibujarUnLoteTermina() {
+        FacturacionMasiva motor = new FacturacionMasiva(2, 16);
+        try {
+            // La factura 300 desborda Math.multiplyExact al calcular su importe
+            assertTimeoutPreemptively(LIMITE, () -> assertThrows(ArithmeticException.class,
+                    () -> motor.generar(facturas(5_000, 300), 1, carpeta, 3)));
+        } finally {
+            motor.cerrar();
+        }
+    }
+
+    @Test
+    void unErrorAlLeerFacturasEsperaALosLotesEnVuelo() {
+        AtomicBoolean cierreAnticipado = new AtomicBoolean();
+        FacturacionMasiva motor = motorConCanalLento(cierreAnticipado);
+        try {
+            Iterator<FacturacionMasiva.Factura> origen = facturas(5_000, -1);
+            Iterator<FacturacionMasiva.Factura> queFalla = new Iterator<FacturacionMasiva.Factura>() {
+                int leidas;
+
+                public boolean hasNext() {
+                    return origen.hasNext();
+                }
+
+                public FacturacionMasiva.Factura next() {
+                    if (++leidas == 200) {
+                        throw new IllegalStateException("Base de datos caída (simulado)");
+                    }
+                    return origen.next();
+                }
+            };
+            IllegalStateException e = assertTimeoutPreemptively(LIMITE, () -> assertThrows(
+                    IllegalStateException.class, () -> motor.generar(queFalla, 1, carpeta, 3)));
+            assertEquals("Base de datos caída (simulado)", e.getMessage());
+            assertFalse(cierreAnticipado.get(), "Se cerró un fragmento con lotes todavía escribiendo");
+        } finally {
+            motor.cerrar();
+        }
+    }
+
+    @Test
+    void unaInterrupcionEsperaALosLotesEnVuelo() {
+        AtomicBoolean cierreAnticipado = new AtomicBoolean();
+        FacturacionMasiva motor = motorConCanalLento(cierreAnticipado);
+        try {
+            Iterator<FacturacionMasiva.Factura> origen = facturas(5_000, -1);
+            Iterator<FacturacionMasiva.Factura> queInterrumpe = new Iterator<FacturacionMasiva.Factura>() {
+                int leidas;
+
+                public boolean hasNext() {
+                    return origen.hasNext();
+                }
+
+                public FacturacionMasiva.Factura next() {
+                    if (++leidas == 200) {
+                        Thread.currentThread().interrupt();   // La siguiente espera de un lote libre se corta
+                    }
+                    return origen.next();
+                }
+            };
+            assertTimeoutPreemptively(LIMITE, () -> assertThrows(
+                    InterruptedException.class, () -> motor.generar(queInterrumpe, 1, carpeta, 3)));
+            assertFalse(cierreAnticipado.get(), "Se cerró un fragmento con lotes todavía escribiendo");
+        } finally {
+            motor.cerrar();
+        }
+    }
+
+    // Un hilo y escrituras de 1 ms: cuando falla la lectura todavía hay lotes
+    // escribiendo; se marca si un canal se cierra con una escritura en curso
+    // o si se escribe en un canal ya cerrado
+    private static FacturacionMasiva motorConCanalLento(AtomicBoolean cierreAnticipado) {
+        AtomicInteger escribiendo = new AtomicInteger();
+        return new FacturacionMasiva(1, 16) {
+            @Override
+            WritableByteChannel abrirFragmento(Path archivo) {
+                return new WritableByteChannel() {
+                    private volatile boolean abierto = true;
+
+                    @Override
+                    public int write(ByteBuffer origen) {
+                        escribiendo.incrementAndGet();
+                        try {
+                            LockSupport.parkNanos(1_000_000);
+                            if (!abierto) {
+                                cierreAnticipado.set(true);
+                            }
+                            int n = origen.remaining();
+                            origen.position(origen.limit());
+                            return n;
+                        } finally {
+                            escribiendo.decrementAndGet();
+                        }
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return abierto;
+                    }
+
+                    @Override
+                    public void close() {
+                        if (escribiendo.get() > 0) {
+                            cierreAnticipado.set(true);
+                        }
+                        abierto = false;
+                    }
+                };
+            }
+        };
+    }
+
+    // Facturas de una línea; la de posición 'desbordada' tiene un precio que no cabe en un long
+    private static Iterator<FacturacionMasiva.Factura> facturas(int cantidad, int desbordada) {
+        return new Iterator<FacturacionMasiva.Factura>() {
+            int i;
+
+            public boolean hasNext() {
+                return i < cantidad;
+            }
+
+            public FacturacionMasiva.Factura next() {
+                long precio = i == desbordada ? Long.MAX_VALUE : 4550;
+                i++;
+                return new FacturacionMasiva.Factura("Cliente " + i, "15/03/2024",
+                        new String[] {"Mouse RGB"}, new int[] {2}, new long[] {precio});
+            }
+        };
+    }
+
+    // Acepta 'limite' escrituras entre todos los fragmentos y después lanza IOException
+    private static final class CanalQueFalla implements WritableByteChannel {
+        private final AtomicInteger escrituras;
+        private final int limite;
+        private boolean abierto = true;
+
+        CanalQueFalla(AtomicInteger escrituras, int limite) {
+            this.escrituras = escrituras;
+            this.limite = limite;
+        }
+
+        @Override
+        public int write(ByteBuffer origen) throws IOException {
+            if (escrituras.incrementAndGet() > limite) {
+                throw new IOException("Disco lleno (simulado)");
+            }
+            int n = origen.remaining();
+            origen.position(origen.limit());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return abierto;
+        }
+
+        @Override
+        public void close() {
+            abierto = false;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Pruebas de IdAllocator: con muchos hilos pidiendo IDs a la vez ninguno
+ * se repite, y después de reiniciar con el mismo archivo de marca tampoco.
+ */
+class IdAllocatorTest {
+
+    private static final Duration LIMITE = Duration.ofSeconds(30);
+
+    @TempDir
+    Path carpeta;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 8, 64})
+    void idsUnicosConVariosHilos(int hilos) {
+        // Bloques chicos para que los hilos se crucen muchas veces en siguienteBloque
+        IdAllocator ids = new IdAllocator(0, 7);
+        int porHilo = 50_000;
+        long[][] porTrabajador = assertTimeoutPreemptively(LIMITE, () -> pedirEnParalelo(ids, hilos, porHilo));
+
+        long[] todos = new long[hilos * porHilo];
+        for (int t = 0; t < hilos; t++) {
+            System.arraycopy(porTrabajador[t], 0, todos, t * porHilo, porHilo);
+        }
+        Arrays.sort(todos);
+        for (int i = 1; i < todos.length; i++) {
+            assertTrue(todos[i] != todos[i - 1], "ID repetido: " + todos[i]);
+        }
+        assertEquals(todos.length, ids.totalEmitidos());
+    }
+
+    @Test
+    void alReiniciarContinuaDespuesDeLaMarca() {
+        Path marca = carpeta.resolve("ids.marca");
+        IdAllocator antes = new IdAllocator(1, 100, marca);
+        long ultimoAntes = 0;
+        for (int i = 0; i < 250; i++) {
+            ultimoAntes = antes.siguiente();
+        }
+        IdAllocator despues = new IdAllocator(1, 100, marca);
+        assertTrue(despues.siguiente() > ultimoAntes);
+    }
+
+    // Todos los hilos arrancan juntos; cada uno guarda sus IDs en su propio arreglo
+    private static long[][] pedirEnParalelo(IdAllocator ids, int hilos, int porHilo) throws Exception {
+        long[][] resultado = new long[hilos][porHilo];
+        CyclicBarrier salida = new CyclicBarrier(hilos);
+        Thread[] trabajadores = new Thread[hilos];
+        Throwable[] error = new Throwable[1];
+        for (int t = 0; t < hilos; t++) {
+            long[] propios = resultado[t];
+            trabajadores[t] = new Thread(() -> {
+                try {
+                    salida.await();
+                    for (int i = 0; i < porHilo; i++) {
+                        propios[i] = ids.siguiente();
+                    }
+                } catch (Exception e) {
+                    synchronized (error) {
+                        error[0] = e;
+                    }
+                }
+            });
+            trabajadores[t].start();
+        }
+        for (Thread t : trabajadores) {
+            t.join();
+        }
+        if (error[0] != null) {
+            throw new AssertionError(error[0]);
+        }
+        return resultado;
+    }
+}
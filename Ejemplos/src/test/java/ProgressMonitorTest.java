@@ -0,0 +1,110 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de ProgressMonitor: avanzar una barra no crea objetos y cuesta
+ * nanosegundos aunque varios hilos avancen a la vez, y redibujar tampoco
+ * crea objetos por cuadro.
+ */
+class ProgressMonitorTest {
+
+    private static final int LLAMADAS = 1_000_000;
+
+    // Cota holgada: avanzar() es un LongAdder.add (decenas de ns en el peor caso)
+    private static final long NANOS_POR_AVANCE = 1_000;
+
+    private static final com.sun.management.ThreadMXBean MX =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void avanzarNoCreaObjetos() {
+        try (ProgressMonitor monitor = new ProgressMonitor(OutputStream.nullOutputStream(), 1)) {
+            ProgressMonitor.Barra barra = monitor.nuevaBarra("archivo", Long.MAX_VALUE, 1, "B");
+            avanzarVarias(barra, LLAMADAS);   // Calentamiento (compilación JIT)
+            long bytes = bytesCreados(() -> avanzarVarias(barra, LLAMADAS));
+            // Margen para la propia medición; un objeto por llamada serían ≥ 16 MB
+            assertTrue(bytes < 1024, bytes + " bytes en " + LLAMADAS + " llamadas a avanzar()");
+        }
+    }
+
+    @Test
+    void avanzarCuestaNanosegundosConVariosHilos() {
+        int hilos = 4;
+        try (ProgressMonitor monitor = new ProgressMonitor(OutputStream.nullOutputStream(), 100)) {
+            ProgressMonitor.Barra barra = monitor.nuevaBarra("archivo", Long.MAX_VALUE, 1, "B");
+            avanzarVarias(barra, LLAMADAS);   // Calentamiento
+            long nanos = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> avanzarEnParalelo(barra, hilos));
+            long porAvance = nanos / LLAMADAS;
+            assertTrue(porAvance < NANOS_POR_AVANCE,
+                       porAvance + " ns por avance con " + hilos + " hilos (cota " + NANOS_POR_AVANCE + " ns)");
+            assertEquals(LLAMADAS * (hilos + 1L), barra.getHecho());
+        }
+    }
+
+    @Test
+    void redibujarNoCreaObjetos() {
+        try (ProgressMonitor monitor = new ProgressMonitor(OutputStream.nullOutputStream(), 1)) {
+            for (int i = 0; i < 4; i++) {
+                monitor.nuevaBarra("barra" + i, 1000, 1, "KB").avanzar(250 * i);
+            }
+            for (int i = 0; i < 10_000; i++) {
+                monitor.redibujar();   // Calentamiento
+            }
+            long bytes = bytesCreados(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    monitor.redibujar();
+                }
+            });
+            assertTrue(bytes < 1024, bytes + " bytes en 100000 cuadros");
+        }
+    }
+
+    private static void avanzarVarias(ProgressMonitor.Barra barra, int veces) {
+        for (int i = 0; i < veces; i++) {
+            barra.avanzar();
+        }
+    }
+
+    private static long bytesCreados(Runnable trabajo) {
+        long id = Thread.currentThread().getId();
+        MX.getThreadAllocatedBytes(id);   // La primera llamada puede inicializar estructuras
+        long antes = MX.getThreadAllocatedBytes(id);
+        trabajo.run();
+        return MX.getThreadAllocatedBytes(id) - antes;
+    }
+
+    // Todos los hilos arrancan juntos; devuelve el peor tiempo de un hilo para LLAMADAS avances
+    private static long avanzarEnParalelo(ProgressMonitor.Barra barra, int hilos) throws Exception {
+        CyclicBarrier salida = new CyclicBarrier(hilos);
+        long[] nanos = new long[hilos];
+        Thread[] trabajadores = new Thread[hilos];
+        for (int t = 0; t < hilos; t++) {
+            int propio = t;
+            trabajadores[t] = new Thread(() -> {
+                try {
+                    salida.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                long inicio = System.nanoTime();
+                avanzarVarias(barra, LLAMADAS);
+                nanos[propio] = System.nanoTime() - inicio;
+            });
+            trabajadores[t].start();
+        }
+        long peor = 0;
+        for (int t = 0; t < hilos; t++) {
+            trabajadores[t].join();
+            peor = Math.max(peor, nanos[t]);
+        }
+        return peor;
+    }
+}
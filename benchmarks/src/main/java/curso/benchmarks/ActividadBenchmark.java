@@ -0,0 +1,80 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ActividadEstudio (Concepto02): publicar un evento en el anillo y
+ * consumirlo (ventanas de 1 minuto y 1 hora, Count-Min sketch) en el mismo
+ * hilo, drenando cada 1024 eventos, a 20000 eventos por milisegundo de
+ * reloj simulado. El resultado es por evento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ActividadBenchmark {
+
+    private static final MethodHandle NUEVA_ACTIVIDAD = generico(constructor("ActividadEstudio", int.class,
+        int.class, int.class, LongSupplier.class));
+    private static final MethodHandle PUBLICAR = generico(virtual("ActividadEstudio", "publicar", boolean.class,
+        int.class, int.class, int.class, long.class));
+    private static final MethodHandle DRENAR = generico(virtual("ActividadEstudio", "drenar", int.class));
+    private static final MethodHandle CERRAR = generico(virtual("ActividadEstudio", "close", void.class));
+    private static final MethodHandle MATERIAS_DE_PRUEBA =
+        estatico("ActividadEstudio", "materiasDePrueba", int[].class, int.class);
+
+    private static final int POR_DRENAJE = 1024;
+    private static final int EVENTOS_POR_MS = 20_000;
+
+    @State(Scope.Thread)
+    public static class Flujo {
+        Object actividad;
+        int[] materias;
+        long inicio = 1_700_000_000_000L;
+        int evento;
+
+        @Setup
+        public void preparar() throws Throwable {
+            LongSupplier reloj = () -> inicio + evento / EVENTOS_POR_MS;
+            actividad = (Object) NUEVA_ACTIVIDAD.invokeExact(1 << 16, 4096, 256, reloj);
+            materias = (int[]) MATERIAS_DE_PRUEBA.invokeExact(4096);
+        }
+
+        @TearDown
+        public void cerrar() throws Throwable {
+            CERRAR.invokeExact(actividad);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POR_DRENAJE)
+    public int publicarYDrenar(Flujo f) throws Throwable {
+        for (int i = 0; i < POR_DRENAJE; i++) {
+            int e = f.evento++;
+            boolean publicado = (boolean) PUBLICAR.invokeExact(f.actividad, e, f.materias[e & 1023], e & 255,
+                f.inicio + e / EVENTOS_POR_MS);
+        }
+        return (int) DRENAR.invokeExact(f.actividad);
+    }
+}
@@ -0,0 +1,292 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Almacenes de Concepto05: recorrer salarios en EmpleadoStore (columnas)
+ * contra un objeto por empleado (suma por departamento, promedio, mínimo,
+ * máximo y filtro de activos), y pedir IDs a IdAllocator (bloques por
+ * hilo) contra un único AtomicLong, de 1 a 64 hilos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class AlmacenesBenchmark {
+
+    private static final MethodHandle NUEVO_STORE = generico(constructor("EmpleadoStore", int.class));
+    private static final MethodHandle AGREGAR = generico(virtual("EmpleadoStore", "agregar", int.class,
+        int.class, String.class, String.class, double.class, int.class));
+    private static final MethodHandle CAMBIAR_ESTADO = generico(virtual("EmpleadoStore", "cambiarEstado", void.class,
+        int.class, boolean.class));
+    private static final MethodHandle SUMA_DEPARTAMENTO = generico(virtual("EmpleadoStore",
+        "sumaSalariosDepartamento", double.class, String.class));
+    private static final MethodHandle PROMEDIO = generico(virtual("EmpleadoStore", "promedioSalario", double.class));
+    private static final MethodHandle MINIMO = generico(virtual("EmpleadoStore", "salarioMinimo", double.class));
+    private static final MethodHandle MAXIMO = generico(virtual("EmpleadoStore", "salarioMaximo", double.class));
+    private static final MethodHandle FILTRAR = generico(virtual("EmpleadoStore", "filtrarActivosConSalarioMinimo",
+        int[].class, double.class));
+    private static final MethodHandle NUEVO_ALLOCATOR = generico(constructor("IdAllocator", long.class, int.class));
+    private static final MethodHandle SIGUIENTE = generico(virtual("IdAllocator", "siguiente", long.class));
+
+    private static final String[] DEPARTAMENTOS = {"Desarrollo", "Marketing", "Ventas", "Recursos Humanos"};
+    private static final double SALARIO_MINIMO = 50000;
+
+    @State(Scope.Benchmark)
+    public static class Empleados {
+        @Param({"1000000", "10000000"})
+        public int filas;
+
+        EmpleadoObjeto[] objetos;
+        Object columnas;
+
+        @Setup
+        public void preparar() throws Throwable {
+            // 1000 nombres compartidos: con 10M filas medimos el recorrido, no los Strings
+            String[] nombres = new String[1000];
+            for (int k = 0; k < nombres.length; k++) {
+                nombres[k] = "Empleado" + k;
+            }
+            objetos = new EmpleadoObjeto[filas];
+            columnas = (Object) NUEVO_STORE.invokeExact(filas);
+            for (int i = 0; i < filas; i++) {
+                double salario = 30000 + (i % 5000) * 10;
+                boolean activo = i % 8 != 0;
+                objetos[i] = new EmpleadoObjeto(i, nombres[i % 1000], DEPARTAMENTOS[i & 3], salario, i % 40, activo);
+                int fila = (int) AGREGAR.invokeExact(columnas, i, nombres[i % 1000], DEPARTAMENTOS[i & 3],
+                    salario, i % 40);
+                if (!activo) {
+                    CAMBIAR_ESTADO.invokeExact(columnas, i, false);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Generadores {
+        Object porBloques;
+        final AtomicLong global = new AtomicLong();
+
+        @Setup
+        public void preparar() throws Throwable {
+            porBloques = (Object) NUEVO_ALLOCATOR.invokeExact(0L, 4096);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double sumaColumnas(Empleados e) throws Throwable {
+        return (double) SUMA_DEPARTAMENTO.invokeExact(e.columnas, "Ventas");
+    }
+
+    /** Un objeto por empleado, como ComparacionEstaticaVsInstancia. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double sumaObjetosAnterior(Empleados e) {
+        double suma = 0.0;
+        for (EmpleadoObjeto o : e.objetos) {
+            if (o.departamento.equals("Ventas")) {
+                suma += o.salario;
+            }
+        }
+        return suma;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double promedioColumnas(Empleados e) throws Throwable {
+        return (double) PROMEDIO.invokeExact(e.columnas);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double promedioObjetosAnterior(Empleados e) {
+        double suma = 0.0;
+        for (EmpleadoObjeto o : e.objetos) {
+            suma += o.salario;
+        }
+        return e.objetos.length == 0 ? 0.0 : suma / e.objetos.length;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double minimoColumnas(Empleados e) throws Throwable {
+        return (double) MINIMO.invokeExact(e.columnas);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double minimoObjetosAnterior(Empleados e) {
+        double min = Double.POSITIVE_INFINITY;
+        for (EmpleadoObjeto o : e.objetos) {
+            min = Math.min(min, o.salario);
+        }
+        return min;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double maximoColumnas(Empleados e) throws Throwable {
+        return (double) MAXIMO.invokeExact(e.columnas);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double maximoObjetosAnterior(Empleados e) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (EmpleadoObjeto o : e.objetos) {
+            max = Math.max(max, o.salario);
+        }
+        return max;
+    }
+
+    /** Activos con salario >= 50000: bitset y columna de salarios contra campos del objeto. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int[] filtroColumnas(Empleados e) throws Throwable {
+        return (int[]) FILTRAR.invokeExact(e.columnas, SALARIO_MINIMO);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int[] filtroObjetosAnterior(Empleados e) {
+        int[] resultado = new int[16];
+        int n = 0;
+        EmpleadoObjeto[] objetos = e.objetos;
+        for (int i = 0; i < objetos.length; i++) {
+            if (objetos[i].salario >= SALARIO_MINIMO && objetos[i].activo) {
+                if (n == resultado.length) {
+                    resultado = Arrays.copyOf(resultado, n * 2);
+                }
+                resultado[n++] = i;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    // IDs de 1 a 64 hilos: un método por cantidad para que -l y los resultados los muestren todos
+
+    @Benchmark
+    public long idPorBloques(Generadores g) throws Throwable {
+        return (long) SIGUIENTE.invokeExact(g.porBloques);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public long idPorBloques2Hilos(Generadores g) throws Throwable {
+        return (long) SIGUIENTE.invokeExact(g.porBloques);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long idPorBloques4Hilos(Generadores g) throws Throwable {
+        return (long) SIGUIENTE.invokeExact(g.porBloques);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long idPorBloques8Hilos(Generadores g) throws Throwable {
+        return (long) SIGUIENTE.invokeExact(g.porBloques);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long idPorBloques16Hilos(Generadores g) throws Throwable {
+        return (long) SIGUIENTE.invokeExact(g.porBloques);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long idPorBloques32Hilos(Generadores g) throws Throwable {
+        return (long) SIGUIENTE.invokeExact(g.porBloques);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long idPorBloques64Hilos(Generadores g) throws Throwable {
+        return (long) SIGUIENTE.invokeExact(g.porBloques);
+    }
+
+    @Benchmark
+    public long idAtomico(Generadores g) {
+        return g.global.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public long idAtomico2Hilos(Generadores g) {
+        return g.global.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long idAtomico4Hilos(Generadores g) {
+        return g.global.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long idAtomico8Hilos(Generadores g) {
+        return g.global.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long idAtomico16Hilos(Generadores g) {
+        return g.global.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long idAtomico32Hilos(Generadores g) {
+        return g.global.getAndIncrement();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long idAtomico64Hilos(Generadores g) {
+        return g.global.getAndIncrement();
+    }
+
+    // Misma forma que ComparacionEstaticaVsInstancia, pero sin imprimir en el constructor
+    static final class EmpleadoObjeto {
+        final int idEmpleado;
+        final String nombreEmpleado;
+        final String departamento;
+        final double salario;
+        final int anosExperiencia;
+        final boolean activo;
+        final String email;
+
+        EmpleadoObjeto(int id, String nombre, String departamento, double salario, int experiencia, boolean activo) {
+            this.idEmpleado = id;
+            this.nombreEmpleado = nombre;
+            this.departamento = departamento;
+            this.salario = salario;
+            this.anosExperiencia = experiencia;
+            this.activo = activo;
+            this.email = nombre + "@techcorp.com";
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CargaPromedios (Concepto02): 1M promedios (5% fuera de rango, 1% de ids
+ * inexistentes) aplicados en lote, en paralelo y leídos de CSV y binario,
+ * contra setPromedio() uno por uno imprimiendo cada error en un
+ * PrintStream como System.out (búfer de 128 bytes, vaciado por línea).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CargaPromediosBenchmark {
+
+    private static final Class<?> ESTUDIANTES = clase("Estudiante").arrayType();
+    private static final MethodHandle NUEVOS_ESTUDIANTES =
+        generico(estatico("CargaPromedios", "nuevosEstudiantes", ESTUDIANTES, int.class));
+    private static final MethodHandle GENERAR_LOTE =
+        estatico("CargaPromedios", "generarLote", void.class, int.class, int[].class, double[].class);
+    private static final MethodHandle ESCRIBIR_ARCHIVOS = estatico("CargaPromedios", "escribirArchivos", void.class,
+        int[].class, double[].class, Path.class, Path.class);
+    private static final MethodHandle APLICAR = generico(estatico("CargaPromedios", "aplicar",
+        clase("CargaPromedios$Rechazos"), ESTUDIANTES, int[].class, double[].class));
+    private static final MethodHandle APLICAR_EN_PARALELO = generico(estatico("CargaPromedios", "aplicarEnParalelo",
+        clase("CargaPromedios$Rechazos"), ESTUDIANTES, int[].class, double[].class));
+    private static final MethodHandle CARGAR_CSV = generico(estatico("CargaPromedios", "cargarCsv",
+        clase("CargaPromedios$Rechazos"), Path.class, ESTUDIANTES));
+    private static final MethodHandle CARGAR_BINARIO = generico(estatico("CargaPromedios", "cargarBinario",
+        clase("CargaPromedios$Rechazos"), Path.class, ESTUDIANTES));
+    private static final MethodHandle SET_PROMEDIO =
+        generico(virtual("Estudiante", "setPromedio", void.class, double.class));
+
+    private static final int ENTRADAS = 1_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Lote {
+        int[] ids = new int[ENTRADAS];
+        double[] promedios = new double[ENTRADAS];
+        Object destino;
+        Object[] porId;
+        Path carpeta;
+        Path csv;
+        Path bin;
+        Path consola;
+        PrintStream comoConsola;
+
+        @Setup
+        public void preparar() throws Throwable {
+            GENERAR_LOTE.invokeExact(ENTRADAS, ids, promedios);
+            destino = (Object) NUEVOS_ESTUDIANTES.invokeExact(ENTRADAS);
+            porId = (Object[]) destino;
+            carpeta = Files.createTempDirectory("promedios");
+            csv = carpeta.resolve("promedios.csv");
+            bin = carpeta.resolve("promedios.bin");
+            consola = carpeta.resolve("consola.txt");
+            ESCRIBIR_ARCHIVOS.invokeExact(ids, promedios, csv, bin);
+        }
+
+        // Una consola nueva por iteración: los mensajes no llenan el disco
+        @Setup(Level.Iteration)
+        public void abrirConsola() throws Exception {
+            comoConsola = new PrintStream(new BufferedOutputStream(new FileOutputStream(consola.toFile()), 128),
+                                          true, StandardCharsets.UTF_8);
+        }
+
+        @TearDown(Level.Iteration)
+        public void cerrarConsola() throws Exception {
+            comoConsola.close();
+            Files.deleteIfExists(consola);
+        }
+
+        @TearDown
+        public void borrar() throws Exception {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(bin);
+            Files.deleteIfExists(carpeta);
+        }
+    }
+
+    /** El bucle de siempre: un println (y un vaciado) por cada promedio inválido. */
+    @Benchmark
+    public void setPromedioAnterior(Lote l) throws Throwable {
+        PrintStream original = System.out;
+        System.setOut(l.comoConsola);
+        try {
+            for (int i = 0; i < ENTRADAS; i++) {
+                if (l.ids[i] < ENTRADAS) {
+                    SET_PROMEDIO.invokeExact(l.porId[l.ids[i]], l.promedios[i]);
+                }
+            }
+        } finally {
+            System.setOut(original);
+        }
+    }
+
+    @Benchmark
+    public Object aplicar(Lote l) throws Throwable {
+        return (Object) APLICAR.invokeExact(l.destino, l.ids, l.promedios);
+    }
+
+    @Benchmark
+    public Object aplicarEnParalelo(Lote l) throws Throwable {
+        return (Object) APLICAR_EN_PARALELO.invokeExact(l.destino, l.ids, l.promedios);
+    }
+
+    @Benchmark
+    public Object cargarCsv(Lote l) throws Throwable {
+        return (Object) CARGAR_CSV.invokeExact(l.csv, l.destino);
+    }
+
+    @Benchmark
+    public Object cargarBinario(Lote l) throws Throwable {
+        return (Object) CARGAR_BINARIO.invokeExact(l.bin, l.destino);
+    }
+}
@@ -0,0 +1,162 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constante;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Consola de Concepto03: lo que paga el hilo de trabajo por reportar
+ * progreso (ProgressMonitor con el dibujo activo contra dibujar en el hilo)
+ * y por un mensaje de debug de AsyncLogger, apagado y encendido, contra
+ * concatenar e imprimir en el momento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConsolaBenchmark {
+
+    private static final MethodHandle NUEVO_MONITOR =
+        generico(constructor("ProgressMonitor", OutputStream.class, int.class));
+    private static final MethodHandle NUEVA_BARRA = generico(virtual("ProgressMonitor", "nuevaBarra",
+        clase("ProgressMonitor$Barra"), String.class, long.class, long.class, String.class));
+    private static final MethodHandle AVANZAR = generico(virtual("ProgressMonitor$Barra", "avanzar", void.class));
+    private static final MethodHandle CERRAR_MONITOR = generico(virtual("ProgressMonitor", "close", void.class));
+
+    private static final MethodHandle NUEVO_LOGGER = generico(constructor("AsyncLogger",
+        clase("AsyncLogger$Nivel"), OutputStream.class, int.class));
+    private static final MethodHandle DEBUG_LARGO =
+        generico(virtual("AsyncLogger", "debug", void.class, String.class, long.class));
+    private static final MethodHandle DEBUG_DECIMAL =
+        generico(virtual("AsyncLogger", "debug", void.class, String.class, double.class));
+    private static final MethodHandle CERRAR_LOGGER = generico(virtual("AsyncLogger", "close", void.class));
+
+    @State(Scope.Benchmark)
+    public static class Monitor {
+        Object monitor;
+        Object barra;
+
+        @Setup
+        public void preparar() throws Throwable {
+            // 60 cuadros por segundo, como una terminal real, pero sin escribir nada
+            monitor = (Object) NUEVO_MONITOR.invokeExact((OutputStream) Ejemplos.salidaNula(), 60);
+            barra = (Object) NUEVA_BARRA.invokeExact(monitor, (String) null, Long.MAX_VALUE, 1L, "items");
+        }
+
+        @TearDown
+        public void cerrar() throws Throwable {
+            CERRAR_MONITOR.invokeExact(monitor);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Apagado {
+        Object log;
+
+        @Setup
+        public void preparar() throws Throwable {
+            log = (Object) NUEVO_LOGGER.invokeExact(constante("AsyncLogger$Nivel", "INFO"),
+                (OutputStream) Ejemplos.salidaNula(), 1024);
+        }
+
+        @TearDown
+        public void cerrar() throws Throwable {
+            CERRAR_LOGGER.invokeExact(log);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Encendido {
+        Object log;
+
+        @Setup
+        public void preparar() throws Throwable {
+            log = (Object) NUEVO_LOGGER.invokeExact(constante("AsyncLogger$Nivel", "DEBUG"),
+                (OutputStream) Ejemplos.salidaNula(), 1 << 16);
+        }
+
+        @TearDown
+        public void cerrar() throws Throwable {
+            CERRAR_LOGGER.invokeExact(log);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Hilo {
+        final PrintStream nulo = Ejemplos.salidaNula();
+        int n;
+    }
+
+    @Benchmark
+    public void avanzar(Monitor m) throws Throwable {
+        AVANZAR.invokeExact(m.barra);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void avanzar4Hilos(Monitor m) throws Throwable {
+        AVANZAR.invokeExact(m.barra);
+    }
+
+    /** El bucle de CasosPracticos.simularProgreso() antes del cambio, sin el sleep. */
+    @Benchmark
+    public void dibujoAnterior(Hilo h) {
+        int i = (h.n++ & Integer.MAX_VALUE) % 101;
+        int barras = i / 2;
+        StringBuilder progreso = new StringBuilder();
+        progreso.append("[");
+        for (int j = 0; j < 50; j++) {
+            progreso.append(j < barras ? "█" : "░");
+        }
+        progreso.append("]");
+        h.nulo.printf("\r%s %3d%% (%d MB / %d MB)", progreso.toString(), i, i * 10, 1000);
+    }
+
+    @Benchmark
+    public void debugApagado(Apagado a, Hilo h) throws Throwable {
+        DEBUG_LARGO.invokeExact(a.log, "intentos: {}", (long) h.n++);
+    }
+
+    @Benchmark
+    public void debugApagadoDecimal(Apagado a, Hilo h) throws Throwable {
+        DEBUG_DECIMAL.invokeExact(a.log, "saldo: {}", h.n++ * 0.5);
+    }
+
+    /** Concatenar el mensaje antes de saber si se va a imprimir. */
+    @Benchmark
+    public String concatenarAnterior(Hilo h) {
+        return "DEBUG -> intentos: " + h.n++;
+    }
+
+    @Benchmark
+    public void debugEncendido(Encendido e, Hilo h) throws Throwable {
+        DEBUG_LARGO.invokeExact(e.log, "intentos: {}", (long) h.n++);
+    }
+
+    /** System.out.println en el hilo de trabajo, como CasosPracticos.debugVariables(). */
+    @Benchmark
+    public void printlnAnterior(Hilo h) {
+        h.nulo.println("DEBUG -> intentos: " + h.n++);
+    }
+}
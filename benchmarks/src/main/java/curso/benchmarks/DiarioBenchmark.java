@@ -0,0 +1,141 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.lambda;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DiarioTransacciones (Concepto03): agregar 1M movimientos hasta que están
+ * en disco (fsync agrupado cada 2 ms) y leer una página de 10 movimientos
+ * al azar de un diario con 5M movimientos de 100000 cuentas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DiarioBenchmark {
+
+    private static final MethodHandle NUEVO_DIARIO =
+        generico(constructor("DiarioTransacciones", Path.class, int.class, long.class));
+    private static final MethodHandle ANOTAR = generico(virtual("DiarioTransacciones", "anotar", void.class,
+        long.class, int.class, int.class, long.class, long.class));
+    private static final MethodHandle CONFIRMAR = generico(virtual("DiarioTransacciones", "confirmar", void.class));
+    private static final MethodHandle CERRAR = generico(virtual("DiarioTransacciones", "close", void.class));
+    private static final MethodHandle CANTIDAD_DE =
+        generico(virtual("DiarioTransacciones", "cantidadDe", int.class, int.class));
+    private static final MethodHandle LEER_PAGINA = generico(virtual("DiarioTransacciones", "leerPagina", int.class,
+        int.class, int.class, int.class, clase("DiarioTransacciones$Lector")));
+
+    private static final int DEPOSITO = 1;   // LibroCuentas.DEPOSITO
+    private static final int REGISTROS_POR_SEGMENTO = 1 << 20;
+    private static final long INTERVALO_FSYNC = 2_000_000;
+    private static final int CUENTAS = 100_000;
+    private static final int POR_AGREGADO = 1_000_000;
+
+    // Suma de los montos leídos: el Lector no puede devolver nada
+    private static long montos;
+
+    private static final Object ACUMULAR = lambda(MethodHandles.lookup(), "DiarioTransacciones$Lector", "acumular");
+
+    private static void acumular(long secuencia, long fecha, int tipo, long centavos, long saldo) {
+        montos += centavos;
+    }
+
+    /** Un diario vacío por cada agregado: el disco no crece de una medición a otra. */
+    @State(Scope.Benchmark)
+    public static class Vacio {
+        Path carpeta;
+        Object diario;
+        final SplittableRandom azar = new SplittableRandom(42);
+
+        @Setup(Level.Invocation)
+        public void abrir() throws Throwable {
+            carpeta = Files.createTempDirectory("diario");
+            diario = (Object) NUEVO_DIARIO.invokeExact(carpeta, REGISTROS_POR_SEGMENTO, INTERVALO_FSYNC);
+        }
+
+        @TearDown(Level.Invocation)
+        public void borrar() throws Throwable {
+            CERRAR.invokeExact(diario);
+            borrarCarpeta(carpeta);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lleno {
+        Path carpeta;
+        Object diario;
+        final SplittableRandom azar = new SplittableRandom(42);
+
+        @Setup
+        public void llenar() throws Throwable {
+            carpeta = Files.createTempDirectory("diario");
+            diario = (Object) NUEVO_DIARIO.invokeExact(carpeta, REGISTROS_POR_SEGMENTO, INTERVALO_FSYNC);
+            for (int i = 0; i < 5 * POR_AGREGADO; i++) {
+                ANOTAR.invokeExact(diario, i + 1L, azar.nextInt(CUENTAS), DEPOSITO, 1L + azar.nextInt(100_000), (long) i);
+            }
+            CONFIRMAR.invokeExact(diario);
+        }
+
+        @TearDown
+        public void borrar() throws Throwable {
+            CERRAR.invokeExact(diario);
+            borrarCarpeta(carpeta);
+        }
+    }
+
+    /** 1M movimientos y confirmar(): registros por segundo = 1e9 / (ms por operación * 1000). */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public void agregarMillon(Vacio v) throws Throwable {
+        for (int i = 0; i < POR_AGREGADO; i++) {
+            ANOTAR.invokeExact(v.diario, i + 1L, v.azar.nextInt(CUENTAS), DEPOSITO, 1L + v.azar.nextInt(100_000),
+                (long) i);
+        }
+        CONFIRMAR.invokeExact(v.diario);
+    }
+
+    @Benchmark
+    public long leerPaginaAlAzar(Lleno l) throws Throwable {
+        int cuenta = l.azar.nextInt(CUENTAS);
+        int paginas = Math.max(1, ((int) CANTIDAD_DE.invokeExact(l.diario, cuenta) + 9) / 10);
+        int leidos = (int) LEER_PAGINA.invokeExact(l.diario, cuenta, l.azar.nextInt(paginas), 10, ACUMULAR);
+        return montos + leidos;
+    }
+
+    private static void borrarCarpeta(Path carpeta) throws IOException {
+        try (Stream<Path> archivos = Files.walk(carpeta)) {
+            archivos.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DiccionarioCodigos (Concepto05): sumar los salarios de "Ventas" en 1M y
+ * 10M registros que guardan una copia del texto, la copia compartida
+ * (canonico()) o el código int; y adquirir() + liberar() de un texto
+ * conocido, el camino sin candados, con 1 y 4 hilos. El heap de cada
+ * forma lo muestra DiccionarioCodigos.main (con "10m" para 10M).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xmx4g"})
+public class DiccionarioBenchmark {
+
+    private static final Class<?> DICCIONARIO = clase("DiccionarioCodigos");
+    private static final Class<?> REGISTROS_TEXTO = clase("DiccionarioCodigos$RegistroTexto").arrayType();
+    private static final Class<?> REGISTROS_CODIGO = clase("DiccionarioCodigos$RegistroCodigo").arrayType();
+    private static final MethodHandle NUEVO_DICCIONARIO = generico(constructor("DiccionarioCodigos", int.class));
+    private static final MethodHandle CON_TEXTO = generico(estatico("DiccionarioCodigos", "registrosConTexto",
+        REGISTROS_TEXTO, int.class, DICCIONARIO));
+    private static final MethodHandle CON_CODIGO = generico(estatico("DiccionarioCodigos", "registrosConCodigo",
+        REGISTROS_CODIGO, int.class, DICCIONARIO));
+    private static final MethodHandle SUMA_TEXTOS = generico(estatico("DiccionarioCodigos", "sumaTextos",
+        double.class, REGISTROS_TEXTO, String.class));
+    private static final MethodHandle SUMA_CODIGOS = generico(estatico("DiccionarioCodigos", "sumaCodigos",
+        double.class, REGISTROS_CODIGO, int.class));
+    private static final MethodHandle ADQUIRIR =
+        generico(virtual("DiccionarioCodigos", "adquirir", int.class, String.class));
+    private static final MethodHandle LIBERAR = generico(virtual("DiccionarioCodigos", "liberar", void.class,
+        int.class));
+    private static final MethodHandle CODIGO = generico(virtual("DiccionarioCodigos", "codigo", int.class,
+        String.class));
+
+    private static final char[] VENTAS = "Ventas".toCharArray();
+
+    // Cada forma en su propio estado: con 10M registros solo se crea la que se mide
+    @State(Scope.Benchmark)
+    public static class Copias {
+        @Param({"1000000", "10000000"})
+        public int registros;
+
+        Object datos;
+        String buscado;
+
+        @Setup
+        public void preparar() throws Throwable {
+            datos = (Object) CON_TEXTO.invokeExact(registros, (Object) null);
+            buscado = new String(VENTAS);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Canonicos {
+        @Param({"1000000", "10000000"})
+        public int registros;
+
+        Object datos;
+        String buscado;
+
+        @Setup
+        public void preparar() throws Throwable {
+            Object diccionario = (Object) NUEVO_DICCIONARIO.invokeExact(64);
+            datos = (Object) CON_TEXTO.invokeExact(registros, diccionario);
+            buscado = new String(VENTAS);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Codigos {
+        @Param({"1000000", "10000000"})
+        public int registros;
+
+        Object datos;
+        int buscado;
+
+        @Setup
+        public void preparar() throws Throwable {
+            Object diccionario = (Object) NUEVO_DICCIONARIO.invokeExact(64);
+            datos = (Object) CON_CODIGO.invokeExact(registros, diccionario);
+            buscado = (int) CODIGO.invokeExact(diccionario, new String(VENTAS));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Compartido {
+        Object diccionario;
+
+        @Setup
+        public void preparar() throws Throwable {
+            diccionario = (Object) NUEVO_DICCIONARIO.invokeExact(64);
+        }
+    }
+
+    /** String.equals entre copias distintas: compara carácter por carácter. */
+    @Benchmark
+    public double buscarEnCopiasAnterior(Copias c) throws Throwable {
+        return (double) SUMA_TEXTOS.invokeExact(c.datos, c.buscado);
+    }
+
+    @Benchmark
+    public double buscarEnCanonicos(Canonicos c) throws Throwable {
+        return (double) SUMA_TEXTOS.invokeExact(c.datos, c.buscado);
+    }
+
+    @Benchmark
+    public double buscarEnCodigos(Codigos c) throws Throwable {
+        return (double) SUMA_CODIGOS.invokeExact(c.datos, c.buscado);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int adquirirYLiberar(Compartido c) throws Throwable {
+        int codigo = (int) ADQUIRIR.invokeExact(c.diccionario, "Ventas");
+        LIBERAR.invokeExact(c.diccionario, codigo);
+        return codigo;
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int adquirirYLiberar4Hilos(Compartido c) throws Throwable {
+        return adquirirYLiberar(c);
+    }
+}
@@ -0,0 +1,147 @@
+package curso.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Acceso a las clases de Ejemplos/.
+ *
+ * Los ejemplos están en el paquete por defecto y Java no permite importar
+ * desde él, así que los benchmarks los alcanzan con MethodHandles. Cada
+ * benchmark guarda sus handles en campos static final: el JIT los trata
+ * como constantes y la llamada cuesta lo mismo que una directa.
+ */
+final class Ejemplos {
+
+    private Ejemplos() {
+        // Solo métodos static
+    }
+
+    static Class<?> clase(String nombre) {
+        try {
+            return Class.forName(nombre);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("No está compilado el ejemplo " + nombre, e);
+        }
+    }
+
+    /** Lookup con acceso a miembros package-private (el paquete sin nombre está abierto). */
+    static MethodHandles.Lookup acceso(Class<?> clase) {
+        try {
+            return MethodHandles.privateLookupIn(clase, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static MethodHandle estatico(String clase, String metodo, Class<?> retorno, Class<?>... parametros) {
+        Class<?> c = clase(clase);
+        try {
+            return acceso(c).findStatic(c, metodo, MethodType.methodType(retorno, parametros));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(clase + "." + metodo, e);
+        }
+    }
+
+    static MethodHandle virtual(String clase, String metodo, Class<?> retorno, Class<?>... parametros) {
+        Class<?> c = clase(clase);
+        try {
+            return acceso(c).findVirtual(c, metodo, MethodType.methodType(retorno, parametros));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(clase + "." + metodo, e);
+        }
+    }
+
+    static MethodHandle constructor(String clase, Class<?>... parametros) {
+        Class<?> c = clase(clase);
+        try {
+            return acceso(c).findConstructor(c, MethodType.methodType(void.class, parametros));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("new " + clase, e);
+        }
+    }
+
+    /** Constante de un enum anidado, por ejemplo ("ConversionMasiva$Modo", "ALTERNADO"). */
+    static Object constante(String enumeracion, String nombre) {
+        for (Object o : clase(enumeracion).getEnumConstants()) {
+            if (((Enum<?>) o).name().equals(nombre)) {
+                return o;
+            }
+        }
+        throw new IllegalStateException(enumeracion + "." + nombre);
+    }
+
+    /** Valor de un campo static, por ejemplo ("Dinero$Tasa", "IVA"). */
+    static Object campo(String clase, String nombre) {
+        Class<?> c = clase(clase);
+        try {
+            return acceso(c).findStaticVarHandle(c, nombre, c.getDeclaredField(nombre).getType()).get();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(clase + "." + nombre, e);
+        }
+    }
+
+    /**
+     * Implementa una interfaz funcional de los ejemplos (por ejemplo
+     * "DiarioTransacciones$Lector") con un método static del benchmark de
+     * la misma firma. Se crea con LambdaMetafactory, como una lambda
+     * escrita a mano: el JIT la inlinea igual.
+     */
+    static Object lambda(MethodHandles.Lookup benchmark, String interfaz, String metodo) {
+        Class<?> tipo = clase(interfaz);
+        for (Method abstracto : tipo.getMethods()) {
+            if (!Modifier.isAbstract(abstracto.getModifiers())) {
+                continue;
+            }
+            MethodType firma = MethodType.methodType(abstracto.getReturnType(), abstracto.getParameterTypes());
+            try {
+                MethodHandle implementacion = benchmark.findStatic(benchmark.lookupClass(), metodo, firma);
+                return LambdaMetafactory.metafactory(benchmark, abstracto.getName(), MethodType.methodType(tipo),
+                    firma, implementacion, firma).getTarget().invoke();
+            } catch (Throwable e) {
+                throw new IllegalStateException(interfaz + " con " + metodo, e);
+            }
+        }
+        throw new IllegalStateException(interfaz + " no es una interfaz funcional");
+    }
+
+    /**
+     * Para medir métodos que imprimen: el texto se formatea y codifica igual
+     * que en la terminal, pero los bytes se descartan.
+     */
+    static PrintStream salidaNula() {
+        return new PrintStream(OutputStream.nullOutputStream(), false);
+    }
+
+    /**
+     * Cambia a Object los tipos del paquete por defecto (por ejemplo
+     * ClaseUtilidad o ConversionMasiva.Modo), que desde aquí no se pueden
+     * nombrar, para poder usar invokeExact. Los varargs se pasan como
+     * arreglo (TablePrinter(canal, Columna...) recibe un Object).
+     */
+    static MethodHandle generico(MethodHandle h) {
+        MethodType t = h.type();
+        for (int i = 0; i < t.parameterCount(); i++) {
+            if (delPaquetePorDefecto(t.parameterType(i))) {
+                t = t.changeParameterType(i, Object.class);
+            }
+        }
+        if (delPaquetePorDefecto(t.returnType())) {
+            t = t.changeReturnType(Object.class);
+        }
+        return h.asFixedArity().asType(t);
+    }
+
+    private static boolean delPaquetePorDefecto(Class<?> c) {
+        while (c.isArray()) {
+            c = c.getComponentType();
+        }
+        return !c.isPrimitive() && c.getPackageName().isEmpty();
+    }
+}
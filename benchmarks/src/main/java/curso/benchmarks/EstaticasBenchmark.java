@@ -0,0 +1,90 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Variables estáticas: crear empleados de ComparacionEstaticaVsInstancia
+ * (actualiza contadores y estadísticas compartidas) y leer
+ * VariablesEstaticas.obtenerEstadisticas(), con uno y con varios hilos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EstaticasBenchmark {
+
+    private static final MethodHandle NUEVO_EMPLEADO = generico(constructor("ComparacionEstaticaVsInstancia",
+        String.class, String.class, double.class, int.class));
+    private static final MethodHandle NUEVO_ESTUDIANTE = generico(constructor("VariablesEstaticas",
+        String.class, int.class, double.class));
+    private static final MethodHandle OBTENER_ESTADISTICAS =
+        estatico("VariablesEstaticas", "obtenerEstadisticas", String.class);
+
+    private static final String[] DEPARTAMENTOS = {"Desarrollo", "Marketing", "Ventas", "Soporte"};
+
+    private PrintStream salidaOriginal;
+
+    @Setup
+    public void preparar() throws Throwable {
+        // El constructor de ComparacionEstaticaVsInstancia imprime una línea por empleado
+        salidaOriginal = System.out;
+        System.setOut(Ejemplos.salidaNula());
+        for (int i = 0; i < 100; i++) {
+            Object estudiante = (Object) NUEVO_ESTUDIANTE.invokeExact("Estudiante " + i, 18 + i % 10, 3.0 + i % 20 / 10.0);
+        }
+    }
+
+    @TearDown
+    public void restaurar() {
+        System.setOut(salidaOriginal);
+    }
+
+    @State(Scope.Thread)
+    public static class Contador {
+        int n;
+    }
+
+    @Benchmark
+    public Object construirEmpleado(Contador c) throws Throwable {
+        int i = c.n++;
+        return (Object) NUEVO_EMPLEADO.invokeExact("Ana García", DEPARTAMENTOS[i & 3], 40_000.0 + (i & 1023), i & 15);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object construirEmpleado4Hilos(Contador c) throws Throwable {
+        return construirEmpleado(c);
+    }
+
+    @Benchmark
+    public String obtenerEstadisticas() throws Throwable {
+        return (String) OBTENER_ESTADISTICAS.invokeExact();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String obtenerEstadisticas4Hilos() throws Throwable {
+        return (String) OBTENER_ESTADISTICAS.invokeExact();
+    }
+}
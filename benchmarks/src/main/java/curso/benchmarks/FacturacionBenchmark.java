@@ -0,0 +1,85 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FacturacionMasiva (Concepto03): 100000 facturas en 8 fragmentos con
+ * distinta cantidad de hilos dibujando. Cada corrida tarda cientos de
+ * milisegundos y escribe archivos: se mide cada una por separado.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class FacturacionBenchmark {
+
+    private static final MethodHandle NUEVO_MOTOR = generico(constructor("FacturacionMasiva", int.class, int.class));
+    private static final MethodHandle GENERAR = generico(virtual("FacturacionMasiva", "generar", long.class,
+        Iterator.class, long.class, Path.class, int.class));
+    private static final MethodHandle CERRAR = generico(virtual("FacturacionMasiva", "cerrar", void.class));
+    private static final MethodHandle FACTURAS_DE_PRUEBA =
+        estatico("FacturacionMasiva", "generadorDePrueba", Iterator.class, int.class);
+
+    private static final int FACTURAS = 100_000;
+    private static final int FRAGMENTOS = 8;
+
+    @State(Scope.Benchmark)
+    public static class Motor {
+        @Param({"1", "2", "4", "8", "16"})
+        int hilos;
+
+        Object motor;
+        Path carpeta;
+        Iterator<?> facturas;
+
+        @Setup
+        public void preparar() throws Throwable {
+            motor = (Object) NUEVO_MOTOR.invokeExact(hilos, 512);
+            carpeta = Files.createTempDirectory("facturas");
+        }
+
+        // El iterador se consume en cada corrida; crearlo no entra en la medición
+        @Setup(Level.Invocation)
+        public void nuevasFacturas() throws Throwable {
+            facturas = (Iterator<?>) FACTURAS_DE_PRUEBA.invokeExact(FACTURAS);
+        }
+
+        @TearDown
+        public void cerrar() throws Throwable {
+            CERRAR.invokeExact(motor);
+            for (int i = 0; i < FRAGMENTOS; i++) {
+                Files.deleteIfExists(carpeta.resolve(String.format("facturas-%03d.txt", i)));
+            }
+            Files.deleteIfExists(carpeta);
+        }
+    }
+
+    @Benchmark
+    public long generar(Motor m) throws Throwable {
+        return (long) GENERAR.invokeExact(m.motor, m.facturas, 1001L, m.carpeta, FRAGMENTOS);
+    }
+}
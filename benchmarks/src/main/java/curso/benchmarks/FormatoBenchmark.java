@@ -0,0 +1,109 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.campo;
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constante;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formateo de Concepto03: una fila de PrintfAvanzado con CompiledFormat
+ * contra String.format, y una línea de factura (precio × cantidad + IVA +
+ * texto) con los centavos de Dinero contra BigDecimal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FormatoBenchmark {
+
+    private static final String PATRON = "%-15s | %-8d | $%9.2f | %8d%n";
+    private static final String[] PRODUCTOS = {"Laptop", "Mouse", "Teclado"};
+
+    private static final Class<?> FORMATO = clase("CompiledFormat");
+    private static final MethodHandle COMPILAR = generico(estatico("CompiledFormat", "compilar", FORMATO, String.class));
+    private static final MethodHandle INICIAR =
+        generico(virtual("CompiledFormat", "iniciar", FORMATO, StringBuilder.class));
+    private static final MethodHandle AGREGAR_TEXTO =
+        generico(virtual("CompiledFormat", "agregar", FORMATO, CharSequence.class));
+    private static final MethodHandle AGREGAR_ENTERO = generico(virtual("CompiledFormat", "agregar", FORMATO, int.class));
+    private static final MethodHandle AGREGAR_DECIMAL =
+        generico(virtual("CompiledFormat", "agregar", FORMATO, double.class));
+    private static final MethodHandle TERMINAR = generico(virtual("CompiledFormat", "terminar", void.class));
+
+    private static final MethodHandle IMPUESTO_CENTAVOS = generico(estatico("Dinero", "impuestoCentavos", long.class,
+        long.class, clase("Dinero$Tasa"), clase("Dinero$Redondeo")));
+    private static final MethodHandle AGREGAR_CENTAVOS = estatico("Dinero", "agregarCentavos", StringBuilder.class,
+        StringBuilder.class, long.class, int.class);
+    private static final Object IVA = campo("Dinero$Tasa", "IVA");
+    private static final Object MITAD_ARRIBA = constante("Dinero$Redondeo", "MITAD_ARRIBA");
+    private static final BigDecimal TASA_IVA = new BigDecimal("0.13");
+
+    private final StringBuilder sb = new StringBuilder(256);
+    private Object fila;
+    private int n;
+
+    @Setup
+    public void preparar() throws Throwable {
+        fila = (Object) COMPILAR.invokeExact(PATRON);
+    }
+
+    @Benchmark
+    public int filaCompiledFormat() throws Throwable {
+        int i = n++ & Integer.MAX_VALUE;
+        sb.setLength(0);
+        Object f = (Object) INICIAR.invokeExact(fila, sb);
+        f = (Object) AGREGAR_TEXTO.invokeExact(f, (CharSequence) PRODUCTOS[i % 3]);
+        f = (Object) AGREGAR_ENTERO.invokeExact(f, 1000 + i % 1000);
+        f = (Object) AGREGAR_DECIMAL.invokeExact(f, (i % 100_000) / 100.0 + 0.001);
+        f = (Object) AGREGAR_ENTERO.invokeExact(f, i % 500);
+        TERMINAR.invokeExact(f);
+        return sb.length();
+    }
+
+    @Benchmark
+    public String filaStringFormat() {
+        int i = n++ & Integer.MAX_VALUE;
+        return String.format(PATRON, PRODUCTOS[i % 3], 1000 + i % 1000, (i % 100_000) / 100.0 + 0.001, i % 500);
+    }
+
+    @Benchmark
+    public int lineaDinero() throws Throwable {
+        int i = n++ & Integer.MAX_VALUE;
+        long importe = Math.multiplyExact(100L + i % 100_000, 1 + i % 7);
+        long total = importe + (long) IMPUESTO_CENTAVOS.invokeExact(importe, IVA, MITAD_ARRIBA);
+        sb.setLength(0);
+        StringBuilder texto = (StringBuilder) AGREGAR_CENTAVOS.invokeExact(sb, total, 10);
+        return texto.length();
+    }
+
+    /** La misma línea con BigDecimal y String.format("%10s"), como antes de Dinero. */
+    @Benchmark
+    public int lineaBigDecimalAnterior() {
+        int i = n++ & Integer.MAX_VALUE;
+        BigDecimal importe = BigDecimal.valueOf(100 + (i % 100_000), 2).multiply(BigDecimal.valueOf(1 + i % 7));
+        BigDecimal total = importe.add(importe.multiply(TASA_IVA).setScale(2, RoundingMode.HALF_UP));
+        sb.setLength(0);
+        sb.append(String.format("%10s", total.toPlainString()));
+        return sb.length();
+    }
+}
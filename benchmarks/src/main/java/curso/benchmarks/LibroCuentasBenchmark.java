@@ -0,0 +1,121 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.campo;
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LibroCuentas (Concepto03) con 2M cuentas y 4096 franjas: la mezcla del
+ * generador de carga (40% transferencias, 30% consultas, 15% depósitos,
+ * 15% retiros) con 1 a 16 hilos. Throughput da transacciones por
+ * microsegundo; SampleTime da la distribución de latencias (p0.50, p0.99).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LibroCuentasBenchmark {
+
+    private static final MethodHandle NUEVO_LIBRO = generico(constructor("LibroCuentas", int.class, int.class,
+        clase("LibroCuentas$Diario")));
+    private static final MethodHandle CONSULTAR = generico(virtual("LibroCuentas", "consultarSaldo", long.class,
+        int.class));
+    private static final MethodHandle DEPOSITAR = generico(virtual("LibroCuentas", "depositar", long.class,
+        int.class, long.class));
+    private static final MethodHandle RETIRAR = generico(virtual("LibroCuentas", "retirar", boolean.class,
+        int.class, long.class));
+    private static final MethodHandle TRANSFERIR = generico(virtual("LibroCuentas", "transferir", boolean.class,
+        int.class, int.class, long.class));
+
+    private static final int CUENTAS = 2_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Banco {
+        Object libro;
+        final AtomicLong semillas = new AtomicLong(7919);
+
+        @Setup
+        public void preparar() throws Throwable {
+            libro = (Object) NUEVO_LIBRO.invokeExact(CUENTAS, 4096, campo("LibroCuentas", "SIN_DIARIO"));
+            for (int c = 0; c < CUENTAS; c++) {
+                long saldo = (long) DEPOSITAR.invokeExact(libro, c, 100_000L);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Hilo {
+        SplittableRandom azar;
+
+        @Setup
+        public void preparar(Banco b) {
+            azar = new SplittableRandom(b.semillas.getAndIncrement());
+        }
+    }
+
+    @Benchmark
+    public long mezcla(Banco b, Hilo h) throws Throwable {
+        return operacion(b.libro, h.azar);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public long mezcla2Hilos(Banco b, Hilo h) throws Throwable {
+        return operacion(b.libro, h.azar);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long mezcla4Hilos(Banco b, Hilo h) throws Throwable {
+        return operacion(b.libro, h.azar);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long mezcla8Hilos(Banco b, Hilo h) throws Throwable {
+        return operacion(b.libro, h.azar);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long mezcla16Hilos(Banco b, Hilo h) throws Throwable {
+        return operacion(b.libro, h.azar);
+    }
+
+    // Misma mezcla que LibroCuentas.generarCarga
+    private static long operacion(Object libro, SplittableRandom azar) throws Throwable {
+        int tipo = azar.nextInt(100);
+        int a = azar.nextInt(CUENTAS);
+        long monto = 1 + azar.nextInt(50_000);
+        if (tipo < 40) {
+            int destino = azar.nextInt(CUENTAS - 1);
+            return (boolean) TRANSFERIR.invokeExact(libro, a, destino >= a ? destino + 1 : destino, monto) ? 1 : 0;
+        } else if (tipo < 70) {
+            return (long) CONSULTAR.invokeExact(libro, a);
+        } else if (tipo < 85) {
+            return (long) DEPOSITAR.invokeExact(libro, a, monto);
+        } else {
+            return (boolean) RETIRAR.invokeExact(libro, a, monto) ? 1 : 0;
+        }
+    }
+}
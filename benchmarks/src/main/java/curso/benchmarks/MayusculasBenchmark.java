@@ -0,0 +1,177 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constante;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mayúsculas de Concepto04: convertir un buffer de 64 KB con
+ * ConversionMasiva (byte[] Latin-1 y char[]) contra String.toLowerCase /
+ * toUpperCase, y buscar ignorando mayúsculas en CaseInsensitiveIndex contra
+ * un HashMap con claves en minúsculas y un TreeMap(CASE_INSENSITIVE_ORDER).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MayusculasBenchmark {
+
+    private static final Class<?> MODO = clase("ConversionMasiva$Modo");
+    private static final MethodHandle CONVERTIR_BYTES = generico(estatico("ConversionMasiva", "convertir", void.class,
+        MODO, byte[].class, int.class, int.class, byte[].class, int.class, long.class));
+    private static final MethodHandle CONVERTIR_CHARS = generico(estatico("ConversionMasiva", "convertir", void.class,
+        MODO, char[].class, int.class, int.class, char[].class, int.class, long.class));
+
+    private static final Class<?> POLITICA = clase("CaseInsensitiveIndex$Politica");
+    private static final MethodHandle NUEVO_INDICE =
+        generico(constructor("CaseInsensitiveIndex", POLITICA, int.class));
+    private static final MethodHandle PONER =
+        generico(virtual("CaseInsensitiveIndex", "poner", Object.class, String.class, Object.class));
+    private static final MethodHandle OBTENER_IGNORANDO = generico(virtual("CaseInsensitiveIndex",
+        "obtenerIgnorandoMayusculas", Object.class, CharSequence.class));
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+    private static final int CONSULTAS = 1 << 16;
+
+    @State(Scope.Thread)
+    public static class Texto {
+        /** Griego mide texto no representable en Latin-1 en byte[]: solo como referencia. */
+        @Param({"ASCII", "Español", "Griego"})
+        public String mezcla;
+
+        @Param({"MINUSCULAS", "MAYUSCULAS", "ALTERNADO"})
+        public String modo;
+
+        Object constanteModo;
+        byte[] bytes;
+        byte[] destinoBytes;
+        char[] chars;
+        char[] destinoChars;
+        String cadena;
+
+        @Setup
+        public void preparar() {
+            String patron;
+            switch (mezcla) {
+                case "ASCII": patron = "The Quick Brown Fox Jumps Over The Lazy Dog 0123456789 "; break;
+                case "Español": patron = "Canción Ñandú Pingüino Acción Árbol Él Está Aquí "; break;
+                default: patron = "Καλημέρα Κόσμε Привет Мир "; break;
+            }
+            constanteModo = constante("ConversionMasiva$Modo", modo);
+            chars = new char[TAMANO_BUFFER];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = patron.charAt(i % patron.length());
+            }
+            cadena = new String(chars);
+            bytes = cadena.getBytes(StandardCharsets.ISO_8859_1);
+            destinoBytes = new byte[bytes.length];
+            destinoChars = new char[chars.length];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Indice {
+        // Con 10M claves el índice, el HashMap y el TreeMap ocupan ~3 GB: ver @Fork de cada búsqueda
+        @Param({"100000", "1000000", "10000000"})
+        public int claves;
+
+        Object indice;
+        HashMap<String, Integer> minusculas;
+        TreeMap<String, Integer> arbol;
+        String[] consultas;
+        int n;
+
+        @Setup
+        public void preparar() throws Throwable {
+            String[] registradas = new String[claves];
+            indice = (Object) NUEVO_INDICE.invokeExact(constante("CaseInsensitiveIndex$Politica", "FUSIONAR"), claves);
+            minusculas = new HashMap<>(claves * 4 / 3 + 1);
+            arbol = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 0; i < claves; i++) {
+                registradas[i] = "usuario" + Integer.toString(i * 2_654_435 & 0x7FFFFFFF, 36);
+                Object anterior = (Object) PONER.invokeExact(indice, registradas[i], (Object) i);
+                minusculas.put(registradas[i].toLowerCase(Locale.ROOT), i);
+                arbol.put(registradas[i], i);
+            }
+            // Claves existentes con mayúsculas al azar, preparadas antes de medir
+            consultas = new String[CONSULTAS];
+            SplittableRandom azar = new SplittableRandom(42);
+            for (int i = 0; i < CONSULTAS; i++) {
+                char[] c = registradas[azar.nextInt(claves)].toCharArray();
+                for (int k = 0; k < c.length; k++) {
+                    if (azar.nextBoolean()) {
+                        c[k] = Character.toUpperCase(c[k]);
+                    }
+                }
+                consultas[i] = new String(c);
+            }
+        }
+
+        String siguiente() {
+            return consultas[n++ & (CONSULTAS - 1)];
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] convertirBytes(Texto t) throws Throwable {
+        CONVERTIR_BYTES.invokeExact(t.constanteModo, t.bytes, 0, t.bytes.length, t.destinoBytes, 0, 0L);
+        return t.destinoBytes;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public char[] convertirChars(Texto t) throws Throwable {
+        CONVERTIR_CHARS.invokeExact(t.constanteModo, t.chars, 0, t.chars.length, t.destinoChars, 0, 0L);
+        return t.destinoChars;
+    }
+
+    /** Referencia del JDK; ALTERNADO no tiene equivalente y se mide como toLowerCase(). */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String convertirString(Texto t) {
+        return t.modo.equals("MAYUSCULAS") ? t.cadena.toUpperCase() : t.cadena.toLowerCase();
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgs = {"-Xmx4g"})
+    public Object buscarIndice(Indice i) throws Throwable {
+        return (Object) OBTENER_IGNORANDO.invokeExact(i.indice, (CharSequence) i.siguiente());
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgs = {"-Xmx4g"})
+    public Integer buscarHashMapMinusculas(Indice i) {
+        return i.minusculas.get(i.siguiente().toLowerCase(Locale.ROOT));
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgs = {"-Xmx4g"})
+    public Integer buscarTreeMap(Indice i) {
+        return i.arbol.get(i.siguiente());
+    }
+}
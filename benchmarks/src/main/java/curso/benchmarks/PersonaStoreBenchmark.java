@@ -0,0 +1,120 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PersonaStore (Concepto05) contra un objeto por persona, con 1M personas:
+ * crear todas (tiempo y bytes del heap con el profiler de GC) y una
+ * recolección completa con ellas vivas, que tiene que marcar cada objeto.
+ * Son operaciones de cientos de milisegundos: se mide cada una por separado.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class PersonaStoreBenchmark {
+
+    private static final MethodHandle NUEVO_STORE = generico(constructor("PersonaStore"));
+    private static final MethodHandle AGREGAR = generico(virtual("PersonaStore", "agregar", int.class,
+        String.class, int.class, double.class, String.class));
+
+    private static final int PERSONAS = 1_000_000;
+    private static final String[] NOMBRES = {"Ana", "Carlos", "María", "José", "Lucía", "Pedro", "Sofía", "Andrés"};
+
+    @State(Scope.Benchmark)
+    public static class ConObjetos {
+        PersonaObjeto[] vivos;
+
+        @Setup
+        public void preparar() {
+            vivos = crearObjetos();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConStore {
+        Object vivo;
+
+        @Setup
+        public void preparar() throws Throwable {
+            vivo = crearStore();
+        }
+    }
+
+    @Benchmark
+    public Object crearPersonaStore() throws Throwable {
+        return crearStore();
+    }
+
+    /** Un objeto por persona, como VariablesDeInstancia. */
+    @Benchmark
+    public Object crearObjetosAnterior() {
+        return crearObjetos();
+    }
+
+    @Benchmark
+    public Object gcCompletoPersonaStore(ConStore s) {
+        System.gc();
+        return s.vivo;
+    }
+
+    @Benchmark
+    public Object gcCompletoObjetosAnterior(ConObjetos o) {
+        System.gc();
+        return o.vivos;
+    }
+
+    private static Object crearStore() throws Throwable {
+        Object store = (Object) NUEVO_STORE.invokeExact();
+        for (int i = 0; i < PERSONAS; i++) {
+            int fila = (int) AGREGAR.invokeExact(store, NOMBRES[i & 7] + " " + i, 18 + i % 60, 1.40 + i % 60 / 100.0,
+                "usuario" + i + "@email.com");
+        }
+        return store;
+    }
+
+    private static PersonaObjeto[] crearObjetos() {
+        PersonaObjeto[] objetos = new PersonaObjeto[PERSONAS];
+        for (int i = 0; i < PERSONAS; i++) {
+            objetos[i] = new PersonaObjeto(i, NOMBRES[i & 7] + " " + i, 18 + i % 60, 1.40 + i % 60 / 100.0,
+                "usuario" + i + "@email.com");
+        }
+        return objetos;
+    }
+
+    // Misma forma que VariablesDeInstancia, pero sin imprimir en el constructor
+    static final class PersonaObjeto {
+        final int numeroIdentificacion;
+        final String nombre;
+        final int edad;
+        final double altura;
+        final String email;
+        final boolean activo;
+
+        PersonaObjeto(int id, String nombre, int edad, double altura, String email) {
+            this.numeroIdentificacion = id;
+            this.nombre = nombre;
+            this.edad = edad;
+            this.altura = altura;
+            this.email = email;
+            this.activo = true;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package curso.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ *
+ * Acepta las mismas opciones que org.openjdk.jmh.Main (filtro, -f, -wi,
+ * -i, -prof, -rf, ...). Si no se indican, añade el profiler de GC para que
+ * cada resultado venga con su asignación por operación (gc.alloc.rate.norm)
+ * y guarda los resultados en jmh-resultados.json.
+ *
+ * Uso: java -jar benchmarks/target/benchmarks.jar [filtro] [opciones JMH]
+ */
+public final class Principal {
+
+    private static final String RESULTADOS = "jmh-resultados.json";
+
+    private Principal() {
+        // Solo main
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        if (linea.shouldHelp()) {
+            linea.showHelp();
+            return;
+        }
+        if (linea.shouldList()) {
+            new Runner(linea).list();
+            return;
+        }
+
+        ChainedOptionsBuilder opciones = new OptionsBuilder().parent(linea);
+        if (linea.getProfilers().isEmpty()) {
+            opciones.addProfiler(GCProfiler.class);
+        }
+        if (!linea.getResultFormat().hasValue() && !linea.getResult().hasValue()) {
+            opciones.resultFormat(ResultFormatType.JSON).result(RESULTADOS);
+        }
+        new Runner(opciones.build()).run();
+    }
+}
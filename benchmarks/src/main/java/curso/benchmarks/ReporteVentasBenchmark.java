@@ -0,0 +1,93 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+
+import java.io.BufferedReader;
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ReporteVentasMapeado (Concepto03) sobre un CSV de 5M líneas (~170 MB):
+ * lectura mapeada secuencial y en paralelo contra BufferedReader con un
+ * String por línea y split(","). Cada lectura del archivo completo se mide
+ * por separado; el archivo queda en la caché del sistema operativo.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class ReporteVentasBenchmark {
+
+    private static final MethodHandle PROCESAR =
+        generico(estatico("ReporteVentasMapeado", "procesar", clase("ReporteVentasMapeado$Acumulador"),
+            Path.class));
+    private static final MethodHandle PROCESAR_EN_PARALELO = generico(estatico("ReporteVentasMapeado",
+        "procesarEnParalelo", clase("ReporteVentasMapeado$Acumulador"), Path.class, int.class));
+    private static final MethodHandle GENERAR_ARCHIVO =
+        estatico("ReporteVentasMapeado", "generarArchivo", void.class, Path.class, int.class);
+
+    private static final int LINEAS = 5_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Archivo {
+        Path csv;
+
+        @Setup
+        public void generar() throws Throwable {
+            csv = Files.createTempFile("ventas", ".csv");
+            GENERAR_ARCHIVO.invokeExact(csv, LINEAS);
+        }
+
+        @TearDown
+        public void borrar() throws Exception {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Benchmark
+    public Object mapeadoSecuencial(Archivo a) throws Throwable {
+        return (Object) PROCESAR.invokeExact(a.csv);
+    }
+
+    @Benchmark
+    public Object mapeadoParalelo(Archivo a) throws Throwable {
+        return (Object) PROCESAR_EN_PARALELO.invokeExact(a.csv, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Una línea = un String, split y Double.parseDouble, totales en un HashMap. */
+    @Benchmark
+    public Map<String, double[]> bufferedReaderAnterior(Archivo a) throws Exception {
+        Map<String, double[]> totales = new HashMap<>();
+        try (BufferedReader r = Files.newBufferedReader(a.csv, StandardCharsets.UTF_8)) {
+            r.readLine();   // Cabecera
+            String linea;
+            while ((linea = r.readLine()) != null) {
+                String[] campos = linea.split(",");
+                double[] t = totales.computeIfAbsent(campos[0] + "|" + campos[1], k -> new double[2]);
+                t[0] += Integer.parseInt(campos[2]);
+                t[1] += Double.parseDouble(campos[3]);
+            }
+        }
+        return totales;
+    }
+}
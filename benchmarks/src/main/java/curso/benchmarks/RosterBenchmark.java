@@ -0,0 +1,126 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Roster (Concepto02) contra List&lt;Estudiante&gt; con streams, con 1M y
+ * 10M estudiantes: top-100 por promedio, agrupar por carrera, histograma
+ * de edades y un filtro por edad y promedio. Las consultas del Roster
+ * usan el pool común de fork/join.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xmx4g"})
+public class RosterBenchmark {
+
+    private static final Class<?> FILTRO = clase("Roster$Filtro");
+    private static final MethodHandle GENERAR_LISTA = estatico("Roster", "generarLista", List.class, int.class,
+        long.class);
+    private static final MethodHandle NUEVO_ROSTER = generico(constructor("Roster", int.class));
+    private static final MethodHandle AGREGAR = generico(virtual("Roster", "agregar", int.class,
+        clase("Estudiante")));
+    private static final MethodHandle FILTRO_TODOS = generico(estatico("Roster$Filtro", "todos", FILTRO));
+    private static final MethodHandle EDAD_ENTRE = generico(virtual("Roster$Filtro", "edadEntre", FILTRO,
+        int.class, int.class));
+    private static final MethodHandle PROMEDIO_ENTRE = generico(virtual("Roster$Filtro", "promedioEntre", FILTRO,
+        double.class, double.class));
+
+    private static final MethodHandle TOP_K = generico(virtual("Roster", "topK", int[].class, int.class));
+    private static final MethodHandle AGRUPAR = generico(virtual("Roster", "agruparPorCarrera", List.class));
+    private static final MethodHandle HISTOGRAMA =
+        generico(virtual("Roster", "histogramaEdades", long[].class, int.class));
+    private static final MethodHandle FILTRAR = generico(virtual("Roster", "filtrar", int[].class, FILTRO));
+
+    private static final MethodHandle TOP_K_LISTA = estatico("Roster", "topKLista", List.class, List.class, int.class);
+    private static final MethodHandle AGRUPAR_LISTA =
+        estatico("Roster", "agruparPorCarreraLista", Map.class, List.class);
+    private static final MethodHandle HISTOGRAMA_LISTA =
+        estatico("Roster", "histogramaEdadesLista", Map.class, List.class, int.class);
+    private static final MethodHandle FILTRAR_LISTA =
+        generico(estatico("Roster", "filtrarLista", List.class, List.class, FILTRO));
+
+    @State(Scope.Benchmark)
+    public static class Padron {
+        @Param({"1000000", "10000000"})
+        public int estudiantes;
+
+        List<?> lista;
+        Object roster;
+        Object filtro;
+
+        @Setup
+        public void preparar() throws Throwable {
+            lista = (List<?>) GENERAR_LISTA.invokeExact(estudiantes, 7L);
+            roster = (Object) NUEVO_ROSTER.invokeExact(estudiantes);
+            for (Object e : lista) {
+                int fila = (int) AGREGAR.invokeExact(roster, e);
+            }
+            Object todos = (Object) FILTRO_TODOS.invokeExact();
+            filtro = (Object) PROMEDIO_ENTRE.invokeExact((Object) EDAD_ENTRE.invokeExact(todos, 20, 29), 8.0, 10.0);
+        }
+    }
+
+    @Benchmark
+    public int[] topKRoster(Padron p) throws Throwable {
+        return (int[]) TOP_K.invokeExact(p.roster, 100);
+    }
+
+    /** Ordenar toda la lista por promedio y quedarse con 100. */
+    @Benchmark
+    public List<?> topKListaAnterior(Padron p) throws Throwable {
+        return (List<?>) TOP_K_LISTA.invokeExact(p.lista, 100);
+    }
+
+    @Benchmark
+    public List<?> agruparRoster(Padron p) throws Throwable {
+        return (List<?>) AGRUPAR.invokeExact(p.roster);
+    }
+
+    @Benchmark
+    public Map<?, ?> agruparListaAnterior(Padron p) throws Throwable {
+        return (Map<?, ?>) AGRUPAR_LISTA.invokeExact(p.lista);
+    }
+
+    @Benchmark
+    public long[] histogramaRoster(Padron p) throws Throwable {
+        return (long[]) HISTOGRAMA.invokeExact(p.roster, 5);
+    }
+
+    @Benchmark
+    public Map<?, ?> histogramaListaAnterior(Padron p) throws Throwable {
+        return (Map<?, ?>) HISTOGRAMA_LISTA.invokeExact(p.lista, 5);
+    }
+
+    @Benchmark
+    public int[] filtrarRoster(Padron p) throws Throwable {
+        return (int[]) FILTRAR.invokeExact(p.roster, p.filtro);
+    }
+
+    @Benchmark
+    public List<?> filtrarListaAnterior(Padron p) throws Throwable {
+        return (List<?>) FILTRAR_LISTA.invokeExact(p.lista, p.filtro);
+    }
+}
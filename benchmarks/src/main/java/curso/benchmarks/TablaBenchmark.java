@@ -0,0 +1,120 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tablas con printf: las filas de PrintfAvanzado y CasosPracticos con
+ * printf y con TablePrinter, y los reportes completos de CasosPracticos.
+ * Todo se escribe en un flujo que descarta los bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TablaBenchmark {
+
+    private static final Class<?> TABLE_PRINTER = Ejemplos.clase("TablePrinter");
+    private static final Class<?> COLUMNAS = Ejemplos.clase("TablePrinter$Columna").arrayType();
+    private static final MethodHandle COLUMNAS_REPORTE =
+        generico(estatico("TablePrinter", "columnasReporteVentas", COLUMNAS));
+    private static final MethodHandle NUEVO_TABLE_PRINTER =
+        generico(constructor("TablePrinter", WritableByteChannel.class, COLUMNAS));
+    private static final MethodHandle TEXTO = generico(virtual("TablePrinter", "texto", TABLE_PRINTER, CharSequence.class));
+    private static final MethodHandle ENTERO = generico(virtual("TablePrinter", "entero", TABLE_PRINTER, long.class));
+    private static final MethodHandle DECIMAL = generico(virtual("TablePrinter", "decimal", TABLE_PRINTER, double.class));
+    private static final MethodHandle FIN_FILA = generico(virtual("TablePrinter", "finFila", void.class));
+    private static final MethodHandle REPORTE_VENTAS = estatico("CasosPracticos", "generarReporteVentas", void.class);
+    private static final MethodHandle FACTURA = estatico("CasosPracticos", "generarFactura", void.class);
+
+    // Filas de CasosPracticos.generarReporteVentas()
+    private static final String[] FECHAS = {"2024-03-01", "2024-03-02", "2024-03-03", "2024-03-05"};
+    private static final String[] PRODUCTOS = {"Laptop Dell XPS", "Mouse Logitech", "Teclado Mecánico", "Monitor 24\""};
+    private static final int[] CANTIDADES = {3, 15, 8, 5};
+    private static final double[] TOTALES = {3899.97, 375.00, 600.00, 1250.00};
+
+    private PrintStream salida;
+    private PrintStream salidaOriginal;
+    private Object tabla;
+    private int fila;
+
+    @Setup
+    public void preparar() throws Throwable {
+        salida = Ejemplos.salidaNula();
+        tabla = (Object) NUEVO_TABLE_PRINTER.invokeExact(Channels.newChannel(OutputStream.nullOutputStream()),
+                                                         (Object) COLUMNAS_REPORTE.invokeExact());
+        // Los reportes de CasosPracticos escriben en System.out
+        salidaOriginal = System.out;
+        System.setOut(salida);
+    }
+
+    @TearDown
+    public void restaurar() {
+        System.setOut(salidaOriginal);
+    }
+
+    private int siguienteFila() {
+        fila = (fila + 1) & 3;
+        return fila;
+    }
+
+    /** Fila de la tabla de productos de PrintfAvanzado. */
+    @Benchmark
+    public void filaPrintfAvanzado() {
+        int i = siguienteFila();
+        salida.printf("%-15s | %-8d | $%9.2f | %8d%n", PRODUCTOS[i], 1001 + i, TOTALES[i], CANTIDADES[i]);
+    }
+
+    /** Fila del reporte de ventas de CasosPracticos. */
+    @Benchmark
+    public void filaPrintfCasosPracticos() {
+        int i = siguienteFila();
+        salida.printf("%-12s | %-20s | %10d | $%11.2f%n", FECHAS[i], PRODUCTOS[i], CANTIDADES[i], TOTALES[i]);
+    }
+
+    /** La misma fila con TablePrinter (sin parsear el formato en cada llamada). */
+    @Benchmark
+    public void filaTablePrinter() throws Throwable {
+        int i = siguienteFila();
+        Object t = (Object) TEXTO.invokeExact(tabla, (CharSequence) FECHAS[i]);
+        t = (Object) TEXTO.invokeExact(t, (CharSequence) PRODUCTOS[i]);
+        t = (Object) ENTERO.invokeExact(t, (long) CANTIDADES[i]);
+        t = (Object) DECIMAL.invokeExact(t, TOTALES[i]);
+        FIN_FILA.invokeExact(t);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void reporteVentasCompleto() throws Throwable {
+        REPORTE_VENTAS.invokeExact();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void facturaCompleta() throws Throwable {
+        FACTURA.invokeExact();
+    }
+}
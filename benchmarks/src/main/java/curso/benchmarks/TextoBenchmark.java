@@ -0,0 +1,87 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.constante;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Texto: ClaseUtilidad.formatearTexto (MultiplesClases) y la conversión
+ * alternada de MetodosCaseSensitive.CONVERTIR, cada una contra su versión
+ * original.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TextoBenchmark {
+
+    private static final MethodHandle NUEVA_UTILIDAD = generico(constructor("ClaseUtilidad"));
+    private static final MethodHandle FORMATEAR_TEXTO =
+        generico(virtual("ClaseUtilidad", "formatearTexto", String.class, String.class));
+    private static final MethodHandle FORMATEAR_TEXTO_ANTERIOR =
+        estatico("TitulosMasivos", "formatearTextoAnterior", String.class, String.class);
+    private static final MethodHandle CONVERTIR = generico(estatico("ConversionMasiva", "convertir", String.class,
+        Ejemplos.clase("ConversionMasiva$Modo"), String.class));
+    private static final Object ALTERNADO = constante("ConversionMasiva$Modo", "ALTERNADO");
+
+    @Param({"hola mundo", "juan carlos pérez de la torre", "  varios   espacios y PALABRAS en MAYÚSCULAS  "})
+    public String texto;
+
+    private Object utilidad;
+
+    @Setup
+    public void preparar() throws Throwable {
+        utilidad = (Object) NUEVA_UTILIDAD.invokeExact();
+    }
+
+    @Benchmark
+    public String formatearTexto() throws Throwable {
+        return (String) FORMATEAR_TEXTO.invokeExact(utilidad, texto);
+    }
+
+    /** split + substring + trim, como estaba antes en MultiplesClases. */
+    @Benchmark
+    public String formatearTextoAnterior() throws Throwable {
+        return (String) FORMATEAR_TEXTO_ANTERIOR.invokeExact(texto);
+    }
+
+    /** Lo que hace CONVERTIR() sin su println. */
+    @Benchmark
+    public String convertirAlternado() throws Throwable {
+        return (String) CONVERTIR.invokeExact(ALTERNADO, texto);
+    }
+
+    /** El bucle original de CONVERTIR(): un StringBuilder y un append por carácter. */
+    @Benchmark
+    public String convertirAlternadoAnterior() {
+        StringBuilder resultado = new StringBuilder();
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (i % 2 == 0) {
+                resultado.append(Character.toUpperCase(c));
+            } else {
+                resultado.append(Character.toLowerCase(c));
+            }
+        }
+        return resultado.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.estatico;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TitulosMasivos.capitalizarArchivo (Concepto02) sobre un catálogo de 1M
+ * nombres (~40 MB), con un hilo y con todos los núcleos, contra leer línea
+ * por línea y capitalizar con la versión anterior de formatearTexto. Cada
+ * archivo completo se mide por separado.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+public class TitulosMasivosBenchmark {
+
+    private static final MethodHandle CAPITALIZAR_ARCHIVO =
+        estatico("TitulosMasivos", "capitalizarArchivo", long.class, Path.class, Path.class, int.class);
+    private static final MethodHandle FORMATEAR_TEXTO_ANTERIOR =
+        estatico("TitulosMasivos", "formatearTextoAnterior", String.class, String.class);
+    private static final MethodHandle GENERAR_CATALOGO =
+        estatico("TitulosMasivos", "generarCatalogo", String[].class, int.class);
+
+    @State(Scope.Benchmark)
+    public static class Archivos {
+        Path entrada;
+        Path salida;
+
+        @Setup
+        public void generar() throws Throwable {
+            entrada = Files.createTempFile("catalogo", ".txt");
+            salida = Files.createTempFile("catalogo-titulos", ".txt");
+            String[] catalogo = (String[]) GENERAR_CATALOGO.invokeExact(1_000_000);
+            Files.write(entrada, Arrays.asList(catalogo), StandardCharsets.UTF_8);
+        }
+
+        @TearDown
+        public void borrar() throws Exception {
+            Files.deleteIfExists(entrada);
+            Files.deleteIfExists(salida);
+        }
+    }
+
+    @Benchmark
+    public long capitalizarArchivoUnHilo(Archivos a) throws Throwable {
+        return (long) CAPITALIZAR_ARCHIVO.invokeExact(a.entrada, a.salida, 1);
+    }
+
+    @Benchmark
+    public long capitalizarArchivoTodosLosNucleos(Archivos a) throws Throwable {
+        return (long) CAPITALIZAR_ARCHIVO.invokeExact(a.entrada, a.salida, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** BufferedReader/BufferedWriter y la versión anterior de formatearTexto para cada línea. */
+    @Benchmark
+    public long lineaPorLineaAnterior(Archivos a) throws Throwable {
+        long lineas = 0;
+        try (BufferedReader r = Files.newBufferedReader(a.entrada, StandardCharsets.UTF_8);
+             BufferedWriter w = Files.newBufferedWriter(a.salida, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = r.readLine()) != null) {
+                w.write((String) FORMATEAR_TEXTO_ANTERIOR.invokeExact(linea));
+                w.newLine();
+                lineas++;
+            }
+        }
+        return lineas;
+    }
+}
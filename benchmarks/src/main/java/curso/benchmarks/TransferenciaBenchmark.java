@@ -0,0 +1,101 @@
+package curso.benchmarks;
+
+import static curso.benchmarks.Ejemplos.clase;
+import static curso.benchmarks.Ejemplos.constructor;
+import static curso.benchmarks.Ejemplos.estatico;
+import static curso.benchmarks.Ejemplos.generico;
+import static curso.benchmarks.Ejemplos.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TransferenciaArchivos (Concepto03): copiar un archivo con
+ * FileChannel.transferFrom en bloques, con uno y con todos los núcleos,
+ * contra el bucle InputStream/OutputStream. Cada copia se mide por
+ * separado; para incluir 10 GB: {@code -p megabytes=1,16,256,1024,10240}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(2)
+public class TransferenciaBenchmark {
+
+    private static final MethodHandle NUEVA_TRANSFERENCIA =
+        generico(constructor("TransferenciaArchivos", long.class, int.class));
+    private static final MethodHandle COPIAR = generico(virtual("TransferenciaArchivos", "copiar", long.class,
+        Path.class, Path.class, clase("ProgressMonitor$Barra")));
+    private static final MethodHandle COPIAR_CON_STREAMS =
+        estatico("TransferenciaArchivos", "copiarConStreams", long.class, Path.class, Path.class);
+    private static final MethodHandle CREAR_ARCHIVO =
+        estatico("TransferenciaArchivos", "crearArchivo", Path.class, Path.class, long.class);
+
+    private static final long BLOQUE = 64L << 20;
+
+    @State(Scope.Benchmark)
+    public static class Archivos {
+        @Param({"1", "16", "256", "1024"})
+        long megabytes;
+
+        Path carpeta;
+        Path origen;
+        Path destino;
+        Object unHilo;
+        Object variosHilos;
+
+        @Setup
+        public void preparar() throws Throwable {
+            carpeta = Files.createTempDirectory("transferencia");
+            origen = (Path) CREAR_ARCHIVO.invokeExact(carpeta.resolve("origen.bin"), megabytes << 20);
+            destino = carpeta.resolve("destino.bin");
+            unHilo = (Object) NUEVA_TRANSFERENCIA.invokeExact(BLOQUE, 1);
+            variosHilos = (Object) NUEVA_TRANSFERENCIA.invokeExact(BLOQUE, Runtime.getRuntime().availableProcessors());
+        }
+
+        // Cada copia empieza sin destino: si no, transferFrom reanudaría una copia terminada
+        @Setup(Level.Invocation)
+        public void borrarDestino() throws Exception {
+            Files.deleteIfExists(destino);
+        }
+
+        @TearDown
+        public void borrar() throws Exception {
+            Files.deleteIfExists(destino);
+            Files.deleteIfExists(origen);
+            Files.deleteIfExists(carpeta);
+        }
+    }
+
+    @Benchmark
+    public long transferFromUnHilo(Archivos a) throws Throwable {
+        return (long) COPIAR.invokeExact(a.unHilo, a.origen, a.destino, (Object) null);
+    }
+
+    @Benchmark
+    public long transferFromTodosLosNucleos(Archivos a) throws Throwable {
+        return (long) COPIAR.invokeExact(a.variosHilos, a.origen, a.destino, (Object) null);
+    }
+
+    /** Copia con un byte[] de 8 KB, como antes del cambio. */
+    @Benchmark
+    public long inputStreamAnterior(Archivos a) throws Throwable {
+        return (long) COPIAR_CON_STREAMS.invokeExact(a.origen, a.destino);
+    }
+}